@@ -0,0 +1,136 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.extension.CsvExtensions;
+import io.github.astrapi69.key.pair.generator.model.KeyPairEntry;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The jmh benchmark of the read of a large csv input that is generated on the fly. The list
+ * variant materializes all rows before they are grouped, the stream and the consumer variant
+ * handle one row after the other. Run it with the gc profiler {@code -prof gc} and a small heap
+ * like {@code -jvmArgs -Xmx64m} to compare the memory of the variants
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CsvStreamingBenchmark
+{
+
+	/**
+	 * The number of the rows of the csv input
+	 */
+	@Param({ "500000" })
+	public int rows;
+
+	private static InputStream newCsv(final int rows)
+	{
+		return new InputStream()
+		{
+			private int row = -1;
+			private byte[] line = new byte[0];
+			private int position;
+
+			@Override
+			public int read()
+			{
+				if (position == line.length)
+				{
+					if (rows <= row)
+					{
+						return -1;
+					}
+					line = (row < 0 ? "algorithm,keysize\n" : "RSA," + (512 + row % 15873) + "\n")
+						.getBytes(StandardCharsets.US_ASCII);
+					position = 0;
+					row++;
+				}
+				return line[position++];
+			}
+		};
+	}
+
+	/**
+	 * Benchmarks the list variant
+	 *
+	 * @return the key sizes by algorithm
+	 */
+	@Benchmark
+	public Map<String, KeySizeSet> list() throws IOException
+	{
+		return KeyPairEntry
+			.newAlgorithmToKeySizeMap(CsvExtensions.readKeyPairEntriesFromCsv(newCsv(rows)));
+	}
+
+	/**
+	 * Benchmarks the stream variant
+	 *
+	 * @return the key sizes by algorithm
+	 */
+	@Benchmark
+	public Map<String, KeySizeSet> stream() throws IOException
+	{
+		try (Stream<KeyPairEntry> entries = CsvExtensions.streamKeyPairEntriesFromCsv(newCsv(rows)))
+		{
+			return KeyPairEntry.newAlgorithmToKeySizeMap(entries);
+		}
+	}
+
+	/**
+	 * Benchmarks the consumer variant
+	 *
+	 * @return the number of the rows
+	 */
+	@Benchmark
+	public long consumer() throws IOException
+	{
+		return CsvExtensions.readEntriesFromCsv(newCsv(rows),
+			csvRecord -> csvRecord.get("algorithm"), algorithm -> {
+			});
+	}
+
+}
@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameterGenerator;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.DSAParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.spec.DHParameterSpec;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.cache.DomainParameterStore;
+import io.github.astrapi69.key.pair.generator.pool.KeyPairPoolKey;
+
+/**
+ * The jmh benchmark of the DSA and Diffie-Hellman key pair generation with freshly generated
+ * domain parameters compared to the generation with the domain parameters of the
+ * {@link DomainParameterStore}. The cold generation can take minutes for the large key sizes, so
+ * it is measured as single shot time with few iterations
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class DomainParameterBenchmark
+{
+
+	/**
+	 * The algorithm and the key size of the generated key pairs
+	 */
+	@Param({ "DSA:1024", "DSA:2048", "DSA:3072", "DIFFIEHELLMAN:1024", "DIFFIEHELLMAN:2048",
+			"DIFFIEHELLMAN:3072", "DIFFIEHELLMAN:4096" })
+	public String keyPair;
+
+	private String algorithm;
+
+	private int keySize;
+
+	private DomainParameterStore domainParameterStore;
+
+	@Setup(Level.Trial)
+	public void setUp() throws GeneralSecurityException, IOException
+	{
+		if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+		{
+			Security.addProvider(new BouncyCastleProvider());
+		}
+		KeyPairPoolKey key = KeyPairPoolKey.parse(keyPair);
+		algorithm = key.getAlgorithm();
+		keySize = key.getKeySize();
+		Path cacheDirectory = Files.createTempDirectory("domain-parameter-benchmark");
+		domainParameterStore = new DomainParameterStore(
+			cacheDirectory.resolve(DomainParameterStore.CACHE_FILE_NAME));
+		// fill the store, so the measurement only contains the key pair generation
+		domainParameterStore.getParameterSpec(algorithm, keySize);
+	}
+
+	/**
+	 * Benchmarks the generation of a key pair with freshly generated domain parameters of the
+	 * BouncyCastle provider
+	 *
+	 * @return the generated key pair
+	 * @throws GeneralSecurityException
+	 *             if the generation fails
+	 */
+	@Benchmark
+	public KeyPair coldGeneration() throws GeneralSecurityException
+	{
+		String parameterAlgorithm = "DSA".equals(algorithm) ? "DSA" : "DH";
+		AlgorithmParameterGenerator parameterGenerator = AlgorithmParameterGenerator
+			.getInstance(parameterAlgorithm, BouncyCastleProvider.PROVIDER_NAME);
+		parameterGenerator.init(keySize);
+		AlgorithmParameterSpec parameterSpec = "DSA".equals(parameterAlgorithm)
+			? parameterGenerator.generateParameters().getParameterSpec(DSAParameterSpec.class)
+			: parameterGenerator.generateParameters().getParameterSpec(DHParameterSpec.class);
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(parameterAlgorithm,
+			BouncyCastleProvider.PROVIDER_NAME);
+		keyPairGenerator.initialize(parameterSpec);
+		return keyPairGenerator.generateKeyPair();
+	}
+
+	/**
+	 * Benchmarks the generation of a key pair with the domain parameters of the
+	 * {@link DomainParameterStore}
+	 *
+	 * @return the generated key pair
+	 * @throws GeneralSecurityException
+	 *             if the generation fails
+	 */
+	@Benchmark
+	public KeyPair cachedGeneration() throws GeneralSecurityException
+	{
+		return domainParameterStore.newKeyPair(algorithm, keySize);
+	}
+
+}
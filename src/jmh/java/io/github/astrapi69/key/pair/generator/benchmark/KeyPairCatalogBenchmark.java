@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.extension.CsvExtensions;
+import io.github.astrapi69.key.pair.generator.extension.KeyPairCatalogExtensions;
+import io.github.astrapi69.key.pair.generator.model.KeyPairEntry;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The jmh benchmark of the load of the key pair algorithm catalog on startup. The csv catalog is
+ * parsed row by row and grouped by algorithm, the binary catalog that is generated at build time
+ * is read directly into the key size runs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyPairCatalogBenchmark
+{
+
+	private static final String CSV_RESOURCE_PATH = "key_pair_algorithm_with_key_size.csv";
+
+	private static InputStream getResourceAsStream(final String path)
+	{
+		return KeyPairCatalogBenchmark.class.getClassLoader().getResourceAsStream(path);
+	}
+
+	/**
+	 * Benchmarks the load of the csv catalog
+	 *
+	 * @return the key sizes by algorithm
+	 */
+	@Benchmark
+	public Map<String, KeySizeSet> csv() throws IOException
+	{
+		try (InputStream inputStream = getResourceAsStream(CSV_RESOURCE_PATH))
+		{
+			return KeyPairEntry
+				.newAlgorithmToKeySizeMap(CsvExtensions.readKeyPairEntriesFromCsv(inputStream));
+		}
+	}
+
+	/**
+	 * Benchmarks the load of the binary catalog
+	 *
+	 * @return the key sizes by algorithm
+	 */
+	@Benchmark
+	public Map<String, KeySizeSet> binary() throws IOException
+	{
+		try (InputStream inputStream = getResourceAsStream(
+			KeyPairCatalogExtensions.CATALOG_RESOURCE_PATH))
+		{
+			return KeyPairCatalogExtensions.readAlgorithmToKeySizeMap(inputStream);
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.crypt.data.factory.KeyPairFactory;
+import io.github.astrapi69.crypt.data.factory.KeyPairGeneratorFactory;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.pool.KeyPairPoolKey;
+
+/**
+ * The jmh benchmark of the key pair generation with the {@link KeyPairEngine} compared to the
+ * generation with a new key pair generator from {@link KeyPairFactory} and
+ * {@link KeyPairGeneratorFactory} on every call, for representative algorithms and key sizes of
+ * the key pair catalog. The parameter {@code keyPair} has the format {@code algorithm[:keySize]} and can be
+ * overwritten with {@code -p keyPair=...}, the gradle task {@code jmh -Pjmh.catalog=true} passes
+ * every algorithm of the catalog
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SingleShotTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class KeyPairGenerationBenchmark
+{
+
+	/**
+	 * The algorithm and the optional key size of the generated key pairs
+	 */
+	@Param({ "RSA:2048", "RSA:3072", "RSA:4096", "RSA:8192", "EC:256", "EC:384", "EC:521",
+			"ED25519", "ED448", "X25519", "X448", "DSA:2048", "DIFFIEHELLMAN:2048" })
+	public String keyPair;
+
+	private String algorithm;
+
+	private Integer keySize;
+
+	private KeyPairSpec keyPairSpec;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+		{
+			Security.addProvider(new BouncyCastleProvider());
+		}
+		KeyPairPoolKey key = KeyPairPoolKey.parse(keyPair);
+		algorithm = key.getAlgorithm();
+		keySize = key.getKeySize();
+		keyPairSpec = KeyPairSpec.of(algorithm, keySize);
+	}
+
+	/**
+	 * Benchmarks the generation of a key pair the same way the key generation panel does it, with
+	 * the reused key pair generator of the {@link KeyPairEngine}
+	 *
+	 * @return the generated key pair
+	 * @throws GeneralSecurityException
+	 *             if the generation fails
+	 */
+	@Benchmark
+	public KeyPair newKeyPair() throws GeneralSecurityException
+	{
+		return KeyPairEngine.generate(keyPairSpec);
+	}
+
+	/**
+	 * Benchmarks the generation of a key pair with a new key pair generator on every call
+	 *
+	 * @return the generated key pair
+	 * @throws GeneralSecurityException
+	 *             if the generation fails
+	 */
+	@Benchmark
+	public KeyPair newKeyPairWithFactory() throws GeneralSecurityException
+	{
+		return newKeyPairGenerator().generateKeyPair();
+	}
+
+	/**
+	 * Benchmarks only the creation and initialization of the key pair generator without the
+	 * generation of a key pair
+	 *
+	 * @return the initialized key pair generator
+	 * @throws GeneralSecurityException
+	 *             if the creation fails
+	 */
+	@Benchmark
+	public KeyPairGenerator newKeyPairGenerator() throws GeneralSecurityException
+	{
+		KeyPairGenerator keyPairGenerator = keySize != null
+			? KeyPairFactory.newKeyPairGenerator(algorithm, keySize)
+			: KeyPairGeneratorFactory.newKeyPairGenerator(algorithm);
+		if (keySize == null && KeyPairEngine.ALGORITHM_TO_CURVE_NAME.containsKey(algorithm))
+		{
+			keyPairGenerator.initialize(
+				new ECGenParameterSpec(KeyPairEngine.ALGORITHM_TO_CURVE_NAME.get(algorithm)));
+		}
+		return keyPairGenerator;
+	}
+
+	/**
+	 * Benchmarks the lookup of the reused key pair generator of the {@link KeyPairEngine}
+	 *
+	 * @return the initialized key pair generator of the current thread
+	 * @throws GeneralSecurityException
+	 *             if the creation fails
+	 */
+	@Benchmark
+	public KeyPairGenerator engineKeyPairGenerator() throws GeneralSecurityException
+	{
+		return KeyPairEngine.getKeyPairGenerator(keyPairSpec);
+	}
+
+}
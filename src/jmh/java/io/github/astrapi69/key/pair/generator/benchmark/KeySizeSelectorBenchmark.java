@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JComboBox;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.keygen.KeySizeComboBox;
+import io.github.astrapi69.key.pair.generator.keygen.KeySizeComboBoxModel;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+import io.github.astrapi69.swing.model.combobox.GenericComboBoxModel;
+
+/**
+ * The jmh benchmark of an algorithm switch in the key size combobox between RSA with its 15873
+ * key sizes and EC. Every invocation switches the algorithm and computes the preferred size of
+ * the combobox like the layout does. The generic combobox model copies the key sizes into a new
+ * model and the combobox and its popup list measure every element, the {@link KeySizeComboBox}
+ * exchanges the key size runs of its model in place and measures only a prototype key size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class KeySizeSelectorBenchmark
+{
+
+	private final KeySizeSet rsaKeySizes = KeySizeSet.builder().addRun(512, 1, 15873).build();
+
+	private final KeySizeSet ecKeySizes = KeySizeSet.of(192, 224, 239, 256, 384, 521);
+
+	private JComboBox<Integer> genericComboBox;
+
+	private KeySizeComboBox keySizeComboBox;
+
+	private boolean rsa;
+
+	@Setup
+	public void setUp()
+	{
+		genericComboBox = new JComboBox<>(new GenericComboBoxModel<>(ecKeySizes));
+		keySizeComboBox = new KeySizeComboBox(new KeySizeComboBoxModel(ecKeySizes, 256));
+	}
+
+	private KeySizeSet nextKeySizes()
+	{
+		rsa = !rsa;
+		return rsa ? rsaKeySizes : ecKeySizes;
+	}
+
+	/**
+	 * Benchmarks an algorithm switch with a new generic combobox model
+	 *
+	 * @return the preferred size of the combobox
+	 */
+	@Benchmark
+	public Dimension genericComboBoxModel()
+	{
+		genericComboBox.setModel(new GenericComboBoxModel<>(nextKeySizes()));
+		return genericComboBox.getPreferredSize();
+	}
+
+	/**
+	 * Benchmarks an algorithm switch in the {@link KeySizeComboBoxModel}
+	 *
+	 * @return the preferred size of the combobox
+	 */
+	@Benchmark
+	public Dimension keySizeComboBoxModel()
+	{
+		keySizeComboBox.getModel().setKeySizes(nextKeySizes());
+		return keySizeComboBox.getPreferredSize();
+	}
+
+}
@@ -0,0 +1,86 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.collection.list.SortedUniqueList;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The jmh benchmark of the footprint of the 15873 RSA key sizes. Run it with the gc profiler
+ * {@code -prof gc}, the normalized allocation rate {@code gc.alloc.rate.norm} is the heap that one
+ * key size list needs. The {@link SortedUniqueList} holds every key size as a boxed integer, the
+ * {@link KeySizeSet} holds one run
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeySizeSetBenchmark
+{
+
+	/**
+	 * Benchmarks the sorted unique list of the RSA key sizes
+	 *
+	 * @return the key sizes
+	 */
+	@Benchmark
+	public List<Integer> sortedUniqueList()
+	{
+		List<Integer> keySizes = new ArrayList<>();
+		for (int keySize = 512; keySize <= 16384; keySize++)
+		{
+			keySizes.add(keySize);
+		}
+		return new SortedUniqueList<>(keySizes);
+	}
+
+	/**
+	 * Benchmarks the range compressed key size set of the RSA key sizes
+	 *
+	 * @return the key sizes
+	 */
+	@Benchmark
+	public List<Integer> keySizeSet()
+	{
+		return KeySizeSet.builder().addRun(512, 1, 15873).build();
+	}
+
+}
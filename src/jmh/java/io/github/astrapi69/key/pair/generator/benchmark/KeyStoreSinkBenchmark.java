@@ -0,0 +1,185 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.export.KeyStoreSink;
+import io.github.astrapi69.key.pair.generator.export.KeyStoreType;
+
+/**
+ * The jmh benchmark of the bulk output of key pairs and certificates into one key store. The
+ * {@link KeyStoreSink} streams the entries into the key store file, the PKCS#12 key store of the
+ * JDK holds all entries in memory and derives a key for every private key when it is stored. The
+ * size of the written key store is printed after every trial
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class KeyStoreSinkBenchmark
+{
+
+	private static final char[] PASSWORD = "benchmark".toCharArray();
+
+	/**
+	 * The number of the entries of the key store
+	 */
+	@Param({ "1000", "10000" })
+	public int entries;
+
+	private KeyPair keyPair;
+
+	private X509Certificate certificate;
+
+	private Path directory;
+
+	private Path lastKeyStore;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		keyPair = keyPairGenerator.generateKeyPair();
+		X500Principal subject = new X500Principal("CN=key-store-sink-benchmark");
+		long now = System.currentTimeMillis();
+		certificate = new JcaX509CertificateConverter().getCertificate(
+			new JcaX509v3CertificateBuilder(subject, BigInteger.ONE, new Date(now),
+				new Date(now + 86_400_000L), subject, keyPair.getPublic()).build(
+					new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+		directory = Files.createTempDirectory("key-store-sink-benchmark");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		if (lastKeyStore != null)
+		{
+			System.out.println();
+			System.out.println(entries + " entries: " + lastKeyStore.getFileName() + " "
+				+ Files.size(lastKeyStore) + " bytes");
+		}
+		try (var paths = Files.list(directory))
+		{
+			for (Path path : paths.toList())
+			{
+				Files.delete(path);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private Path stream(final KeyStoreType type) throws Exception
+	{
+		lastKeyStore = directory.resolve("sink" + type.getFileSuffix());
+		try (KeyStoreSink keyStoreSink = KeyStoreSink.open(lastKeyStore, type, PASSWORD))
+		{
+			for (int i = 0; i < entries; i++)
+			{
+				keyStoreSink.add("entry-" + i, keyPair, certificate);
+			}
+		}
+		return lastKeyStore;
+	}
+
+	/**
+	 * Benchmarks the streamed PKCS#12 key store
+	 *
+	 * @return the path of the key store
+	 */
+	@Benchmark
+	public Path keyStoreSinkPkcs12() throws Exception
+	{
+		return stream(KeyStoreType.PKCS12);
+	}
+
+	/**
+	 * Benchmarks the java key store that is written when the sink is closed
+	 *
+	 * @return the path of the key store
+	 */
+	@Benchmark
+	public Path keyStoreSinkJks() throws Exception
+	{
+		return stream(KeyStoreType.JKS);
+	}
+
+	/**
+	 * Benchmarks the PKCS#12 key store of the JDK
+	 *
+	 * @return the path of the key store
+	 */
+	@Benchmark
+	public Path jdkKeyStorePkcs12() throws Exception
+	{
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		keyStore.load(null, null);
+		for (int i = 0; i < entries; i++)
+		{
+			keyStore.setKeyEntry("entry-" + i, keyPair.getPrivate(), PASSWORD,
+				new Certificate[] { certificate });
+		}
+		lastKeyStore = directory.resolve("jdk.p12");
+		try (OutputStream outputStream = Files.newOutputStream(lastKeyStore))
+		{
+			keyStore.store(outputStream, PASSWORD);
+		}
+		return lastKeyStore;
+	}
+
+}
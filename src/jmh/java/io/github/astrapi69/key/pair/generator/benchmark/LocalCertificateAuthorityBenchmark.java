@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+
+/**
+ * The jmh benchmark of the leaf certificate issuance of the {@link LocalCertificateAuthority} with
+ * RSA and EC issuer keys. The cached signer issues with the warm signer of the intermediate, the
+ * parsed signer decodes the private key of the intermediate and initializes a new signer for
+ * every certificate like the single certificate path of the wizard
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LocalCertificateAuthorityBenchmark
+{
+
+	/**
+	 * The key pair algorithm of the root and the intermediate
+	 */
+	@Param({ "RSA", "EC" })
+	public String issuer;
+
+	private LocalCertificateAuthority certificateAuthority;
+
+	private byte[] encodedIssuerKey;
+
+	private KeyPair leafKeyPair;
+
+	private Path directory;
+
+	private Date notBefore;
+
+	private Date notAfter;
+
+	private long counter;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		directory = Files.createTempDirectory("local-certificate-authority-benchmark");
+		certificateAuthority = "RSA".equals(issuer)
+			? LocalCertificateAuthority.create(directory, "Benchmark",
+				KeyPairSpec.of("RSA", 2048), "SHA256withRSA", null)
+			: LocalCertificateAuthority.create(directory, "Benchmark",
+				LocalCertificateAuthority.DEFAULT_KEY_PAIR_SPEC,
+				LocalCertificateAuthority.DEFAULT_SIGNATURE_ALGORITHM, null);
+		try (PEMParser parser = new PEMParser(Files.newBufferedReader(
+			directory.resolve(LocalCertificateAuthority.INTERMEDIATE_BASE_NAME
+				+ KeyExportFormat.PKCS8_PEM.getFileSuffix()))))
+		{
+			encodedIssuerKey = ((PrivateKeyInfo)parser.readObject()).getEncoded();
+		}
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(256);
+		leafKeyPair = keyPairGenerator.generateKeyPair();
+		notBefore = new Date();
+		notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		try (var paths = Files.walk(directory))
+		{
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * Benchmarks the issuance with the cached signer of the intermediate
+	 *
+	 * @return the issued certificate
+	 */
+	@Benchmark
+	public X509Certificate cachedSigner() throws Exception
+	{
+		return certificateAuthority.issue(new X500Name("CN=leaf-" + counter++),
+			leafKeyPair.getPublic(), notBefore, notAfter);
+	}
+
+	/**
+	 * Benchmarks the issuance with a private key that is decoded and a signer that is initialized
+	 * for every certificate
+	 *
+	 * @return the issued certificate
+	 */
+	@Benchmark
+	public X509Certificate parsedSigner() throws Exception
+	{
+		X509Certificate issuerCertificate = certificateAuthority.getIntermediate()
+			.getCertificate();
+		PrivateKey privateKey = KeyFactory.getInstance(issuerCertificate.getPublicKey()
+			.getAlgorithm()).generatePrivate(new PKCS8EncodedKeySpec(encodedIssuerKey));
+		return new JcaX509CertificateConverter().getCertificate(new JcaX509v3CertificateBuilder(
+			issuerCertificate, BigInteger.valueOf(counter), notBefore, notAfter,
+			new X500Name("CN=leaf-" + counter++), leafKeyPair.getPublic())
+				.build(new JcaContentSignerBuilder(
+					certificateAuthority.getIntermediate().getSignatureAlgorithm())
+						.build(privateKey)));
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.cache.PbeCalibration;
+import io.github.astrapi69.key.pair.generator.export.PrivateKeyEncryptor;
+
+/**
+ * The jmh benchmark of the password based encryption of private keys with the iteration count
+ * that {@link PbeCalibration} calibrates for its target latency. A new {@link PrivateKeyEncryptor}
+ * for every private key pays the key derivation every time and should take about the target
+ * latency, a shared encryptor derives the key once and only encrypts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PrivateKeyEncryptionBenchmark
+{
+
+	private static final char[] PASSWORD = "benchmark".toCharArray();
+
+	private PrivateKey privateKey;
+
+	private int iterationCount;
+
+	private PrivateKeyEncryptor sharedEncryptor;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		privateKey = keyPairGenerator.generateKeyPair().getPrivate();
+		iterationCount = PbeCalibration.getInstance().getIterationCount();
+		sharedEncryptor = new PrivateKeyEncryptor(PASSWORD, iterationCount);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		sharedEncryptor.close();
+	}
+
+	/**
+	 * Benchmarks the encryption of a private key with a new encryptor
+	 *
+	 * @return the encrypted private key info
+	 */
+	@Benchmark
+	public byte[] newEncryptor() throws Exception
+	{
+		try (PrivateKeyEncryptor privateKeyEncryptor = new PrivateKeyEncryptor(PASSWORD,
+			iterationCount))
+		{
+			return privateKeyEncryptor.encrypt(privateKey);
+		}
+	}
+
+	/**
+	 * Benchmarks the encryption of a private key with the shared encryptor
+	 *
+	 * @return the encrypted private key info
+	 */
+	@Benchmark
+	public byte[] sharedEncryptor() throws Exception
+	{
+		return sharedEncryptor.encrypt(privateKey);
+	}
+
+}
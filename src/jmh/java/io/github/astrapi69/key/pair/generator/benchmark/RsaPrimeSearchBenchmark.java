@@ -0,0 +1,103 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.engine.ParallelRsaKeyPairGenerator;
+
+/**
+ * The jmh benchmark of the RSA key pair generation with the parallel prime search of the
+ * {@link ParallelRsaKeyPairGenerator} for the large key sizes of the key pair catalog. The
+ * parallelism {@code 0} measures the RSA key pair generator of the BouncyCastle provider, so the
+ * results give the timing curve of every key size over the number of cores, for instance with
+ * {@code gradlew jmh -Pjmh.include=RsaPrimeSearchBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RsaPrimeSearchBenchmark
+{
+
+	/**
+	 * The RSA key size
+	 */
+	@Param({ "4096", "8192", "16384" })
+	public int keySize;
+
+	/**
+	 * The number of threads of the prime search, 0 for the BouncyCastle provider
+	 */
+	@Param({ "0", "1", "2", "4", "8" })
+	public int parallelism;
+
+	private KeyPairGenerator keyPairGenerator;
+
+	@Setup(Level.Trial)
+	public void setUp() throws GeneralSecurityException
+	{
+		if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+		{
+			Security.addProvider(new BouncyCastleProvider());
+		}
+		keyPairGenerator = parallelism == 0
+			? KeyPairGenerator.getInstance("RSA", BouncyCastleProvider.PROVIDER_NAME)
+			: new ParallelRsaKeyPairGenerator(parallelism);
+		keyPairGenerator.initialize(keySize);
+	}
+
+	/**
+	 * Benchmarks the generation of a RSA key pair
+	 *
+	 * @return the generated key pair
+	 */
+	@Benchmark
+	public KeyPair generateKeyPair()
+	{
+		return keyPairGenerator.generateKeyPair();
+	}
+
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.random.RandomnessDiagnostics;
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+import io.github.astrapi69.random.number.RandomBigIntegerFactory;
+
+/**
+ * The jmh benchmark of the {@link SecureRandomStrategy} values under parallel load. Every
+ * strategy is measured with one instance that is shared by all threads and with the instances per
+ * thread, for the generation of serial numbers and of EC key pairs. The time that was spent waiting
+ * for randomness is printed after every trial
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(1)
+public class SecureRandomBenchmark
+{
+
+	/**
+	 * The name of the strategy
+	 */
+	@Param({ "DEFAULT", "DRBG", "DRBG_PREDICTION_RESISTANCE", "NATIVE_PRNG_NON_BLOCKING",
+			"BC_DRBG" })
+	public String strategy;
+
+	private SecureRandomStrategy secureRandomStrategy;
+
+	private SecureRandom sharedSecureRandom;
+
+	private KeyPairSpec keyPairSpec;
+
+	@Setup(Level.Trial)
+	public void setUp() throws GeneralSecurityException
+	{
+		if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+		{
+			Security.addProvider(new BouncyCastleProvider());
+		}
+		secureRandomStrategy = SecureRandomStrategy.parse(strategy);
+		sharedSecureRandom = secureRandomStrategy.newSecureRandom();
+		keyPairSpec = KeyPairSpec.builder().algorithm("EC").keySize(256)
+			.secureRandomStrategy(secureRandomStrategy).build();
+		RandomnessDiagnostics.reset();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		System.out.println(strategy + " " + RandomnessDiagnostics.toSummary());
+	}
+
+	/**
+	 * Benchmarks the generation of serial numbers with one instance shared by all threads
+	 *
+	 * @return the serial number
+	 */
+	@Benchmark
+	public BigInteger serialNumberShared()
+	{
+		return RandomBigIntegerFactory.randomSerialNumber(sharedSecureRandom);
+	}
+
+	/**
+	 * Benchmarks the generation of serial numbers with the instance of the current thread
+	 *
+	 * @return the serial number
+	 */
+	@Benchmark
+	public BigInteger serialNumberPerThread()
+	{
+		return RandomBigIntegerFactory
+			.randomSerialNumber(secureRandomStrategy.getSecureRandom());
+	}
+
+	/**
+	 * Benchmarks the generation of EC key pairs with the engine and the instance of the current
+	 * thread
+	 *
+	 * @return the generated key pair
+	 * @throws GeneralSecurityException
+	 *             if the generation fails
+	 */
+	@Benchmark
+	public KeyPair keyPairPerThread() throws GeneralSecurityException
+	{
+		return KeyPairEngine.generate(keyPairSpec);
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.cache.SerialNumberAllocator;
+import io.github.astrapi69.key.pair.generator.cache.SerialNumberScheme;
+
+/**
+ * The jmh benchmark of the concurrent allocation of serial numbers of one issuer. The threads take
+ * blocks of the reserved ranges without synchronization, only the reservation of the next range is
+ * recorded in the cache file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(8)
+public class SerialNumberAllocatorBenchmark
+{
+
+	private Path directory;
+
+	private SerialNumberAllocator allocator;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		directory = Files.createTempDirectory("serial-number-allocator-benchmark");
+		allocator = new SerialNumberAllocator(
+			directory.resolve(SerialNumberAllocator.CACHE_FILE_NAME), "CN=Benchmark CA",
+			SerialNumberAllocator.DEFAULT_RESERVATION_SIZE);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		try (var paths = Files.list(directory))
+		{
+			for (Path path : paths.toList())
+			{
+				Files.delete(path);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	/**
+	 * Benchmarks the allocation of monotonic serial numbers
+	 *
+	 * @return the serial number
+	 */
+	@Benchmark
+	public BigInteger monotonic()
+	{
+		return allocator.nextSerialNumber(SerialNumberScheme.MONOTONIC);
+	}
+
+	/**
+	 * Benchmarks the allocation of serial numbers with a random suffix
+	 *
+	 * @return the serial number
+	 */
+	@Benchmark
+	public BigInteger randomWithPrefix()
+	{
+		return allocator.nextSerialNumber(SerialNumberScheme.RANDOM_WITH_PREFIX);
+	}
+
+}
@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.benchmark;
+
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.x509.Extension;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.key.pair.generator.ca.IssuerSigner;
+import io.github.astrapi69.key.pair.generator.wizard.model.ExtensionInfoModel;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionTemplate;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionType;
+
+/**
+ * The jmh benchmark of the per certificate cost of the extensions of a typical leaf certificate
+ * with subject alternative names, key usage, extended key usage, basic constraints and a subject
+ * key identifier. The raw string encoding wraps the bytes of the values like the former
+ * conversion, the typed encoding parses and encodes the values for every certificate, the
+ * template reuses the encoded extensions and creates only the subject key identifier
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class X509ExtensionBenchmark
+{
+
+	private ExtensionInfoModel[] extensionInfoModels;
+
+	private X509ExtensionTemplate template;
+
+	private PublicKey publicKey;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		extensionInfoModels = new ExtensionInfoModel[] {
+				newExtensionInfoModel(Extension.subjectAlternativeName, false,
+					"DNS:service.example.org,DNS:www.service.example.org,IP:10.0.0.1"),
+				newExtensionInfoModel(Extension.keyUsage, true,
+					"digitalSignature,keyEncipherment"),
+				newExtensionInfoModel(Extension.extendedKeyUsage, false, "serverAuth,clientAuth"),
+				newExtensionInfoModel(Extension.basicConstraints, true, "CA:FALSE"),
+				newExtensionInfoModel(Extension.subjectKeyIdentifier, false, "hash") };
+		template = X509ExtensionTemplate.of(extensionInfoModels);
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(256);
+		publicKey = keyPairGenerator.generateKeyPair().getPublic();
+	}
+
+	private static ExtensionInfoModel newExtensionInfoModel(final ASN1ObjectIdentifier extensionId,
+		final boolean critical, final String value)
+	{
+		return ExtensionInfoModel.builder().extensionId(extensionId.getId()).critical(critical)
+			.value(value).build();
+	}
+
+	/**
+	 * Benchmarks the former encoding that wraps the bytes of the textual values
+	 *
+	 * @return the extensions
+	 */
+	@Benchmark
+	public Extension[] rawString()
+	{
+		Extension[] extensions = new Extension[extensionInfoModels.length];
+		for (int i = 0; i < extensionInfoModels.length; i++)
+		{
+			ExtensionInfoModel extensionInfoModel = extensionInfoModels[i];
+			extensions[i] = new Extension(
+				new ASN1ObjectIdentifier(extensionInfoModel.getExtensionId()),
+				extensionInfoModel.isCritical(),
+				new DEROctetString(extensionInfoModel.getValue().getBytes()));
+		}
+		return extensions;
+	}
+
+	/**
+	 * Benchmarks the typed encoding that parses and encodes the values for every certificate
+	 *
+	 * @return the extensions
+	 */
+	@Benchmark
+	public Extension[] typedPerCertificate() throws Exception
+	{
+		List<Extension> extensions = new ArrayList<>(extensionInfoModels.length);
+		for (ExtensionInfoModel extensionInfoModel : extensionInfoModels)
+		{
+			ASN1ObjectIdentifier extensionId = new ASN1ObjectIdentifier(
+				extensionInfoModel.getExtensionId());
+			X509ExtensionType type = X509ExtensionType.of(extensionId);
+			extensions.add(type.isDerivedFromKey(extensionInfoModel.getValue())
+				? IssuerSigner.newSubjectKeyIdentifier(publicKey)
+				: type.toExtension(extensionId, extensionInfoModel.isCritical(),
+					extensionInfoModel.getValue()));
+		}
+		return extensions.toArray(new Extension[0]);
+	}
+
+	/**
+	 * Benchmarks a new template for every certificate like the rows of a batch, the encoded
+	 * extensions are taken from the cache
+	 *
+	 * @return the extensions
+	 */
+	@Benchmark
+	public Extension[] cachedTemplate() throws Exception
+	{
+		return X509ExtensionTemplate.of(extensionInfoModels).toExtensions(publicKey, null);
+	}
+
+	/**
+	 * Benchmarks one template that is reused for every certificate
+	 *
+	 * @return the extensions
+	 */
+	@Benchmark
+	public Extension[] template() throws Exception
+	{
+		return template.toExtensions(publicKey, null);
+	}
+
+}
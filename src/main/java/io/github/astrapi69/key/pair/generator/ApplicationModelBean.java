@@ -29,6 +29,7 @@ import java.util.Map;
 
 import io.github.astrapi69.collection.list.SortedUniqueList;
 import io.github.astrapi69.key.pair.generator.keygen.GenerateKeysModelBean;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -61,5 +62,5 @@ public class ApplicationModelBean implements Serializable
 	Long lastId;
 	GenerateKeysModelBean generateKeysModelBean;
 	Map<String, SortedUniqueList<String>> keypairSignatureAlgorithms;
-	Map<String, SortedUniqueList<Integer>> keypairAlgorithmToKeySizes;
+	Map<String, KeySizeSet> keypairAlgorithmToKeySizes;
 }
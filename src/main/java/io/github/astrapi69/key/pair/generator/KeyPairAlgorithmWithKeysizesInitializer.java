@@ -2,14 +2,16 @@ package io.github.astrapi69.key.pair.generator;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
+import java.util.stream.Stream;
 
-import io.github.astrapi69.collection.list.SortedUniqueList;
 import io.github.astrapi69.key.pair.generator.extension.CsvExtensions;
+import io.github.astrapi69.key.pair.generator.extension.KeyPairCatalogExtensions;
 import io.github.astrapi69.key.pair.generator.model.KeyPairEntry;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
 import io.github.astrapi69.lang.ClassExtensions;
 import io.github.astrapi69.swing.dialog.DialogExtensions;
 import lombok.Getter;
@@ -19,6 +21,11 @@ import lombok.extern.java.Log;
 public class KeyPairAlgorithmWithKeysizesInitializer implements Runnable
 {
 
+	/**
+	 * The resource path of the csv catalog that is used as fallback for the binary catalog
+	 */
+	public static final String CSV_FILE_PATH = "key_pair_algorithm_with_key_size.csv";
+
 	final ApplicationModelBean applicationModelBean;
 	@Getter
 	boolean finished = false;
@@ -31,17 +38,9 @@ public class KeyPairAlgorithmWithKeysizesInitializer implements Runnable
 	@Override
 	public void run()
 	{
-		String csvFilePath;
-		InputStream is;
-		csvFilePath = "key_pair_algorithm_with_key_size.csv";
-		is = ClassExtensions.getResourceAsStream(csvFilePath);
 		try
 		{
-			List<KeyPairEntry> certificateAlgorithmEntries = CsvExtensions
-				.readKeyPairEntriesFromCsv(is);
-
-			Map<String, SortedUniqueList<Integer>> uniqueListMap = KeyPairEntry
-				.newAlgorithmToKeySizeMap(certificateAlgorithmEntries);
+			Map<String, KeySizeSet> uniqueListMap = newAlgorithmToKeySizeMap();
 			this.applicationModelBean.setKeypairAlgorithmToKeySizes(uniqueListMap);
 			finished = true;
 			log.log(new LogRecord(Level.INFO, "key sizes initialized"));
@@ -58,4 +57,51 @@ public class KeyPairAlgorithmWithKeysizesInitializer implements Runnable
 			throw new RuntimeException(title + "::" + htmlMessage, exception);
 		}
 	}
+
+	/**
+	 * Creates the map of the key pair algorithms to their key sizes from the precompiled binary
+	 * catalog. If the binary catalog is not available or not valid the csv catalog is used as
+	 * fallback
+	 *
+	 * @return the map of the key pair algorithms to their key sizes
+	 * @throws IOException
+	 *             if an I/O error occurs on reading the csv catalog
+	 */
+	public Map<String, KeySizeSet> newAlgorithmToKeySizeMap()
+		throws IOException
+	{
+		try
+		{
+			return KeyPairCatalogExtensions.readAlgorithmToKeySizeMap(ClassExtensions
+				.getResourceAsStream(KeyPairCatalogExtensions.CATALOG_RESOURCE_PATH));
+		}
+		catch (IOException exception)
+		{
+			log.log(Level.WARNING,
+				"Binary key pair catalog could not be loaded, fallback to csv catalog: "
+					+ exception.getLocalizedMessage());
+		}
+		return newAlgorithmToKeySizeMapFromCsv();
+	}
+
+	/**
+	 * Creates the map of the key pair algorithms to their key sizes from the csv catalog
+	 *
+	 * @return the map of the key pair algorithms to their key sizes
+	 * @throws IOException
+	 *             if an I/O error occurs on reading the csv catalog
+	 */
+	protected Map<String, KeySizeSet> newAlgorithmToKeySizeMapFromCsv()
+		throws IOException
+	{
+		InputStream is = ClassExtensions.getResourceAsStream(CSV_FILE_PATH);
+		try (Stream<KeyPairEntry> keyPairEntries = CsvExtensions.streamKeyPairEntriesFromCsv(is))
+		{
+			return KeyPairEntry.newAlgorithmToKeySizeMap(keyPairEntries);
+		}
+		catch (UncheckedIOException exception)
+		{
+			throw exception.getCause();
+		}
+	}
 }
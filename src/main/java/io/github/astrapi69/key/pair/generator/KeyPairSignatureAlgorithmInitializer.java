@@ -2,10 +2,11 @@ package io.github.astrapi69.key.pair.generator;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
+import java.util.stream.Stream;
 
 import io.github.astrapi69.collection.list.SortedUniqueList;
 import io.github.astrapi69.key.pair.generator.model.CertificateAlgorithmEntry;
@@ -37,11 +38,17 @@ public class KeyPairSignatureAlgorithmInitializer implements Runnable
 		is = ClassExtensions.getResourceAsStream(csvFilePath);
 		try
 		{
-			List<CertificateAlgorithmEntry> certificateAlgorithmEntries = CsvExtensions
-				.readCertificateAlgorithmEntryFromCsv(is);
-
-			Map<String, SortedUniqueList<String>> uniqueListMap = CertificateAlgorithmEntry
-				.newSignatureAlgorithmMap(certificateAlgorithmEntries);
+			Map<String, SortedUniqueList<String>> uniqueListMap;
+			try (Stream<CertificateAlgorithmEntry> certificateAlgorithmEntries = CsvExtensions
+				.streamCertificateAlgorithmEntriesFromCsv(is))
+			{
+				uniqueListMap = CertificateAlgorithmEntry
+					.newSignatureAlgorithmMap(certificateAlgorithmEntries);
+			}
+			catch (UncheckedIOException uncheckedIOException)
+			{
+				throw uncheckedIOException.getCause();
+			}
 			this.applicationModelBean.setKeypairSignatureAlgorithms(uniqueListMap);
 			finished = true;
 			log.log(new LogRecord(Level.INFO, "key pair signature algorithms initialized"));
@@ -24,8 +24,12 @@
  */
 package io.github.astrapi69.key.pair.generator;
 
+import java.util.Arrays;
 
 import io.github.astrapi69.awt.screen.ScreenSizeExtensions;
+import io.github.astrapi69.key.pair.generator.batch.BatchCertificateIssuer;
+import io.github.astrapi69.key.pair.generator.batch.BatchCsrSigner;
+import io.github.astrapi69.key.pair.generator.batch.BatchKeyGenerator;
 
 /**
  * The class {@link WizardApplicationFrame} starts the application
@@ -34,13 +38,32 @@ public class StartApplication
 {
 
 	/**
-	 * The main method that start this {@link WizardApplicationFrame}
+	 * The main method that start this {@link WizardApplicationFrame}. If the first argument is
+	 * {@code batch} the key pairs are generated headless with the {@link BatchKeyGenerator}, if
+	 * it is {@code issue} the certificates are issued headless with the
+	 * {@link BatchCertificateIssuer} and if it is {@code sign-csr} a directory of certificate
+	 * signing requests is signed headless with the {@link BatchCsrSigner}
 	 *
 	 * @param args
 	 *            the arguments
 	 */
 	public static void main(final String[] args)
 	{
+		if (0 < args.length && BatchKeyGenerator.COMMAND.equals(args[0]))
+		{
+			BatchKeyGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		if (0 < args.length && BatchCertificateIssuer.COMMAND.equals(args[0]))
+		{
+			BatchCertificateIssuer.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		if (0 < args.length && BatchCsrSigner.COMMAND.equals(args[0]))
+		{
+			BatchCsrSigner.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
 		WizardApplicationFrame frame = new WizardApplicationFrame();
 		while (!frame.isVisible())
 		{
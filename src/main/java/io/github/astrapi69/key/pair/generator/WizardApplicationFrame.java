@@ -24,22 +24,35 @@
  */
 package io.github.astrapi69.key.pair.generator;
 
+import java.awt.Graphics;
+import java.lang.management.ManagementFactory;
 import java.security.Security;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import javax.swing.SwingUtilities;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
 import io.github.astrapi69.awt.screen.ScreenSizeExtensions;
-import io.github.astrapi69.lang.thread.ThreadExtensions;
+import io.github.astrapi69.key.pair.generator.pool.KeyPairPool;
 import io.github.astrapi69.model.BaseModel;
 import io.github.astrapi69.swing.base.ApplicationPanelFrame;
 import io.github.astrapi69.swing.base.BasePanel;
+import io.github.astrapi69.swing.dialog.DialogExtensions;
 import io.github.astrapi69.swing.plaf.LookAndFeels;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.java.Log;
 
+@Log
 @Getter
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class WizardApplicationFrame extends ApplicationPanelFrame<ApplicationModelBean>
@@ -54,6 +67,11 @@ public class WizardApplicationFrame extends ApplicationPanelFrame<ApplicationMod
 	@Getter
 	private static WizardApplicationFrame instance;
 
+	/**
+	 * The system property that enables the startup benchmark mode
+	 */
+	public static final String STARTUP_BENCHMARK_PROPERTY = "key.pair.generator.startup.benchmark";
+
 	ApplicationPanel applicationPanel;
 	/**
 	 * The {@link BouncyCastleProvider} object
@@ -64,6 +82,38 @@ public class WizardApplicationFrame extends ApplicationPanelFrame<ApplicationMod
 
 	KeyPairSignatureAlgorithmInitializer keyPairSignatureAlgorithmInitializer;
 
+	/**
+	 * The future of the key pair algorithm with key sizes catalog
+	 */
+	CompletableFuture<Void> keyPairAlgorithmWithKeysizesFuture;
+
+	/**
+	 * The future of the key pair signature algorithm catalog
+	 */
+	CompletableFuture<Void> keyPairSignatureAlgorithmFuture;
+
+	/**
+	 * The future that completes when both catalogs are loaded
+	 */
+	CompletableFuture<Void> catalogsFuture;
+
+	/**
+	 * The flag that indicates if the key pair algorithm and the signature algorithm catalogs are
+	 * loaded
+	 */
+	volatile boolean catalogsLoaded;
+
+	/**
+	 * The flag that indicates if this frame is painted the first time
+	 */
+	volatile boolean firstPainted;
+
+	/**
+	 * The optional pool of pre-generated key pairs, is null if the pool is not enabled with the
+	 * system property {@code key.pair.generator.pool.enabled}
+	 */
+	KeyPairPool keyPairPool;
+
 	public WizardApplicationFrame()
 	{
 		super(Messages.getString("mainframe.title"));
@@ -81,29 +131,143 @@ public class WizardApplicationFrame extends ApplicationPanelFrame<ApplicationMod
 		// initialize model and model object
 		final ApplicationModelBean applicationModelBean = ApplicationModelBean.builder().build();
 		setModel(BaseModel.of(applicationModelBean));
-		try
-		{
-			keyPairAlgorithmWithKeysizesInitializer = new KeyPairAlgorithmWithKeysizesInitializer(
-				getModelObject());
-			ThreadExtensions.runWithTimeout(keyPairAlgorithmWithKeysizesInitializer, 90,
-				TimeUnit.SECONDS);
-		}
-		catch (TimeoutException e)
+		keyPairAlgorithmWithKeysizesInitializer = new KeyPairAlgorithmWithKeysizesInitializer(
+			getModelObject());
+		keyPairSignatureAlgorithmInitializer = new KeyPairSignatureAlgorithmInitializer(
+			getModelObject());
+		// load both catalogs in parallel, the frame is shown without waiting for them
+		ExecutorService catalogExecutor = Executors.newFixedThreadPool(2, runnable -> {
+			Thread thread = new Thread(runnable, "catalog-initializer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		keyPairAlgorithmWithKeysizesFuture = CompletableFuture
+			.runAsync(keyPairAlgorithmWithKeysizesInitializer, catalogExecutor)
+			.orTimeout(90, TimeUnit.SECONDS);
+		keyPairSignatureAlgorithmFuture = CompletableFuture
+			.runAsync(keyPairSignatureAlgorithmInitializer, catalogExecutor)
+			.orTimeout(90, TimeUnit.SECONDS);
+		catalogsFuture = CompletableFuture
+			.allOf(keyPairAlgorithmWithKeysizesFuture, keyPairSignatureAlgorithmFuture)
+			.whenComplete((result, throwable) -> {
+				catalogExecutor.shutdown();
+				if (throwable != null)
+				{
+					SwingUtilities.invokeLater(() -> onCatalogsFailed(unwrap(throwable)));
+				}
+				else
+				{
+					catalogsLoaded = true;
+					logStartupTime("catalogs loaded");
+				}
+			});
+		if (Boolean.getBoolean(KeyPairPool.ENABLED_PROPERTY))
 		{
-			throw new RuntimeException(e);
+			keyPairPool = KeyPairPool.newKeyPairPool();
+			// wipe the pooled key pairs when the application exits
+			Runtime.getRuntime()
+				.addShutdownHook(new Thread(keyPairPool::close, "key-pair-pool-shutdown"));
 		}
-		try
+		super.onBeforeInitialize();
+	}
+
+	/**
+	 * Executes the given action on the event dispatch thread as soon as the key pair algorithm and
+	 * the signature algorithm catalogs are loaded. If the catalogs are already loaded and the
+	 * current thread is the event dispatch thread the action is executed immediately
+	 *
+	 * @param action
+	 *            the action to execute
+	 */
+	public void whenCatalogsLoaded(final Runnable action)
+	{
+		whenCatalogsLoaded(action, throwable -> {
+		});
+	}
+
+	/**
+	 * Executes the given action on the event dispatch thread as soon as the key pair algorithm and
+	 * the signature algorithm catalogs are loaded or the given failure action if the load of the
+	 * catalogs failed or timed out. If the catalogs are already loaded and the current thread is
+	 * the event dispatch thread the action is executed immediately
+	 *
+	 * @param action
+	 *            the action to execute
+	 * @param failureAction
+	 *            the action to execute with the cause if the load of the catalogs failed
+	 */
+	public void whenCatalogsLoaded(final Runnable action, final Consumer<Throwable> failureAction)
+	{
+		catalogsFuture.whenComplete((result, throwable) -> {
+			Runnable completion = throwable == null
+				? action
+				: () -> failureAction.accept(unwrap(throwable));
+			if (SwingUtilities.isEventDispatchThread())
+			{
+				completion.run();
+			}
+			else
+			{
+				SwingUtilities.invokeLater(completion);
+			}
+		});
+	}
+
+	private static Throwable unwrap(final Throwable throwable)
+	{
+		return throwable instanceof CompletionException && throwable.getCause() != null
+			? throwable.getCause()
+			: throwable;
+	}
+
+	/**
+	 * Callback method that is called on the event dispatch thread if the load of the key pair
+	 * algorithm or the signature algorithm catalog failed or timed out
+	 *
+	 * @param exception
+	 *            the cause of the failure
+	 */
+	protected void onCatalogsFailed(final Throwable exception)
+	{
+		log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+		String title = "Initialization of the algorithm catalogs failed";
+		String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
+			+ "<p> The algorithms and key sizes of the security providers could not be loaded"
+			+ (exception instanceof TimeoutException ? " within 90 seconds" : "") + "<p>"
+			+ exception.getMessage();
+		DialogExtensions.showExceptionDialog(exception, this);
+		throw new RuntimeException(title + "::" + htmlMessage, exception);
+	}
+
+	@Override
+	public void paint(final Graphics graphics)
+	{
+		super.paint(graphics);
+		if (!firstPainted)
 		{
-			keyPairSignatureAlgorithmInitializer = new KeyPairSignatureAlgorithmInitializer(
-				getModelObject());
-			ThreadExtensions.runWithTimeout(keyPairSignatureAlgorithmInitializer, 90,
-				TimeUnit.SECONDS);
+			firstPainted = true;
+			logStartupTime("first paint");
 		}
-		catch (TimeoutException e)
+	}
+
+	/**
+	 * Logs the elapsed time since the start of the java virtual machine for the given startup
+	 * event. If the system property {@code key.pair.generator.startup.benchmark} is set to true the
+	 * application exits after the first paint and the load of the catalogs, so the startup can be
+	 * measured by a benchmark script
+	 *
+	 * @param event
+	 *            the startup event
+	 */
+	protected void logStartupTime(final String event)
+	{
+		long elapsed = System.currentTimeMillis()
+			- ManagementFactory.getRuntimeMXBean().getStartTime();
+		log.info("startup: " + event + " after " + elapsed + " ms");
+		if (Boolean.getBoolean(STARTUP_BENCHMARK_PROPERTY) && firstPainted && catalogsLoaded)
 		{
-			throw new RuntimeException(e);
+			System.exit(0);
 		}
-		super.onBeforeInitialize();
 	}
 
 	@Override
@@ -0,0 +1,282 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BatchCertificateIssuanceOptions} holds the options of the bulk issuance of
+ * certificates from a csv file. The defaults are used for the rows that have no value in the
+ * corresponding column
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchCertificateIssuanceOptions
+{
+
+	/**
+	 * The usage of the batch certificate issuance command
+	 */
+	public static final String USAGE = "Usage: issue --input <csv file> --output <directory> "
+		+ "[--threads <threads>] [--algorithm <algorithm>] [--key-size <size>] "
+		+ "[--signature-algorithm <algorithm>] [--validity-days <days>] "
+		+ "[--formats <format,...>] [--password-env <variable>] [--keystore <file.p12|file.jks>] "
+		+ "[--ca <directory>] [--ca-password-env <variable>] "
+		+ "[--stage-threads build=<threads>,sign=<threads>,encode=<threads>,write=<threads>] "
+		+ "[--queue-capacity <items>]";
+
+	/**
+	 * The csv file with the subjects
+	 */
+	File inputFile;
+
+	/**
+	 * The directory the certificates and private keys are written to
+	 */
+	File outputDirectory;
+
+	/**
+	 * The formats the certificates and key pairs are written to in the output directory
+	 */
+	@Builder.Default
+	Set<KeyExportFormat> formats = EnumSet.of(KeyExportFormat.CERTIFICATE_PEM,
+		KeyExportFormat.PRIVATE_KEY_PEM);
+
+	/**
+	 * The password of the password protected formats
+	 */
+	@ToString.Exclude
+	char[] password;
+
+	/**
+	 * The key store file all certificates and key pairs are appended to, if null no key store is
+	 * written
+	 */
+	File keyStoreFile;
+
+	/**
+	 * The directory of the local certificate authority whose intermediate issues the
+	 * certificates, if null the certificates are self signed. A new certificate authority is
+	 * created if the directory contains none
+	 */
+	File certificateAuthorityDirectory;
+
+	/**
+	 * The password of the private keys of the local certificate authority
+	 */
+	@ToString.Exclude
+	char[] certificateAuthorityPassword;
+
+	/**
+	 * The number of the worker threads
+	 */
+	@Builder.Default
+	int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The number of the worker threads of the single stages of the issuance pipeline by the name
+	 * of the stage, the stages that are not contained have {@link #threads} worker threads
+	 */
+	@Builder.Default
+	Map<String, Integer> stageThreads = Collections.emptyMap();
+
+	/**
+	 * The capacity of the input queue of every stage of the issuance pipeline, if not positive the
+	 * capacity is four times the number of the worker threads
+	 */
+	@Getter(AccessLevel.NONE)
+	int queueCapacity;
+
+	/**
+	 * The default key pair algorithm
+	 */
+	@Builder.Default
+	String keyPairAlgorithm = "RSA";
+
+	/**
+	 * The default key size
+	 */
+	@Builder.Default
+	Integer keySize = 2048;
+
+	/**
+	 * The default signature algorithm
+	 */
+	@Builder.Default
+	String signatureAlgorithm = "SHA256withRSA";
+
+	/**
+	 * The default validity of the certificates in days
+	 */
+	@Builder.Default
+	int validityDays = 365;
+
+	/**
+	 * Parses the given command line arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return the parsed options
+	 * @throws IllegalArgumentException
+	 *             if the arguments are not valid
+	 */
+	public static BatchCertificateIssuanceOptions parse(final String... args)
+	{
+		BatchCertificateIssuanceOptionsBuilder builder = builder();
+		for (int i = 0; i < args.length; i++)
+		{
+			String option = args[i];
+			if (i + 1 == args.length)
+			{
+				throw new IllegalArgumentException("Missing value of option " + option);
+			}
+			String value = args[++i];
+			switch (option)
+			{
+				case "--input" -> builder.inputFile(new File(value));
+				case "--output" -> builder.outputDirectory(new File(value));
+				case "--threads" -> builder.threads(Integer.parseInt(value));
+				case "--algorithm" -> builder.keyPairAlgorithm(value);
+				case "--key-size" -> builder.keySize(Integer.valueOf(value));
+				case "--signature-algorithm" -> builder.signatureAlgorithm(value);
+				case "--validity-days" -> builder.validityDays(Integer.parseInt(value));
+				case "--formats" -> builder.formats(KeyExportFormat.parseAll(value));
+				case "--password-env" -> builder.password(
+					BatchKeyGenerationOptions.getPasswordFromEnvironment(value));
+				case "--keystore" -> builder.keyStoreFile(new File(value));
+				case "--ca" -> builder.certificateAuthorityDirectory(new File(value));
+				case "--ca-password-env" -> builder.certificateAuthorityPassword(
+					BatchKeyGenerationOptions.getPasswordFromEnvironment(value));
+				case "--stage-threads" -> builder.stageThreads(
+					parseStageThreads(value, BatchCertificateIssuer.STAGES));
+				case "--queue-capacity" -> builder.queueCapacity(Integer.parseInt(value));
+				default -> throw new IllegalArgumentException("Unknown option " + option);
+			}
+		}
+		BatchCertificateIssuanceOptions options = builder.build();
+		if (options.getInputFile() == null || options.getOutputDirectory() == null)
+		{
+			throw new IllegalArgumentException("input and output are required");
+		}
+		if (options.getThreads() < 1 || options.getValidityDays() < 1
+			|| options.queueCapacity < 0)
+		{
+			throw new IllegalArgumentException(
+				"threads, validity days and queue capacity have to be positive");
+		}
+		for (KeyExportFormat format : options.getFormats())
+		{
+			if (format.isPasswordRequired() && options.getPassword() == null)
+			{
+				throw new IllegalArgumentException(
+					"Format " + format.getOptionName() + " needs --password-env");
+			}
+		}
+		if (options.getKeyStoreFile() != null && options.getPassword() == null)
+		{
+			throw new IllegalArgumentException("--keystore needs --password-env");
+		}
+		if (options.getCertificateAuthorityPassword() != null
+			&& options.getCertificateAuthorityDirectory() == null)
+		{
+			throw new IllegalArgumentException("--ca-password-env needs --ca");
+		}
+		return options;
+	}
+
+	/**
+	 * Gets the number of the worker threads of the stage with the given name of the issuance
+	 * pipeline
+	 *
+	 * @param stage
+	 *            the name of the stage
+	 * @return the number of the worker threads of the stage
+	 */
+	public int getStageThreads(final String stage)
+	{
+		return stageThreads.getOrDefault(stage, threads);
+	}
+
+	/**
+	 * Gets the capacity of the input queue of every stage of the issuance pipeline
+	 *
+	 * @return the capacity of the input queues
+	 */
+	public int getQueueCapacity()
+	{
+		return 0 < queueCapacity ? queueCapacity : threads * 4;
+	}
+
+	/**
+	 * Parses the number of the worker threads by stage in the format
+	 * {@code <stage>=<threads>,...}
+	 *
+	 * @param value
+	 *            the value of the option
+	 * @param stages
+	 *            the names of the stages of the pipeline
+	 * @return the number of the worker threads by the name of the stage
+	 * @throws IllegalArgumentException
+	 *             if a stage is unknown or its number of threads is not positive
+	 */
+	static Map<String, Integer> parseStageThreads(final String value, final List<String> stages)
+	{
+		Map<String, Integer> stageThreads = new LinkedHashMap<>();
+		for (String stage : value.split(","))
+		{
+			String[] parts = stage.split("=", 2);
+			if (parts.length != 2 || !stages.contains(parts[0].trim()))
+			{
+				throw new IllegalArgumentException("Invalid stage threads '" + stage
+					+ "', expected one of " + stages + " and =<threads>");
+			}
+			int threads = Integer.parseInt(parts[1].trim());
+			if (threads < 1)
+			{
+				throw new IllegalArgumentException(
+					"Stage " + parts[0].trim() + " needs at least one thread");
+			}
+			stageThreads.put(parts[0].trim(), threads);
+		}
+		return Collections.unmodifiableMap(stageThreads);
+	}
+
+}
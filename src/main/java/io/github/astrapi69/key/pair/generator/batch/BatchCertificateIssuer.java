@@ -0,0 +1,562 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+
+import io.github.astrapi69.crypt.data.key.KeyInfoExtensions;
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.cache.SerialNumberAllocator;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.export.KeyExportRequest;
+import io.github.astrapi69.key.pair.generator.export.KeyPairExporter;
+import io.github.astrapi69.key.pair.generator.export.KeyStoreSink;
+import io.github.astrapi69.key.pair.generator.export.PrivateKeyEncryptor;
+import io.github.astrapi69.key.pair.generator.extension.CsvExtensions;
+import io.github.astrapi69.key.pair.generator.model.CertificateSubjectEntry;
+import io.github.astrapi69.key.pair.generator.pipeline.StageMetrics;
+import io.github.astrapi69.key.pair.generator.pipeline.StagedPipeline;
+import io.github.astrapi69.key.pair.generator.random.RandomnessDiagnostics;
+import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ExtensionInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.KeyInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ValidityModel;
+import io.github.astrapi69.key.pair.generator.x509.SelfSignedCertificates;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionTemplate;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link BatchCertificateIssuer} issues certificates in bulk from a csv file of subjects
+ * without user interface. The rows are streamed from the csv file into a {@link StagedPipeline}
+ * with the stages {@code build}, {@code sign}, {@code encode} and {@code write}, each with its own
+ * number of worker threads and a bounded input queue. The build stage generates the key pair and
+ * the unsigned certificate, the sign stage signs it, either self signed with the private key of
+ * the row or by the intermediate of a {@link LocalCertificateAuthority}, the encode stage encodes
+ * the export formats and the write stage writes them and appends the entry to the key store. A
+ * full queue blocks the stages before it down to the csv reader, so the memory usage does not
+ * depend on the size of the csv file. The rows that failed are written to the file
+ * {@code failed-rows.csv} and the metrics of the stages of the last run are kept
+ */
+@Log
+public class BatchCertificateIssuer
+{
+
+	/**
+	 * The command line argument that starts the batch certificate issuance instead of the user
+	 * interface
+	 */
+	public static final String COMMAND = "issue";
+
+	/**
+	 * The name of the file the failed rows are written to
+	 */
+	public static final String FAILED_ROWS_FILE_NAME = "failed-rows.csv";
+
+	/**
+	 * The stage that generates the key pair and builds the unsigned certificate
+	 */
+	public static final String STAGE_BUILD = "build";
+
+	/**
+	 * The stage that signs the certificate
+	 */
+	public static final String STAGE_SIGN = "sign";
+
+	/**
+	 * The stage that encodes the export formats
+	 */
+	public static final String STAGE_ENCODE = "encode";
+
+	/**
+	 * The stage that writes the export formats and the key store entry
+	 */
+	public static final String STAGE_WRITE = "write";
+
+	/**
+	 * The names of the stages of the issuance pipeline in their order
+	 */
+	public static final List<String> STAGES = List.of(STAGE_BUILD, STAGE_SIGN, STAGE_ENCODE,
+		STAGE_WRITE);
+
+	private final BatchCertificateIssuanceOptions options;
+
+	/**
+	 * The lines of the failed rows by their row number, so they are written in the order of the
+	 * input file
+	 */
+	private final ConcurrentSkipListMap<Long, String> failedRows = new ConcurrentSkipListMap<>();
+
+	private final KeyPairExporter keyPairExporter = new KeyPairExporter(Runnable::run);
+
+	/**
+	 * The key store of the running issuance, null if no key store is written
+	 */
+	private volatile KeyStoreSink keyStoreSink;
+
+	/**
+	 * The encryptor of the encrypted PKCS#8 format of the running issuance, null if the format is
+	 * not exported
+	 */
+	private volatile PrivateKeyEncryptor privateKeyEncryptor;
+
+	/**
+	 * The certificate authority of the running issuance, null if the certificates are self signed
+	 */
+	private volatile LocalCertificateAuthority certificateAuthority;
+
+	/**
+	 * The metrics of the stages of the last run
+	 */
+	@Getter
+	private volatile List<StageMetrics> stageMetrics = Collections.emptyList();
+
+	/**
+	 * Instantiates a new {@link BatchCertificateIssuer}
+	 *
+	 * @param options
+	 *            the options
+	 */
+	public BatchCertificateIssuer(final BatchCertificateIssuanceOptions options)
+	{
+		this.options = options;
+	}
+
+	/**
+	 * The main method that runs the batch certificate issuance with the given command line
+	 * arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 */
+	public static void main(final String[] args)
+	{
+		try
+		{
+			BatchCertificateIssuer issuer = new BatchCertificateIssuer(
+				BatchCertificateIssuanceOptions.parse(args));
+			BatchReport report = issuer.run();
+			System.out.println(report);
+			issuer.getStageMetrics().forEach(System.out::println);
+			System.out.println(RandomnessDiagnostics.toSummary());
+			if (0 < report.getFailed())
+			{
+				System.out.println("failed rows are written to " + new File(
+					issuer.options.getOutputDirectory(), FAILED_ROWS_FILE_NAME));
+				System.exit(1);
+			}
+		}
+		catch (IllegalArgumentException exception)
+		{
+			System.err.println(exception.getMessage());
+			System.err.println(BatchCertificateIssuanceOptions.USAGE);
+			System.exit(2);
+		}
+		catch (IOException exception)
+		{
+			log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+			System.exit(1);
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the batch certificate issuance
+	 *
+	 * @return the report of the batch certificate issuance
+	 * @throws IOException
+	 *             if the csv file can not be read, the output directory or the key store can not
+	 *             be created or the certificate authority can not be opened
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the workers
+	 */
+	public BatchReport run() throws IOException, InterruptedException
+	{
+		File outputDirectory = options.getOutputDirectory();
+		if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs())
+		{
+			throw new IOException("Output directory could not be created: " + outputDirectory);
+		}
+		failedRows.clear();
+		certificateAuthority = openCertificateAuthority();
+		keyStoreSink = openKeyStoreSink();
+		privateKeyEncryptor = BatchKeyGenerator.newPrivateKeyEncryptor(options.getFormats(),
+			options.getPassword());
+		LatencyStatistics latencies = new LatencyStatistics();
+		LongAdder succeeded = new LongAdder();
+		StagedPipeline<IssuanceJob> pipeline = StagedPipeline
+			.<IssuanceJob> builder("batch-certificate-issuer")
+			.queueCapacity(options.getQueueCapacity())
+			.stage(STAGE_BUILD, options.getStageThreads(STAGE_BUILD), this::build)
+			.stage(STAGE_SIGN, options.getStageThreads(STAGE_SIGN), this::sign)
+			.stage(STAGE_ENCODE, options.getStageThreads(STAGE_ENCODE), this::encode)
+			.stage(STAGE_WRITE, options.getStageThreads(STAGE_WRITE), this::write)
+			.onCompleted(job -> {
+				latencies.record(System.nanoTime() - job.startNanos);
+				succeeded.increment();
+			}).onFailed((job, exception) -> onFailedRow(job.entry, exception)).start();
+		stageMetrics = pipeline.getStageMetrics();
+		long start = System.nanoTime();
+		try (InputStream inputStream = new FileInputStream(options.getInputFile()))
+		{
+			CsvExtensions.readCertificateSubjectEntriesFromCsv(inputStream, entry -> {
+				try
+				{
+					// blocks while the queue of the build stage is full
+					pipeline.submit(new IssuanceJob(entry));
+				}
+				catch (InterruptedException exception)
+				{
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Issuance interrupted", exception);
+				}
+			});
+		}
+		finally
+		{
+			pipeline.close();
+			log.info(pipeline.toSummary());
+			if (privateKeyEncryptor != null)
+			{
+				privateKeyEncryptor.close();
+				privateKeyEncryptor = null;
+			}
+			if (keyStoreSink != null)
+			{
+				keyStoreSink.close();
+				log.info(keyStoreSink.toSummary());
+				keyStoreSink = null;
+			}
+			if (certificateAuthority != null)
+			{
+				log.info(certificateAuthority.toSummary());
+				certificateAuthority = null;
+			}
+		}
+		writeFailedRows(outputDirectory);
+		return new BatchReport("certificates", succeeded.sum(), failedRows.size(),
+			System.nanoTime() - start, latencies);
+	}
+
+	/**
+	 * The build stage, generates the key pair of the entry of the given job and builds its
+	 * unsigned certificate
+	 *
+	 * @param job
+	 *            the job
+	 * @throws Exception
+	 *             if the generation of the key pair or the building of the certificate fails
+	 */
+	protected void build(final IssuanceJob job) throws Exception
+	{
+		CertificateSubjectEntry entry = job.entry;
+		String keyPairAlgorithm = entry.getKeyPairAlgorithm().isEmpty()
+			? options.getKeyPairAlgorithm()
+			: entry.getKeyPairAlgorithm();
+		Integer keySize = entry.getKeySize().isEmpty()
+			? options.getKeySize()
+			: Integer.valueOf(entry.getKeySize());
+		job.keyPair = KeyPairEngine.generate(KeyPairSpec.of(keyPairAlgorithm, keySize));
+		CertificateInfoModel certificateInfoModel = toCertificateInfoModel(entry, job.keyPair);
+		job.signatureAlgorithm = certificateInfoModel.getSignatureAlgorithm();
+		LocalCertificateAuthority currentCertificateAuthority = certificateAuthority;
+		job.certificateBuilder = currentCertificateAuthority != null
+			? currentCertificateAuthority.newCertificateBuilder(certificateInfoModel,
+				job.keyPair.getPublic())
+			: newSelfSignedCertificateBuilder(certificateInfoModel, job.keyPair.getPublic());
+		job.fileName = entry.getRowNumber() + "-"
+			+ entry.getCommonName().replaceAll("[^A-Za-z0-9._-]", "_");
+	}
+
+	/**
+	 * The sign stage, signs the certificate of the given job by the intermediate of the
+	 * certificate authority or self signed with the private key of the job
+	 *
+	 * @param job
+	 *            the job
+	 * @throws Exception
+	 *             if the signing fails
+	 */
+	protected void sign(final IssuanceJob job) throws Exception
+	{
+		LocalCertificateAuthority currentCertificateAuthority = certificateAuthority;
+		job.certificate = currentCertificateAuthority != null
+			? currentCertificateAuthority.sign(job.certificateBuilder)
+			: SelfSignedCertificates.sign(job.certificateBuilder, job.signatureAlgorithm,
+				job.keyPair);
+		job.certificateBuilder = null;
+	}
+
+	/**
+	 * The encode stage, encodes the certificate and the key pair of the given job in the export
+	 * formats
+	 *
+	 * @param job
+	 *            the job
+	 * @throws Exception
+	 *             if the encoding or the encryption of a format fails
+	 */
+	protected void encode(final IssuanceJob job) throws Exception
+	{
+		job.exportRequest = KeyExportRequest.builder().keyPair(job.keyPair)
+			.certificate(job.certificate).formats(options.getFormats())
+			.directory(options.getOutputDirectory().toPath()).baseName(job.fileName)
+			.password(options.getPassword()).privateKeyEncryptor(privateKeyEncryptor).build();
+		job.encoded = keyPairExporter.encode(job.exportRequest);
+	}
+
+	/**
+	 * The write stage, writes the encoded formats of the given job and appends the entry to the
+	 * key store if one is written
+	 *
+	 * @param job
+	 *            the job
+	 * @throws Exception
+	 *             if a file or the key store entry can not be written
+	 */
+	protected void write(final IssuanceJob job) throws Exception
+	{
+		keyPairExporter.write(job.exportRequest, job.encoded);
+		job.encoded = null;
+		KeyStoreSink currentKeyStoreSink = keyStoreSink;
+		if (currentKeyStoreSink != null)
+		{
+			currentKeyStoreSink.add(job.fileName, job.keyPair, job.certificate);
+		}
+	}
+
+	/**
+	 * Builds the unsigned self signed certificate of the given {@link CertificateInfoModel}, the
+	 * encoded extensions are shared with all certificates of the batch that have the same
+	 * extensions
+	 *
+	 * @param certificateInfoModel
+	 *            the certificate info model
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @return the certificate builder
+	 * @throws GeneralSecurityException
+	 *             if an extension can not be added
+	 */
+	protected X509v3CertificateBuilder newSelfSignedCertificateBuilder(
+		final CertificateInfoModel certificateInfoModel, final PublicKey publicKey)
+		throws GeneralSecurityException
+	{
+		return SelfSignedCertificates.newCertificateBuilder(certificateInfoModel,
+			X509ExtensionTemplate.of(certificateInfoModel.getExtensions()), publicKey);
+	}
+
+	private LocalCertificateAuthority openCertificateAuthority() throws IOException
+	{
+		if (options.getCertificateAuthorityDirectory() == null)
+		{
+			return null;
+		}
+		try
+		{
+			return LocalCertificateAuthority.openOrCreate(
+				options.getCertificateAuthorityDirectory().toPath(),
+				LocalCertificateAuthority.DEFAULT_NAME, options.getCertificateAuthorityPassword());
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IOException("Certificate authority could not be opened: "
+				+ options.getCertificateAuthorityDirectory(), exception);
+		}
+	}
+
+	private KeyStoreSink openKeyStoreSink() throws IOException
+	{
+		if (options.getKeyStoreFile() == null)
+		{
+			return null;
+		}
+		try
+		{
+			return KeyStoreSink.open(options.getKeyStoreFile().toPath(), options.getPassword());
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IOException("Key store could not be created: " + options.getKeyStoreFile(),
+				exception);
+		}
+	}
+
+	/**
+	 * Maps the given entry and key pair to a self signed {@link CertificateInfoModel}
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param keyPair
+	 *            the key pair of the certificate
+	 * @return the new {@link CertificateInfoModel}
+	 */
+	protected CertificateInfoModel toCertificateInfoModel(final CertificateSubjectEntry entry,
+		final KeyPair keyPair)
+	{
+		DistinguishedNameInfoModel subject = DistinguishedNameInfoModel.builder()
+			.commonName(entry.getCommonName()).countryCode(entry.getCountryCode())
+			.location(entry.getLocation()).organisation(entry.getOrganisation())
+			.organisationUnit(entry.getOrganisationUnit()).state(entry.getState()).build();
+		ZonedDateTime now = ZonedDateTime.now();
+		int validityDays = entry.getValidityDays().isEmpty()
+			? options.getValidityDays()
+			: Integer.parseInt(entry.getValidityDays());
+		ValidityModel validityModel = ValidityModel.builder().notBefore(now)
+			.notAfter(now.plusDays(validityDays)).build();
+
+		return CertificateInfoModel.builder()
+			.privateKeyInfo(
+				KeyInfoModel.toKeyInfoModel(KeyInfoExtensions.toKeyInfo(keyPair.getPrivate())))
+			.publicKeyInfo(
+				KeyInfoModel.toKeyInfoModel(KeyInfoExtensions.toKeyInfo(keyPair.getPublic())))
+			.serial(SerialNumberAllocator.getDefault().nextSerialNumber())
+			.issuer(subject.toBuilder().build()).subject(subject).validityModel(validityModel)
+			.keyPairAlgorithm(keyPair.getPublic().getAlgorithm())
+			.signatureAlgorithm(entry.getSignatureAlgorithm().isEmpty()
+				? options.getSignatureAlgorithm()
+				: entry.getSignatureAlgorithm())
+			.extensions(toExtensionInfoModels(entry)).build();
+	}
+
+	/**
+	 * Maps the subject alternative names and the additional extensions of the given entry to
+	 * {@link ExtensionInfoModel} objects
+	 *
+	 * @param entry
+	 *            the entry
+	 * @return the extension info models
+	 */
+	protected ExtensionInfoModel[] toExtensionInfoModels(final CertificateSubjectEntry entry)
+	{
+		List<ExtensionInfoModel> extensions = new ArrayList<>();
+		if (!entry.getSubjectAlternativeNames().isEmpty())
+		{
+			extensions.add(ExtensionInfoModel.builder()
+				.extensionId(Extension.subjectAlternativeName.getId()).critical(false)
+				.value(entry.getSubjectAlternativeNames()).build());
+		}
+		for (String extension : entry.getExtensions().split(";"))
+		{
+			if (extension.isBlank())
+			{
+				continue;
+			}
+			String[] parts = extension.split("\\|", 3);
+			if (parts.length != 3)
+			{
+				throw new IllegalArgumentException(
+					"Invalid extension '" + extension + "', expected oid|critical|value");
+			}
+			extensions.add(ExtensionInfoModel.builder().extensionId(parts[0].trim())
+				.critical(Boolean.parseBoolean(parts[1].trim())).value(parts[2]).build());
+		}
+		return extensions.toArray(new ExtensionInfoModel[0]);
+	}
+
+	private void onFailedRow(final CertificateSubjectEntry entry, final Exception exception)
+	{
+		log.log(Level.WARNING, "Issuance of the certificate of row " + entry.getRowNumber()
+			+ " failed: " + exception.getLocalizedMessage(), exception);
+		String message = String.valueOf(exception.getMessage()).replace('"', '\'');
+		failedRows.put(entry.getRowNumber(), entry.getRowNumber() + ",\""
+			+ entry.getCommonName().replace('"', '\'') + "\",\"" + message + "\"");
+	}
+
+	private void writeFailedRows(final File outputDirectory) throws IOException
+	{
+		if (failedRows.isEmpty())
+		{
+			return;
+		}
+		try (PrintWriter writer = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(
+			new File(outputDirectory, FAILED_ROWS_FILE_NAME).toPath(), StandardCharsets.UTF_8))))
+		{
+			writer.println("row,common-name,error");
+			failedRows.values().forEach(writer::println);
+		}
+	}
+
+	/**
+	 * The state of one row while it passes the stages of the issuance pipeline
+	 */
+	protected static final class IssuanceJob
+	{
+
+		private final CertificateSubjectEntry entry;
+
+		private final long startNanos = System.nanoTime();
+
+		private KeyPair keyPair;
+
+		private String signatureAlgorithm;
+
+		private X509v3CertificateBuilder certificateBuilder;
+
+		private X509Certificate certificate;
+
+		private String fileName;
+
+		private KeyExportRequest exportRequest;
+
+		private Map<KeyExportFormat, byte[]> encoded;
+
+		private IssuanceJob(final CertificateSubjectEntry entry)
+		{
+			this.entry = entry;
+		}
+
+	}
+
+}
@@ -0,0 +1,336 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+
+import io.github.astrapi69.crypt.api.key.PemType;
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.csr.CertificateSigningRequests;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.export.KeyPairExporter;
+import io.github.astrapi69.key.pair.generator.pipeline.StageMetrics;
+import io.github.astrapi69.key.pair.generator.pipeline.StagedPipeline;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link BatchCsrSigner} signs a directory of PKCS#10 certificate signing requests with
+ * the intermediate of a {@link LocalCertificateAuthority} without user interface. The files are
+ * streamed from the directory into a {@link StagedPipeline} with the stages {@code verify},
+ * {@code sign} and {@code write}. The verify stage parses the request, verifies its signature and
+ * builds the unsigned certificate, the sign stage signs it and the write stage writes it in pem
+ * format. The requests that are rejected are written to the file
+ * {@code rejected-requests.csv}
+ */
+@Log
+public class BatchCsrSigner
+{
+
+	/**
+	 * The command line argument that starts the batch signing of certificate signing requests
+	 * instead of the user interface
+	 */
+	public static final String COMMAND = "sign-csr";
+
+	/**
+	 * The name of the file the rejected requests are written to
+	 */
+	public static final String REJECTED_REQUESTS_FILE_NAME = "rejected-requests.csv";
+
+	/**
+	 * The stage that parses and verifies the request and builds the unsigned certificate
+	 */
+	public static final String STAGE_VERIFY = "verify";
+
+	/**
+	 * The stage that signs the certificate
+	 */
+	public static final String STAGE_SIGN = "sign";
+
+	/**
+	 * The stage that writes the certificate
+	 */
+	public static final String STAGE_WRITE = "write";
+
+	/**
+	 * The names of the stages of the signing pipeline in their order
+	 */
+	public static final List<String> STAGES = List.of(STAGE_VERIFY, STAGE_SIGN, STAGE_WRITE);
+
+	private final BatchCsrSigningOptions options;
+
+	private final ConcurrentLinkedQueue<String> rejectedRequests = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The certificate authority of the running signing
+	 */
+	private volatile LocalCertificateAuthority certificateAuthority;
+
+	/**
+	 * The metrics of the stages of the last run
+	 */
+	@Getter
+	private volatile List<StageMetrics> stageMetrics = Collections.emptyList();
+
+	/**
+	 * Instantiates a new {@link BatchCsrSigner}
+	 *
+	 * @param options
+	 *            the options
+	 */
+	public BatchCsrSigner(final BatchCsrSigningOptions options)
+	{
+		this.options = options;
+	}
+
+	/**
+	 * The main method that runs the batch signing of certificate signing requests with the given
+	 * command line arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 */
+	public static void main(final String[] args)
+	{
+		try
+		{
+			BatchCsrSigner signer = new BatchCsrSigner(BatchCsrSigningOptions.parse(args));
+			BatchReport report = signer.run();
+			System.out.println(report);
+			signer.getStageMetrics().forEach(System.out::println);
+			if (0 < report.getFailed())
+			{
+				System.out.println(report.getFailed() + " rejected requests are written to "
+					+ new File(signer.options.getOutputDirectory(), REJECTED_REQUESTS_FILE_NAME));
+				System.exit(1);
+			}
+		}
+		catch (IllegalArgumentException exception)
+		{
+			System.err.println(exception.getMessage());
+			System.err.println(BatchCsrSigningOptions.USAGE);
+			System.exit(2);
+		}
+		catch (IOException exception)
+		{
+			log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+			System.exit(1);
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the batch signing of the certificate signing requests
+	 *
+	 * @return the report of the batch signing, the failed operations are the rejected requests
+	 * @throws IOException
+	 *             if the input directory can not be read, the output directory can not be created
+	 *             or the certificate authority can not be opened
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the workers
+	 */
+	public BatchReport run() throws IOException, InterruptedException
+	{
+		File outputDirectory = options.getOutputDirectory();
+		if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs())
+		{
+			throw new IOException("Output directory could not be created: " + outputDirectory);
+		}
+		rejectedRequests.clear();
+		certificateAuthority = openCertificateAuthority();
+		LatencyStatistics latencies = new LatencyStatistics();
+		LongAdder succeeded = new LongAdder();
+		StagedPipeline<SigningJob> pipeline = StagedPipeline
+			.<SigningJob> builder("batch-csr-signer").queueCapacity(options.getQueueCapacity())
+			.stage(STAGE_VERIFY, options.getStageThreads(STAGE_VERIFY), this::verify)
+			.stage(STAGE_SIGN, options.getStageThreads(STAGE_SIGN), this::sign)
+			.stage(STAGE_WRITE, options.getStageThreads(STAGE_WRITE), this::write)
+			.onCompleted(job -> {
+				latencies.record(System.nanoTime() - job.startNanos);
+				succeeded.increment();
+			}).onFailed(this::onRejectedRequest).start();
+		stageMetrics = pipeline.getStageMetrics();
+		long start = System.nanoTime();
+		try (DirectoryStream<Path> requestFiles = Files
+			.newDirectoryStream(options.getInputDirectory().toPath(), Files::isRegularFile))
+		{
+			for (Path requestFile : requestFiles)
+			{
+				// blocks while the queue of the verify stage is full
+				pipeline.submit(new SigningJob(requestFile));
+			}
+		}
+		finally
+		{
+			pipeline.close();
+			log.info(pipeline.toSummary());
+			log.info(certificateAuthority.toSummary());
+			certificateAuthority = null;
+		}
+		writeRejectedRequests(outputDirectory);
+		return new BatchReport("CSRs", succeeded.sum(), rejectedRequests.size(),
+			System.nanoTime() - start, latencies);
+	}
+
+	/**
+	 * The verify stage, parses the request of the given job, verifies its signature and builds the
+	 * unsigned certificate
+	 *
+	 * @param job
+	 *            the job
+	 * @throws Exception
+	 *             if the request can not be read or parsed or its signature is not valid
+	 */
+	protected void verify(final SigningJob job) throws Exception
+	{
+		ZonedDateTime now = ZonedDateTime.now();
+		job.certificateBuilder = certificateAuthority.newCertificateBuilder(
+			CertificateSigningRequests.read(Files.readAllBytes(job.requestFile)),
+			Date.from(now.toInstant()),
+			Date.from(now.plusDays(options.getValidityDays()).toInstant()));
+	}
+
+	/**
+	 * The sign stage, signs the certificate of the given job by the intermediate of the
+	 * certificate authority
+	 *
+	 * @param job
+	 *            the job
+	 * @throws GeneralSecurityException
+	 *             if the signing fails
+	 */
+	protected void sign(final SigningJob job) throws GeneralSecurityException
+	{
+		job.certificate = certificateAuthority.sign(job.certificateBuilder);
+		job.certificateBuilder = null;
+	}
+
+	/**
+	 * The write stage, writes the certificate of the given job in pem format to the output
+	 * directory
+	 *
+	 * @param job
+	 *            the job
+	 * @throws Exception
+	 *             if the certificate can not be encoded or written
+	 */
+	protected void write(final SigningJob job) throws Exception
+	{
+		String fileName = job.requestFile.getFileName().toString();
+		int extension = fileName.lastIndexOf('.');
+		String baseName = 0 < extension ? fileName.substring(0, extension) : fileName;
+		Files.writeString(
+			options.getOutputDirectory().toPath()
+				.resolve(baseName + KeyExportFormat.CERTIFICATE_PEM.getFileSuffix()),
+			KeyPairExporter.toPemFormat(PemType.CERTIFICATE.getName(),
+				job.certificate.getEncoded()),
+			StandardCharsets.US_ASCII);
+	}
+
+	private LocalCertificateAuthority openCertificateAuthority() throws IOException
+	{
+		try
+		{
+			return LocalCertificateAuthority.openOrCreate(
+				options.getCertificateAuthorityDirectory().toPath(),
+				LocalCertificateAuthority.DEFAULT_NAME, options.getCertificateAuthorityPassword());
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IOException("Certificate authority could not be opened: "
+				+ options.getCertificateAuthorityDirectory(), exception);
+		}
+	}
+
+	private void onRejectedRequest(final SigningJob job, final Exception exception)
+	{
+		log.log(Level.WARNING, "Certificate signing request " + job.requestFile
+			+ " rejected: " + exception.getLocalizedMessage());
+		String message = String.valueOf(exception.getMessage()).replace('"', '\'');
+		rejectedRequests.add("\"" + job.requestFile.getFileName().toString().replace('"', '\'')
+			+ "\",\"" + message + "\"");
+	}
+
+	private void writeRejectedRequests(final File outputDirectory) throws IOException
+	{
+		if (rejectedRequests.isEmpty())
+		{
+			return;
+		}
+		try (PrintWriter writer = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(
+			new File(outputDirectory, REJECTED_REQUESTS_FILE_NAME).toPath(),
+			StandardCharsets.UTF_8))))
+		{
+			writer.println("file,error");
+			rejectedRequests.stream().sorted().forEach(writer::println);
+		}
+	}
+
+	/**
+	 * The state of one certificate signing request while it passes the stages of the signing
+	 * pipeline
+	 */
+	protected static final class SigningJob
+	{
+
+		private final Path requestFile;
+
+		private final long startNanos = System.nanoTime();
+
+		private X509v3CertificateBuilder certificateBuilder;
+
+		private X509Certificate certificate;
+
+		private SigningJob(final Path requestFile)
+		{
+			this.requestFile = requestFile;
+		}
+
+	}
+
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BatchCsrSigningOptions} holds the options of the bulk signing of a directory of
+ * certificate signing requests by a local certificate authority
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchCsrSigningOptions
+{
+
+	/**
+	 * The usage of the batch signing command of certificate signing requests
+	 */
+	public static final String USAGE = "Usage: sign-csr --input <directory> --output <directory> "
+		+ "--ca <directory> [--ca-password-env <variable>] [--threads <threads>] "
+		+ "[--validity-days <days>] "
+		+ "[--stage-threads verify=<threads>,sign=<threads>,write=<threads>] "
+		+ "[--queue-capacity <items>]";
+
+	/**
+	 * The directory with the certificate signing requests in the PEM or in the DER format
+	 */
+	File inputDirectory;
+
+	/**
+	 * The directory the issued certificates are written to
+	 */
+	File outputDirectory;
+
+	/**
+	 * The directory of the local certificate authority whose intermediate signs the requests. A
+	 * new certificate authority is created if the directory contains none
+	 */
+	File certificateAuthorityDirectory;
+
+	/**
+	 * The password of the private keys of the local certificate authority
+	 */
+	@ToString.Exclude
+	char[] certificateAuthorityPassword;
+
+	/**
+	 * The number of the worker threads
+	 */
+	@Builder.Default
+	int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The number of the worker threads of the single stages of the signing pipeline by the name of
+	 * the stage, the stages that are not contained have {@link #threads} worker threads
+	 */
+	@Builder.Default
+	Map<String, Integer> stageThreads = Collections.emptyMap();
+
+	/**
+	 * The capacity of the input queue of every stage of the signing pipeline, if not positive the
+	 * capacity is four times the number of the worker threads
+	 */
+	@Getter(AccessLevel.NONE)
+	int queueCapacity;
+
+	/**
+	 * The validity of the issued certificates in days
+	 */
+	@Builder.Default
+	int validityDays = 365;
+
+	/**
+	 * Parses the given command line arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return the parsed options
+	 * @throws IllegalArgumentException
+	 *             if the arguments are not valid
+	 */
+	public static BatchCsrSigningOptions parse(final String... args)
+	{
+		BatchCsrSigningOptionsBuilder builder = builder();
+		for (int i = 0; i < args.length; i++)
+		{
+			String option = args[i];
+			if (i + 1 == args.length)
+			{
+				throw new IllegalArgumentException("Missing value of option " + option);
+			}
+			String value = args[++i];
+			switch (option)
+			{
+				case "--input" -> builder.inputDirectory(new File(value));
+				case "--output" -> builder.outputDirectory(new File(value));
+				case "--ca" -> builder.certificateAuthorityDirectory(new File(value));
+				case "--ca-password-env" -> builder.certificateAuthorityPassword(
+					BatchKeyGenerationOptions.getPasswordFromEnvironment(value));
+				case "--threads" -> builder.threads(Integer.parseInt(value));
+				case "--validity-days" -> builder.validityDays(Integer.parseInt(value));
+				case "--stage-threads" -> builder.stageThreads(BatchCertificateIssuanceOptions
+					.parseStageThreads(value, BatchCsrSigner.STAGES));
+				case "--queue-capacity" -> builder.queueCapacity(Integer.parseInt(value));
+				default -> throw new IllegalArgumentException("Unknown option " + option);
+			}
+		}
+		BatchCsrSigningOptions options = builder.build();
+		if (options.getInputDirectory() == null || options.getOutputDirectory() == null
+			|| options.getCertificateAuthorityDirectory() == null)
+		{
+			throw new IllegalArgumentException("input, output and ca are required");
+		}
+		if (options.getThreads() < 1 || options.getValidityDays() < 1
+			|| options.queueCapacity < 0)
+		{
+			throw new IllegalArgumentException(
+				"threads, validity days and queue capacity have to be positive");
+		}
+		return options;
+	}
+
+	/**
+	 * Gets the number of the worker threads of the stage with the given name of the signing
+	 * pipeline
+	 *
+	 * @param stage
+	 *            the name of the stage
+	 * @return the number of the worker threads of the stage
+	 */
+	public int getStageThreads(final String stage)
+	{
+		return stageThreads.getOrDefault(stage, threads);
+	}
+
+	/**
+	 * Gets the capacity of the input queue of every stage of the signing pipeline
+	 *
+	 * @return the capacity of the input queues
+	 */
+	public int getQueueCapacity()
+	{
+		return 0 < queueCapacity ? queueCapacity : threads * 4;
+	}
+
+}
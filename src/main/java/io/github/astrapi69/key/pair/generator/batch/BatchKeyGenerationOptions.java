@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.Set;
+
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.export.KeyStoreType;
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BatchKeyGenerationOptions} holds the options of the headless batch key
+ * generation
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchKeyGenerationOptions
+{
+
+	/**
+	 * The usage of the batch key generation command
+	 */
+	public static final String USAGE = "Usage: batch --algorithm <algorithm> [--key-size <size>] "
+		+ "[--count <count>] [--threads <threads>] [--output <directory>] "
+		+ "[--secure-random <strategy>] [--formats <format,...>] [--password-env <variable>] "
+		+ "[--keystore <file.p12>]";
+
+	/**
+	 * The key pair algorithm
+	 */
+	@Builder.Default
+	String algorithm = "RSA";
+
+	/**
+	 * The key size, can be null for algorithms that are initialized with a named curve
+	 */
+	Integer keySize;
+
+	/**
+	 * The number of the key pairs to generate
+	 */
+	@Builder.Default
+	int count = 100;
+
+	/**
+	 * The number of the worker threads
+	 */
+	@Builder.Default
+	int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The directory the key pairs are written to in the export formats, if null the key pairs are
+	 * not written as single files
+	 */
+	File outputDirectory;
+
+	/**
+	 * The formats the key pairs are written to in the output directory
+	 */
+	@Builder.Default
+	Set<KeyExportFormat> formats = EnumSet.of(KeyExportFormat.PRIVATE_KEY_PEM,
+		KeyExportFormat.PUBLIC_KEY_PEM);
+
+	/**
+	 * The password of the password protected formats
+	 */
+	@ToString.Exclude
+	char[] password;
+
+	/**
+	 * The key store file all key pairs are appended to, if null no key store is written
+	 */
+	File keyStoreFile;
+
+	/**
+	 * The strategy of the {@link java.security.SecureRandom} of the worker threads, if null the
+	 * configured strategy is used
+	 */
+	SecureRandomStrategy secureRandomStrategy;
+
+	/**
+	 * Parses the given command line arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return the parsed options
+	 * @throws IllegalArgumentException
+	 *             if the arguments are not valid
+	 */
+	public static BatchKeyGenerationOptions parse(final String... args)
+	{
+		BatchKeyGenerationOptionsBuilder builder = builder();
+		for (int i = 0; i < args.length; i++)
+		{
+			String option = args[i];
+			if (i + 1 == args.length)
+			{
+				throw new IllegalArgumentException("Missing value of option " + option);
+			}
+			String value = args[++i];
+			switch (option)
+			{
+				case "--algorithm" -> builder.algorithm(value);
+				case "--key-size" -> builder.keySize(Integer.valueOf(value));
+				case "--count" -> builder.count(Integer.parseInt(value));
+				case "--threads" -> builder.threads(Integer.parseInt(value));
+				case "--output" -> builder.outputDirectory(new File(value));
+				case "--secure-random" -> builder
+					.secureRandomStrategy(SecureRandomStrategy.parse(value));
+				case "--formats" -> builder.formats(KeyExportFormat.parseAll(value));
+				case "--password-env" -> builder.password(getPasswordFromEnvironment(value));
+				case "--keystore" -> builder.keyStoreFile(new File(value));
+				default -> throw new IllegalArgumentException("Unknown option " + option);
+			}
+		}
+		BatchKeyGenerationOptions options = builder.build();
+		if (options.getCount() < 1 || options.getThreads() < 1)
+		{
+			throw new IllegalArgumentException("count and threads have to be positive");
+		}
+		for (KeyExportFormat format : options.getFormats())
+		{
+			if (format.isCertificateRequired())
+			{
+				throw new IllegalArgumentException(
+					"Format " + format.getOptionName() + " needs a certificate");
+			}
+			if (format.isPasswordRequired() && options.getPassword() == null)
+			{
+				throw new IllegalArgumentException(
+					"Format " + format.getOptionName() + " needs --password-env");
+			}
+		}
+		if (options.getKeyStoreFile() != null && options.getPassword() == null)
+		{
+			throw new IllegalArgumentException("--keystore needs --password-env");
+		}
+		if (options.getKeyStoreFile() != null
+			&& KeyStoreType.of(options.getKeyStoreFile().toPath()) == KeyStoreType.JKS)
+		{
+			throw new IllegalArgumentException(
+				"--keystore needs a PKCS#12 key store, a JKS key store needs certificates");
+		}
+		return options;
+	}
+
+	/**
+	 * Gets the password from the given environment variable, so the password does not appear in
+	 * the command line
+	 *
+	 * @param variable
+	 *            the name of the environment variable
+	 * @return the password
+	 * @throws IllegalArgumentException
+	 *             if the environment variable is not set or empty
+	 */
+	static char[] getPasswordFromEnvironment(final String variable)
+	{
+		String password = System.getenv(variable);
+		if (password == null || password.isEmpty())
+		{
+			throw new IllegalArgumentException("Environment variable " + variable + " is not set");
+		}
+		return password.toCharArray();
+	}
+
+}
@@ -0,0 +1,282 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import io.github.astrapi69.key.pair.generator.ApplicationModelBean;
+import io.github.astrapi69.key.pair.generator.KeyPairAlgorithmWithKeysizesInitializer;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.export.KeyExportRequest;
+import io.github.astrapi69.key.pair.generator.export.KeyPairExporter;
+import io.github.astrapi69.key.pair.generator.export.KeyStoreSink;
+import io.github.astrapi69.key.pair.generator.export.PrivateKeyEncryptor;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+import io.github.astrapi69.key.pair.generator.random.RandomnessDiagnostics;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link BatchKeyGenerator} generates key pairs in bulk without user interface. The key
+ * pairs are generated in parallel on a configurable number of worker threads and are optionally
+ * written in the configured export formats and appended to one key store. At the end of the run
+ * the throughput and the latency percentiles are reported
+ */
+@Log
+public class BatchKeyGenerator
+{
+
+	/**
+	 * The command line argument that starts the batch key generation instead of the user interface
+	 */
+	public static final String COMMAND = "batch";
+
+	private final BatchKeyGenerationOptions options;
+
+	/**
+	 * The exporter of the key pairs, the formats of a key pair are written on its worker thread
+	 */
+	private final KeyPairExporter keyPairExporter = new KeyPairExporter(Runnable::run);
+
+	/**
+	 * Instantiates a new {@link BatchKeyGenerator} and validates the algorithm and the key size of
+	 * the given options against the given catalog
+	 *
+	 * @param options
+	 *            the options
+	 * @param algorithmToKeySizes
+	 *            the catalog of the key pair algorithms to their key sizes
+	 * @throws IllegalArgumentException
+	 *             if the algorithm or the key size is not in the catalog
+	 */
+	public BatchKeyGenerator(final BatchKeyGenerationOptions options,
+		final Map<String, KeySizeSet> algorithmToKeySizes)
+	{
+		KeySizeSet keySizes = algorithmToKeySizes.get(options.getAlgorithm());
+		if (keySizes == null)
+		{
+			throw new IllegalArgumentException(
+				"Unknown key pair algorithm " + options.getAlgorithm());
+		}
+		if (options.getKeySize() != null && !keySizes.isEmpty()
+			&& !keySizes.contains(options.getKeySize().intValue()))
+		{
+			throw new IllegalArgumentException("Key size " + options.getKeySize()
+				+ " is not supported by " + options.getAlgorithm() + ", supported: " + keySizes);
+		}
+		this.options = options;
+	}
+
+	/**
+	 * The main method that runs the batch key generation with the given command line arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 */
+	public static void main(final String[] args)
+	{
+		try
+		{
+			BatchKeyGenerationOptions options = BatchKeyGenerationOptions.parse(args);
+			Map<String, KeySizeSet> algorithmToKeySizes = new KeyPairAlgorithmWithKeysizesInitializer(
+				ApplicationModelBean.builder().build()).newAlgorithmToKeySizeMap();
+			BatchReport report = new BatchKeyGenerator(options, algorithmToKeySizes).run();
+			System.out.println(report);
+			System.out.println(RandomnessDiagnostics.toSummary());
+			if (0 < report.getFailed())
+			{
+				System.exit(1);
+			}
+		}
+		catch (IllegalArgumentException exception)
+		{
+			System.err.println(exception.getMessage());
+			System.err.println(BatchKeyGenerationOptions.USAGE);
+			System.exit(2);
+		}
+		catch (IOException exception)
+		{
+			log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+			System.exit(1);
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the batch key generation
+	 *
+	 * @return the report of the batch key generation
+	 * @throws IOException
+	 *             if the output directory or the key store can not be created
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the workers
+	 */
+	public BatchReport run() throws IOException, InterruptedException
+	{
+		File outputDirectory = options.getOutputDirectory();
+		if (outputDirectory != null && !outputDirectory.isDirectory()
+			&& !outputDirectory.mkdirs())
+		{
+			throw new IOException("Output directory could not be created: " + outputDirectory);
+		}
+		KeyStoreSink keyStoreSink = openKeyStoreSink();
+		PrivateKeyEncryptor privateKeyEncryptor = newPrivateKeyEncryptor(options.getFormats(),
+			options.getPassword());
+		LatencyStatistics latencies = new LatencyStatistics(options.getCount());
+		LongAdder succeeded = new LongAdder();
+		LongAdder failed = new LongAdder();
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(options.getThreads(),
+			runnable -> new Thread(runnable, "batch-key-generator-" + threadNumber.incrementAndGet()));
+		long start = System.nanoTime();
+		try
+		{
+			for (int i = 0; i < options.getCount(); i++)
+			{
+				final int index = i;
+				executor.execute(() -> {
+					long keyStart = System.nanoTime();
+					try
+					{
+						KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.builder()
+							.algorithm(options.getAlgorithm()).keySize(options.getKeySize())
+							.secureRandomStrategy(options.getSecureRandomStrategy()).build());
+						if (outputDirectory != null)
+						{
+							write(keyPair, outputDirectory, index, privateKeyEncryptor);
+						}
+						if (keyStoreSink != null)
+						{
+							keyStoreSink.add(newBaseName(index), keyPair, null);
+						}
+						latencies.record(System.nanoTime() - keyStart);
+						succeeded.increment();
+					}
+					catch (GeneralSecurityException | IOException | RuntimeException exception)
+					{
+						failed.increment();
+						log.log(Level.WARNING, "Generation of key pair " + index + " failed",
+							exception);
+					}
+				});
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			if (privateKeyEncryptor != null)
+			{
+				privateKeyEncryptor.close();
+			}
+			if (keyStoreSink != null)
+			{
+				keyStoreSink.close();
+				log.info(keyStoreSink.toSummary());
+			}
+		}
+		return new BatchReport("keys", succeeded.sum(), failed.sum(), System.nanoTime() - start,
+			latencies);
+	}
+
+	private KeyStoreSink openKeyStoreSink() throws IOException
+	{
+		if (options.getKeyStoreFile() == null)
+		{
+			return null;
+		}
+		try
+		{
+			return KeyStoreSink.open(options.getKeyStoreFile().toPath(), options.getPassword());
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IOException("Key store could not be created: " + options.getKeyStoreFile(),
+				exception);
+		}
+	}
+
+	/**
+	 * Factory method for create the encryptor of the encrypted PKCS#8 format that is shared by all
+	 * key pairs of a batch run, so the key is derived from the password only once per run
+	 *
+	 * @param formats
+	 *            the export formats
+	 * @param password
+	 *            the password
+	 * @return the new {@link PrivateKeyEncryptor} or null if the encrypted PKCS#8 format is not
+	 *         exported
+	 * @throws IOException
+	 *             if the key derivation fails
+	 */
+	static PrivateKeyEncryptor newPrivateKeyEncryptor(final Set<KeyExportFormat> formats,
+		final char[] password) throws IOException
+	{
+		if (!formats.contains(KeyExportFormat.ENCRYPTED_PKCS8_PEM))
+		{
+			return null;
+		}
+		try
+		{
+			return new PrivateKeyEncryptor(password);
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IOException("Key derivation failed: " + exception.getMessage(), exception);
+		}
+	}
+
+	private String newBaseName(final int index)
+	{
+		return options.getAlgorithm()
+			+ (options.getKeySize() != null ? "-" + options.getKeySize() : "") + "-" + index;
+	}
+
+	private void write(final KeyPair keyPair, final File outputDirectory, final int index,
+		final PrivateKeyEncryptor privateKeyEncryptor) throws IOException, GeneralSecurityException
+	{
+		keyPairExporter.export(KeyExportRequest.builder().keyPair(keyPair)
+			.formats(options.getFormats()).directory(outputDirectory.toPath())
+			.baseName(newBaseName(index)).password(options.getPassword())
+			.privateKeyEncryptor(privateKeyEncryptor).build());
+	}
+
+}
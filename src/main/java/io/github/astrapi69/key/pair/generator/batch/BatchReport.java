@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BatchReport} holds the result of a batch run with the number of the succeeded
+ * and failed operations, the elapsed wall clock time and the latencies of the single operations
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchReport
+{
+
+	/**
+	 * The name of the operation that is reported, for instance keys or certificates
+	 */
+	String operation;
+
+	/**
+	 * The number of the succeeded operations
+	 */
+	long succeeded;
+
+	/**
+	 * The number of the failed operations
+	 */
+	long failed;
+
+	/**
+	 * The elapsed wall clock time of the whole batch run in nanoseconds
+	 */
+	long elapsedNanos;
+
+	/**
+	 * The latencies of the single operations
+	 */
+	LatencyStatistics latencies;
+
+	/**
+	 * Gets the throughput of the succeeded operations per second
+	 *
+	 * @return the throughput per second
+	 */
+	public double getThroughput()
+	{
+		return elapsedNanos == 0 ? 0 : succeeded * (double)TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return String.format("%d %s in %d ms (%d failed), %.2f %s/sec, latency %s", succeeded,
+			operation, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failed, getThroughput(),
+			operation, latencies.toPercentileSummary());
+	}
+
+}
@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class {@link LatencyStatistics} records the latencies of the single operations of a batch
+ * run in a thread safe way and computes the percentiles of them
+ */
+public class LatencyStatistics
+{
+
+	private long[] latencies;
+
+	private int count;
+
+	/**
+	 * Instantiates a new {@link LatencyStatistics} with the given expected number of latencies
+	 *
+	 * @param expectedCount
+	 *            the expected number of latencies
+	 */
+	public LatencyStatistics(final int expectedCount)
+	{
+		latencies = new long[Math.max(16, expectedCount)];
+	}
+
+	/**
+	 * Instantiates a new {@link LatencyStatistics}
+	 */
+	public LatencyStatistics()
+	{
+		this(1024);
+	}
+
+	/**
+	 * Records the given latency
+	 *
+	 * @param latencyNanos
+	 *            the latency in nanoseconds
+	 */
+	public synchronized void record(final long latencyNanos)
+	{
+		if (count == latencies.length)
+		{
+			latencies = Arrays.copyOf(latencies, count * 2);
+		}
+		latencies[count++] = latencyNanos;
+	}
+
+	/**
+	 * Gets the number of the recorded latencies
+	 *
+	 * @return the number of the recorded latencies
+	 */
+	public synchronized int getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Gets the given percentile of the recorded latencies in milliseconds with the nearest rank
+	 * method
+	 *
+	 * @param percentile
+	 *            the percentile between 0 and 100
+	 * @return the latency of the given percentile in milliseconds or 0 if nothing is recorded
+	 */
+	public synchronized double getPercentileMillis(final double percentile)
+	{
+		if (count == 0)
+		{
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		int rank = (int)Math.ceil(percentile / 100 * count);
+		int index = Math.min(count - 1, Math.max(0, rank - 1));
+		return sorted[index] / (double)TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets a summary of the percentiles p50, p90, p99 and max in milliseconds
+	 *
+	 * @return the summary of the percentiles
+	 */
+	public String toPercentileSummary()
+	{
+		return String.format("p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms",
+			getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+			getPercentileMillis(100));
+	}
+
+}
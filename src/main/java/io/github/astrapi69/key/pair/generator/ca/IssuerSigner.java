@@ -0,0 +1,240 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.ca;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * The class {@link IssuerSigner} holds the certificate and the private key of an issuing
+ * certificate authority warm across issuances. The issuer name and the authority key identifier
+ * are encoded once and every thread keeps its own initialized {@link ContentSigner}, so issuing a
+ * certificate neither parses the private key again nor initializes a new signature
+ */
+@Getter
+public class IssuerSigner
+{
+
+	/**
+	 * The certificate of the issuer
+	 */
+	private final X509Certificate certificate;
+
+	/**
+	 * The signature algorithm of the certificates signed by this issuer
+	 */
+	private final String signatureAlgorithm;
+
+	/**
+	 * The encoded name of the issuer
+	 */
+	private final X500Name name;
+
+	/**
+	 * The authority key identifier extension of the certificates signed by this issuer
+	 */
+	private final Extension authorityKeyIdentifier;
+
+	/**
+	 * The number of certificates signed by this issuer
+	 */
+	@Getter(AccessLevel.NONE)
+	private final LongAdder signatureCount = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	private final PrivateKey privateKey;
+
+	@Getter(AccessLevel.NONE)
+	private final JcaContentSignerBuilder contentSignerBuilder;
+
+	/**
+	 * The content signers are not thread safe, so each thread signs with its own one
+	 */
+	@Getter(AccessLevel.NONE)
+	private final ThreadLocal<ContentSigner> contentSigners = new ThreadLocal<>();
+
+	@Getter(AccessLevel.NONE)
+	private final JcaX509CertificateConverter converter = new JcaX509CertificateConverter();
+
+	/**
+	 * Instantiates a new {@link IssuerSigner}
+	 *
+	 * @param certificate
+	 *            the certificate of the issuer
+	 * @param privateKey
+	 *            the private key of the issuer
+	 * @param signatureAlgorithm
+	 *            the signature algorithm of the certificates signed by this issuer
+	 * @throws GeneralSecurityException
+	 *             if the signature algorithm is not supported for the private key
+	 */
+	public IssuerSigner(final X509Certificate certificate, final PrivateKey privateKey,
+		final String signatureAlgorithm) throws GeneralSecurityException
+	{
+		this.certificate = certificate;
+		this.privateKey = privateKey;
+		this.signatureAlgorithm = signatureAlgorithm;
+		this.name = X500Name.getInstance(certificate.getSubjectX500Principal().getEncoded());
+		this.authorityKeyIdentifier = newExtension(Extension.authorityKeyIdentifier, false,
+			new AuthorityKeyIdentifier(newKeyIdentifier(certificate.getPublicKey())));
+		this.contentSignerBuilder = new JcaContentSignerBuilder(signatureAlgorithm);
+		// initializes the signer of the current thread and fails early on an invalid algorithm
+		getContentSigner();
+	}
+
+	/**
+	 * Creates the key identifier of the given public key, that is the SHA-1 hash of the bits of
+	 * the public key as described in RFC 5280 section 4.2.1.2
+	 *
+	 * @param publicKey
+	 *            the public key
+	 * @return the key identifier
+	 * @throws GeneralSecurityException
+	 *             if the SHA-1 digest is not available
+	 */
+	public static byte[] newKeyIdentifier(final PublicKey publicKey)
+		throws GeneralSecurityException
+	{
+		return MessageDigest.getInstance("SHA-1").digest(SubjectPublicKeyInfo
+			.getInstance(publicKey.getEncoded()).getPublicKeyData().getBytes());
+	}
+
+	/**
+	 * Creates the subject key identifier extension of the given public key
+	 *
+	 * @param publicKey
+	 *            the public key
+	 * @return the subject key identifier extension
+	 * @throws GeneralSecurityException
+	 *             if the SHA-1 digest is not available or the extension can not be encoded
+	 */
+	public static Extension newSubjectKeyIdentifier(final PublicKey publicKey)
+		throws GeneralSecurityException
+	{
+		return newExtension(Extension.subjectKeyIdentifier, false,
+			new SubjectKeyIdentifier(newKeyIdentifier(publicKey)));
+	}
+
+	/**
+	 * Creates the DER encoded extension of the given identifier and value
+	 *
+	 * @param extensionId
+	 *            the identifier of the extension
+	 * @param critical
+	 *            the flag if the extension is critical
+	 * @param value
+	 *            the value of the extension
+	 * @return the extension
+	 * @throws GeneralSecurityException
+	 *             if the value can not be encoded
+	 */
+	public static Extension newExtension(final ASN1ObjectIdentifier extensionId,
+		final boolean critical, final ASN1Encodable value) throws GeneralSecurityException
+	{
+		try
+		{
+			return Extension.create(extensionId, critical, value);
+		}
+		catch (IOException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+	}
+
+	/**
+	 * Gets the initialized content signer of the current thread
+	 *
+	 * @return the content signer of the current thread
+	 * @throws GeneralSecurityException
+	 *             if the content signer can not be created
+	 */
+	public ContentSigner getContentSigner() throws GeneralSecurityException
+	{
+		ContentSigner contentSigner = contentSigners.get();
+		if (contentSigner == null)
+		{
+			try
+			{
+				contentSigner = contentSignerBuilder.build(privateKey);
+			}
+			catch (OperatorCreationException exception)
+			{
+				throw new GeneralSecurityException(exception.getMessage(), exception);
+			}
+			contentSigners.set(contentSigner);
+		}
+		return contentSigner;
+	}
+
+	/**
+	 * Signs the certificate of the given builder with the content signer of the current thread
+	 *
+	 * @param certificateBuilder
+	 *            the builder of the certificate to sign
+	 * @return the signed certificate
+	 * @throws GeneralSecurityException
+	 *             if the certificate can not be signed or converted
+	 */
+	public X509Certificate sign(final X509v3CertificateBuilder certificateBuilder)
+		throws GeneralSecurityException
+	{
+		X509CertificateHolder certificateHolder = certificateBuilder.build(getContentSigner());
+		signatureCount.increment();
+		return converter.getCertificate(certificateHolder);
+	}
+
+	/**
+	 * Gets the number of certificates signed by this issuer
+	 *
+	 * @return the number of certificates signed by this issuer
+	 */
+	public long getSignatureCount()
+	{
+		return signatureCount.sum();
+	}
+
+}
@@ -0,0 +1,677 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.ca;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.openssl.jcajce.JceOpenSSLPKCS8DecryptorProviderBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.PKCS8EncryptedPrivateKeyInfo;
+import org.bouncycastle.pkcs.PKCSException;
+
+import io.github.astrapi69.key.pair.generator.cache.SerialNumberAllocator;
+import io.github.astrapi69.key.pair.generator.csr.CertificateSigningRequests;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.export.KeyExportRequest;
+import io.github.astrapi69.key.pair.generator.export.KeyPairExporter;
+import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ValidityModel;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionTemplate;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link LocalCertificateAuthority} is a local two tier certificate authority of a self
+ * signed root and an intermediate that is signed by the root. Leaf certificates are issued by the
+ * intermediate, whose private key and signers are held warm in an {@link IssuerSigner}, so every
+ * issuance only builds and signs the new certificate. The certificates and the private keys of
+ * the root and the intermediate are stored in the pem format in a directory, the private keys are
+ * encrypted if a password is given
+ */
+@Getter
+@Log
+public class LocalCertificateAuthority
+{
+
+	/**
+	 * The base name of the files of the root
+	 */
+	public static final String ROOT_BASE_NAME = "root";
+
+	/**
+	 * The base name of the files of the intermediate
+	 */
+	public static final String INTERMEDIATE_BASE_NAME = "intermediate";
+
+	/**
+	 * The default name of a new certificate authority
+	 */
+	public static final String DEFAULT_NAME = "Key Pair Generator";
+
+	/**
+	 * The default key pair specification of a new certificate authority
+	 */
+	public static final KeyPairSpec DEFAULT_KEY_PAIR_SPEC = KeyPairSpec.of("EC", 256);
+
+	/**
+	 * The default signature algorithm of a new certificate authority
+	 */
+	public static final String DEFAULT_SIGNATURE_ALGORITHM = "SHA256withECDSA";
+
+	/**
+	 * The validity of the root in years
+	 */
+	public static final int ROOT_VALIDITY_YEARS = 20;
+
+	/**
+	 * The validity of the intermediate in years
+	 */
+	public static final int INTERMEDIATE_VALIDITY_YEARS = 10;
+
+	/**
+	 * The extensions of a certificate signing request that are taken over in the issued
+	 * certificate, all other extensions like the basic constraints and the key usage are set by
+	 * the certificate authority
+	 */
+	public static final Set<ASN1ObjectIdentifier> REQUESTABLE_EXTENSIONS = Set
+		.of(Extension.subjectAlternativeName, Extension.extendedKeyUsage);
+
+	static
+	{
+		synchronized (Security.class)
+		{
+			if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+			{
+				Security.addProvider(new BouncyCastleProvider());
+			}
+		}
+	}
+
+	/**
+	 * The directory of the certificate authority
+	 */
+	private final Path directory;
+
+	/**
+	 * The signer of the root
+	 */
+	private final IssuerSigner root;
+
+	/**
+	 * The signer of the intermediate that issues the leaf certificates
+	 */
+	private final IssuerSigner intermediate;
+
+	/**
+	 * The allocator of the serial numbers of the leaf certificates issued by the intermediate
+	 */
+	private final SerialNumberAllocator serialNumberAllocator;
+
+	private LocalCertificateAuthority(final Path directory, final IssuerSigner root,
+		final IssuerSigner intermediate)
+	{
+		this.directory = directory;
+		this.root = root;
+		this.intermediate = intermediate;
+		this.serialNumberAllocator = SerialNumberAllocator
+			.forIssuer(intermediate.getName().toString());
+	}
+
+	/**
+	 * Checks if the given directory contains a certificate authority
+	 *
+	 * @param directory
+	 *            the directory
+	 * @return true if the given directory contains a certificate authority
+	 */
+	public static boolean exists(final @NonNull Path directory)
+	{
+		return Files.isRegularFile(getCertificatePath(directory, ROOT_BASE_NAME))
+			&& Files.isRegularFile(getCertificatePath(directory, INTERMEDIATE_BASE_NAME));
+	}
+
+	/**
+	 * Loads the certificate authority of the given directory or creates a new one with the
+	 * default key pair specification and signature algorithm if the directory contains none
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param name
+	 *            the name of a new certificate authority
+	 * @param password
+	 *            the password of the private keys or null if they are not encrypted
+	 * @return the certificate authority
+	 * @throws IOException
+	 *             if the files can not be read or written
+	 * @throws GeneralSecurityException
+	 *             if the keys or the certificates are not valid
+	 */
+	public static LocalCertificateAuthority openOrCreate(final @NonNull Path directory,
+		final String name, final char[] password) throws IOException, GeneralSecurityException
+	{
+		if (exists(directory))
+		{
+			return load(directory, password);
+		}
+		return create(directory, name, DEFAULT_KEY_PAIR_SPEC, DEFAULT_SIGNATURE_ALGORITHM,
+			password);
+	}
+
+	/**
+	 * Creates a new certificate authority with a new root and intermediate in the given directory
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param name
+	 *            the name of the certificate authority that is the common name prefix of the root
+	 *            and the intermediate
+	 * @param keyPairSpec
+	 *            the specification of the key pairs of the root and the intermediate
+	 * @param signatureAlgorithm
+	 *            the signature algorithm of the certificate authority
+	 * @param password
+	 *            the password of the private keys or null if they are not encrypted
+	 * @return the new certificate authority
+	 * @throws IOException
+	 *             if the files can not be written or the directory already contains a
+	 *             certificate authority
+	 * @throws GeneralSecurityException
+	 *             if the key pairs can not be generated or the certificates can not be signed
+	 */
+	public static LocalCertificateAuthority create(final @NonNull Path directory,
+		final @NonNull String name, final @NonNull KeyPairSpec keyPairSpec,
+		final @NonNull String signatureAlgorithm, final char[] password)
+		throws IOException, GeneralSecurityException
+	{
+		if (exists(directory))
+		{
+			throw new IOException("Directory contains a certificate authority: " + directory);
+		}
+		Files.createDirectories(directory);
+		ZonedDateTime now = ZonedDateTime.now();
+
+		KeyPair rootKeyPair = KeyPairEngine.generate(keyPairSpec);
+		X500Name rootName = new X500Name("CN=" + name + " Root CA");
+		X509v3CertificateBuilder rootBuilder = new X509v3CertificateBuilder(rootName,
+			newSerialNumber(rootName), Date.from(now.toInstant()),
+			Date.from(now.plusYears(ROOT_VALIDITY_YEARS).toInstant()), rootName,
+			SubjectPublicKeyInfo.getInstance(rootKeyPair.getPublic().getEncoded()));
+		addCertificateAuthorityExtensions(rootBuilder, rootKeyPair.getPublic(), 1);
+		X509Certificate rootCertificate;
+		try
+		{
+			rootCertificate = new JcaX509CertificateConverter().getCertificate(rootBuilder
+				.build(new JcaContentSignerBuilder(signatureAlgorithm)
+					.build(rootKeyPair.getPrivate())));
+		}
+		catch (OperatorCreationException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		IssuerSigner root = new IssuerSigner(rootCertificate, rootKeyPair.getPrivate(),
+			signatureAlgorithm);
+
+		KeyPair intermediateKeyPair = KeyPairEngine.generate(keyPairSpec);
+		X509v3CertificateBuilder intermediateBuilder = new X509v3CertificateBuilder(
+			root.getName(), newSerialNumber(root.getName()), Date.from(now.toInstant()),
+			Date.from(now.plusYears(INTERMEDIATE_VALIDITY_YEARS).toInstant()),
+			new X500Name("CN=" + name + " Intermediate CA"),
+			SubjectPublicKeyInfo.getInstance(intermediateKeyPair.getPublic().getEncoded()));
+		addCertificateAuthorityExtensions(intermediateBuilder, intermediateKeyPair.getPublic(), 0);
+		intermediateBuilder.addExtension(root.getAuthorityKeyIdentifier());
+		X509Certificate intermediateCertificate = root.sign(intermediateBuilder);
+		IssuerSigner intermediate = new IssuerSigner(intermediateCertificate,
+			intermediateKeyPair.getPrivate(), signatureAlgorithm);
+
+		write(directory, ROOT_BASE_NAME, rootKeyPair, rootCertificate, password);
+		write(directory, INTERMEDIATE_BASE_NAME, intermediateKeyPair, intermediateCertificate,
+			password);
+		log.info("Local certificate authority created in " + directory + ": "
+			+ intermediateCertificate.getSubjectX500Principal().getName());
+		return new LocalCertificateAuthority(directory, root, intermediate);
+	}
+
+	/**
+	 * Loads the certificate authority of the given directory. The signature algorithm of the
+	 * certificate authority is the one the intermediate is signed with
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param password
+	 *            the password of the private keys or null if they are not encrypted
+	 * @return the certificate authority
+	 * @throws IOException
+	 *             if the files can not be read
+	 * @throws GeneralSecurityException
+	 *             if the private keys can not be decrypted or the intermediate is not signed by
+	 *             the root
+	 */
+	public static LocalCertificateAuthority load(final @NonNull Path directory,
+		final char[] password) throws IOException, GeneralSecurityException
+	{
+		X509Certificate rootCertificate = readCertificate(
+			getCertificatePath(directory, ROOT_BASE_NAME));
+		X509Certificate intermediateCertificate = readCertificate(
+			getCertificatePath(directory, INTERMEDIATE_BASE_NAME));
+		intermediateCertificate.verify(rootCertificate.getPublicKey());
+		String signatureAlgorithm = intermediateCertificate.getSigAlgName();
+		IssuerSigner root = new IssuerSigner(rootCertificate,
+			readPrivateKey(directory, ROOT_BASE_NAME, password), signatureAlgorithm);
+		IssuerSigner intermediate = new IssuerSigner(intermediateCertificate,
+			readPrivateKey(directory, INTERMEDIATE_BASE_NAME, password), signatureAlgorithm);
+		return new LocalCertificateAuthority(directory, root, intermediate);
+	}
+
+	/**
+	 * Issues a new leaf certificate that is signed by the intermediate. The validity ends at the
+	 * latest with the validity of the intermediate. The leaf certificate contains the basic
+	 * constraints, the key usage, the subject and the authority key identifier unless the given
+	 * extensions contain one of them
+	 *
+	 * @param subject
+	 *            the subject of the certificate
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @param notBefore
+	 *            the start of the validity
+	 * @param notAfter
+	 *            the end of the validity
+	 * @param extensions
+	 *            the additional extensions
+	 * @return the new leaf certificate
+	 * @throws GeneralSecurityException
+	 *             if the certificate can not be signed
+	 */
+	public X509Certificate issue(final @NonNull X500Name subject,
+		final @NonNull PublicKey publicKey, final @NonNull Date notBefore,
+		final @NonNull Date notAfter, final Extension... extensions)
+		throws GeneralSecurityException
+	{
+		return sign(newCertificateBuilder(subject, publicKey, notBefore, notAfter, extensions));
+	}
+
+	/**
+	 * Issues a new leaf certificate of the subject, the validity and the extensions of the given
+	 * {@link CertificateInfoModel} that is signed by the intermediate. The issuer, the serial
+	 * number and the signature algorithm of the model are replaced by the ones of this
+	 * certificate authority
+	 *
+	 * @param certificateInfoModel
+	 *            the certificate info model
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @return the new leaf certificate
+	 * @throws GeneralSecurityException
+	 *             if the certificate can not be signed
+	 */
+	public X509Certificate issue(final @NonNull CertificateInfoModel certificateInfoModel,
+		final @NonNull PublicKey publicKey) throws GeneralSecurityException
+	{
+		return sign(newCertificateBuilder(certificateInfoModel, publicKey));
+	}
+
+	/**
+	 * Builds the unsigned content of a new leaf certificate as {@link #issue(X500Name, PublicKey,
+	 * Date, Date, Extension...)} does, so the building and the signing can run in separate stages
+	 * of a pipeline
+	 *
+	 * @param subject
+	 *            the subject of the certificate
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @param notBefore
+	 *            the start of the validity
+	 * @param notAfter
+	 *            the end of the validity
+	 * @param extensions
+	 *            the additional extensions
+	 * @return the certificate builder that is signed with {@link #sign(X509v3CertificateBuilder)}
+	 * @throws GeneralSecurityException
+	 *             if an extension can not be encoded
+	 */
+	public X509v3CertificateBuilder newCertificateBuilder(final @NonNull X500Name subject,
+		final @NonNull PublicKey publicKey, final @NonNull Date notBefore,
+		final @NonNull Date notAfter, final Extension... extensions)
+		throws GeneralSecurityException
+	{
+		Date intermediateNotAfter = intermediate.getCertificate().getNotAfter();
+		X509v3CertificateBuilder builder = new X509v3CertificateBuilder(intermediate.getName(),
+			serialNumberAllocator.nextSerialNumber(), notBefore,
+			notAfter.after(intermediateNotAfter) ? intermediateNotAfter : notAfter, subject,
+			SubjectPublicKeyInfo.getInstance(publicKey.getEncoded()));
+		Set<ASN1ObjectIdentifier> extensionIds = new HashSet<>();
+		try
+		{
+			if (extensions != null)
+			{
+				for (Extension extension : extensions)
+				{
+					builder.addExtension(extension);
+					extensionIds.add(extension.getExtnId());
+				}
+			}
+			if (!extensionIds.contains(Extension.basicConstraints))
+			{
+				builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+			}
+			if (!extensionIds.contains(Extension.keyUsage))
+			{
+				builder.addExtension(Extension.keyUsage, true,
+					new KeyUsage("RSA".equals(publicKey.getAlgorithm())
+						? KeyUsage.digitalSignature | KeyUsage.keyEncipherment
+						: KeyUsage.digitalSignature));
+			}
+			if (!extensionIds.contains(Extension.subjectKeyIdentifier))
+			{
+				builder.addExtension(IssuerSigner.newSubjectKeyIdentifier(publicKey));
+			}
+			if (!extensionIds.contains(Extension.authorityKeyIdentifier))
+			{
+				builder.addExtension(intermediate.getAuthorityKeyIdentifier());
+			}
+		}
+		catch (IOException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		return builder;
+	}
+
+	/**
+	 * Builds the unsigned content of a new leaf certificate of the subject, the validity and the
+	 * extensions of the given {@link CertificateInfoModel}. The extensions are encoded with the
+	 * {@link X509ExtensionTemplate}, a derived authority key identifier is the one of the
+	 * intermediate
+	 *
+	 * @param certificateInfoModel
+	 *            the certificate info model
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @return the certificate builder that is signed with {@link #sign(X509v3CertificateBuilder)}
+	 * @throws GeneralSecurityException
+	 *             if an extension can not be encoded
+	 */
+	public X509v3CertificateBuilder newCertificateBuilder(
+		final @NonNull CertificateInfoModel certificateInfoModel,
+		final @NonNull PublicKey publicKey) throws GeneralSecurityException
+	{
+		ValidityModel validityModel = certificateInfoModel.getValidityModel();
+		X509ExtensionTemplate extensionTemplate;
+		try
+		{
+			extensionTemplate = X509ExtensionTemplate.of(certificateInfoModel.getExtensions());
+		}
+		catch (IllegalArgumentException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		return newCertificateBuilder(
+			DistinguishedNameInfoModel.toX500Name(certificateInfoModel.getSubject()), publicKey,
+			Date.from(validityModel.getNotBefore().toInstant()),
+			Date.from(validityModel.getNotAfter().toInstant()),
+			extensionTemplate.toExtensions(publicKey, intermediate.getAuthorityKeyIdentifier()));
+	}
+
+	/**
+	 * Builds the unsigned content of a new leaf certificate of the given certificate signing
+	 * request. The signature of the request is verified and of the requested extensions only the
+	 * {@link #REQUESTABLE_EXTENSIONS} are taken over
+	 *
+	 * @param certificateSigningRequest
+	 *            the certificate signing request
+	 * @param notBefore
+	 *            the start of the validity
+	 * @param notAfter
+	 *            the end of the validity
+	 * @return the certificate builder that is signed with {@link #sign(X509v3CertificateBuilder)}
+	 * @throws GeneralSecurityException
+	 *             if the signature of the request is not valid or an extension can not be encoded
+	 */
+	public X509v3CertificateBuilder newCertificateBuilder(
+		final @NonNull PKCS10CertificationRequest certificateSigningRequest,
+		final @NonNull Date notBefore, final @NonNull Date notAfter)
+		throws GeneralSecurityException
+	{
+		PublicKey publicKey = CertificateSigningRequests.verify(certificateSigningRequest);
+		List<Extension> extensions = new ArrayList<>();
+		Extensions requestedExtensions = CertificateSigningRequests
+			.getRequestedExtensions(certificateSigningRequest);
+		if (requestedExtensions != null)
+		{
+			for (ASN1ObjectIdentifier extensionId : requestedExtensions.getExtensionOIDs())
+			{
+				if (REQUESTABLE_EXTENSIONS.contains(extensionId))
+				{
+					extensions.add(requestedExtensions.getExtension(extensionId));
+				}
+			}
+		}
+		return newCertificateBuilder(certificateSigningRequest.getSubject(), publicKey, notBefore,
+			notAfter, extensions.toArray(new Extension[0]));
+	}
+
+	/**
+	 * Signs the given certificate builder from {@link #newCertificateBuilder(X500Name, PublicKey,
+	 * Date, Date, Extension...)} with the signer of the intermediate on the calling thread
+	 *
+	 * @param builder
+	 *            the certificate builder
+	 * @return the new leaf certificate
+	 * @throws GeneralSecurityException
+	 *             if the certificate can not be signed
+	 */
+	public X509Certificate sign(final @NonNull X509v3CertificateBuilder builder)
+		throws GeneralSecurityException
+	{
+		return intermediate.sign(builder);
+	}
+
+	/**
+	 * Gets the certificate chain of the given leaf certificate up to the root
+	 *
+	 * @param certificate
+	 *            the leaf certificate issued by this certificate authority
+	 * @return the certificate chain of the leaf certificate, the intermediate and the root
+	 */
+	public X509Certificate[] getCertificateChain(final X509Certificate certificate)
+	{
+		return new X509Certificate[] { certificate, intermediate.getCertificate(),
+				root.getCertificate() };
+	}
+
+	/**
+	 * Gets the number of leaf certificates issued since the certificate authority is loaded
+	 *
+	 * @return the number of issued leaf certificates
+	 */
+	public long getIssuedCount()
+	{
+		return intermediate.getSignatureCount();
+	}
+
+	/**
+	 * Gets a summary of the certificate authority
+	 *
+	 * @return the summary of the certificate authority
+	 */
+	public String toSummary()
+	{
+		return "local certificate authority " + directory + ": "
+			+ intermediate.getCertificate().getSubjectX500Principal().getName() + ", "
+			+ intermediate.getSignatureAlgorithm() + ", " + getIssuedCount()
+			+ " certificates issued";
+	}
+
+	/**
+	 * Gets the path of the certificate with the given base name in the given directory
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param baseName
+	 *            the base name
+	 * @return the path of the certificate
+	 */
+	public static Path getCertificatePath(final Path directory, final String baseName)
+	{
+		return directory.resolve(baseName + KeyExportFormat.CERTIFICATE_PEM.getFileSuffix());
+	}
+
+	private static BigInteger newSerialNumber(final X500Name issuer)
+	{
+		return SerialNumberAllocator.forIssuer(issuer.toString()).nextSerialNumber();
+	}
+
+	private static void addCertificateAuthorityExtensions(final X509v3CertificateBuilder builder,
+		final PublicKey publicKey, final int pathLength) throws GeneralSecurityException
+	{
+		try
+		{
+			builder.addExtension(Extension.basicConstraints, true,
+				new BasicConstraints(pathLength));
+			builder.addExtension(Extension.keyUsage, true,
+				new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign | KeyUsage.digitalSignature));
+			builder.addExtension(IssuerSigner.newSubjectKeyIdentifier(publicKey));
+		}
+		catch (IOException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+	}
+
+	private static void write(final Path directory, final String baseName,
+		final KeyPair keyPair, final X509Certificate certificate, final char[] password)
+		throws IOException, GeneralSecurityException
+	{
+		new KeyPairExporter(Runnable::run).export(KeyExportRequest.builder().keyPair(keyPair)
+			.certificate(certificate)
+			.formats(EnumSet.of(KeyExportFormat.CERTIFICATE_PEM,
+				password != null && password.length > 0
+					? KeyExportFormat.ENCRYPTED_PKCS8_PEM
+					: KeyExportFormat.PKCS8_PEM))
+			.directory(directory).baseName(baseName).password(password).build());
+	}
+
+	private static X509Certificate readCertificate(final Path path)
+		throws IOException, GeneralSecurityException
+	{
+		Object pemObject = readPemObject(path);
+		if (!(pemObject instanceof X509CertificateHolder))
+		{
+			throw new IOException("No certificate found in " + path);
+		}
+		return new JcaX509CertificateConverter().getCertificate((X509CertificateHolder)pemObject);
+	}
+
+	private static PrivateKey readPrivateKey(final Path directory, final String baseName,
+		final char[] password) throws IOException, GeneralSecurityException
+	{
+		Path encryptedPath = directory
+			.resolve(baseName + KeyExportFormat.ENCRYPTED_PKCS8_PEM.getFileSuffix());
+		PrivateKeyInfo privateKeyInfo;
+		if (Files.isRegularFile(encryptedPath))
+		{
+			if (password == null || password.length == 0)
+			{
+				throw new GeneralSecurityException(
+					"The private key is encrypted and needs a password: " + encryptedPath);
+			}
+			Object pemObject = readPemObject(encryptedPath);
+			if (!(pemObject instanceof PKCS8EncryptedPrivateKeyInfo))
+			{
+				throw new IOException("No encrypted private key found in " + encryptedPath);
+			}
+			try
+			{
+				privateKeyInfo = ((PKCS8EncryptedPrivateKeyInfo)pemObject)
+					.decryptPrivateKeyInfo(new JceOpenSSLPKCS8DecryptorProviderBuilder()
+						.setProvider(BouncyCastleProvider.PROVIDER_NAME).build(password));
+			}
+			catch (OperatorCreationException | PKCSException exception)
+			{
+				throw new GeneralSecurityException(
+					"The private key could not be decrypted: " + encryptedPath, exception);
+			}
+		}
+		else
+		{
+			Path path = directory.resolve(baseName + KeyExportFormat.PKCS8_PEM.getFileSuffix());
+			Object pemObject = readPemObject(path);
+			if (!(pemObject instanceof PrivateKeyInfo))
+			{
+				throw new IOException("No private key found in " + path);
+			}
+			privateKeyInfo = (PrivateKeyInfo)pemObject;
+		}
+		return new JcaPEMKeyConverter().getPrivateKey(privateKeyInfo);
+	}
+
+	private static Object readPemObject(final Path path) throws IOException
+	{
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII);
+			PEMParser parser = new PEMParser(reader))
+		{
+			return parser.readObject();
+		}
+	}
+
+}
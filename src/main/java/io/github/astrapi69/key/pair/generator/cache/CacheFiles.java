@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * The class {@link CacheFiles} provides the file handling that is shared between the persistent
+ * caches of this package. A cache file is a properties file that is read without a lock and is
+ * updated under a file lock, so several processes can merge their entries, and is replaced with an
+ * atomic move, so a reader never sees a partially written file
+ */
+final class CacheFiles
+{
+
+	private CacheFiles()
+	{
+	}
+
+	/**
+	 * Gets the directory of the cache files from the system property
+	 * {@link KeySizeCache#CACHE_DIRECTORY_PROPERTY}, defaults to the directory
+	 * {@code .key-pair-cert-generator} in the user home
+	 *
+	 * @return the directory of the cache files
+	 */
+	static Path getCacheDirectory()
+	{
+		String cacheDirectory = System.getProperty(KeySizeCache.CACHE_DIRECTORY_PROPERTY);
+		return cacheDirectory != null
+			? Paths.get(cacheDirectory)
+			: Paths.get(System.getProperty("user.home"), ".key-pair-cert-generator");
+	}
+
+	/**
+	 * Reads the given cache file
+	 *
+	 * @param cacheFile
+	 *            the cache file
+	 * @return the properties of the cache file or empty properties if the file does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static Properties read(final Path cacheFile) throws IOException
+	{
+		Properties properties = new Properties();
+		if (Files.isRegularFile(cacheFile))
+		{
+			try (InputStream inputStream = Files.newInputStream(cacheFile))
+			{
+				properties.load(inputStream);
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Updates the given cache file under a file lock. The given updater gets the current
+	 * properties of the cache file and the updated properties are written back
+	 *
+	 * @param cacheFile
+	 *            the cache file
+	 * @param comment
+	 *            the comment of the cache file
+	 * @param updater
+	 *            the updater of the current properties
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static void update(final Path cacheFile, final String comment,
+		final Consumer<Properties> updater) throws IOException
+	{
+		Path directory = cacheFile.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path lockFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".lock");
+		try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+			StandardOpenOption.WRITE); FileLock lock = lockChannel.lock())
+		{
+			Properties properties = read(cacheFile);
+			updater.accept(properties);
+			Path temporaryFile = Files.createTempFile(directory,
+				cacheFile.getFileName().toString(), ".tmp");
+			try
+			{
+				try (OutputStream outputStream = Files.newOutputStream(temporaryFile))
+				{
+					properties.store(outputStream, comment);
+				}
+				Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally
+			{
+				Files.deleteIfExists(temporaryFile);
+			}
+		}
+	}
+
+}
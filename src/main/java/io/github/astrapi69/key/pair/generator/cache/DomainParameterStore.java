@@ -0,0 +1,363 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.AlgorithmParameterGenerator;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.interfaces.DSAParams;
+import java.security.interfaces.DSAPublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.DSAParameterSpec;
+import java.security.spec.InvalidParameterSpecException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import javax.crypto.spec.DHParameterSpec;
+
+import org.bouncycastle.crypto.agreement.DHStandardGroups;
+import org.bouncycastle.crypto.params.DHParameters;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link DomainParameterStore} provides the domain parameters for the algorithms DSA and
+ * Diffie-Hellman, so a key pair can be generated without generating new domain parameters first,
+ * which dominates the generation time of these algorithms by orders of magnitude. For the well
+ * known sizes the standardized groups are used, that are the groups of the RFC 2409, RFC 3526 and
+ * the FFDHE groups of the RFC 7919 for Diffie-Hellman and the precomputed FIPS 186 groups of the
+ * SUN provider for DSA. The domain parameters of all other sizes are generated once and are stored
+ * in a cache file that is reused across launches of the application
+ */
+@Log
+public class DomainParameterStore
+{
+
+	/**
+	 * The file name of the domain parameter cache
+	 */
+	public static final String CACHE_FILE_NAME = "domain-parameters.properties";
+
+	/**
+	 * The standardized Diffie-Hellman groups by their key size
+	 */
+	static final Map<Integer, DHParameters> DH_STANDARD_GROUPS = Map.of(768,
+		DHStandardGroups.rfc2409_768, 1024, DHStandardGroups.rfc2409_1024, 1536,
+		DHStandardGroups.rfc3526_1536, 2048, DHStandardGroups.rfc7919_ffdhe2048, 3072,
+		DHStandardGroups.rfc7919_ffdhe3072, 4096, DHStandardGroups.rfc7919_ffdhe4096, 6144,
+		DHStandardGroups.rfc7919_ffdhe6144, 8192, DHStandardGroups.rfc7919_ffdhe8192);
+
+	/**
+	 * The key sizes of the DSA groups of FIPS 186 that are precomputed by the SUN provider
+	 */
+	static final int[] DSA_STANDARD_SIZES = { 1024, 2048, 3072 };
+
+	/**
+	 * The path of the cache file
+	 */
+	@Getter
+	private final Path cacheFile;
+
+	private final Map<String, AlgorithmParameterSpec> parameterSpecs = new ConcurrentHashMap<>();
+
+	/**
+	 * Instantiates a new {@link DomainParameterStore} with the given cache file
+	 *
+	 * @param cacheFile
+	 *            the path of the cache file
+	 */
+	public DomainParameterStore(final Path cacheFile)
+	{
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Gets the single instance of the {@link DomainParameterStore} that is stored in the default
+	 * cache directory
+	 *
+	 * @return single instance of the {@link DomainParameterStore}
+	 */
+	public static DomainParameterStore getInstance()
+	{
+		return InstanceHolder.INSTANCE;
+	}
+
+	/**
+	 * Checks if the given key pair algorithm needs domain parameters that can be provided from
+	 * this store
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @return true if the given algorithm is DSA or Diffie-Hellman otherwise false
+	 */
+	public static boolean isSupported(final String algorithm)
+	{
+		return toParameterAlgorithm(algorithm) != null;
+	}
+
+	/**
+	 * Checks if the domain parameters of the given algorithm and key size are one of the
+	 * standardized groups
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @param keySize
+	 *            the key size
+	 * @return true if a standardized group exists otherwise false
+	 */
+	public static boolean isStandardGroup(final String algorithm, final int keySize)
+	{
+		String parameterAlgorithm = toParameterAlgorithm(algorithm);
+		if ("DH".equals(parameterAlgorithm))
+		{
+			return DH_STANDARD_GROUPS.containsKey(keySize);
+		}
+		if ("DSA".equals(parameterAlgorithm))
+		{
+			for (int standardSize : DSA_STANDARD_SIZES)
+			{
+				if (standardSize == keySize)
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Factory method for create a new {@link KeyPair} of the given algorithm and key size with the
+	 * domain parameters from this store
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm, DSA or Diffie-Hellman
+	 * @param keySize
+	 *            the key size
+	 * @return the new {@link KeyPair}
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if the algorithm is not supported
+	 * @throws InvalidAlgorithmParameterException
+	 *             is thrown if the domain parameters could not be provided or the key pair
+	 *             generator could not be initialized with them
+	 */
+	public KeyPair newKeyPair(final String algorithm, final int keySize)
+		throws NoSuchAlgorithmException, InvalidAlgorithmParameterException
+	{
+		AlgorithmParameterSpec parameterSpec = getParameterSpec(algorithm, keySize);
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+		keyPairGenerator.initialize(parameterSpec);
+		return keyPairGenerator.generateKeyPair();
+	}
+
+	/**
+	 * Gets the domain parameters of the given algorithm and key size. The domain parameters are
+	 * taken from the standardized groups, from the cache file or are generated and stored in the
+	 * cache file
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm, DSA or Diffie-Hellman
+	 * @param keySize
+	 *            the key size
+	 * @return the domain parameters, a {@link DSAParameterSpec} or a {@link DHParameterSpec}
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if the algorithm is not supported
+	 * @throws InvalidAlgorithmParameterException
+	 *             is thrown if the domain parameters could not be provided
+	 */
+	public AlgorithmParameterSpec getParameterSpec(final String algorithm, final int keySize)
+		throws NoSuchAlgorithmException, InvalidAlgorithmParameterException
+	{
+		String parameterAlgorithm = toParameterAlgorithm(algorithm);
+		if (parameterAlgorithm == null)
+		{
+			throw new NoSuchAlgorithmException(
+				"No domain parameters available for the algorithm " + algorithm);
+		}
+		String key = parameterAlgorithm + "." + keySize;
+		AlgorithmParameterSpec parameterSpec = parameterSpecs.get(key);
+		if (parameterSpec != null)
+		{
+			return parameterSpec;
+		}
+		synchronized (this)
+		{
+			parameterSpec = parameterSpecs.get(key);
+			if (parameterSpec == null)
+			{
+				parameterSpec = newStandardParameterSpec(parameterAlgorithm, keySize);
+			}
+			if (parameterSpec == null)
+			{
+				parameterSpec = readParameterSpec(parameterAlgorithm, key);
+			}
+			if (parameterSpec == null)
+			{
+				parameterSpec = generateParameterSpec(parameterAlgorithm, key, keySize);
+			}
+			parameterSpecs.put(key, parameterSpec);
+			return parameterSpec;
+		}
+	}
+
+	private static String toParameterAlgorithm(final String algorithm)
+	{
+		if (algorithm == null)
+		{
+			return null;
+		}
+		switch (algorithm.toUpperCase(Locale.ROOT))
+		{
+			case "DSA" :
+				return "DSA";
+			case "DH" :
+			case "DIFFIEHELLMAN" :
+				return "DH";
+			default :
+				return null;
+		}
+	}
+
+	private static AlgorithmParameterSpec newStandardParameterSpec(
+		final String parameterAlgorithm, final int keySize)
+	{
+		if (!isStandardGroup(parameterAlgorithm, keySize))
+		{
+			return null;
+		}
+		if ("DH".equals(parameterAlgorithm))
+		{
+			DHParameters group = DH_STANDARD_GROUPS.get(keySize);
+			return new DHParameterSpec(group.getP(), group.getG());
+		}
+		try
+		{
+			// the SUN provider initializes these sizes with its precomputed FIPS 186 groups
+			KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("DSA", "SUN");
+			keyPairGenerator.initialize(keySize);
+			DSAParams params = ((DSAPublicKey)keyPairGenerator.generateKeyPair().getPublic())
+				.getParams();
+			return new DSAParameterSpec(params.getP(), params.getQ(), params.getG());
+		}
+		catch (NoSuchAlgorithmException | NoSuchProviderException exception)
+		{
+			log.log(Level.WARNING, "Precomputed DSA groups are not available", exception);
+			return null;
+		}
+	}
+
+	private AlgorithmParameterSpec readParameterSpec(final String parameterAlgorithm,
+		final String key)
+	{
+		try
+		{
+			String encoded = CacheFiles.read(cacheFile).getProperty(key);
+			if (encoded == null)
+			{
+				return null;
+			}
+			AlgorithmParameters parameters = AlgorithmParameters.getInstance(parameterAlgorithm);
+			parameters.init(Base64.getDecoder().decode(encoded));
+			return toParameterSpec(parameters);
+		}
+		catch (IOException | GeneralSecurityException | IllegalArgumentException exception)
+		{
+			log.log(Level.WARNING, "Invalid domain parameter cache entry " + key, exception);
+			return null;
+		}
+	}
+
+	private AlgorithmParameterSpec generateParameterSpec(final String parameterAlgorithm,
+		final String key, final int keySize)
+		throws NoSuchAlgorithmException, InvalidAlgorithmParameterException
+	{
+		log.info("Generating domain parameters " + key);
+		AlgorithmParameterGenerator parameterGenerator = AlgorithmParameterGenerator
+			.getInstance(parameterAlgorithm);
+		try
+		{
+			parameterGenerator.init(keySize);
+		}
+		catch (IllegalArgumentException exception)
+		{
+			throw new InvalidAlgorithmParameterException(exception.getMessage(), exception);
+		}
+		AlgorithmParameters parameters = parameterGenerator.generateParameters();
+		AlgorithmParameterSpec parameterSpec = parameterSpecOf(parameters);
+		try
+		{
+			String encoded = Base64.getEncoder().encodeToString(parameters.getEncoded());
+			CacheFiles.update(cacheFile, "generated DSA and Diffie-Hellman domain parameters",
+				properties -> properties.setProperty(key, encoded));
+		}
+		catch (IOException exception)
+		{
+			// the cache is an optimization, the generated parameters are still used in memory
+			log.log(Level.WARNING, "Domain parameter cache could not be written: " + cacheFile,
+				exception);
+		}
+		return parameterSpec;
+	}
+
+	private static AlgorithmParameterSpec parameterSpecOf(final AlgorithmParameters parameters)
+		throws InvalidAlgorithmParameterException
+	{
+		try
+		{
+			return toParameterSpec(parameters);
+		}
+		catch (InvalidParameterSpecException exception)
+		{
+			throw new InvalidAlgorithmParameterException(exception.getMessage(), exception);
+		}
+	}
+
+	private static AlgorithmParameterSpec toParameterSpec(final AlgorithmParameters parameters)
+		throws InvalidParameterSpecException
+	{
+		if ("DSA".equalsIgnoreCase(parameters.getAlgorithm()))
+		{
+			return parameters.getParameterSpec(DSAParameterSpec.class);
+		}
+		return parameters.getParameterSpec(DHParameterSpec.class);
+	}
+
+	private static final class InstanceHolder
+	{
+		private static final DomainParameterStore INSTANCE = new DomainParameterStore(
+			CacheFiles.getCacheDirectory().resolve(CACHE_FILE_NAME));
+	}
+
+}
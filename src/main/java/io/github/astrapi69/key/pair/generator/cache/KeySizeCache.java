@@ -0,0 +1,272 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link KeySizeCache} is a persistent cache of the key sizes that are resolved with
+ * reflection from the key pair generators of the algorithms that are not contained in the key pair
+ * catalog. The key sizes are resolved only once and are reused across launches of the application.
+ * The cache file is bound to the java runtime and the BouncyCastle version it was created with and
+ * is discarded as soon as one of them changes. The cache can be accessed concurrently from several
+ * threads, and several processes merge their entries under a file lock
+ */
+@Log
+public class KeySizeCache
+{
+
+	/**
+	 * The system property with the directory of the cache files, defaults to the directory
+	 * {@code .key-pair-cert-generator} in the user home
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY = "key.pair.generator.cache.dir";
+
+	/**
+	 * The file name of the key size cache
+	 */
+	public static final String CACHE_FILE_NAME = "key-size-cache.properties";
+
+	/**
+	 * The property of the cache file that holds the runtime key
+	 */
+	static final String RUNTIME_PROPERTY = "#runtime";
+
+	/**
+	 * The function that resolves the supported key sizes of a key pair algorithm
+	 */
+	@FunctionalInterface
+	public interface KeySizeResolver
+	{
+		/**
+		 * Resolves the supported key sizes of the given key pair algorithm
+		 *
+		 * @param algorithm
+		 *            the key pair algorithm
+		 * @return the supported key sizes
+		 * @throws NoSuchMethodException
+		 *             if the method of the key pair generator is not found
+		 * @throws InvocationTargetException
+		 *             if the invoked method of the key pair generator throws an exception
+		 * @throws IllegalAccessException
+		 *             if the method of the key pair generator is not accessible
+		 */
+		KeySizeSet resolve(String algorithm)
+			throws NoSuchMethodException, InvocationTargetException, IllegalAccessException;
+	}
+
+	/**
+	 * The path of the cache file
+	 */
+	@Getter
+	private final Path cacheFile;
+
+	/**
+	 * The key of the java runtime and the BouncyCastle version the cache is valid for
+	 */
+	@Getter
+	private final String runtimeKey;
+
+	private final Map<String, KeySizeSet> keySizes = new ConcurrentHashMap<>();
+
+	/**
+	 * Instantiates a new {@link KeySizeCache} and loads the entries of the given cache file if it
+	 * was written by the given runtime
+	 *
+	 * @param cacheFile
+	 *            the path of the cache file
+	 * @param runtimeKey
+	 *            the key of the runtime
+	 */
+	public KeySizeCache(final Path cacheFile, final String runtimeKey)
+	{
+		this.cacheFile = cacheFile;
+		this.runtimeKey = runtimeKey;
+		keySizes.putAll(read());
+	}
+
+	/**
+	 * Gets the single instance of the {@link KeySizeCache} that is stored in the default cache
+	 * directory for the current runtime
+	 *
+	 * @return single instance of the {@link KeySizeCache}
+	 */
+	public static KeySizeCache getInstance()
+	{
+		return InstanceHolder.INSTANCE;
+	}
+
+	/**
+	 * Gets the key of the current java runtime and the version of the registered or the bundled
+	 * BouncyCastle provider
+	 *
+	 * @return the key of the current runtime
+	 */
+	public static String newRuntimeKey()
+	{
+		Provider provider = Security.getProvider(BouncyCastleProvider.PROVIDER_NAME);
+		String bouncyCastleVersion = provider != null
+			? provider.getVersionStr()
+			: String.valueOf(BouncyCastleProvider.class.getPackage().getImplementationVersion());
+		return System.getProperty("java.vendor") + " " + System.getProperty("java.runtime.version")
+			+ ", BouncyCastle " + bouncyCastleVersion;
+	}
+
+	/**
+	 * Gets the key sizes of the given algorithm from the cache. If the key sizes are not cached
+	 * they are resolved with the given resolver and are stored in the cache file
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @param resolver
+	 *            the resolver of the key sizes on a cache miss
+	 * @return the key sizes of the given algorithm
+	 * @throws NoSuchMethodException
+	 *             if the method of the key pair generator is not found
+	 * @throws InvocationTargetException
+	 *             if the invoked method of the key pair generator throws an exception
+	 * @throws IllegalAccessException
+	 *             if the method of the key pair generator is not accessible
+	 */
+	public KeySizeSet getKeySizes(final String algorithm, final KeySizeResolver resolver)
+		throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
+	{
+		KeySizeSet cached = keySizes.get(algorithm);
+		if (cached != null)
+		{
+			return cached;
+		}
+		KeySizeSet resolved = resolver.resolve(algorithm);
+		cached = keySizes.putIfAbsent(algorithm, resolved);
+		if (cached != null)
+		{
+			return cached;
+		}
+		write(algorithm, resolved);
+		return resolved;
+	}
+
+	/**
+	 * Checks if the key sizes of the given algorithm are cached
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @return true if the key sizes of the given algorithm are cached otherwise false
+	 */
+	public boolean contains(final String algorithm)
+	{
+		return keySizes.containsKey(algorithm);
+	}
+
+	private Map<String, KeySizeSet> read()
+	{
+		try
+		{
+			return toEntries(CacheFiles.read(cacheFile));
+		}
+		catch (IOException exception)
+		{
+			log.log(Level.WARNING, "Key size cache could not be read: " + cacheFile, exception);
+			return new ConcurrentHashMap<>();
+		}
+	}
+
+	private Map<String, KeySizeSet> toEntries(final Properties properties)
+	{
+		Map<String, KeySizeSet> entries = new ConcurrentHashMap<>();
+		if (properties.isEmpty())
+		{
+			return entries;
+		}
+		if (!runtimeKey.equals(properties.getProperty(RUNTIME_PROPERTY)))
+		{
+			log.info("Key size cache is invalidated, it was created with the runtime "
+				+ properties.getProperty(RUNTIME_PROPERTY));
+			return entries;
+		}
+		for (String algorithm : properties.stringPropertyNames())
+		{
+			if (RUNTIME_PROPERTY.equals(algorithm))
+			{
+				continue;
+			}
+			try
+			{
+				entries.put(algorithm, KeySizeSet.parseRuns(properties.getProperty(algorithm)));
+			}
+			catch (IllegalArgumentException exception)
+			{
+				log.log(Level.WARNING, "Invalid key size cache entry " + algorithm, exception);
+			}
+		}
+		return entries;
+	}
+
+	private synchronized void write(final String algorithm, final KeySizeSet resolved)
+	{
+		try
+		{
+			CacheFiles.update(cacheFile, "key sizes resolved from the key pair generators",
+				properties -> {
+					// merge the entries that other processes have written in the meantime, the
+					// properties are read while the lock is held
+					Map<String, KeySizeSet> entries = toEntries(properties);
+					entries.putAll(keySizes);
+					entries.put(algorithm, resolved);
+					properties.clear();
+					properties.setProperty(RUNTIME_PROPERTY, runtimeKey);
+					entries.forEach(
+						(name, sizes) -> properties.setProperty(name, sizes.toRunString()));
+				});
+		}
+		catch (IOException exception)
+		{
+			// the cache is an optimization, the resolved key sizes are still used in memory
+			log.log(Level.WARNING, "Key size cache could not be written: " + cacheFile,
+				exception);
+		}
+	}
+
+	private static final class InstanceHolder
+	{
+		private static final KeySizeCache INSTANCE = new KeySizeCache(
+			CacheFiles.getCacheDirectory().resolve(CACHE_FILE_NAME), newRuntimeKey());
+	}
+
+}
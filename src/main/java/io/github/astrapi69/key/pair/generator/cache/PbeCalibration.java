@@ -0,0 +1,349 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link PbeCalibration} calibrates the iteration count of the password based key
+ * derivation PBKDF2 with HmacSHA256 that protects the private keys with a password. The
+ * throughput of the key derivation is measured once on the host and the iteration count is chosen
+ * so that one key derivation takes the target latency. The measured throughput is stored in a
+ * cache file that is reused across launches of the application and is discarded as soon as the
+ * java runtime or the host changes
+ */
+@Log
+public class PbeCalibration
+{
+
+	/**
+	 * The file name of the calibration cache
+	 */
+	public static final String CACHE_FILE_NAME = "pbe-calibration.properties";
+
+	/**
+	 * The system property with the target latency of one key derivation in milliseconds
+	 */
+	public static final String TARGET_MILLIS_PROPERTY = "key.pair.generator.pbe.target.millis";
+
+	/**
+	 * The default target latency of one key derivation in milliseconds
+	 */
+	public static final long DEFAULT_TARGET_MILLIS = 250;
+
+	/**
+	 * The key derivation function that is calibrated
+	 */
+	public static final String KEY_DERIVATION_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+	/**
+	 * The lower bound of the iteration count, a slow host never gets less iterations
+	 */
+	public static final int MIN_ITERATION_COUNT = 10000;
+
+	/**
+	 * The upper bound of the iteration count
+	 */
+	public static final int MAX_ITERATION_COUNT = 10_000_000;
+
+	/**
+	 * The property of the cache file that holds the host key
+	 */
+	static final String HOST_PROPERTY = "#host";
+
+	/**
+	 * The property of the cache file that holds the measured iterations per second
+	 */
+	static final String ITERATIONS_PER_SECOND_PROPERTY = KEY_DERIVATION_ALGORITHM
+		+ ".iterationsPerSecond";
+
+	/**
+	 * The minimum duration of one measurement, shorter measurements are dominated by the timer
+	 * resolution and the warm up of the key derivation
+	 */
+	private static final long MIN_MEASUREMENT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private static final int MEASUREMENTS = 3;
+
+	/**
+	 * The path of the cache file
+	 */
+	@Getter
+	private final Path cacheFile;
+
+	/**
+	 * The key of the java runtime and the host the calibration is valid for
+	 */
+	@Getter
+	private final String hostKey;
+
+	private volatile long iterationsPerSecond;
+
+	/**
+	 * Instantiates a new {@link PbeCalibration} and loads the calibration of the given cache file
+	 * if it was measured on the given host
+	 *
+	 * @param cacheFile
+	 *            the path of the cache file
+	 * @param hostKey
+	 *            the key of the host
+	 */
+	public PbeCalibration(final Path cacheFile, final String hostKey)
+	{
+		this.cacheFile = cacheFile;
+		this.hostKey = hostKey;
+		this.iterationsPerSecond = read();
+	}
+
+	/**
+	 * Gets the single instance of the {@link PbeCalibration} that is stored in the default cache
+	 * directory for the current host
+	 *
+	 * @return single instance of the {@link PbeCalibration}
+	 */
+	public static PbeCalibration getInstance()
+	{
+		return InstanceHolder.INSTANCE;
+	}
+
+	/**
+	 * Gets the key of the current java runtime, that provides the key derivation, and the
+	 * processor of the host
+	 *
+	 * @return the key of the current host
+	 */
+	public static String newHostKey()
+	{
+		return System.getProperty("java.vendor") + " " + System.getProperty("java.runtime.version")
+			+ ", " + System.getProperty("os.name") + " " + System.getProperty("os.arch") + " "
+			+ Runtime.getRuntime().availableProcessors() + " processors";
+	}
+
+	/**
+	 * Gets the target latency of one key derivation from the system property
+	 * {@link #TARGET_MILLIS_PROPERTY}, defaults to {@link #DEFAULT_TARGET_MILLIS}
+	 *
+	 * @return the target latency in milliseconds
+	 */
+	public static long getTargetMillis()
+	{
+		return Long.getLong(TARGET_MILLIS_PROPERTY, DEFAULT_TARGET_MILLIS);
+	}
+
+	/**
+	 * Checks if the key derivation throughput of this host is already measured
+	 *
+	 * @return true if the throughput is measured otherwise false
+	 */
+	public boolean isCalibrated()
+	{
+		return 0 < iterationsPerSecond;
+	}
+
+	/**
+	 * Gets the measured iterations per second of the key derivation, the throughput is measured on
+	 * the first call if it is not cached
+	 *
+	 * @return the iterations per second
+	 */
+	public long getIterationsPerSecond()
+	{
+		long cached = iterationsPerSecond;
+		if (0 < cached)
+		{
+			return cached;
+		}
+		synchronized (this)
+		{
+			return 0 < iterationsPerSecond ? iterationsPerSecond : calibrate();
+		}
+	}
+
+	/**
+	 * Gets the iteration count for the target latency of {@link #getTargetMillis()}
+	 *
+	 * @return the iteration count
+	 */
+	public int getIterationCount()
+	{
+		return getIterationCount(getTargetMillis());
+	}
+
+	/**
+	 * Gets the iteration count for the given target latency. The iteration count is rounded down
+	 * to full thousands and is bound to {@link #MIN_ITERATION_COUNT} and
+	 * {@link #MAX_ITERATION_COUNT}
+	 *
+	 * @param targetMillis
+	 *            the target latency of one key derivation in milliseconds
+	 * @return the iteration count
+	 */
+	public int getIterationCount(final long targetMillis)
+	{
+		long iterationCount = getIterationsPerSecond() * targetMillis / 1000 / 1000 * 1000;
+		return (int)Math.max(MIN_ITERATION_COUNT, Math.min(MAX_ITERATION_COUNT, iterationCount));
+	}
+
+	/**
+	 * Estimates the time of one key derivation with the given iteration count on this host
+	 *
+	 * @param iterationCount
+	 *            the iteration count
+	 * @return the estimated time in milliseconds
+	 */
+	public long estimateMillis(final int iterationCount)
+	{
+		return iterationCount * 1000L / getIterationsPerSecond();
+	}
+
+	/**
+	 * Measures the throughput of the key derivation on this host and stores it in the cache file
+	 *
+	 * @return the measured iterations per second
+	 */
+	public synchronized long calibrate()
+	{
+		long measured = measureIterationsPerSecond();
+		iterationsPerSecond = measured;
+		write(measured);
+		log.info("PBE calibration: " + KEY_DERIVATION_ALGORITHM + " " + measured
+			+ " iterations/sec, " + getIterationCount() + " iterations for " + getTargetMillis()
+			+ " ms");
+		return measured;
+	}
+
+	/**
+	 * Measures the iterations per second of the key derivation. The iteration count of one
+	 * measurement is doubled until it takes at least {@link #MIN_MEASUREMENT_NANOS} and the best
+	 * of several measurements is taken, as other load on the host can only slow a measurement down
+	 *
+	 * @return the measured iterations per second
+	 */
+	static long measureIterationsPerSecond()
+	{
+		try
+		{
+			SecretKeyFactory secretKeyFactory = SecretKeyFactory
+				.getInstance(KEY_DERIVATION_ALGORITHM);
+			char[] password = "calibration".toCharArray();
+			byte[] salt = new byte[16];
+			int iterationCount = 1000;
+			long best = 0;
+			for (int measurement = 0; measurement < MEASUREMENTS;)
+			{
+				long start = System.nanoTime();
+				secretKeyFactory
+					.generateSecret(new PBEKeySpec(password, salt, iterationCount, 256));
+				long elapsed = System.nanoTime() - start;
+				if (elapsed < MIN_MEASUREMENT_NANOS)
+				{
+					iterationCount *= 2;
+					continue;
+				}
+				best = Math.max(best, iterationCount * TimeUnit.SECONDS.toNanos(1) / elapsed);
+				measurement++;
+			}
+			return best;
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IllegalStateException(
+				KEY_DERIVATION_ALGORITHM + " is not available: " + exception.getMessage(),
+				exception);
+		}
+	}
+
+	private long read()
+	{
+		Properties properties;
+		try
+		{
+			properties = CacheFiles.read(cacheFile);
+		}
+		catch (IOException exception)
+		{
+			log.log(Level.WARNING, "PBE calibration could not be read: " + cacheFile, exception);
+			return 0;
+		}
+		if (properties.isEmpty())
+		{
+			return 0;
+		}
+		if (!hostKey.equals(properties.getProperty(HOST_PROPERTY)))
+		{
+			log.info("PBE calibration is invalidated, it was measured on "
+				+ properties.getProperty(HOST_PROPERTY));
+			return 0;
+		}
+		try
+		{
+			return Math.max(0,
+				Long.parseLong(properties.getProperty(ITERATIONS_PER_SECOND_PROPERTY, "0")));
+		}
+		catch (NumberFormatException exception)
+		{
+			log.log(Level.WARNING, "Invalid PBE calibration " + cacheFile, exception);
+			return 0;
+		}
+	}
+
+	private void write(final long measured)
+	{
+		try
+		{
+			CacheFiles.update(cacheFile, "throughput of the password based key derivation",
+				properties -> {
+					properties.clear();
+					properties.setProperty(HOST_PROPERTY, hostKey);
+					properties.setProperty(ITERATIONS_PER_SECOND_PROPERTY,
+						String.valueOf(measured));
+				});
+		}
+		catch (IOException exception)
+		{
+			// the calibration is still used in memory
+			log.log(Level.WARNING, "PBE calibration could not be written: " + cacheFile,
+				exception);
+		}
+	}
+
+	private static final class InstanceHolder
+	{
+		private static final PbeCalibration INSTANCE = new PbeCalibration(
+			CacheFiles.getCacheDirectory().resolve(CACHE_FILE_NAME), newHostKey());
+	}
+
+}
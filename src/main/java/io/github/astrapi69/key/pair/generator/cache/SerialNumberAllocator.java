@@ -0,0 +1,298 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link SerialNumberAllocator} allocates certificate serial numbers that are unique per
+ * issuer, also across runs of the application and across processes. Every serial number is built
+ * from a counter value of the issuer. The counter values are reserved in large ranges that are
+ * recorded in a cache file before they are used, so a serial number is never handed out twice even
+ * if the application is stopped in the middle of a range. The worker threads take small blocks of
+ * the current range with one atomic addition and allocate the serial numbers of their block
+ * without any synchronization. Only the reservation of the next range, once per
+ * {@link #getReservationSize()} serial numbers, is serialized per issuer. If a range can not be
+ * recorded in the cache file the allocation fails, so no serial number of an earlier run is
+ * reissued
+ */
+@Log
+public class SerialNumberAllocator
+{
+
+	/**
+	 * The file name of the serial number reservations
+	 */
+	public static final String CACHE_FILE_NAME = "serial-number-reservations.properties";
+
+	/**
+	 * The issuer of the self signed certificates and of the certificates whose issuer is not known
+	 * when the serial number is allocated
+	 */
+	public static final String DEFAULT_ISSUER = "self-signed";
+
+	/**
+	 * The default number of counter values that are reserved at once
+	 */
+	public static final long DEFAULT_RESERVATION_SIZE = 1L << 20;
+
+	/**
+	 * The number of counter values a thread takes at once from the current range
+	 */
+	static final int BLOCK_SIZE = 256;
+
+	/**
+	 * The first counter value of an issuer, so no serial number is zero
+	 */
+	static final long FIRST_COUNTER_VALUE = 1;
+
+	private static final Map<String, SerialNumberAllocator> INSTANCES = new ConcurrentHashMap<>();
+
+	/**
+	 * The path of the cache file with the reservations
+	 */
+	@Getter
+	private final Path cacheFile;
+
+	/**
+	 * The issuer whose serial numbers are allocated
+	 */
+	@Getter
+	private final String issuer;
+
+	/**
+	 * The number of counter values that are reserved at once
+	 */
+	@Getter
+	private final long reservationSize;
+
+	/**
+	 * The block of the counter values of the current thread, the next and the end value
+	 */
+	private final ThreadLocal<long[]> threadBlock = ThreadLocal.withInitial(() -> new long[2]);
+
+	private volatile Reservation reservation;
+
+	/**
+	 * Instantiates a new {@link SerialNumberAllocator} of the given issuer that records its
+	 * reservations in the given cache file
+	 *
+	 * @param cacheFile
+	 *            the path of the cache file
+	 * @param issuer
+	 *            the issuer whose serial numbers are allocated
+	 * @param reservationSize
+	 *            the number of counter values that are reserved at once
+	 */
+	public SerialNumberAllocator(final @NonNull Path cacheFile, final @NonNull String issuer,
+		final long reservationSize)
+	{
+		if (reservationSize < BLOCK_SIZE)
+		{
+			throw new IllegalArgumentException(
+				"The reservation size has to be at least " + BLOCK_SIZE);
+		}
+		this.cacheFile = cacheFile;
+		this.issuer = issuer;
+		this.reservationSize = reservationSize;
+	}
+
+	/**
+	 * Gets the {@link SerialNumberAllocator} of the given issuer that records its reservations in
+	 * the default cache directory
+	 *
+	 * @param issuer
+	 *            the issuer, for instance the distinguished name of the issuing certificate
+	 * @return the {@link SerialNumberAllocator} of the given issuer
+	 */
+	public static SerialNumberAllocator forIssuer(final @NonNull String issuer)
+	{
+		return INSTANCES.computeIfAbsent(issuer,
+			key -> new SerialNumberAllocator(
+				CacheFiles.getCacheDirectory().resolve(CACHE_FILE_NAME), key,
+				DEFAULT_RESERVATION_SIZE));
+	}
+
+	/**
+	 * Gets the {@link SerialNumberAllocator} of the {@link #DEFAULT_ISSUER}
+	 *
+	 * @return the {@link SerialNumberAllocator} of the default issuer
+	 */
+	public static SerialNumberAllocator getDefault()
+	{
+		return forIssuer(DEFAULT_ISSUER);
+	}
+
+	/**
+	 * Allocates the next serial number with the scheme
+	 * {@link SerialNumberScheme#RANDOM_WITH_PREFIX}
+	 *
+	 * @return the next serial number
+	 * @throws UncheckedIOException
+	 *             if the next range of serial numbers can not be reserved in the cache file
+	 */
+	public BigInteger nextSerialNumber()
+	{
+		return nextSerialNumber(SerialNumberScheme.RANDOM_WITH_PREFIX);
+	}
+
+	/**
+	 * Allocates the next serial number with the given scheme. The serial numbers of both schemes
+	 * are unique among each other, because they are built from the same counter of the issuer
+	 *
+	 * @param scheme
+	 *            the scheme of the serial number
+	 * @return the next serial number
+	 * @throws UncheckedIOException
+	 *             if the next range of serial numbers can not be reserved in the cache file
+	 */
+	public BigInteger nextSerialNumber(final @NonNull SerialNumberScheme scheme)
+	{
+		long counterValue = nextCounterValue();
+		if (scheme == SerialNumberScheme.MONOTONIC)
+		{
+			return BigInteger.valueOf(counterValue);
+		}
+		byte[] randomBytes = new byte[Long.BYTES];
+		SecureRandomStrategy.getConfigured().getSecureRandom().nextBytes(randomBytes);
+		return BigInteger.valueOf(counterValue).shiftLeft(Long.SIZE)
+			.or(new BigInteger(1, randomBytes));
+	}
+
+	/**
+	 * Allocates the next counter value of the issuer, the fast path only touches the block of the
+	 * current thread
+	 *
+	 * @return the next counter value
+	 */
+	long nextCounterValue()
+	{
+		long[] block = threadBlock.get();
+		if (block[0] == block[1])
+		{
+			takeBlock(block);
+		}
+		return block[0]++;
+	}
+
+	private void takeBlock(final long[] block)
+	{
+		while (true)
+		{
+			Reservation current = reservation;
+			if (current != null)
+			{
+				long start = current.next.getAndAdd(BLOCK_SIZE);
+				if (start < current.limit)
+				{
+					block[0] = start;
+					block[1] = Math.min(start + BLOCK_SIZE, current.limit);
+					return;
+				}
+			}
+			reserve(current);
+		}
+	}
+
+	/**
+	 * Reserves the next range of counter values unless another thread already replaced the given
+	 * exhausted reservation
+	 */
+	private synchronized void reserve(final Reservation exhausted)
+	{
+		if (reservation != exhausted)
+		{
+			return;
+		}
+		long[] range = new long[2];
+		try
+		{
+			CacheFiles.update(cacheFile, "reserved serial number counters by issuer",
+				properties -> {
+					range[0] = Math.max(parseLimit(properties.getProperty(issuer)),
+						exhausted != null ? exhausted.limit : FIRST_COUNTER_VALUE);
+					range[1] = range[0] + reservationSize;
+					properties.setProperty(issuer, Long.toString(range[1]));
+				});
+		}
+		catch (IOException exception)
+		{
+			// without the recorded reservation the counters of earlier runs would be reissued
+			log.log(Level.SEVERE, "Serial numbers of issuer " + issuer
+				+ " could not be reserved in " + cacheFile, exception);
+			throw new UncheckedIOException("Serial numbers of issuer " + issuer
+				+ " could not be reserved in " + cacheFile, exception);
+		}
+		reservation = new Reservation(range[0], range[1]);
+	}
+
+	private long parseLimit(final String limit)
+	{
+		if (limit == null)
+		{
+			return FIRST_COUNTER_VALUE;
+		}
+		try
+		{
+			return Math.max(Long.parseLong(limit.trim()), FIRST_COUNTER_VALUE);
+		}
+		catch (NumberFormatException exception)
+		{
+			throw new IllegalStateException("Invalid serial number reservation of issuer "
+				+ issuer + " in " + cacheFile + ": " + limit, exception);
+		}
+	}
+
+	/**
+	 * A reserved range of counter values from {@code next} up to {@code limit} exclusive
+	 */
+	private static final class Reservation
+	{
+
+		private final AtomicLong next;
+
+		private final long limit;
+
+		private Reservation(final long start, final long limit)
+		{
+			this.next = new AtomicLong(start);
+			this.limit = limit;
+		}
+
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+/**
+ * The enum {@link SerialNumberScheme} defines how the {@link SerialNumberAllocator} builds a
+ * serial number from the unique counter value of the issuer
+ */
+public enum SerialNumberScheme
+{
+
+	/**
+	 * The counter value as prefix followed by 64 random bits, so the serial numbers are unique and
+	 * not predictable as required for publicly trusted certificates
+	 */
+	RANDOM_WITH_PREFIX,
+
+	/**
+	 * The counter value itself, so the serial numbers are small and increase with every issued
+	 * certificate of the issuer. Serial numbers that are allocated concurrently on several threads
+	 * are unique but not in the order of their allocation
+	 */
+	MONOTONIC
+
+}
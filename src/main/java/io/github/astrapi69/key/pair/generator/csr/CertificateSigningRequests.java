@@ -0,0 +1,286 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.csr;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.Base64;
+import java.util.Locale;
+
+import org.bouncycastle.asn1.pkcs.Attribute;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.PKCS10CertificationRequestBuilder;
+import org.bouncycastle.pkcs.PKCSException;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequest;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+
+import io.github.astrapi69.key.pair.generator.export.KeyPairExporter;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+import lombok.NonNull;
+
+/**
+ * The class {@link CertificateSigningRequests} provides the creation, the encoding, the parsing and
+ * the verification of PKCS#10 certificate signing requests
+ */
+public final class CertificateSigningRequests
+{
+
+	/**
+	 * The PEM type of a certificate signing request
+	 */
+	public static final String PEM_TYPE = "CERTIFICATE REQUEST";
+
+	/**
+	 * The PEM type of a certificate signing request that is written by older tools
+	 */
+	public static final String LEGACY_PEM_TYPE = "NEW CERTIFICATE REQUEST";
+
+	static
+	{
+		synchronized (Security.class)
+		{
+			if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+			{
+				Security.addProvider(new BouncyCastleProvider());
+			}
+		}
+	}
+
+	private CertificateSigningRequests()
+	{
+	}
+
+	/**
+	 * Factory method for create a new signed certificate signing request of the given key pair
+	 *
+	 * @param keyPair
+	 *            the key pair whose public key is requested to be certified
+	 * @param subject
+	 *            the subject of the requested certificate
+	 * @param signatureAlgorithm
+	 *            the signature algorithm the request is signed with the private key
+	 * @param extensions
+	 *            the requested extensions
+	 * @return the new certificate signing request
+	 * @throws GeneralSecurityException
+	 *             if the request can not be signed
+	 */
+	public static PKCS10CertificationRequest newCertificateSigningRequest(
+		final @NonNull KeyPair keyPair, final @NonNull X500Name subject,
+		final @NonNull String signatureAlgorithm, final Extension... extensions)
+		throws GeneralSecurityException
+	{
+		PKCS10CertificationRequestBuilder builder = new JcaPKCS10CertificationRequestBuilder(
+			subject, keyPair.getPublic());
+		if (extensions != null && 0 < extensions.length)
+		{
+			builder.addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest,
+				new Extensions(extensions));
+		}
+		try
+		{
+			return builder
+				.build(new JcaContentSignerBuilder(signatureAlgorithm).build(keyPair.getPrivate()));
+		}
+		catch (OperatorCreationException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+	}
+
+	/**
+	 * Factory method for create a new signed certificate signing request of the given key pair
+	 * and the subject of the given {@link DistinguishedNameInfoModel}
+	 *
+	 * @param keyPair
+	 *            the key pair whose public key is requested to be certified
+	 * @param subject
+	 *            the subject of the requested certificate
+	 * @param signatureAlgorithm
+	 *            the signature algorithm the request is signed with the private key
+	 * @return the new certificate signing request
+	 * @throws GeneralSecurityException
+	 *             if the request can not be signed
+	 */
+	public static PKCS10CertificationRequest newCertificateSigningRequest(
+		final @NonNull KeyPair keyPair, final @NonNull DistinguishedNameInfoModel subject,
+		final @NonNull String signatureAlgorithm) throws GeneralSecurityException
+	{
+		return newCertificateSigningRequest(keyPair,
+			DistinguishedNameInfoModel.toX500Name(subject), signatureAlgorithm);
+	}
+
+	/**
+	 * Gets the default signature algorithm of the given public key
+	 *
+	 * @param publicKey
+	 *            the public key
+	 * @return the default signature algorithm, for instance {@code SHA256withRSA}
+	 */
+	public static String getDefaultSignatureAlgorithm(final @NonNull PublicKey publicKey)
+	{
+		String algorithm = publicKey.getAlgorithm().toUpperCase(Locale.ROOT);
+		switch (algorithm)
+		{
+			case "RSA" :
+				return "SHA256withRSA";
+			case "EC" :
+			case "ECDSA" :
+				return "SHA256withECDSA";
+			case "DSA" :
+				return "SHA256withDSA";
+			default :
+				// EdDSA keys are signed with the algorithm of their curve, Ed25519 or Ed448
+				return publicKey.getAlgorithm();
+		}
+	}
+
+	/**
+	 * Encodes the given certificate signing request in the PEM format
+	 *
+	 * @param certificateSigningRequest
+	 *            the certificate signing request
+	 * @return the PEM format of the certificate signing request
+	 * @throws IOException
+	 *             if the request can not be encoded
+	 */
+	public static String toPemFormat(
+		final @NonNull PKCS10CertificationRequest certificateSigningRequest) throws IOException
+	{
+		return KeyPairExporter.toPemFormat(PEM_TYPE, certificateSigningRequest.getEncoded());
+	}
+
+	/**
+	 * Parses a certificate signing request in the PEM or in the DER format
+	 *
+	 * @param encoded
+	 *            the encoded certificate signing request
+	 * @return the parsed certificate signing request
+	 * @throws IOException
+	 *             if the data is no valid certificate signing request
+	 */
+	public static PKCS10CertificationRequest read(final @NonNull byte[] encoded)
+		throws IOException
+	{
+		byte[] der = encoded;
+		String text = new String(encoded, StandardCharsets.US_ASCII);
+		int begin = text.indexOf("-----BEGIN ");
+		if (0 <= begin)
+		{
+			int typeEnd = text.indexOf("-----", begin + 11);
+			int end = typeEnd < 0 ? -1 : text.indexOf("-----END ", typeEnd);
+			String type = typeEnd < 0 ? "" : text.substring(begin + 11, typeEnd);
+			if (end < 0 || !(PEM_TYPE.equals(type) || LEGACY_PEM_TYPE.equals(type)))
+			{
+				throw new IOException("No PEM encoded certificate signing request");
+			}
+			try
+			{
+				der = Base64.getMimeDecoder().decode(text.substring(typeEnd + 5, end));
+			}
+			catch (IllegalArgumentException exception)
+			{
+				throw new IOException("Invalid base64 data: " + exception.getMessage(), exception);
+			}
+		}
+		try
+		{
+			return new PKCS10CertificationRequest(der);
+		}
+		catch (RuntimeException exception)
+		{
+			// the parser of BouncyCastle signals some malformed structures unchecked
+			throw new IOException("Invalid certificate signing request: " + exception.getMessage(),
+				exception);
+		}
+	}
+
+	/**
+	 * Verifies the signature of the given certificate signing request with the public key it
+	 * contains, so the requester is proven to own the private key
+	 *
+	 * @param certificateSigningRequest
+	 *            the certificate signing request
+	 * @return the verified public key of the certificate signing request
+	 * @throws GeneralSecurityException
+	 *             if the public key is not supported or the signature is not valid
+	 */
+	public static PublicKey verify(
+		final @NonNull PKCS10CertificationRequest certificateSigningRequest)
+		throws GeneralSecurityException
+	{
+		JcaPKCS10CertificationRequest request = new JcaPKCS10CertificationRequest(
+			certificateSigningRequest).setProvider(BouncyCastleProvider.PROVIDER_NAME);
+		PublicKey publicKey = request.getPublicKey();
+		try
+		{
+			if (!request.isSignatureValid(new JcaContentVerifierProviderBuilder()
+				.setProvider(BouncyCastleProvider.PROVIDER_NAME).build(publicKey)))
+			{
+				throw new GeneralSecurityException("Invalid signature of the request of "
+					+ certificateSigningRequest.getSubject());
+			}
+		}
+		catch (OperatorCreationException | PKCSException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		return publicKey;
+	}
+
+	/**
+	 * Gets the extensions that are requested by the given certificate signing request
+	 *
+	 * @param certificateSigningRequest
+	 *            the certificate signing request
+	 * @return the requested extensions or null if no extensions are requested
+	 */
+	public static Extensions getRequestedExtensions(
+		final @NonNull PKCS10CertificationRequest certificateSigningRequest)
+	{
+		for (Attribute attribute : certificateSigningRequest
+			.getAttributes(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest))
+		{
+			if (0 < attribute.getAttrValues().size())
+			{
+				return Extensions.getInstance(attribute.getAttrValues().getObjectAt(0));
+			}
+		}
+		return null;
+	}
+
+}
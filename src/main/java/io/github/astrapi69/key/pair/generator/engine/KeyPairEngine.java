@@ -0,0 +1,234 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import javax.security.auth.DestroyFailedException;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import io.github.astrapi69.crypt.data.factory.KeyPairFactory;
+import io.github.astrapi69.crypt.data.factory.KeyPairGeneratorFactory;
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link KeyPairEngine} generates key pairs with key pair generators that are resolved
+ * and initialized only once per {@link KeyPairSpec} and thread. A {@link KeyPairGenerator} is not
+ * thread safe, so every thread holds its own generators and reuses them for all following key
+ * pairs of the same specification. The BouncyCastle provider is registered once when this class
+ * is loaded
+ */
+@Log
+public final class KeyPairEngine
+{
+
+	/**
+	 * The standard curve names of the algorithms that have no key size and have to be initialized
+	 * with a named curve
+	 */
+	public static final Map<String, String> ALGORITHM_TO_CURVE_NAME = Map.of("ECGOST3410",
+		"GostR3410-2001-CryptoPro-A", "ECGOST3410-2012", "GostR3410-2001-CryptoPro-A");
+
+	private static final ThreadLocal<Map<KeyPairSpec, KeyPairGenerator>> GENERATORS = ThreadLocal
+		.withInitial(HashMap::new);
+
+	static
+	{
+		synchronized (Security.class)
+		{
+			if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+			{
+				Security.addProvider(new BouncyCastleProvider());
+			}
+		}
+	}
+
+	private KeyPairEngine()
+	{
+	}
+
+	/**
+	 * Generates a new {@link KeyPair} of the given specification
+	 *
+	 * @param spec
+	 *            the specification of the key pair
+	 * @return the new {@link KeyPair}
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the cypher object fails
+	 * @throws NoSuchProviderException
+	 *             is thrown if the specified provider is not available in the environment
+	 * @throws InvalidAlgorithmParameterException
+	 *             is thrown if initialization of the key pair generator fails
+	 */
+	public static KeyPair generate(final KeyPairSpec spec) throws NoSuchAlgorithmException,
+		NoSuchProviderException, InvalidAlgorithmParameterException
+	{
+		return getKeyPairGenerator(spec).generateKeyPair();
+	}
+
+	/**
+	 * Gets the initialized {@link KeyPairGenerator} of the given specification for the current
+	 * thread. The returned generator must not be shared with other threads
+	 *
+	 * @param spec
+	 *            the specification of the key pair
+	 * @return the initialized {@link KeyPairGenerator} of the current thread
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the cypher object fails
+	 * @throws NoSuchProviderException
+	 *             is thrown if the specified provider is not available in the environment
+	 * @throws InvalidAlgorithmParameterException
+	 *             is thrown if initialization of the key pair generator fails
+	 */
+	public static KeyPairGenerator getKeyPairGenerator(final KeyPairSpec spec)
+		throws NoSuchAlgorithmException, NoSuchProviderException,
+		InvalidAlgorithmParameterException
+	{
+		KeyPairSpec resolvedSpec = spec.getSecureRandomStrategy() != null
+			? spec
+			: spec.toBuilder().secureRandomStrategy(SecureRandomStrategy.getConfigured()).build();
+		Map<KeyPairSpec, KeyPairGenerator> keyPairGenerators = GENERATORS.get();
+		KeyPairGenerator keyPairGenerator = keyPairGenerators.get(resolvedSpec);
+		if (keyPairGenerator == null)
+		{
+			keyPairGenerator = newKeyPairGenerator(resolvedSpec);
+			keyPairGenerators.put(resolvedSpec, keyPairGenerator);
+		}
+		return keyPairGenerator;
+	}
+
+	/**
+	 * Removes the key pair generators of the current thread
+	 */
+	public static void clear()
+	{
+		GENERATORS.remove();
+	}
+
+	/**
+	 * Destroys the private key of the given key pair that is no more needed. Most providers do not
+	 * support destroy, in that case the key pair is released for garbage collection
+	 *
+	 * @param keyPair
+	 *            the key pair to destroy
+	 */
+	public static void destroy(final KeyPair keyPair)
+	{
+		PrivateKey privateKey = keyPair.getPrivate();
+		if (!privateKey.isDestroyed())
+		{
+			try
+			{
+				privateKey.destroy();
+			}
+			catch (DestroyFailedException exception)
+			{
+				log.log(Level.FINEST, "private key can not be destroyed", exception);
+			}
+		}
+	}
+
+	/**
+	 * Factory method for create a new initialized {@link KeyPairGenerator} of the given
+	 * specification. The generator is initialized with the {@link java.security.SecureRandom} of
+	 * the strategy of the specification for the current thread
+	 *
+	 * @param spec
+	 *            the specification of the key pair
+	 * @return the new initialized {@link KeyPairGenerator}
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the cypher object fails
+	 * @throws NoSuchProviderException
+	 *             is thrown if the specified provider is not available in the environment
+	 * @throws InvalidAlgorithmParameterException
+	 *             is thrown if initialization of the key pair generator fails
+	 */
+	static KeyPairGenerator newKeyPairGenerator(final KeyPairSpec spec)
+		throws NoSuchAlgorithmException, NoSuchProviderException,
+		InvalidAlgorithmParameterException
+	{
+		String algorithm = spec.getAlgorithm();
+		SecureRandomStrategy secureRandomStrategy = spec.getSecureRandomStrategy() != null
+			? spec.getSecureRandomStrategy()
+			: SecureRandomStrategy.getConfigured();
+		if (spec.getParallelism() != null && spec.getKeySize() != null
+			&& "RSA".equalsIgnoreCase(algorithm))
+		{
+			// every thread of the prime search uses its own instance of the strategy
+			KeyPairGenerator keyPairGenerator = new ParallelRsaKeyPairGenerator(
+				spec.getParallelism(), secureRandomStrategy);
+			keyPairGenerator.initialize(spec.getKeySize());
+			return keyPairGenerator;
+		}
+		String curveName = spec.getCurveName() != null
+			? spec.getCurveName()
+			: ALGORITHM_TO_CURVE_NAME.get(algorithm);
+		KeyPairGenerator keyPairGenerator;
+		if (spec.getProvider() != null)
+		{
+			keyPairGenerator = KeyPairGenerator.getInstance(algorithm, spec.getProvider());
+		}
+		else if (spec.getKeySize() != null)
+		{
+			// the factory chooses the provider, the generator is initialized again below
+			keyPairGenerator = KeyPairFactory.newKeyPairGenerator(algorithm, spec.getKeySize());
+		}
+		else
+		{
+			keyPairGenerator = KeyPairGeneratorFactory.newKeyPairGenerator(algorithm);
+		}
+		initialize(keyPairGenerator, spec.getKeySize(), curveName,
+			secureRandomStrategy.getSecureRandom());
+		return keyPairGenerator;
+	}
+
+	private static void initialize(final KeyPairGenerator keyPairGenerator, final Integer keySize,
+		final String curveName, final SecureRandom secureRandom)
+		throws InvalidAlgorithmParameterException
+	{
+		if (keySize != null)
+		{
+			keyPairGenerator.initialize(keySize, secureRandom);
+		}
+		else if (curveName != null)
+		{
+			keyPairGenerator.initialize(new ECGenParameterSpec(curveName), secureRandom);
+		}
+	}
+
+}
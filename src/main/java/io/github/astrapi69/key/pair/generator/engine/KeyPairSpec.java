@@ -0,0 +1,91 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The class {@link KeyPairSpec} describes the key pairs that are generated by the
+ * {@link KeyPairEngine}. A key pair generator is initialized either with a key size or with a named
+ * curve, if none of them is given the default parameters of the algorithm are used
+ */
+@Value
+@Builder(toBuilder = true)
+public class KeyPairSpec
+{
+
+	/**
+	 * The key pair algorithm
+	 */
+	@NonNull
+	String algorithm;
+
+	/**
+	 * The key size, can be null for algorithms that are initialized with a named curve or with
+	 * their default parameters
+	 */
+	Integer keySize;
+
+	/**
+	 * The name of the curve, if null the standard curve of the algorithm is used if it has one
+	 */
+	String curveName;
+
+	/**
+	 * The name of the security provider, if null the provider is chosen like the
+	 * {@code KeyPairFactory} does
+	 */
+	String provider;
+
+	/**
+	 * The number of threads that search the primes of a RSA key pair in parallel with the
+	 * {@link ParallelRsaKeyPairGenerator}, if null the key pair is generated by the provider
+	 */
+	Integer parallelism;
+
+	/**
+	 * The strategy of the {@link java.security.SecureRandom} that initializes the key pair
+	 * generator, if null the configured strategy is used
+	 */
+	SecureRandomStrategy secureRandomStrategy;
+
+	/**
+	 * Factory method for create a new {@link KeyPairSpec} from the given algorithm and key size
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @param keySize
+	 *            the key size, can be null
+	 * @return the new {@link KeyPairSpec}
+	 */
+	public static KeyPairSpec of(final String algorithm, final Integer keySize)
+	{
+		return builder().algorithm(algorithm).keySize(keySize).build();
+	}
+
+}
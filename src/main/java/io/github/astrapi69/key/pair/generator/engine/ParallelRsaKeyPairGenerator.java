@@ -0,0 +1,345 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import java.math.BigInteger;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.security.spec.RSAPrivateCrtKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bouncycastle.jcajce.provider.asymmetric.util.PrimeCertaintyCalculator;
+import org.bouncycastle.math.Primes;
+import org.bouncycastle.math.ec.WNafUtil;
+import org.bouncycastle.util.BigIntegers;
+
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+
+/**
+ * The class {@link ParallelRsaKeyPairGenerator} generates RSA key pairs with a search for the
+ * primes p and q that runs concurrently on several threads. Every thread tests its own prime
+ * candidates and the first two primes that are found are taken. The candidates have to pass the
+ * same checks as in the {@code RSAKeyPairGenerator} of BouncyCastle, that are the public exponent
+ * check, the lower bound of the primes, the Miller-Rabin iterations of the default certainty of
+ * the key size, the minimal difference of the primes, the exact bit length and the NAF weight of
+ * the modulus and the lower bound of the private exponent, so the key pairs have the same quality
+ * as the key pairs of the BouncyCastle provider. The generation can be cancelled by interrupting
+ * the calling thread
+ */
+public class ParallelRsaKeyPairGenerator extends KeyPairGenerator
+{
+
+	private static final BigInteger ONE = BigInteger.ONE;
+
+	private static final ExecutorService PRIME_SEARCH_EXECUTOR = Executors
+		.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "rsa-prime-search");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	private final int parallelism;
+
+	private final SecureRandomStrategy secureRandomStrategy;
+
+	private int keySize = 2048;
+
+	private BigInteger publicExponent = RSAKeyGenParameterSpec.F4;
+
+	private SecureRandom random;
+
+	/**
+	 * Instantiates a new {@link ParallelRsaKeyPairGenerator} that searches the primes with the
+	 * given number of threads and the configured {@link SecureRandomStrategy}
+	 *
+	 * @param parallelism
+	 *            the number of threads that search the primes
+	 */
+	public ParallelRsaKeyPairGenerator(final int parallelism)
+	{
+		this(parallelism, SecureRandomStrategy.getConfigured());
+	}
+
+	/**
+	 * Instantiates a new {@link ParallelRsaKeyPairGenerator} that searches the primes with the
+	 * given number of threads. If the generator is not initialized with a {@link SecureRandom},
+	 * every thread uses its own instance of the given strategy
+	 *
+	 * @param parallelism
+	 *            the number of threads that search the primes
+	 * @param secureRandomStrategy
+	 *            the strategy of the {@link SecureRandom} instances of the threads
+	 */
+	public ParallelRsaKeyPairGenerator(final int parallelism,
+		final SecureRandomStrategy secureRandomStrategy)
+	{
+		super("RSA");
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.secureRandomStrategy = secureRandomStrategy;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void initialize(final int keySize)
+	{
+		initialize(keySize, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void initialize(final int keySize, final SecureRandom random)
+	{
+		if (keySize < 512)
+		{
+			throw new IllegalArgumentException("RSA key size must be at least 512: " + keySize);
+		}
+		this.keySize = keySize;
+		this.publicExponent = RSAKeyGenParameterSpec.F4;
+		this.random = random;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void initialize(final AlgorithmParameterSpec params, final SecureRandom random)
+		throws InvalidAlgorithmParameterException
+	{
+		if (!(params instanceof RSAKeyGenParameterSpec))
+		{
+			throw new InvalidAlgorithmParameterException(
+				"parameter object not a RSAKeyGenParameterSpec");
+		}
+		RSAKeyGenParameterSpec rsaKeyGenParameterSpec = (RSAKeyGenParameterSpec)params;
+		if (rsaKeyGenParameterSpec.getKeysize() < 512)
+		{
+			throw new InvalidAlgorithmParameterException(
+				"RSA key size must be at least 512: " + rsaKeyGenParameterSpec.getKeysize());
+		}
+		this.keySize = rsaKeyGenParameterSpec.getKeysize();
+		this.publicExponent = rsaKeyGenParameterSpec.getPublicExponent();
+		this.random = random;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public KeyPair generateKeyPair()
+	{
+		int pBitLength = (keySize + 1) / 2;
+		int qBitLength = keySize - pBitLength;
+		int minDiffBits = Math.max(keySize / 2 - 100, keySize / 3);
+		int minWeight = keySize >> 2;
+		int iterations = getNumberOfIterations(keySize,
+			PrimeCertaintyCalculator.getDefaultCertainty(keySize));
+		BigInteger squaredBound = ONE.shiftLeft(keySize - 1);
+		BigInteger minDiff = ONE.shiftLeft(minDiffBits);
+		BigInteger dLowerBound = BigInteger.valueOf(2).pow(keySize / 2);
+		while (true)
+		{
+			BigInteger[] primes = searchPrimes(pBitLength, qBitLength, squaredBound, iterations);
+			BigInteger p = primes[0];
+			BigInteger q = primes[1];
+			BigInteger diff = q.subtract(p).abs();
+			if (diff.bitLength() < minDiffBits || diff.compareTo(minDiff) <= 0)
+			{
+				continue;
+			}
+			BigInteger n = p.multiply(q);
+			if (n.bitLength() != keySize || WNafUtil.getNafWeight(n) < minWeight)
+			{
+				continue;
+			}
+			if (p.compareTo(q) < 0)
+			{
+				BigInteger swap = p;
+				p = q;
+				q = swap;
+			}
+			BigInteger pSub1 = p.subtract(ONE);
+			BigInteger qSub1 = q.subtract(ONE);
+			BigInteger lcm = pSub1.divide(pSub1.gcd(qSub1)).multiply(qSub1);
+			BigInteger d = publicExponent.modInverse(lcm);
+			if (d.compareTo(dLowerBound) <= 0)
+			{
+				continue;
+			}
+			return newKeyPair(n, d, p, q);
+		}
+	}
+
+	private KeyPair newKeyPair(final BigInteger n, final BigInteger d, final BigInteger p,
+		final BigInteger q)
+	{
+		BigInteger dP = d.remainder(p.subtract(ONE));
+		BigInteger dQ = d.remainder(q.subtract(ONE));
+		BigInteger qInv = BigIntegers.modOddInverse(p, q);
+		try
+		{
+			KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+			return new KeyPair(
+				keyFactory.generatePublic(new RSAPublicKeySpec(n, publicExponent)),
+				keyFactory.generatePrivate(
+					new RSAPrivateCrtKeySpec(n, publicExponent, d, p, q, dP, dQ, qInv)));
+		}
+		catch (NoSuchAlgorithmException | InvalidKeySpecException exception)
+		{
+			throw new IllegalStateException("RSA key pair could not be created", exception);
+		}
+	}
+
+	/**
+	 * Searches the primes p and q concurrently. The threads search for the prime that is still
+	 * missing, so both primes are searched at the same time and all threads help with the last one
+	 */
+	private BigInteger[] searchPrimes(final int pBitLength, final int qBitLength,
+		final BigInteger squaredBound, final int iterations)
+	{
+		AtomicReference<BigInteger> p = new AtomicReference<>();
+		AtomicReference<BigInteger> q = new AtomicReference<>();
+		AtomicBoolean stopped = new AtomicBoolean();
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		CountDownLatch finished = new CountDownLatch(parallelism);
+		for (int worker = 0; worker < parallelism; worker++)
+		{
+			final boolean preferP = worker % 2 == 0;
+			PRIME_SEARCH_EXECUTOR.execute(() -> {
+				try
+				{
+					SecureRandom workerRandom = random != null
+						? random
+						: secureRandomStrategy.getSecureRandom();
+					while (!stopped.get() && (p.get() == null || q.get() == null))
+					{
+						boolean searchP = q.get() != null || (preferP && p.get() == null);
+						BigInteger prime = chooseRandomPrime(searchP ? pBitLength : qBitLength,
+							squaredBound, iterations, workerRandom);
+						if (prime != null)
+						{
+							(searchP ? p : q).compareAndSet(null, prime);
+						}
+					}
+				}
+				catch (RuntimeException exception)
+				{
+					failure.compareAndSet(null, exception);
+					stopped.set(true);
+				}
+				finally
+				{
+					finished.countDown();
+				}
+			});
+		}
+		try
+		{
+			finished.await();
+		}
+		catch (InterruptedException exception)
+		{
+			stopped.set(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("RSA key generation interrupted", exception);
+		}
+		if (failure.get() != null)
+		{
+			throw failure.get();
+		}
+		return new BigInteger[] { p.get(), q.get() };
+	}
+
+	/**
+	 * Chooses one random prime candidate and checks it like the BouncyCastle RSA key pair
+	 * generator does
+	 *
+	 * @return the prime or null if the candidate does not pass the checks
+	 */
+	private BigInteger chooseRandomPrime(final int bitLength, final BigInteger squaredBound,
+		final int iterations, final SecureRandom random)
+	{
+		BigInteger candidate = BigIntegers.createRandomPrime(bitLength, 1, random);
+		if (candidate.mod(publicExponent).equals(ONE))
+		{
+			return null;
+		}
+		if (candidate.multiply(candidate).compareTo(squaredBound) < 0)
+		{
+			return null;
+		}
+		if (Primes.hasAnySmallFactors(candidate)
+			|| !Primes.isMRProbablePrime(candidate, random, iterations))
+		{
+			return null;
+		}
+		if (!publicExponent.gcd(candidate.subtract(ONE)).equals(ONE))
+		{
+			return null;
+		}
+		return candidate;
+	}
+
+	/**
+	 * Gets the number of Miller-Rabin iterations of the given key size and certainty like the
+	 * BouncyCastle RSA key pair generator
+	 */
+	static int getNumberOfIterations(final int bits, final int certainty)
+	{
+		if (bits >= 1536)
+		{
+			return certainty <= 100 ? 3 : certainty <= 128 ? 4 : 4 + (certainty - 128 + 1) / 2;
+		}
+		if (bits >= 1024)
+		{
+			return certainty <= 100 ? 4 : certainty <= 112 ? 5 : 5 + (certainty - 112 + 1) / 2;
+		}
+		if (bits >= 512)
+		{
+			return certainty <= 80 ? 5 : certainty <= 100 ? 7 : 7 + (certainty - 100 + 1) / 2;
+		}
+		return certainty <= 80 ? 40 : 40 + (certainty - 80 + 1) / 2;
+	}
+
+}
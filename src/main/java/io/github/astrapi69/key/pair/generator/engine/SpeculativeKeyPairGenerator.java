@@ -0,0 +1,386 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link SpeculativeKeyPairGenerator} generates a key pair in the background as soon as
+ * the selection of the user has settled, so the key pair is usually ready when the user requests
+ * it. A speculation starts after a delay without further selection changes and is cancelled by
+ * every change of the selection. The key pair of a speculation is handed out only once and only
+ * for the same {@link KeyPairSpec}. The provider key generation can not be interrupted, so every
+ * speculation runs on its own daemon thread of a cached pool and a cancelled speculation that is
+ * still running does not delay the next one, its key pair is destroyed as soon as it is generated
+ */
+@Log
+public class SpeculativeKeyPairGenerator implements AutoCloseable
+{
+
+	/**
+	 * The system property for enable or disable the speculative generation, defaults to true
+	 */
+	public static final String ENABLED_PROPERTY = "key.pair.generator.speculation.enabled";
+
+	/**
+	 * The system property for the delay in milliseconds after the last selection change before the
+	 * speculative generation starts
+	 */
+	public static final String DELAY_PROPERTY = "key.pair.generator.speculation.delay.millis";
+
+	/**
+	 * The default delay in milliseconds after the last selection change
+	 */
+	public static final long DEFAULT_DELAY_MILLIS = 400;
+
+	/**
+	 * The function that generates the speculative key pairs
+	 */
+	@FunctionalInterface
+	public interface Generator
+	{
+		/**
+		 * Generates a new key pair of the given specification
+		 *
+		 * @param spec
+		 *            the specification of the key pair
+		 * @return the new key pair
+		 * @throws GeneralSecurityException
+		 *             if the generation of the key pair fails
+		 */
+		KeyPair generate(KeyPairSpec spec) throws GeneralSecurityException;
+	}
+
+	private final ScheduledExecutorService scheduler;
+
+	private final ExecutorService executor;
+
+	private final Generator generator;
+
+	private final long delayMillis;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder savedNanos = new LongAdder();
+
+	private Speculation current;
+
+	/**
+	 * Instantiates a new {@link SpeculativeKeyPairGenerator}
+	 *
+	 * @param generator
+	 *            the function that generates the key pairs
+	 * @param delayMillis
+	 *            the delay in milliseconds after the last selection change
+	 */
+	public SpeculativeKeyPairGenerator(final Generator generator, final long delayMillis)
+	{
+		this.generator = generator;
+		this.delayMillis = delayMillis;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "speculative-key-pair-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "speculative-key-pair-generator");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+	}
+
+	/**
+	 * Factory method for create a new {@link SpeculativeKeyPairGenerator} from the system
+	 * properties
+	 *
+	 * @param generator
+	 *            the function that generates the key pairs
+	 * @return the new {@link SpeculativeKeyPairGenerator} or null if the speculative generation is
+	 *         disabled
+	 */
+	public static SpeculativeKeyPairGenerator newSpeculativeKeyPairGenerator(
+		final Generator generator)
+	{
+		if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")))
+		{
+			return null;
+		}
+		return new SpeculativeKeyPairGenerator(generator,
+			Long.getLong(DELAY_PROPERTY, DEFAULT_DELAY_MILLIS));
+	}
+
+	/**
+	 * Notifies this generator that the selection has changed to the given specification. A
+	 * running speculation of another specification is cancelled and a new speculation is
+	 * scheduled after the delay
+	 *
+	 * @param spec
+	 *            the specification of the current selection
+	 */
+	public synchronized void speculate(final KeyPairSpec spec)
+	{
+		if (current != null && current.spec.equals(spec) && !current.future.isCancelled())
+		{
+			return;
+		}
+		cancel();
+		Speculation speculation = new Speculation(spec);
+		speculation.trigger = scheduler.schedule(() -> executor.execute(speculation::run),
+			delayMillis, TimeUnit.MILLISECONDS);
+		current = speculation;
+	}
+
+	/**
+	 * Takes the key pair of the speculation of the given specification. If the speculation is
+	 * still running the calling thread waits for it. A speculation that has not started yet is
+	 * cancelled and counts as a miss
+	 *
+	 * @param spec
+	 *            the specification of the requested key pair
+	 * @return the speculative key pair or an empty {@link Optional} if there is none
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting
+	 */
+	public Optional<KeyPair> take(final KeyPairSpec spec) throws InterruptedException
+	{
+		Speculation speculation;
+		synchronized (this)
+		{
+			speculation = current;
+			current = null;
+		}
+		if (speculation == null || !speculation.spec.equals(spec))
+		{
+			if (speculation != null)
+			{
+				discard(speculation);
+			}
+			misses.increment();
+			return Optional.empty();
+		}
+		if (speculation.claim())
+		{
+			speculation.trigger.cancel(false);
+			speculation.future.cancel(false);
+			misses.increment();
+			return Optional.empty();
+		}
+		long takeNanos = System.nanoTime();
+		try
+		{
+			KeyPair keyPair = speculation.future.get();
+			long endNanos = speculation.endNanos;
+			savedNanos.add((endNanos != 0 ? Math.min(endNanos, takeNanos) : takeNanos)
+				- speculation.startNanos);
+			hits.increment();
+			return Optional.of(keyPair);
+		}
+		catch (ExecutionException | CancellationException exception)
+		{
+			log.log(Level.FINE, "Speculative generation of " + spec + " failed", exception);
+			misses.increment();
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Cancels the current speculation and discards its key pair
+	 */
+	public synchronized void cancel()
+	{
+		if (current != null)
+		{
+			discard(current);
+			current = null;
+		}
+	}
+
+	/**
+	 * Gets the number of the requests that were served from a speculation
+	 *
+	 * @return the number of the hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of the requests that were not served from a speculation
+	 *
+	 * @return the number of the misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the latency that was saved by the speculations, that is the generation time that was
+	 * already spent before the key pairs were requested
+	 *
+	 * @return the saved latency in nanoseconds
+	 */
+	public long getSavedNanos()
+	{
+		return savedNanos.sum();
+	}
+
+	/**
+	 * Gets a summary of the hits, misses and the saved latency
+	 *
+	 * @return the summary
+	 */
+	public String toSummary()
+	{
+		return String.format("speculative generation: %d hits, %d misses, %d ms saved",
+			getHitCount(), getMissCount(), TimeUnit.NANOSECONDS.toMillis(getSavedNanos()));
+	}
+
+	/**
+	 * Cancels the current speculation and stops the background thread
+	 */
+	@Override
+	public void close()
+	{
+		cancel();
+		scheduler.shutdownNow();
+		executor.shutdownNow();
+	}
+
+	private static void discard(final Speculation speculation)
+	{
+		speculation.discarded = true;
+		speculation.trigger.cancel(false);
+		if (speculation.claim())
+		{
+			speculation.future.cancel(false);
+		}
+		else if (speculation.future.isDone())
+		{
+			speculation.destroy();
+		}
+	}
+
+	private final class Speculation
+	{
+
+		private final KeyPairSpec spec;
+
+		/**
+		 * The flag if the generation has started or the speculation was claimed before it started,
+		 * so the start of the generation and its cancellation can not interleave
+		 */
+		private final AtomicBoolean started = new AtomicBoolean();
+
+		private final AtomicBoolean destroyed = new AtomicBoolean();
+
+		private volatile boolean discarded;
+
+		private volatile long startNanos;
+
+		private volatile long endNanos;
+
+		private final FutureTask<KeyPair> future = new FutureTask<>(this::generate)
+		{
+			@Override
+			protected void done()
+			{
+				if (discarded)
+				{
+					destroy();
+				}
+			}
+		};
+
+		private ScheduledFuture<?> trigger;
+
+		private Speculation(final KeyPairSpec spec)
+		{
+			this.spec = spec;
+		}
+
+		/**
+		 * Claims this speculation before its generation has started
+		 *
+		 * @return true if the generation has not started and will never start otherwise false
+		 */
+		private boolean claim()
+		{
+			return started.compareAndSet(false, true);
+		}
+
+		private void run()
+		{
+			if (claim())
+			{
+				future.run();
+			}
+		}
+
+		private void destroy()
+		{
+			if (!future.isCancelled() && destroyed.compareAndSet(false, true))
+			{
+				try
+				{
+					KeyPairEngine.destroy(future.get());
+				}
+				catch (ExecutionException | CancellationException | InterruptedException exception)
+				{
+					// nothing to destroy
+				}
+			}
+		}
+
+		private KeyPair generate() throws GeneralSecurityException
+		{
+			startNanos = System.nanoTime();
+			KeyPair keyPair = generator.generate(spec);
+			endNanos = System.nanoTime();
+			return keyPair;
+		}
+
+	}
+
+}
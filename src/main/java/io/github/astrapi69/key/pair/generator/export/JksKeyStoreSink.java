@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.util.Arrays;
+
+/**
+ * The class {@link JksKeyStoreSink} writes a java key store with the JKS key store of the JDK.
+ * The JKS format has no public specification and protects every private key on its own, so the
+ * entries are set into an in memory {@link KeyStore} and the key store file is written when the
+ * sink is closed. Unlike the PKCS#12 key store the cost of every entry can not be amortised and
+ * every private key needs a certificate
+ */
+final class JksKeyStoreSink extends KeyStoreSink
+{
+
+	/**
+	 * The encoded entry of the JKS key store, the entries are already set into the key store
+	 */
+	private static final byte[] NO_ENTRY = new byte[0];
+
+	private final char[] password;
+
+	private final KeyStore keyStore;
+
+	private final CertificateFactory certificateFactory;
+
+	JksKeyStoreSink(final Path path, final char[] password)
+		throws IOException, GeneralSecurityException
+	{
+		super(path);
+		this.password = password.clone();
+		keyStore = KeyStore.getInstance(KeyStoreType.JKS.name());
+		keyStore.load(null, null);
+		certificateFactory = CertificateFactory.getInstance("X.509");
+	}
+
+	@Override
+	protected byte[] encodeEntry(final String alias, final KeyPair keyPair,
+		final byte[] encodedCertificate) throws IOException, GeneralSecurityException
+	{
+		if (encodedCertificate == null)
+		{
+			throw new KeyStoreException(
+				"The JKS key store needs a certificate for the private key " + alias);
+		}
+		Certificate[] chain = { certificateFactory
+			.generateCertificate(new ByteArrayInputStream(encodedCertificate)) };
+		synchronized (keyStore)
+		{
+			keyStore.setKeyEntry(alias, keyPair.getPrivate(), password, chain);
+		}
+		return NO_ENTRY;
+	}
+
+	@Override
+	protected void appendEntry(final byte[] entry)
+	{
+		// the entries are written with the key store when the sink is closed
+	}
+
+	@Override
+	protected void finish(final int entryCount) throws IOException, GeneralSecurityException
+	{
+		try (OutputStream outputStream = new BufferedOutputStream(
+			Files.newOutputStream(getPath())))
+		{
+			synchronized (keyStore)
+			{
+				keyStore.store(outputStream, password);
+			}
+		}
+		finally
+		{
+			Arrays.fill(password, '\0');
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * The enum {@link KeyExportFormat} defines the formats a key pair and its optional certificate can
+ * be exported to with the {@link KeyPairExporter}
+ */
+@Getter
+public enum KeyExportFormat
+{
+
+	/**
+	 * The private key in the PEM format of the private key writer of the key pair generator
+	 */
+	PRIVATE_KEY_PEM("-private.pem", false, false),
+
+	/**
+	 * The public key in the PEM format
+	 */
+	PUBLIC_KEY_PEM("-public.pem", false, false),
+
+	/**
+	 * The private key as DER encoded PKCS#8
+	 */
+	PRIVATE_KEY_DER("-private.der", false, false),
+
+	/**
+	 * The public key as DER encoded X.509 subject public key info
+	 */
+	PUBLIC_KEY_DER("-public.der", false, false),
+
+	/**
+	 * The private key as PKCS#8 in the PEM format
+	 */
+	PKCS8_PEM("-private-pkcs8.pem", false, false),
+
+	/**
+	 * The private key as password encrypted PKCS#8 in the PEM format
+	 */
+	ENCRYPTED_PKCS8_PEM("-private-encrypted.pem", true, false),
+
+	/**
+	 * The certificate in the PEM format
+	 */
+	CERTIFICATE_PEM("-certificate.pem", false, true),
+
+	/**
+	 * The private key and the certificate in a password protected PKCS#12 keystore
+	 */
+	PKCS12("-keystore.p12", true, true);
+
+	/**
+	 * The suffix that is appended to the base name of the exported file
+	 */
+	private final String fileSuffix;
+
+	/**
+	 * The flag if this format needs a password
+	 */
+	private final boolean passwordRequired;
+
+	/**
+	 * The flag if this format needs a certificate
+	 */
+	private final boolean certificateRequired;
+
+	KeyExportFormat(final String fileSuffix, final boolean passwordRequired,
+		final boolean certificateRequired)
+	{
+		this.fileSuffix = fileSuffix;
+		this.passwordRequired = passwordRequired;
+		this.certificateRequired = certificateRequired;
+	}
+
+	/**
+	 * Parses the given name of a format, the case and dashes instead of underscores are ignored
+	 *
+	 * @param name
+	 *            the name of the format
+	 * @return the format
+	 * @throws IllegalArgumentException
+	 *             if no format with the given name exists
+	 */
+	public static KeyExportFormat parse(final String name)
+	{
+		return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+	}
+
+	/**
+	 * Parses the given comma separated names of formats
+	 *
+	 * @param names
+	 *            the comma separated names of the formats
+	 * @return the set of the formats
+	 * @throws IllegalArgumentException
+	 *             if no format with one of the given names exists
+	 */
+	public static Set<KeyExportFormat> parseAll(final String names)
+	{
+		Set<KeyExportFormat> formats = EnumSet.noneOf(KeyExportFormat.class);
+		for (String name : names.split(","))
+		{
+			if (!name.isBlank())
+			{
+				formats.add(parse(name));
+			}
+		}
+		return formats;
+	}
+
+	/**
+	 * Gets the name of this format for the command line and the user interface
+	 *
+	 * @return the name of this format in lower case with dashes
+	 */
+	public String getOptionName()
+	{
+		return name().toLowerCase(Locale.ROOT).replace('_', '-');
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * The class {@link KeyExportRequest} describes the export of one key pair and its optional
+ * certificate to a set of formats in one directory
+ */
+@Value
+@Builder(toBuilder = true)
+public class KeyExportRequest
+{
+
+	/**
+	 * The key pair to export
+	 */
+	@NonNull
+	KeyPair keyPair;
+
+	/**
+	 * The certificate of the key pair, required by the formats that contain a certificate
+	 */
+	X509Certificate certificate;
+
+	/**
+	 * The formats to export
+	 */
+	@Singular
+	Set<KeyExportFormat> formats;
+
+	/**
+	 * The directory the files are written to
+	 */
+	@NonNull
+	Path directory;
+
+	/**
+	 * The base name of the files, the suffix of the format is appended
+	 */
+	@NonNull
+	String baseName;
+
+	/**
+	 * The password of the password protected formats
+	 */
+	char[] password;
+
+	/**
+	 * The encryptor of the encrypted PKCS#8 format, if null a new encryptor is created from the
+	 * password. A batch passes one encryptor for all its key pairs, so the key is derived from the
+	 * password only once
+	 */
+	PrivateKeyEncryptor privateKeyEncryptor;
+
+	/**
+	 * Gets the path of the file of the given format
+	 *
+	 * @param format
+	 *            the format
+	 * @return the path of the file
+	 */
+	public Path getPath(final KeyExportFormat format)
+	{
+		return directory.resolve(baseName + format.getFileSuffix());
+	}
+
+}
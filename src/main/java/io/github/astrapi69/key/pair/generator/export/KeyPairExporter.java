@@ -0,0 +1,359 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.openssl.MiscPEMGenerator;
+import org.bouncycastle.util.io.pem.PemObject;
+
+import io.github.astrapi69.crypt.api.key.PemType;
+
+/**
+ * The class {@link KeyPairExporter} exports a key pair and its optional certificate to a set of
+ * {@link KeyExportFormat}s in one pass. The keys and the certificate are encoded only once and all
+ * formats are derived from these encodings. The formats are encoded and written concurrently on
+ * the executor of the exporter
+ */
+public class KeyPairExporter
+{
+
+	/**
+	 * The number of base64 characters of a PEM line
+	 */
+	private static final int PEM_LINE_LENGTH = 64;
+
+	/**
+	 * The shared executor of the exporters that are created without an executor
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "key-pair-exporter");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Executor executor;
+
+	/**
+	 * Instantiates a new {@link KeyPairExporter} that writes the files concurrently on a shared
+	 * executor
+	 */
+	public KeyPairExporter()
+	{
+		this(EXECUTOR);
+	}
+
+	/**
+	 * Instantiates a new {@link KeyPairExporter} that writes the files on the given executor. The
+	 * batch modes pass an executor that runs the writes on the calling worker thread
+	 *
+	 * @param executor
+	 *            the executor that encodes and writes the formats
+	 */
+	public KeyPairExporter(final Executor executor)
+	{
+		this.executor = executor;
+	}
+
+	/**
+	 * Exports the key pair of the given request to all requested formats
+	 *
+	 * @param request
+	 *            the export request
+	 * @return the written files by their format
+	 * @throws IllegalArgumentException
+	 *             if a requested format needs a certificate or a password that is not given
+	 * @throws IOException
+	 *             if the directory can not be created or a file can not be written
+	 * @throws GeneralSecurityException
+	 *             if the encoding or the encryption of a format fails
+	 */
+	public Map<KeyExportFormat, Path> export(final KeyExportRequest request)
+		throws IOException, GeneralSecurityException
+	{
+		validate(request);
+		if (request.getFormats().isEmpty())
+		{
+			return Collections.emptyMap();
+		}
+		Files.createDirectories(request.getDirectory());
+		Encodings encodings = new Encodings(request);
+		Map<KeyExportFormat, CompletableFuture<Path>> writes = new EnumMap<>(KeyExportFormat.class);
+		for (KeyExportFormat format : request.getFormats())
+		{
+			writes.put(format, CompletableFuture.supplyAsync(() -> {
+				try
+				{
+					Path path = request.getPath(format);
+					Files.write(path, encode(format, encodings, request));
+					return path;
+				}
+				catch (IOException | GeneralSecurityException exception)
+				{
+					throw new CompletionException(exception);
+				}
+			}, executor));
+		}
+		Map<KeyExportFormat, Path> written = new EnumMap<>(KeyExportFormat.class);
+		Throwable failure = null;
+		for (Map.Entry<KeyExportFormat, CompletableFuture<Path>> write : writes.entrySet())
+		{
+			try
+			{
+				written.put(write.getKey(), write.getValue().join());
+			}
+			catch (CompletionException exception)
+			{
+				if (failure == null)
+				{
+					failure = exception.getCause();
+				}
+				else
+				{
+					failure.addSuppressed(exception.getCause());
+				}
+			}
+		}
+		if (failure instanceof IOException ioException)
+		{
+			throw ioException;
+		}
+		if (failure instanceof GeneralSecurityException securityException)
+		{
+			throw securityException;
+		}
+		if (failure instanceof RuntimeException runtimeException)
+		{
+			throw runtimeException;
+		}
+		if (failure != null)
+		{
+			throw new IOException("Export of " + request.getBaseName() + " failed", failure);
+		}
+		return written;
+	}
+
+	/**
+	 * Encodes the key pair of the given request to all requested formats without writing them. The
+	 * formats are encoded one after the other on the calling thread, so the encoding can run in an
+	 * own stage of a pipeline and the encodings are written later with
+	 * {@link #write(KeyExportRequest, Map)}
+	 *
+	 * @param request
+	 *            the export request
+	 * @return the encoded formats
+	 * @throws IllegalArgumentException
+	 *             if a requested format needs a certificate or a password that is not given
+	 * @throws IOException
+	 *             if the encoding of a format fails
+	 * @throws GeneralSecurityException
+	 *             if the encoding or the encryption of a format fails
+	 */
+	public Map<KeyExportFormat, byte[]> encode(final KeyExportRequest request)
+		throws IOException, GeneralSecurityException
+	{
+		validate(request);
+		if (request.getFormats().isEmpty())
+		{
+			return Collections.emptyMap();
+		}
+		Encodings encodings = new Encodings(request);
+		Map<KeyExportFormat, byte[]> encoded = new EnumMap<>(KeyExportFormat.class);
+		for (KeyExportFormat format : request.getFormats())
+		{
+			encoded.put(format, encode(format, encodings, request));
+		}
+		return encoded;
+	}
+
+	/**
+	 * Writes the given encoded formats to the files of the given request
+	 *
+	 * @param request
+	 *            the export request that defines the directory and the file names
+	 * @param encoded
+	 *            the encoded formats from {@link #encode(KeyExportRequest)}
+	 * @return the written files by their format
+	 * @throws IOException
+	 *             if the directory can not be created or a file can not be written
+	 */
+	public Map<KeyExportFormat, Path> write(final KeyExportRequest request,
+		final Map<KeyExportFormat, byte[]> encoded) throws IOException
+	{
+		if (encoded.isEmpty())
+		{
+			return Collections.emptyMap();
+		}
+		Files.createDirectories(request.getDirectory());
+		Map<KeyExportFormat, Path> written = new EnumMap<>(KeyExportFormat.class);
+		for (Map.Entry<KeyExportFormat, byte[]> format : encoded.entrySet())
+		{
+			Path path = request.getPath(format.getKey());
+			Files.write(path, format.getValue());
+			written.put(format.getKey(), path);
+		}
+		return written;
+	}
+
+	/**
+	 * Encodes the given data in the PEM format with the line separator of the key writers
+	 *
+	 * @param type
+	 *            the PEM type, for instance {@code PUBLIC KEY}
+	 * @param encoded
+	 *            the DER encoded data
+	 * @return the PEM format of the given data
+	 */
+	public static String toPemFormat(final String type, final byte[] encoded)
+	{
+		return "-----BEGIN " + type + "-----\n"
+			+ Base64.getMimeEncoder(PEM_LINE_LENGTH, new byte[] { '\n' }).encodeToString(encoded)
+			+ "\n-----END " + type + "-----\n";
+	}
+
+	private static void validate(final KeyExportRequest request)
+	{
+		for (KeyExportFormat format : request.getFormats())
+		{
+			if (format.isCertificateRequired() && request.getCertificate() == null)
+			{
+				throw new IllegalArgumentException("Format " + format.getOptionName()
+					+ " needs a certificate");
+			}
+			if (format.isPasswordRequired()
+				&& (request.getPassword() == null || request.getPassword().length == 0)
+				&& (format != KeyExportFormat.ENCRYPTED_PKCS8_PEM
+					|| request.getPrivateKeyEncryptor() == null))
+			{
+				throw new IllegalArgumentException("Format " + format.getOptionName()
+					+ " needs a password");
+			}
+		}
+	}
+
+	private static byte[] encode(final KeyExportFormat format, final Encodings encodings,
+		final KeyExportRequest request) throws IOException, GeneralSecurityException
+	{
+		return switch (format)
+		{
+			case PRIVATE_KEY_PEM -> toPemBytes(encodings.privateKeyPem.getType(),
+				encodings.privateKeyPem.getContent());
+			case PUBLIC_KEY_PEM -> toPemBytes(PemType.PUBLIC_KEY.getName(), encodings.publicKey);
+			case PRIVATE_KEY_DER -> encodings.privateKey;
+			case PUBLIC_KEY_DER -> encodings.publicKey;
+			case PKCS8_PEM -> toPemBytes(PemType.PRIVATE_KEY.getName(), encodings.privateKey);
+			case ENCRYPTED_PKCS8_PEM -> toPemBytes("ENCRYPTED PRIVATE KEY",
+				encryptPkcs8(encodings.privateKey, request));
+			case CERTIFICATE_PEM -> toPemBytes(PemType.CERTIFICATE.getName(),
+				encodings.certificate);
+			case PKCS12 -> newPkcs12(request);
+		};
+	}
+
+	private static byte[] toPemBytes(final String type, final byte[] encoded)
+	{
+		return toPemFormat(type, encoded).getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static byte[] encryptPkcs8(final byte[] privateKey, final KeyExportRequest request)
+		throws IOException, GeneralSecurityException
+	{
+		if (request.getPrivateKeyEncryptor() != null)
+		{
+			return request.getPrivateKeyEncryptor().encrypt(privateKey);
+		}
+		try (PrivateKeyEncryptor privateKeyEncryptor = new PrivateKeyEncryptor(
+			request.getPassword()))
+		{
+			return privateKeyEncryptor.encrypt(privateKey);
+		}
+	}
+
+	private static byte[] newPkcs12(final KeyExportRequest request)
+		throws IOException, GeneralSecurityException
+	{
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		keyStore.load(null, null);
+		keyStore.setKeyEntry(request.getBaseName(), request.getKeyPair().getPrivate(),
+			request.getPassword(), new Certificate[] { request.getCertificate() });
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		keyStore.store(outputStream, request.getPassword());
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * The encodings of a key pair and its certificate that are shared by all formats of one export
+	 */
+	private static final class Encodings
+	{
+
+		private final byte[] privateKey;
+
+		private final PrivateKeyInfo privateKeyInfo;
+
+		private final byte[] publicKey;
+
+		private final byte[] certificate;
+
+		private final PemObject privateKeyPem;
+
+		private Encodings(final KeyExportRequest request)
+			throws IOException, GeneralSecurityException
+		{
+			KeyPair keyPair = request.getKeyPair();
+			this.privateKey = keyPair.getPrivate().getEncoded();
+			this.privateKeyInfo = PrivateKeyInfo.getInstance(privateKey);
+			this.publicKey = keyPair.getPublic().getEncoded();
+			this.certificate = request.getCertificate() != null
+				? request.getCertificate().getEncoded()
+				: null;
+			// the traditional OpenSSL structure of RSA, EC and DSA keys and PKCS#8 for all other
+			// keys, it is only created if the private key PEM format is requested
+			this.privateKeyPem = request.getFormats().contains(KeyExportFormat.PRIVATE_KEY_PEM)
+				? new MiscPEMGenerator(privateKeyInfo).generate()
+				: null;
+		}
+
+	}
+
+}
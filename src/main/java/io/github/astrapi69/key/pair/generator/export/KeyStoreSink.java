@@ -0,0 +1,265 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * The class {@link KeyStoreSink} writes key pairs and their optional certificates incrementally
+ * into one single key store file. The entries are appended to the file while they are added, so a
+ * batch run with thousands of entries neither holds the key store in memory nor pays the password
+ * based key derivation of every entry like {@link java.security.KeyStore#store} does. The entries
+ * can be added concurrently, they are encoded and protected on the calling thread and only the
+ * append of the encoded entry is serialized. The JKS key store is the exception, it is held in
+ * memory and written when the sink is closed
+ */
+@Getter
+public abstract class KeyStoreSink implements Closeable
+{
+
+	/**
+	 * The path of the key store file
+	 */
+	private final Path path;
+
+	/**
+	 * The number of the appended entries
+	 */
+	private int entryCount;
+
+	/**
+	 * The size of the key store file, known after the key store is closed
+	 */
+	private long size;
+
+	/**
+	 * The flag if the key store is closed
+	 */
+	private boolean closed;
+
+	private final LongAdder writeNanos = new LongAdder();
+
+	/**
+	 * Instantiates a new {@link KeyStoreSink}
+	 *
+	 * @param path
+	 *            the path of the key store file
+	 */
+	protected KeyStoreSink(final Path path)
+	{
+		this.path = path;
+	}
+
+	/**
+	 * Opens a new key store of the type of the file suffix of the given path, see
+	 * {@link KeyStoreType#of(Path)}
+	 *
+	 * @param path
+	 *            the path of the key store file
+	 * @param password
+	 *            the password of the key store and its private keys
+	 * @return the new {@link KeyStoreSink}
+	 * @throws IOException
+	 *             if the key store file can not be created
+	 * @throws GeneralSecurityException
+	 *             if the protection of the key store can not be initialized
+	 */
+	public static KeyStoreSink open(final Path path, final char[] password)
+		throws IOException, GeneralSecurityException
+	{
+		return open(path, KeyStoreType.of(path), password);
+	}
+
+	/**
+	 * Opens a new key store of the given type
+	 *
+	 * @param path
+	 *            the path of the key store file
+	 * @param type
+	 *            the type of the key store
+	 * @param password
+	 *            the password of the key store and its private keys
+	 * @return the new {@link KeyStoreSink}
+	 * @throws IOException
+	 *             if the key store file can not be created
+	 * @throws GeneralSecurityException
+	 *             if the protection of the key store can not be initialized
+	 */
+	public static KeyStoreSink open(final Path path, final KeyStoreType type,
+		final char[] password) throws IOException, GeneralSecurityException
+	{
+		Objects.requireNonNull(password, "password");
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null)
+		{
+			Files.createDirectories(parent);
+		}
+		return switch (type)
+		{
+			case PKCS12 -> new Pkcs12KeyStoreSink(path, password);
+			case JKS -> new JksKeyStoreSink(path, password);
+		};
+	}
+
+	/**
+	 * Adds the given key pair and its optional certificate as a private key entry
+	 *
+	 * @param alias
+	 *            the alias of the entry
+	 * @param keyPair
+	 *            the key pair
+	 * @param certificate
+	 *            the certificate of the key pair, can be null
+	 * @throws IOException
+	 *             if the entry can not be written
+	 * @throws GeneralSecurityException
+	 *             if the private key can not be protected
+	 * @throws IllegalStateException
+	 *             if the key store is already closed
+	 */
+	public void add(final String alias, final KeyPair keyPair, final X509Certificate certificate)
+		throws IOException, GeneralSecurityException
+	{
+		long start = System.nanoTime();
+		byte[] entry = encodeEntry(alias, keyPair,
+			certificate != null ? certificate.getEncoded() : null);
+		synchronized (this)
+		{
+			if (closed)
+			{
+				throw new IllegalStateException("Key store " + path + " is already closed");
+			}
+			appendEntry(entry);
+			entryCount++;
+		}
+		writeNanos.add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Finishes and closes the key store file
+	 *
+	 * @throws IOException
+	 *             if the key store file can not be finished
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		long start = System.nanoTime();
+		try
+		{
+			finish(entryCount);
+		}
+		catch (GeneralSecurityException exception)
+		{
+			throw new IOException(exception.getMessage(), exception);
+		}
+		size = Files.size(path);
+		writeNanos.add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Gets the summed up time that was spent for the encoding, protection and writing of the
+	 * entries and for finishing the key store
+	 *
+	 * @return the write time in nanoseconds
+	 */
+	public long getWriteNanos()
+	{
+		return writeNanos.sum();
+	}
+
+	/**
+	 * Gets a summary of the written entries, the write throughput and the size of the key store
+	 *
+	 * @return the summary
+	 */
+	public String toSummary()
+	{
+		long nanos = getWriteNanos();
+		double throughput = nanos == 0
+			? 0
+			: getEntryCount() * (double)TimeUnit.SECONDS.toNanos(1) / nanos;
+		return String.format("key store %s: %d entries written in %d ms, %.2f entries/sec, %d bytes",
+			path, getEntryCount(), TimeUnit.NANOSECONDS.toMillis(nanos), throughput, getSize());
+	}
+
+	/**
+	 * Encodes and protects an entry, this method is called concurrently on the thread that adds
+	 * the entry
+	 *
+	 * @param alias
+	 *            the alias of the entry
+	 * @param keyPair
+	 *            the key pair
+	 * @param encodedCertificate
+	 *            the der encoded certificate, can be null
+	 * @return the bytes of the entry that are appended to the key store
+	 * @throws IOException
+	 *             if the entry can not be encoded
+	 * @throws GeneralSecurityException
+	 *             if the private key can not be protected
+	 */
+	protected abstract byte[] encodeEntry(String alias, KeyPair keyPair,
+		byte[] encodedCertificate) throws IOException, GeneralSecurityException;
+
+	/**
+	 * Appends an encoded entry to the key store, the calls are serialized
+	 *
+	 * @param entry
+	 *            the encoded entry
+	 * @throws IOException
+	 *             if the entry can not be written
+	 */
+	protected abstract void appendEntry(byte[] entry) throws IOException;
+
+	/**
+	 * Writes the end of the key store and its integrity protection and closes the file
+	 *
+	 * @param entryCount
+	 *            the number of the appended entries
+	 * @throws IOException
+	 *             if the end of the key store can not be written
+	 * @throws GeneralSecurityException
+	 *             if the integrity protection can not be computed
+	 */
+	protected abstract void finish(int entryCount) throws IOException, GeneralSecurityException;
+
+}
@@ -0,0 +1,74 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+import lombok.Getter;
+
+/**
+ * The enum {@link KeyStoreType} defines the key store formats a {@link KeyStoreSink} can write
+ */
+@Getter
+public enum KeyStoreType
+{
+
+	/**
+	 * The PKCS#12 key store, all entries are encrypted together with one password based key
+	 */
+	PKCS12(".p12"),
+
+	/**
+	 * The java key store of the JDK, every private key is protected on its own and needs a
+	 * certificate
+	 */
+	JKS(".jks");
+
+	/**
+	 * The file suffix of the key store type
+	 */
+	private final String fileSuffix;
+
+	KeyStoreType(final String fileSuffix)
+	{
+		this.fileSuffix = fileSuffix;
+	}
+
+	/**
+	 * Gets the key store type from the file suffix of the given path. Files that end with
+	 * {@code .jks} are java key stores, all other files are PKCS#12 key stores
+	 *
+	 * @param path
+	 *            the path of the key store
+	 * @return the key store type
+	 */
+	public static KeyStoreType of(final Path path)
+	{
+		String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+		return fileName.endsWith(JKS.getFileSuffix()) ? JKS : PKCS12;
+	}
+
+}
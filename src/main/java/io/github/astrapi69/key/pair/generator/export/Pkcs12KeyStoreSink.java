@@ -0,0 +1,231 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.Security;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.BEROctetStringGenerator;
+import org.bouncycastle.asn1.BERSequenceGenerator;
+import org.bouncycastle.asn1.DERBMPString;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSet;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.Attribute;
+import org.bouncycastle.asn1.pkcs.CertBag;
+import org.bouncycastle.asn1.pkcs.EncryptedPrivateKeyInfo;
+import org.bouncycastle.asn1.pkcs.MacData;
+import org.bouncycastle.asn1.pkcs.PKCS12PBEParams;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.SafeBag;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.DigestInfo;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.MacCalculator;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.OutputEncryptor;
+import org.bouncycastle.pkcs.bc.BcPKCS12MacCalculatorBuilder;
+import org.bouncycastle.pkcs.jcajce.JcePKCSPBEOutputEncryptorBuilder;
+import org.bouncycastle.util.io.TeeOutputStream;
+
+import io.github.astrapi69.key.pair.generator.cache.PbeCalibration;
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+
+/**
+ * The class {@link Pkcs12KeyStoreSink} streams a PKCS#12 key store in BER encoding. All private
+ * keys are written as shrouded key bags, that are encrypted by one {@link PrivateKeyEncryptor}
+ * with a fresh initialization vector, and together with the certificate bags into one single
+ * PBES2 encrypted safe contents. So the password based key derivation runs once for the private
+ * keys, once for the safe contents and once for the integrity mac of the whole key store instead
+ * of once for every private key, all with the calibrated iteration count of
+ * {@link PbeCalibration}. The key store can be read with OpenSSL and with the PKCS#12 key stores
+ * of the JDK and of the bouncy castle provider
+ */
+final class Pkcs12KeyStoreSink extends KeyStoreSink
+{
+
+	/**
+	 * The size of the buffers of the BER encoded octet strings
+	 */
+	private static final int OCTET_BUFFER_SIZE = 4096;
+
+	private final OutputStream fileOutputStream;
+
+	private final MacCalculator macCalculator;
+
+	private final AlgorithmIdentifier macDigestAlgorithm;
+
+	private final BERSequenceGenerator pfx;
+
+	private final BERSequenceGenerator authenticatedSafeContentInfo;
+
+	private final OutputStream authenticatedSafeOctets;
+
+	private final BERSequenceGenerator authenticatedSafe;
+
+	private final BERSequenceGenerator encryptedContentInfo;
+
+	private final BERSequenceGenerator encryptedData;
+
+	private final BERSequenceGenerator encryptedContentInfoSequence;
+
+	private final OutputStream cipherOutputStream;
+
+	private final BERSequenceGenerator safeContents;
+
+	private final PrivateKeyEncryptor privateKeyEncryptor;
+
+	static
+	{
+		synchronized (Security.class)
+		{
+			if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+			{
+				Security.addProvider(new BouncyCastleProvider());
+			}
+		}
+	}
+
+	Pkcs12KeyStoreSink(final Path path, final char[] password)
+		throws IOException, GeneralSecurityException
+	{
+		super(path);
+		int iterationCount = PbeCalibration.getInstance().getIterationCount();
+		privateKeyEncryptor = new PrivateKeyEncryptor(password, iterationCount);
+		OutputEncryptor encryptor;
+		try
+		{
+			encryptor = new JcePKCSPBEOutputEncryptorBuilder(NISTObjectIdentifiers.id_aes256_CBC)
+				.setPRF(new AlgorithmIdentifier(PKCSObjectIdentifiers.id_hmacWithSHA256,
+					DERNull.INSTANCE))
+				.setIterationCount(iterationCount)
+				.setRandom(SecureRandomStrategy.getConfigured().getSecureRandom())
+				.setProvider(BouncyCastleProvider.PROVIDER_NAME).build(password);
+		}
+		catch (OperatorCreationException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		macDigestAlgorithm = new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256,
+			DERNull.INSTANCE);
+		macCalculator = new BcPKCS12MacCalculatorBuilder(new SHA256Digest(), macDigestAlgorithm)
+			.setIterationCount(iterationCount).build(password);
+
+		fileOutputStream = new BufferedOutputStream(Files.newOutputStream(path));
+		// PFX ::= SEQUENCE { version, authSafe ContentInfo, macData }
+		pfx = new BERSequenceGenerator(fileOutputStream);
+		pfx.addObject(new ASN1Integer(3));
+		authenticatedSafeContentInfo = new BERSequenceGenerator(pfx.getRawOutputStream());
+		authenticatedSafeContentInfo.addObject(PKCSObjectIdentifiers.data);
+		authenticatedSafeOctets = new BEROctetStringGenerator(
+			authenticatedSafeContentInfo.getRawOutputStream(), 0, true)
+				.getOctetOutputStream(new byte[OCTET_BUFFER_SIZE]);
+		// the mac is computed over the content octets of the authenticated safe
+		authenticatedSafe = new BERSequenceGenerator(
+			new TeeOutputStream(authenticatedSafeOctets, macCalculator.getOutputStream()));
+		encryptedContentInfo = new BERSequenceGenerator(authenticatedSafe.getRawOutputStream());
+		encryptedContentInfo.addObject(PKCSObjectIdentifiers.encryptedData);
+		encryptedData = new BERSequenceGenerator(encryptedContentInfo.getRawOutputStream(), 0,
+			true);
+		encryptedData.addObject(new ASN1Integer(0));
+		encryptedContentInfoSequence = new BERSequenceGenerator(encryptedData.getRawOutputStream());
+		encryptedContentInfoSequence.addObject(PKCSObjectIdentifiers.data);
+		encryptedContentInfoSequence.addObject(encryptor.getAlgorithmIdentifier());
+		cipherOutputStream = encryptor.getOutputStream(
+			new BEROctetStringGenerator(encryptedContentInfoSequence.getRawOutputStream(), 0, false)
+				.getOctetOutputStream(new byte[OCTET_BUFFER_SIZE]));
+		safeContents = new BERSequenceGenerator(cipherOutputStream);
+	}
+
+	@Override
+	protected byte[] encodeEntry(final String alias, final KeyPair keyPair,
+		final byte[] encodedCertificate) throws IOException, GeneralSecurityException
+	{
+		byte[] localKeyId = MessageDigest.getInstance("SHA-1")
+			.digest(keyPair.getPublic().getEncoded());
+		DERSet attributes = new DERSet(new Attribute[] {
+				new Attribute(PKCSObjectIdentifiers.pkcs_9_at_friendlyName,
+					new DERSet(new DERBMPString(alias))),
+				new Attribute(PKCSObjectIdentifiers.pkcs_9_at_localKeyId,
+					new DERSet(new DEROctetString(localKeyId))) });
+		byte[] keyBag = new SafeBag(PKCSObjectIdentifiers.pkcs8ShroudedKeyBag,
+			EncryptedPrivateKeyInfo.getInstance(privateKeyEncryptor.encrypt(keyPair.getPrivate())),
+			attributes).getEncoded(ASN1Encoding.DER);
+		if (encodedCertificate == null)
+		{
+			return keyBag;
+		}
+		byte[] certBag = new SafeBag(PKCSObjectIdentifiers.certBag,
+			new CertBag(PKCSObjectIdentifiers.x509Certificate,
+				new DEROctetString(encodedCertificate)),
+			attributes).getEncoded(ASN1Encoding.DER);
+		byte[] entry = new byte[keyBag.length + certBag.length];
+		System.arraycopy(keyBag, 0, entry, 0, keyBag.length);
+		System.arraycopy(certBag, 0, entry, keyBag.length, certBag.length);
+		return entry;
+	}
+
+	@Override
+	protected void appendEntry(final byte[] entry) throws IOException
+	{
+		safeContents.getRawOutputStream().write(entry);
+	}
+
+	@Override
+	protected void finish(final int entryCount) throws IOException
+	{
+		try (OutputStream outputStream = fileOutputStream;
+			PrivateKeyEncryptor encryptor = privateKeyEncryptor)
+		{
+			safeContents.close();
+			// closes the encrypted octet string too
+			cipherOutputStream.close();
+			encryptedContentInfoSequence.close();
+			encryptedData.close();
+			encryptedContentInfo.close();
+			authenticatedSafe.close();
+			authenticatedSafeOctets.close();
+			authenticatedSafeContentInfo.close();
+
+			PKCS12PBEParams macParameters = PKCS12PBEParams
+				.getInstance(macCalculator.getAlgorithmIdentifier().getParameters());
+			pfx.addObject(new MacData(new DigestInfo(macDigestAlgorithm, macCalculator.getMac()),
+				macParameters.getIV(), macParameters.getIterations().intValue()));
+			pfx.close();
+		}
+	}
+
+}
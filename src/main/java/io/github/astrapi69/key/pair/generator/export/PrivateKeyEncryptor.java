@@ -0,0 +1,203 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.EncryptedPrivateKeyInfo;
+import org.bouncycastle.asn1.pkcs.EncryptionScheme;
+import org.bouncycastle.asn1.pkcs.KeyDerivationFunc;
+import org.bouncycastle.asn1.pkcs.PBES2Parameters;
+import org.bouncycastle.asn1.pkcs.PBKDF2Params;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+
+import io.github.astrapi69.key.pair.generator.cache.PbeCalibration;
+import io.github.astrapi69.key.pair.generator.random.SecureRandomStrategy;
+import lombok.Getter;
+
+/**
+ * The class {@link PrivateKeyEncryptor} encrypts private keys to PKCS#8 encrypted private key
+ * infos with PBES2, PBKDF2 with HmacSHA256 and AES-256-CBC. The key is derived only once from the
+ * password with a random salt and the calibrated iteration count of {@link PbeCalibration}, so a
+ * batch that encrypts many private keys with one password pays the key derivation only once.
+ * Every private key is encrypted with a fresh random initialization vector and the derived key is
+ * wiped when the encryptor is closed
+ */
+public class PrivateKeyEncryptor implements AutoCloseable
+{
+
+	private static final int SALT_LENGTH = 16;
+
+	private static final int KEY_LENGTH = 32;
+
+	private static final int IV_LENGTH = 16;
+
+	/**
+	 * The iteration count of the key derivation
+	 */
+	@Getter
+	private final int iterationCount;
+
+	/**
+	 * The time of the key derivation in milliseconds
+	 */
+	@Getter
+	private final long derivationMillis;
+
+	private final KeyDerivationFunc keyDerivationFunc;
+
+	private final byte[] derivedKey;
+
+	private final SecureRandom secureRandom;
+
+	private volatile boolean closed;
+
+	/**
+	 * Instantiates a new {@link PrivateKeyEncryptor} with the calibrated iteration count
+	 *
+	 * @param password
+	 *            the password
+	 * @throws GeneralSecurityException
+	 *             if the key derivation fails
+	 */
+	public PrivateKeyEncryptor(final char[] password) throws GeneralSecurityException
+	{
+		this(password, PbeCalibration.getInstance().getIterationCount());
+	}
+
+	/**
+	 * Instantiates a new {@link PrivateKeyEncryptor} with the given iteration count
+	 *
+	 * @param password
+	 *            the password
+	 * @param iterationCount
+	 *            the iteration count of the key derivation
+	 * @throws GeneralSecurityException
+	 *             if the key derivation fails
+	 */
+	public PrivateKeyEncryptor(final char[] password, final int iterationCount)
+		throws GeneralSecurityException
+	{
+		if (password == null || password.length == 0)
+		{
+			throw new IllegalArgumentException("password must not be empty");
+		}
+		this.iterationCount = iterationCount;
+		this.secureRandom = SecureRandomStrategy.getConfigured().getSecureRandom();
+		byte[] salt = new byte[SALT_LENGTH];
+		secureRandom.nextBytes(salt);
+		AlgorithmIdentifier prf = new AlgorithmIdentifier(PKCSObjectIdentifiers.id_hmacWithSHA256,
+			DERNull.INSTANCE);
+		keyDerivationFunc = new KeyDerivationFunc(PKCSObjectIdentifiers.id_PBKDF2,
+			new PBKDF2Params(salt, iterationCount, KEY_LENGTH, prf));
+		long start = System.nanoTime();
+		PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterationCount, KEY_LENGTH * 8);
+		try
+		{
+			derivedKey = SecretKeyFactory.getInstance(PbeCalibration.KEY_DERIVATION_ALGORITHM)
+				.generateSecret(keySpec).getEncoded();
+		}
+		finally
+		{
+			keySpec.clearPassword();
+		}
+		derivationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	/**
+	 * Encrypts the given private key
+	 *
+	 * @param privateKey
+	 *            the private key
+	 * @return the der encoded PKCS#8 encrypted private key info
+	 * @throws IOException
+	 *             if the encrypted private key info can not be encoded
+	 * @throws GeneralSecurityException
+	 *             if the encryption fails
+	 */
+	public byte[] encrypt(final PrivateKey privateKey) throws IOException, GeneralSecurityException
+	{
+		return encrypt(privateKey.getEncoded());
+	}
+
+	/**
+	 * Encrypts the given PKCS#8 encoded private key, this method can be called concurrently
+	 *
+	 * @param pkcs8
+	 *            the der encoded PKCS#8 private key info
+	 * @return the der encoded PKCS#8 encrypted private key info
+	 * @throws IOException
+	 *             if the encrypted private key info can not be encoded
+	 * @throws GeneralSecurityException
+	 *             if the encryption fails
+	 * @throws IllegalStateException
+	 *             if the encryptor is closed
+	 */
+	public byte[] encrypt(final byte[] pkcs8) throws IOException, GeneralSecurityException
+	{
+		if (closed)
+		{
+			throw new IllegalStateException("Private key encryptor is closed");
+		}
+		byte[] iv = new byte[IV_LENGTH];
+		secureRandom.nextBytes(iv);
+		Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(derivedKey, "AES"),
+			new IvParameterSpec(iv));
+		byte[] encrypted = cipher.doFinal(pkcs8);
+		PBES2Parameters parameters = new PBES2Parameters(keyDerivationFunc,
+			new EncryptionScheme(NISTObjectIdentifiers.id_aes256_CBC, new DEROctetString(iv)));
+		return new EncryptedPrivateKeyInfo(
+			new AlgorithmIdentifier(PKCSObjectIdentifiers.id_PBES2, parameters), encrypted)
+				.getEncoded(ASN1Encoding.DER);
+	}
+
+	/**
+	 * Wipes the derived key
+	 */
+	@Override
+	public void close()
+	{
+		closed = true;
+		Arrays.fill(derivedKey, (byte)0);
+	}
+
+}
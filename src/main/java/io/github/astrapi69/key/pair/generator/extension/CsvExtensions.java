@@ -28,11 +28,19 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.github.astrapi69.key.pair.generator.model.CertificateAlgorithmEntry;
+import io.github.astrapi69.key.pair.generator.model.CertificateSubjectEntry;
 import io.github.astrapi69.key.pair.generator.model.KeyPairEntry;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -43,11 +51,64 @@ import org.apache.commons.csv.CSVRecord;
  * The {@code CsvExtensions} class provides utility methods to read data from CSV files, map the
  * data to objects, and generate maps of data from lists of objects. This class supports reading CSV
  * files using Apache Commons CSV and creating data structures like lists and maps from the parsed
- * CSV data
+ * CSV data. Large CSV files can be read with bounded memory with the lazily evaluated stream
+ * variants or the consumer variants
  */
 public class CsvExtensions
 {
 
+	/**
+	 * Reads entries from a CSV input stream lazily and returns a {@link Stream} of the mapped
+	 * entries. The records are parsed and mapped only when the stream is consumed, so only one
+	 * record is held in memory at a time. The underlying {@link CSVParser} is closed as soon as all
+	 * records are consumed or the returned stream is closed, so the stream should be used in a
+	 * try-with-resources statement. I/O errors during the consumption of the stream are thrown as
+	 * {@link UncheckedIOException}
+	 *
+	 * @param <T>
+	 *            the generic type of the mapped entries
+	 * @param csvInputStream
+	 *            the input stream containing the CSV data
+	 * @param recordMapper
+	 *            a function to map each CSV record to an object of type T
+	 * @return a lazily evaluated stream of mapped entries of type T
+	 * @throws IOException
+	 *             if an I/O error occurs during reading the header
+	 */
+	public static <T> Stream<T> streamEntriesFromCsv(InputStream csvInputStream,
+		Function<CSVRecord, T> recordMapper) throws IOException
+	{
+		CSVFormat csvFormat = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true)
+			.build();
+
+		CSVParser csvParser = new CSVParser(
+			new BufferedReader(new InputStreamReader(csvInputStream)), csvFormat);
+		Iterator<CSVRecord> records = csvParser.iterator();
+		Iterator<CSVRecord> closingRecords = new Iterator<>()
+		{
+			@Override
+			public boolean hasNext()
+			{
+				if (records.hasNext())
+				{
+					return true;
+				}
+				close(csvParser);
+				return false;
+			}
+
+			@Override
+			public CSVRecord next()
+			{
+				return records.next();
+			}
+		};
+		return StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(closingRecords,
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.map(recordMapper).onClose(() -> close(csvParser));
+	}
+
 	/**
 	 * Reads entries from a CSV input stream, maps them using a provided function, and returns a
 	 * list of the mapped entries
@@ -65,21 +126,103 @@ public class CsvExtensions
 	public static <T> List<T> readEntriesFromCsv(InputStream csvInputStream,
 		Function<CSVRecord, T> recordMapper) throws IOException
 	{
-		List<T> entries = new ArrayList<>();
-
-		CSVFormat csvFormat = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true)
-			.build();
+		try (Stream<T> entries = streamEntriesFromCsv(csvInputStream, recordMapper))
+		{
+			return entries.collect(Collectors.toList());
+		}
+		catch (UncheckedIOException exception)
+		{
+			throw exception.getCause();
+		}
+	}
 
-		try (BufferedReader reader = new BufferedReader(new InputStreamReader(csvInputStream));
-			CSVParser csvParser = new CSVParser(reader, csvFormat))
+	/**
+	 * Reads entries from a CSV input stream record by record, maps them using a provided function
+	 * and passes every mapped entry to the given consumer. In difference to
+	 * {@link #readEntriesFromCsv(InputStream, Function)} the entries are not collected, so only one
+	 * record is held in memory at a time
+	 *
+	 * @param <T>
+	 *            the generic type of the mapped entries
+	 * @param csvInputStream
+	 *            the input stream containing the CSV data
+	 * @param recordMapper
+	 *            a function to map each CSV record to an object of type T
+	 * @param entryConsumer
+	 *            the consumer of the mapped entries
+	 * @return the number of the read entries
+	 * @throws IOException
+	 *             if an I/O error occurs during reading
+	 */
+	public static <T> long readEntriesFromCsv(InputStream csvInputStream,
+		Function<CSVRecord, T> recordMapper, Consumer<T> entryConsumer) throws IOException
+	{
+		try (Stream<T> entries = streamEntriesFromCsv(csvInputStream, recordMapper))
 		{
-			for (CSVRecord csvRecord : csvParser)
+			long count = 0;
+			for (Iterator<T> iterator = entries.iterator(); iterator.hasNext(); count++)
 			{
-				T entry = recordMapper.apply(csvRecord);
-				entries.add(entry);
+				entryConsumer.accept(iterator.next());
 			}
+			return count;
+		}
+		catch (UncheckedIOException exception)
+		{
+			throw exception.getCause();
 		}
-		return entries;
+	}
+
+	/**
+	 * Reads {@link CertificateSubjectEntry} objects from a CSV input stream and passes them one by
+	 * one to the given consumer. All columns are optional, missing or empty values are empty in the
+	 * entry
+	 *
+	 * @param csvFile
+	 *            the input stream containing the CSV data
+	 * @param entryConsumer
+	 *            the consumer of the entries
+	 * @return the number of the read entries
+	 * @throws IOException
+	 *             if an I/O error occurs during reading
+	 */
+	public static long readCertificateSubjectEntriesFromCsv(InputStream csvFile,
+		Consumer<CertificateSubjectEntry> entryConsumer) throws IOException
+	{
+		return readEntriesFromCsv(csvFile, csvRecord -> {
+			return CertificateSubjectEntry.builder().rowNumber(csvRecord.getRecordNumber())
+				.commonName(getValue(csvRecord, "common-name"))
+				.countryCode(getValue(csvRecord, "country-code"))
+				.location(getValue(csvRecord, "location"))
+				.organisation(getValue(csvRecord, "organisation"))
+				.organisationUnit(getValue(csvRecord, "organisation-unit"))
+				.state(getValue(csvRecord, "state"))
+				.subjectAlternativeNames(getValue(csvRecord, "subject-alternative-names"))
+				.validityDays(getValue(csvRecord, "validity-days"))
+				.keyPairAlgorithm(getValue(csvRecord, "keypair-algorithm"))
+				.keySize(getValue(csvRecord, "key-size"))
+				.signatureAlgorithm(getValue(csvRecord, "signature-algorithm"))
+				.extensions(getValue(csvRecord, "extensions")).build();
+		}, entryConsumer);
+	}
+
+	private static String getValue(CSVRecord csvRecord, String name)
+	{
+		return csvRecord.isMapped(name) && csvRecord.isSet(name) ? csvRecord.get(name).trim() : "";
+	}
+
+	/**
+	 * Reads {@link CertificateAlgorithmEntry} objects lazily from a CSV input stream
+	 *
+	 * @param csvFile
+	 *            the input stream containing the CSV data
+	 * @return a lazily evaluated stream of {@link CertificateAlgorithmEntry} objects
+	 * @throws IOException
+	 *             if an I/O error occurs during reading the header
+	 */
+	public static Stream<CertificateAlgorithmEntry> streamCertificateAlgorithmEntriesFromCsv(
+		InputStream csvFile) throws IOException
+	{
+		return streamEntriesFromCsv(csvFile, CsvExtensions::toCertificateAlgorithmEntry);
 	}
 
 	/**
@@ -94,13 +237,22 @@ public class CsvExtensions
 	public static List<CertificateAlgorithmEntry> readCertificateAlgorithmEntryFromCsv(
 		InputStream csvFile) throws IOException
 	{
-		return readEntriesFromCsv(csvFile, csvRecord -> {
-			String algorithm = csvRecord.get("keypair-algorithm");
-			String signatureAlgorithm = csvRecord.get("signature-algorithm");
+		return readEntriesFromCsv(csvFile, CsvExtensions::toCertificateAlgorithmEntry);
+	}
 
-			return CertificateAlgorithmEntry.builder().keyPairAlgorithm(algorithm)
-				.signatureAlgorithm(signatureAlgorithm).build();
-		});
+	/**
+	 * Reads key-pair entries lazily from a CSV file
+	 *
+	 * @param csvFile
+	 *            the CSV file to read from
+	 * @return a lazily evaluated stream of {@link KeyPairEntry}
+	 * @throws IOException
+	 *             if an I/O error occurs during reading the header
+	 */
+	public static Stream<KeyPairEntry> streamKeyPairEntriesFromCsv(InputStream csvFile)
+		throws IOException
+	{
+		return streamEntriesFromCsv(csvFile, CsvExtensions::toKeyPairEntry);
 	}
 
 	/**
@@ -115,13 +267,37 @@ public class CsvExtensions
 	public static List<KeyPairEntry> readKeyPairEntriesFromCsv(InputStream csvFile)
 		throws IOException
 	{
-		return readEntriesFromCsv(csvFile, csvRecord -> {
-			String algorithm = csvRecord.get("algorithm");
-			String keySizeString = csvRecord.get("keysize");
-			Integer keySize = keySizeString.isEmpty() ? null : Integer.valueOf(keySizeString);
+		return readEntriesFromCsv(csvFile, CsvExtensions::toKeyPairEntry);
+	}
+
+	private static CertificateAlgorithmEntry toCertificateAlgorithmEntry(CSVRecord csvRecord)
+	{
+		String algorithm = csvRecord.get("keypair-algorithm");
+		String signatureAlgorithm = csvRecord.get("signature-algorithm");
 
-			return KeyPairEntry.builder().algorithm(algorithm).keySize(keySize).build();
-		});
+		return CertificateAlgorithmEntry.builder().keyPairAlgorithm(algorithm)
+			.signatureAlgorithm(signatureAlgorithm).build();
+	}
+
+	private static KeyPairEntry toKeyPairEntry(CSVRecord csvRecord)
+	{
+		String algorithm = csvRecord.get("algorithm");
+		String keySizeString = csvRecord.get("keysize");
+		Integer keySize = keySizeString.isEmpty() ? null : Integer.valueOf(keySizeString);
+
+		return KeyPairEntry.builder().algorithm(algorithm).keySize(keySize).build();
+	}
+
+	private static void close(CSVParser csvParser)
+	{
+		try
+		{
+			csvParser.close();
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
 	}
 
 }
@@ -0,0 +1,139 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.extension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The {@code KeyPairCatalogExtensions} class provides utility methods to read the binary key pair
+ * algorithm catalog that is generated at build time from the csv file
+ * {@code key_pair_algorithm_with_key_size.csv} by the gradle task
+ * {@code generateKeyPairCatalog}. The key sizes of each algorithm are stored as runs of start,
+ * step and count, so the whole catalog is read with one single buffered read and the runs are
+ * taken over as they are in the resulting {@link KeySizeSet} objects
+ */
+public class KeyPairCatalogExtensions
+{
+
+	/**
+	 * The resource path of the binary key pair algorithm catalog
+	 */
+	public static final String CATALOG_RESOURCE_PATH = "key_pair_algorithm_with_key_size.bin";
+
+	/**
+	 * The magic number of the binary catalog, the ascii characters 'KPAC'
+	 */
+	public static final int MAGIC = 0x4B504143;
+
+	/**
+	 * The supported version of the binary catalog format
+	 */
+	public static final short VERSION = 1;
+
+	/**
+	 * Reads the binary key pair algorithm catalog from the given input stream and returns a map of
+	 * the key pair algorithms to the range compressed sets of their key sizes
+	 *
+	 * @param catalogInputStream
+	 *            the input stream containing the binary catalog
+	 * @return a map where the key is the key pair algorithm and the value is a {@link KeySizeSet}
+	 *         of the corresponding key sizes
+	 * @throws IOException
+	 *             if an I/O error occurs or the data is not a valid binary catalog
+	 */
+	public static Map<String, KeySizeSet> readAlgorithmToKeySizeMap(
+		InputStream catalogInputStream) throws IOException
+	{
+		if (catalogInputStream == null)
+		{
+			throw new IOException("Binary catalog not found: " + CATALOG_RESOURCE_PATH);
+		}
+		byte[] bytes;
+		try (InputStream inputStream = catalogInputStream)
+		{
+			bytes = inputStream.readAllBytes();
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		try
+		{
+			if (buffer.getInt() != MAGIC)
+			{
+				throw new IOException("Invalid binary catalog: wrong magic number");
+			}
+			short version = buffer.getShort();
+			if (version != VERSION)
+			{
+				throw new IOException("Unsupported binary catalog version: " + version);
+			}
+			int algorithmCount = buffer.getInt();
+			Map<String, KeySizeSet> algorithmMap = new LinkedHashMap<>();
+			for (int i = 0; i < algorithmCount; i++)
+			{
+				String algorithm = readUTF(buffer);
+				int runCount = buffer.getInt();
+				KeySizeSet.Builder keySizes = KeySizeSet.builder();
+				for (int j = 0; j < runCount; j++)
+				{
+					int start = buffer.getInt();
+					int step = buffer.getInt();
+					int count = buffer.getInt();
+					keySizes.addRun(start, step, count);
+				}
+				algorithmMap.put(algorithm, keySizes.build());
+			}
+			return algorithmMap;
+		}
+		catch (BufferUnderflowException | IllegalArgumentException exception)
+		{
+			throw new IOException("Invalid binary catalog: " + exception.getMessage(), exception);
+		}
+	}
+
+	/**
+	 * Reads a string in the format of {@link java.io.DataOutput#writeUTF(String)} from the given
+	 * buffer
+	 *
+	 * @param buffer
+	 *            the buffer to read from
+	 * @return the read string
+	 */
+	private static String readUTF(ByteBuffer buffer)
+	{
+		int length = buffer.getShort() & 0xFFFF;
+		byte[] utfBytes = new byte[length];
+		buffer.get(utfBytes);
+		// catalog names are plain ascii, for which modified utf-8 and utf-8 are identical
+		return new String(utfBytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -31,6 +31,7 @@ import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
+import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.cert.X509Certificate;
@@ -42,33 +43,33 @@ import java.util.logging.Level;
 import javax.swing.*;
 
 import io.github.astrapi69.key.pair.generator.WizardApplicationFrame;
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.cache.KeySizeCache;
+import io.github.astrapi69.key.pair.generator.cache.SerialNumberAllocator;
 import io.github.astrapi69.collection.array.ArrayExtensions;
-import io.github.astrapi69.collection.array.ArrayFactory;
-import io.github.astrapi69.collection.list.ListExtensions;
 import io.github.astrapi69.collection.list.SortedUniqueList;
 import io.github.astrapi69.collection.pair.ValueBox;
 import io.github.astrapi69.collection.set.SetExtensions;
+import io.github.astrapi69.collection.set.SetFactory;
 import io.github.astrapi69.crypt.api.key.KeyFileFormat;
-import io.github.astrapi69.crypt.data.factory.CertFactory;
 import io.github.astrapi69.crypt.data.key.KeyInfoExtensions;
 import io.github.astrapi69.crypt.data.key.KeySizeExtensions;
 import io.github.astrapi69.crypt.data.key.writer.CertificateWriter;
-import io.github.astrapi69.crypt.data.model.CertificateInfo;
 import io.github.astrapi69.model.BaseModel;
 import io.github.astrapi69.model.LambdaModel;
 import io.github.astrapi69.model.api.IModel;
-import io.github.astrapi69.random.number.RandomBigIntegerFactory;
 import io.github.astrapi69.swing.base.BasePanel;
 import io.github.astrapi69.swing.dialog.DialogExtensions;
 import io.github.astrapi69.swing.listener.RequestFocusListener;
-import io.github.astrapi69.swing.model.combobox.GenericComboBoxModel;
 import io.github.astrapi69.swing.model.combobox.GenericMutableComboBoxModel;
 import io.github.astrapi69.swing.model.component.JMComboBox;
 import io.github.astrapi69.key.pair.generator.wizard.CertificateWizardPanel;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
 import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
 import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
 import io.github.astrapi69.key.pair.generator.wizard.model.KeyInfoModel;
 import io.github.astrapi69.key.pair.generator.wizard.model.ValidityModel;
+import io.github.astrapi69.key.pair.generator.x509.SelfSignedCertificates;
 import lombok.Getter;
 import lombok.extern.java.Log;
 import net.miginfocom.swing.MigLayout;
@@ -91,6 +92,32 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	 */
 	private JButton btnClear;
 
+	/**
+	 * The btn cancel for cancel a running key pair generation
+	 */
+	private JButton btnCancel;
+
+	/**
+	 * The chb reuse domain parameters for generate DSA and Diffie-Hellman key pairs with stored
+	 * domain parameters
+	 */
+	private JCheckBox chbReuseDomainParameters;
+
+	/**
+	 * The chb parallel prime search for generate RSA key pairs with a prime search on all cores
+	 */
+	private JCheckBox chbParallelPrimeSearch;
+
+	/**
+	 * The progress bar that is shown while a key pair is generated
+	 */
+	private JProgressBar progressBar;
+
+	/**
+	 * The lbl generation time that shows the elapsed time of the last key pair generation
+	 */
+	private JLabel lblGenerationTime;
+
 	/**
 	 * The btn generate.
 	 */
@@ -104,6 +131,22 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	private JButton btnSavePrivKeyWithPw;
 
 	private JButton btnSaveCertificate;
+
+	/**
+	 * The btn export of the keys and the certificate in several formats at once
+	 */
+	private JButton btnExport;
+
+	/**
+	 * The btn save CSR for save a PKCS#10 certificate signing request of the generated key pair
+	 */
+	private JButton btnSaveCsr;
+
+	/**
+	 * The btn local CA for open or create the local certificate authority that issues the
+	 * certificates
+	 */
+	private JButton btnLocalCa;
 	/**
 	 * The btn save public key.
 	 */
@@ -112,7 +155,7 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	/**
 	 * The cmb key size.
 	 */
-	private JMComboBox<Integer, GenericComboBoxModel<Integer>> cmbKeySize;
+	private KeySizeComboBox cmbKeySize;
 
 	/**
 	 * The lbl key size.
@@ -146,12 +189,12 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	/**
 	 * The txt private key.
 	 */
-	private JTextArea txtPrivateKey;
+	private PemTextArea txtPrivateKey;
 
 	/**
 	 * The txt public key.
 	 */
-	private JTextArea txtPublicKey;
+	private PemTextArea txtPublicKey;
 
 	/**
 	 * Instantiates a new {@link CryptographyPanel}.
@@ -177,6 +220,17 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	{
 	}
 
+	/**
+	 * Callback method that can be overwritten to provide specific action for the on cancel of a
+	 * running key pair generation.
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onCancel(final ActionEvent actionEvent)
+	{
+	}
+
 	/**
 	 * Callback method that can be overwritten to provide specific action for the on clear.
 	 *
@@ -197,24 +251,65 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	{
 	}
 
+	/**
+	 * Callback method that can be overwritten to provide specific action for the on export of the
+	 * keys and the certificate.
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onExport(final ActionEvent actionEvent)
+	{
+	}
+
+	/**
+	 * Callback method that can be overwritten to provide specific action for the on save of a
+	 * PKCS#10 certificate signing request of the generated key pair.
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onSaveCertificateSigningRequest(final ActionEvent actionEvent)
+	{
+	}
+
+	/**
+	 * Callback method that can be overwritten to provide specific action for the on open or create
+	 * of the local certificate authority.
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onLocalCertificateAuthority(final ActionEvent actionEvent)
+	{
+	}
+
 	@Override
 	protected void onInitializeComponents()
 	{
 		super.onInitializeComponents();
 
 		scpPrivateKey = new JScrollPane();
-		txtPrivateKey = new JTextArea();
+		txtPrivateKey = new PemTextArea();
 		lblPrivateKey = new JLabel();
 		lblKeySize = new JLabel();
 		scpPublicKey = new JScrollPane();
-		txtPublicKey = new JTextArea();
+		txtPublicKey = new PemTextArea();
 		lblPublicKey = new JLabel();
 		btnGenerate = new JButton();
 		btnClear = new JButton();
+		btnCancel = new JButton();
+		chbReuseDomainParameters = new JCheckBox();
+		chbParallelPrimeSearch = new JCheckBox();
+		progressBar = new JProgressBar();
+		lblGenerationTime = new JLabel();
 		btnSavePrivateKey = new JButton();
 		btnSavePublicKey = new JButton();
 		btnSavePrivKeyWithPw = new JButton();
 		btnSaveCertificate = new JButton();
+		btnExport = new JButton();
+		btnSaveCsr = new JButton();
+		btnLocalCa = new JButton();
 
 		// Initialize the algorithm JComboBox and label
 		lblAlgorithm = new JLabel();
@@ -229,11 +324,7 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		lblAlgorithm.setText("Algorithm");
 		try
 		{
-			Set<Integer> supportedKeySizes = KeySizeExtensions
-				.getSupportedKeySizesForKeyPairGenerator(getModelObject().getAlgorithm());
-			Integer[] array = SetExtensions.toArray(supportedKeySizes);
-			cmbKeySize = newKeySizeCombobox(array);
-			setKeySizeValue(getModelObject().getAlgorithm());
+			cmbKeySize = newKeySizeCombobox(newKeySizes(getModelObject().getAlgorithm()));
 		}
 		catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException exception)
 		{
@@ -256,11 +347,16 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		cmbKeySize.addActionListener(actionEvent -> onChangeKeySize(actionEvent));
 		btnGenerate.addActionListener(actionEvent -> onGenerate(actionEvent));
 		btnClear.addActionListener(actionEvent -> onClear(actionEvent));
+		btnCancel.addActionListener(actionEvent -> onCancel(actionEvent));
 		btnSavePrivateKey.addActionListener(actionEvent -> onSavePrivateKey(actionEvent));
 		btnSavePrivKeyWithPw
 			.addActionListener(actionEvent -> onSavePrivateKeyWithPassword(actionEvent));
 		btnSavePublicKey.addActionListener(actionEvent -> onSavePublicKey(actionEvent));
 		btnSaveCertificate.addActionListener(actionEvent -> onSaveCertificate(actionEvent));
+		btnExport.addActionListener(actionEvent -> onExport(actionEvent));
+		btnSaveCsr.addActionListener(
+			actionEvent -> onSaveCertificateSigningRequest(actionEvent));
+		btnLocalCa.addActionListener(actionEvent -> onLocalCertificateAuthority(actionEvent));
 
 		txtPrivateKey.setColumns(20);
 		txtPrivateKey.setRows(5);
@@ -281,26 +377,54 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 
 		btnClear.setText("Clear keys");
 
+		btnCancel.setText("Cancel");
+		btnCancel.setEnabled(false);
+		chbReuseDomainParameters.setText("Reuse domain parameters");
+		chbReuseDomainParameters.setToolTipText(
+			"Generate DSA and Diffie-Hellman keys with standardized or cached domain parameters");
+		chbParallelPrimeSearch.setText("Parallel prime search");
+		chbParallelPrimeSearch
+			.setToolTipText("Search the primes of RSA keys concurrently on all processor cores");
+		progressBar.setVisible(false);
+
 		btnSavePrivateKey.setText("Save private key");
 		btnSavePrivKeyWithPw.setText("Save private key with password");
 
 		btnSavePublicKey.setText("Save public key");
 		btnSaveCertificate.setText("Save certificate...");
+		btnExport.setText("Export...");
+		btnSaveCsr.setText("Save CSR...");
+		btnSaveCsr.setToolTipText(
+			"Save a PKCS#10 certificate signing request of the keys for an external CA");
+		btnLocalCa.setText("Local CA...");
+		btnLocalCa.setToolTipText(
+			"Open or create a local certificate authority that issues the certificates");
 		//
 		btnSaveCertificate.setEnabled(false);
+		btnExport.setEnabled(false);
+		btnSaveCsr.setEnabled(false);
+		// the catalogs are loaded in the background on startup
+		if (!WizardApplicationFrame.getInstance().isCatalogsLoaded())
+		{
+			setLoading(true);
+			WizardApplicationFrame.getInstance().whenCatalogsLoaded(this::onCatalogsLoaded,
+				exception -> setLoading(false));
+		}
 	}
 
 
-	protected JMComboBox<Integer, GenericComboBoxModel<Integer>> newKeySizeCombobox(
-		Integer[] cmbArray)
+	/**
+	 * Factory method for create the key size combobox. The combobox is backed by a
+	 * {@link KeySizeComboBoxModel}, so the key sizes are never materialized in a list
+	 *
+	 * @param keySizes
+	 *            the key sizes of the current algorithm
+	 * @return the new key size combobox
+	 */
+	protected KeySizeComboBox newKeySizeCombobox(KeySizeSet keySizes)
 	{
-		GenericComboBoxModel<Integer> comboBoxModel;
-		ValueBox<Integer> valueBox;
-		IModel<Integer> selectedItemModel;
-		valueBox = ValueBox.<Integer> builder().value(getModelObject().getKeySize()).build();
-		comboBoxModel = new GenericComboBoxModel<>(cmbArray);
-		selectedItemModel = LambdaModel.of(valueBox::getValue, valueBox::setValue);
-		return new JMComboBox<>(comboBoxModel, selectedItemModel);
+		return new KeySizeComboBox(
+			new KeySizeComboBoxModel(keySizes, getModelObject().getKeySize()));
 	}
 
 	protected JMComboBox<String, GenericMutableComboBoxModel<String>> newKeyAlgorithmCombobox()
@@ -310,15 +434,7 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		IModel<String> selectedKeyAlgorithmModel;
 		GenericMutableComboBoxModel<String> cmbKeyAlgorithmModel;
 
-		Set<String> keyAlgorithms = WizardApplicationFrame.getInstance().getModelObject()
-			.getKeypairSignatureAlgorithms().keySet();
-		if (keyAlgorithms.contains("DSTU4145"))
-		{
-			String[] array = SetExtensions.toArray(keyAlgorithms);
-			String[] remove = { "DSTU4145" };
-			keyAlgorithms = ArrayExtensions.asSet(ArrayExtensions.removeAll(array, remove));
-		}
-
+		Set<String> keyAlgorithms = newKeyAlgorithms();
 		String selectedKeyAlgorithm = getModelObject().getAlgorithm();
 
 		keyAlgorithmValueBox = ValueBox.<String> builder().value(selectedKeyAlgorithm).build();
@@ -331,6 +447,89 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		return new JMComboBox<>(cmbKeyAlgorithmModel, selectedKeyAlgorithmModel);
 	}
 
+	/**
+	 * Factory method for create the key pair algorithms from the signature algorithm catalog. As
+	 * long as the catalog is loading only the currently selected algorithm is returned
+	 *
+	 * @return the key pair algorithms
+	 */
+	protected Set<String> newKeyAlgorithms()
+	{
+		Map<String, SortedUniqueList<String>> keypairSignatureAlgorithms = WizardApplicationFrame
+			.getInstance().getModelObject().getKeypairSignatureAlgorithms();
+		if (keypairSignatureAlgorithms == null)
+		{
+			return SetFactory.newLinkedHashSet(getModelObject().getAlgorithm());
+		}
+		Set<String> keyAlgorithms = keypairSignatureAlgorithms.keySet();
+		if (keyAlgorithms.contains("DSTU4145"))
+		{
+			String[] array = SetExtensions.toArray(keyAlgorithms);
+			String[] remove = { "DSTU4145" };
+			keyAlgorithms = ArrayExtensions.asSet(ArrayExtensions.removeAll(array, remove));
+		}
+		return keyAlgorithms;
+	}
+
+	/**
+	 * Callback method that is called on the event dispatch thread as soon as the key pair
+	 * algorithm and the signature algorithm catalogs are loaded. Binds the algorithm and key size
+	 * comboboxes to the catalogs and leaves the loading state
+	 */
+	protected void onCatalogsLoaded()
+	{
+		String algorithm = getModelObject().getAlgorithm();
+		cmbAlgorithm.setModel(new GenericMutableComboBoxModel<>(newKeyAlgorithms(), algorithm));
+		try
+		{
+			setKeySizeValue(algorithm);
+		}
+		catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		cmbKeySize.setSelectedItem(getModelObject().getKeySize());
+		setLoading(false);
+	}
+
+	/**
+	 * Sets the loading state of the controls that depend on the catalogs
+	 *
+	 * @param loading
+	 *            the flag if the catalogs are loading
+	 */
+	protected void setLoading(final boolean loading)
+	{
+		lblAlgorithm.setText(loading ? "Algorithm (loading...)" : "Algorithm");
+		cmbAlgorithm.setEnabled(!loading);
+		cmbKeySize.setEnabled(!loading);
+		btnGenerate.setEnabled(!loading);
+	}
+
+	/**
+	 * Sets the generating state of this panel. While a key pair is generated an indeterminate
+	 * progress bar is shown, the cancel button is enabled and the controls that would change the
+	 * running generation are disabled
+	 *
+	 * @param generating
+	 *            the flag if a key pair is generated
+	 */
+	public void setGenerating(final boolean generating)
+	{
+		progressBar.setIndeterminate(generating);
+		progressBar.setVisible(generating);
+		btnCancel.setEnabled(generating);
+		btnGenerate.setEnabled(!generating);
+		cmbAlgorithm.setEnabled(!generating);
+		cmbKeySize.setEnabled(!generating);
+		chbReuseDomainParameters.setEnabled(!generating);
+		chbParallelPrimeSearch.setEnabled(!generating);
+		if (generating)
+		{
+			lblGenerationTime.setText("");
+		}
+	}
+
 	protected void onAlgorithmChange(ActionEvent actionEvent)
 	{
 		String selectedItem = (String)cmbAlgorithm.getSelectedItem();
@@ -353,27 +552,40 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 	private void setKeySizeValue(String selectedItem)
 		throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
 	{
-		Map<String, SortedUniqueList<Integer>> keypairAlgorithmToKeySizes = WizardApplicationFrame
-			.getInstance().getModelObject().getKeypairAlgorithmToKeySizes();
-		boolean containsKeyPairAlgorithm = keypairAlgorithmToKeySizes.containsKey(selectedItem);
-		Integer[] array;
-		if (!containsKeyPairAlgorithm)
+		cmbKeySize.getModel().setKeySizes(newKeySizes(selectedItem));
+	}
+
+	/**
+	 * Factory method for create the key sizes of the given key pair algorithm. The key sizes are
+	 * taken from the key pair algorithm catalog and only if the algorithm is not contained in the
+	 * catalog the supported key sizes are resolved from the key pair generator and are stored in
+	 * the {@link KeySizeCache}. As long as the
+	 * catalog is loading only the currently selected key size is returned, or no key size if none
+	 * is selected
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @return the key sizes of the given key pair algorithm
+	 */
+	protected KeySizeSet newKeySizes(String algorithm)
+		throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
+	{
+		Map<String, KeySizeSet> keypairAlgorithmToKeySizes = WizardApplicationFrame.getInstance()
+			.getModelObject().getKeypairAlgorithmToKeySizes();
+		if (keypairAlgorithmToKeySizes == null)
 		{
-			Set<Integer> supportedKeySizes = KeySizeExtensions
-				.getSupportedKeySizesForKeyPairGenerator(selectedItem);
-			array = supportedKeySizes.isEmpty()
-				? ArrayFactory.newArray()
-				: SetExtensions.toArray(supportedKeySizes);
+			// catalog is loading
+			Integer keySize = getModelObject().getKeySize();
+			return keySize != null ? KeySizeSet.of(keySize) : KeySizeSet.EMPTY;
 		}
-		else
+		KeySizeSet keySizes = keypairAlgorithmToKeySizes.get(algorithm);
+		if (keySizes == null)
 		{
-			SortedUniqueList<Integer> supportedKeySizes = keypairAlgorithmToKeySizes
-				.get(selectedItem);
-			array = supportedKeySizes.isEmpty()
-				? ArrayFactory.newArray()
-				: ListExtensions.toArray(supportedKeySizes);
+			// the reflection is done only once per runtime and is cached on disk
+			keySizes = KeySizeCache.getInstance().getKeySizes(algorithm, name -> KeySizeSet
+				.of(KeySizeExtensions.getSupportedKeySizesForKeyPairGenerator(name)));
 		}
-		cmbKeySize.setModel(new GenericComboBoxModel<>(array));
+		return keySizes;
 	}
 
 	JDialog dialog;
@@ -397,7 +609,7 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 
 		final CertificateInfoModel certificateInfoModel = CertificateInfoModel.builder()
 			.publicKeyInfo(publicKeyInfoModel).privateKeyInfo(privateKeyInfoModel)
-			.serial(RandomBigIntegerFactory.randomBigInteger())
+			.serial(SerialNumberAllocator.getDefault().nextSerialNumber())
 			.issuer(DistinguishedNameInfoModel.builder().build())
 			.keyPairAlgorithm(modelObject.getAlgorithm())
 			.signatureAlgorithm(modelObject.getSignatureAlgorithm())
@@ -419,11 +631,24 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 					{
 						File selectedFile = fileChooser.getSelectedFile();
 						CertificateInfoModel modelObject1 = getModelObject();
-						CertificateInfo certificateInfo = CertificateInfoModel
-							.toCertificateInfo(modelObject1);
-						X509Certificate x509Certificate = CertFactory
-							.newX509Certificate(certificateInfo);
+						LocalCertificateAuthority certificateAuthority = CryptographyPanel.this
+							.getModelObject().getCertificateAuthority();
+						X509Certificate x509Certificate;
+						if (certificateAuthority != null)
+						{
+							// the local CA replaces the issuer of the wizard by its intermediate
+							x509Certificate = certificateAuthority.issue(modelObject1,
+								CryptographyPanel.this.getModelObject().getPublicKey());
+						}
+						else
+						{
+							// the extensions are encoded typed instead of as raw strings
+							x509Certificate = SelfSignedCertificates.newCertificate(modelObject1,
+								new KeyPair(CryptographyPanel.this.getModelObject().getPublicKey(),
+									CryptographyPanel.this.getModelObject().getPrivateKey()));
+						}
 						CertificateWriter.write(x509Certificate, selectedFile, KeyFileFormat.PEM);
+						CryptographyPanel.this.getModelObject().setCertificate(x509Certificate);
 					}
 					catch (final Exception exception)
 					{
@@ -483,13 +708,17 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 					.addComponent(btnClear))
 				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.LEADING)
 					.addComponent(cmbAlgorithm).addComponent(cmbKeySize)))
+			.addGroup(layout.createSequentialGroup().addComponent(chbReuseDomainParameters)
+				.addComponent(chbParallelPrimeSearch).addComponent(progressBar)
+				.addComponent(btnCancel).addComponent(lblGenerationTime))
 			.addGroup(layout.createSequentialGroup().addComponent(lblPrivateKey)
 				.addComponent(scpPrivateKey))
 			.addGroup(layout.createSequentialGroup().addComponent(lblPublicKey)
 				.addComponent(scpPublicKey))
 			.addGroup(layout.createSequentialGroup().addComponent(btnSavePrivKeyWithPw)
 				.addComponent(btnSavePrivateKey).addComponent(btnSaveCertificate)
-				.addComponent(btnSavePublicKey)));
+				.addComponent(btnSavePublicKey).addComponent(btnExport)
+				.addComponent(btnSaveCsr).addComponent(btnLocalCa)));
 
 		layout.setVerticalGroup(layout.createSequentialGroup()
 			.addGroup(layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
@@ -498,13 +727,18 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 				.addComponent(lblKeySize).addComponent(cmbKeySize))
 			.addGroup(layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
 				.addComponent(btnGenerate).addComponent(btnClear))
+			.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+				.addComponent(chbReuseDomainParameters).addComponent(chbParallelPrimeSearch)
+				.addComponent(progressBar).addComponent(btnCancel).addComponent(lblGenerationTime))
 			.addGroup(layout.createParallelGroup(GroupLayout.Alignment.LEADING)
 				.addComponent(lblPrivateKey).addComponent(scpPrivateKey))
 			.addGroup(layout.createParallelGroup(GroupLayout.Alignment.LEADING)
 				.addComponent(lblPublicKey).addComponent(scpPublicKey))
 			.addGroup(layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
 				.addComponent(btnSavePrivKeyWithPw).addComponent(btnSavePrivateKey)
-				.addComponent(btnSaveCertificate).addComponent(btnSavePublicKey)));
+				.addComponent(btnSaveCertificate).addComponent(btnSavePublicKey)
+				.addComponent(btnExport).addComponent(btnSaveCsr)
+				.addComponent(btnLocalCa)));
 	}
 
 	@Override
@@ -560,14 +794,29 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		gbc.anchor = GridBagConstraints.CENTER;
 		add(btnClear, gbc);
 
-		// PrivateKey label and text area
+		// Generation options, progress bar, cancel button and generation time
+		JPanel generationPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		generationPanel.add(chbReuseDomainParameters);
+		generationPanel.add(chbParallelPrimeSearch);
+		generationPanel.add(progressBar);
+		generationPanel.add(btnCancel);
+		generationPanel.add(lblGenerationTime);
 		gbc.gridx = 0; // First column
 		gbc.gridy = 3; // Fourth row
+		gbc.gridwidth = 2;
+		gbc.fill = GridBagConstraints.HORIZONTAL;
+		gbc.anchor = GridBagConstraints.WEST;
+		add(generationPanel, gbc);
+		gbc.gridwidth = 1;
+
+		// PrivateKey label and text area
+		gbc.gridx = 0; // First column
+		gbc.gridy = 4; // Fifth row
 		gbc.anchor = GridBagConstraints.NORTHWEST;
 		add(lblPrivateKey, gbc);
 
 		gbc.gridx = 1; // Second column
-		gbc.gridy = 3; // Fourth row
+		gbc.gridy = 4; // Fifth row
 		gbc.fill = GridBagConstraints.BOTH;
 		gbc.weightx = 1.0;
 		gbc.weighty = 0.5;
@@ -575,12 +824,12 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 
 		// PublicKey label and text area
 		gbc.gridx = 0; // First column
-		gbc.gridy = 4; // Fifth row
+		gbc.gridy = 5; // Sixth row
 		gbc.anchor = GridBagConstraints.NORTHWEST;
 		add(lblPublicKey, gbc);
 
 		gbc.gridx = 1; // Second column
-		gbc.gridy = 4; // Fifth row
+		gbc.gridy = 5; // Sixth row
 		gbc.fill = GridBagConstraints.BOTH;
 		gbc.weightx = 1.0;
 		gbc.weighty = 0.5;
@@ -588,25 +837,34 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 
 		// Save buttons
 		gbc.gridx = 0; // First column
-		gbc.gridy = 5; // Sixth row
+		gbc.gridy = 6; // Seventh row
 		gbc.gridwidth = 2;
 		gbc.fill = GridBagConstraints.HORIZONTAL;
 		gbc.anchor = GridBagConstraints.CENTER;
 		add(btnSavePrivKeyWithPw, gbc);
 
-		gbc.gridy = 6; // Seventh row
+		gbc.gridy = 7; // Eighth row
 		add(btnSavePrivateKey, gbc);
 
-		gbc.gridy = 7; // Eighth row
+		gbc.gridy = 8; // Ninth row
 		add(btnSaveCertificate, gbc);
 
-		gbc.gridy = 8; // Ninth row
+		gbc.gridy = 9; // Tenth row
 		add(btnSavePublicKey, gbc);
+
+		gbc.gridy = 10; // Eleventh row
+		add(btnExport, gbc);
+
+		gbc.gridy = 11; // Twelfth row
+		add(btnSaveCsr, gbc);
+
+		gbc.gridy = 12; // Thirteenth row
+		add(btnLocalCa, gbc);
 	}
 
 	protected void onInitializeMigLayout()
 	{
-		MigLayout migLayout = new MigLayout("fill", "[grow]", "[][][][][grow][]");
+		MigLayout migLayout = new MigLayout("fill", "[grow]", "[][][][][][grow][]");
 		// Set layout with MigLayout
 		setLayout(migLayout);
 
@@ -622,6 +880,13 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		add(btnGenerate, "split 2, growx");
 		add(btnClear, "wrap, growx");
 
+		// Add generation options, progress bar, cancel button and generation time
+		add(chbReuseDomainParameters, "split 5");
+		add(chbParallelPrimeSearch);
+		add(progressBar, "growx");
+		add(btnCancel);
+		add(lblGenerationTime, "wrap");
+
 		// Add PrivateKey label and text area
 		add(lblPrivateKey, "split 2, gapright 10, top");
 		add(scpPrivateKey, "span, grow, wrap");
@@ -631,10 +896,13 @@ public class CryptographyPanel extends BasePanel<GenerateKeysModelBean>
 		add(scpPublicKey, "span, grow, wrap");
 
 		// Add Save buttons
-		add(btnSavePrivKeyWithPw, "split 4, growx");
+		add(btnSavePrivKeyWithPw, "split 7, growx");
 		add(btnSavePrivateKey, "growx");
 		add(btnSaveCertificate, "growx");
-		add(btnSavePublicKey, "wrap, growx");
+		add(btnSavePublicKey, "growx");
+		add(btnExport, "growx");
+		add(btnSaveCsr, "growx");
+		add(btnLocalCa, "wrap, growx");
 	}
 
 	/**
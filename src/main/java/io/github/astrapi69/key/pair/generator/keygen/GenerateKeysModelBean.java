@@ -27,9 +27,12 @@ package io.github.astrapi69.key.pair.generator.keygen;
 import java.io.Serializable;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.cert.X509Certificate;
 import java.util.Date;
 
 import io.github.astrapi69.crypt.api.algorithm.key.KeyPairGeneratorAlgorithm;
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
 import io.github.astrapi69.mystic.crypt.key.PrivateKeyHexDecryptor;
 import io.github.astrapi69.mystic.crypt.key.PublicKeyHexEncryptor;
 import lombok.AccessLevel;
@@ -70,6 +73,19 @@ public class GenerateKeysModelBean implements Serializable
 
 	PublicKey publicKey;
 
+	X509Certificate certificate;
+
+	/**
+	 * The local certificate authority that issues the certificates, if null the certificates are
+	 * created by the certificate wizard alone
+	 */
+	transient LocalCertificateAuthority certificateAuthority;
+
+	/**
+	 * The subject of the last saved certificate signing request
+	 */
+	transient DistinguishedNameInfoModel subject;
+
 	String password;
 	String signatureAlgorithm;
 	Date start;
@@ -24,35 +24,51 @@
  */
 package io.github.astrapi69.key.pair.generator.keygen;
 
+import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
-import java.security.Security;
-import java.security.spec.ECGenParameterSpec;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import javax.swing.*;
 
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 
+import io.github.astrapi69.key.pair.generator.NewCertificateAttributesPanel;
 import io.github.astrapi69.key.pair.generator.WizardApplicationFrame;
-import io.github.astrapi69.crypt.data.factory.KeyPairFactory;
-import io.github.astrapi69.crypt.data.factory.KeyPairGeneratorFactory;
-import io.github.astrapi69.crypt.data.key.PrivateKeyExtensions;
-import io.github.astrapi69.crypt.data.key.PublicKeyExtensions;
-import io.github.astrapi69.crypt.data.key.writer.EncryptedPrivateKeyWriter;
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.cache.DomainParameterStore;
+import io.github.astrapi69.key.pair.generator.csr.CertificateSigningRequests;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.engine.SpeculativeKeyPairGenerator;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.export.KeyExportRequest;
+import io.github.astrapi69.key.pair.generator.export.KeyPairExporter;
+import io.github.astrapi69.key.pair.generator.export.PrivateKeyEncryptor;
+import io.github.astrapi69.key.pair.generator.pool.KeyPairPool;
+import io.github.astrapi69.key.pair.generator.pool.KeyPairPoolKey;
+import io.github.astrapi69.key.pair.generator.random.RandomnessDiagnostics;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
 import io.github.astrapi69.crypt.data.key.writer.PrivateKeyWriter;
 import io.github.astrapi69.crypt.data.key.writer.PublicKeyWriter;
 import io.github.astrapi69.model.BaseModel;
@@ -70,8 +86,33 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The executor that generates the key pairs in the background, so the event dispatch thread
+	 * stays responsive. The provider key generation can not be interrupted, so every generation
+	 * runs on its own daemon thread and a cancelled generation that is still running does not
+	 * delay the next one
+	 */
+	private static final ExecutorService GENERATION_EXECUTOR = Executors
+		.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "key-pair-generator");
+			thread.setDaemon(true);
+			return thread;
+		});
+
 	private CryptographyPanel cryptographyPanel;
 
+	/**
+	 * The worker of the current key pair generation
+	 */
+	private transient SwingWorker<KeyPair, Void> generationWorker;
+
+	/**
+	 * The generator that generates the key pair of the current selection in the background before
+	 * it is requested, null if the speculative generation is disabled
+	 */
+	private final transient SpeculativeKeyPairGenerator speculativeKeyPairGenerator = SpeculativeKeyPairGenerator
+		.newSpeculativeKeyPairGenerator(KeyPairEngine::generate);
+
 	public GenerateKeysPanel()
 	{
 		this(BaseModel.of(GenerateKeysModelBean.builder().build()));
@@ -95,6 +136,67 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 		final JComboBox<String> cb = (JComboBox<String>)actionEvent.getSource();
 		final Integer selected = (Integer)cb.getSelectedItem();
 		getModelObject().setKeySize(selected);
+		onSelectionChanged();
+	}
+
+	/**
+	 * Callback method that is called when the selected algorithm or key size has changed. The key
+	 * pair of the new selection is generated speculatively in the background as soon as the
+	 * selection has settled, unless the key pair pool already holds one or the domain parameters
+	 * are reused
+	 */
+	protected void onSelectionChanged()
+	{
+		if (speculativeKeyPairGenerator == null || getCryptographyPanel() == null)
+		{
+			return;
+		}
+		KeyPairSpec keyPairSpec = newKeyPairSpec();
+		if (keyPairSpec == null
+			|| getCryptographyPanel().getChbReuseDomainParameters().isSelected()
+			|| isPooled(keyPairSpec))
+		{
+			speculativeKeyPairGenerator.cancel();
+			return;
+		}
+		speculativeKeyPairGenerator.speculate(keyPairSpec);
+	}
+
+	/**
+	 * Checks if the key pair pool holds a pre-generated key pair of the given specification, in
+	 * that case the key pair is not generated speculatively
+	 *
+	 * @param keyPairSpec
+	 *            the specification of the key pair
+	 * @return true if the key pair pool holds a key pair of the given specification
+	 */
+	protected boolean isPooled(final KeyPairSpec keyPairSpec)
+	{
+		WizardApplicationFrame frame = WizardApplicationFrame.getInstance();
+		KeyPairPool keyPairPool = frame != null ? frame.getKeyPairPool() : null;
+		return keyPairPool != null && keyPairPool.getAvailable(
+			KeyPairPoolKey.of(keyPairSpec.getAlgorithm(), keyPairSpec.getKeySize())) > 0;
+	}
+
+	/**
+	 * Factory method for create the {@link KeyPairSpec} of the current selection
+	 *
+	 * @return the {@link KeyPairSpec} of the current selection or null if no algorithm is selected
+	 */
+	protected KeyPairSpec newKeyPairSpec()
+	{
+		final String selectedAlgorithm = getCryptographyPanel().getCmbAlgorithm().getPropertyModel()
+			.getObject();
+		if (selectedAlgorithm == null)
+		{
+			return null;
+		}
+		return KeyPairSpec.builder().algorithm(selectedAlgorithm)
+			.keySize((Integer)getCryptographyPanel().getCmbKeySize().getSelectedItem())
+			.parallelism(getCryptographyPanel().getChbParallelPrimeSearch().isSelected()
+				? Runtime.getRuntime().availableProcessors()
+				: null)
+			.build();
 	}
 
 	/**
@@ -105,85 +207,234 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 	 */
 	protected void onClear(final ActionEvent actionEvent)
 	{
+		cancelGeneration();
 		getCryptographyPanel().getCmbAlgorithm().setSelectedItem("RSA");
 		getCryptographyPanel().getCmbKeySize().setSelectedItem(2048);
 		getCryptographyPanel().getTxtPrivateKey().setText("");
 		getCryptographyPanel().getTxtPublicKey().setText("");
 		getCryptographyPanel().getBtnSaveCertificate().setEnabled(false);
+		getCryptographyPanel().getBtnExport().setEnabled(false);
+		getCryptographyPanel().getBtnSaveCsr().setEnabled(false);
 		getModelObject().setDecryptor(null);
 		getModelObject().setEncryptor(null);
 		getModelObject().setAlgorithm("RSA");
 		getModelObject().setKeySize(2048);
 		getModelObject().setPrivateKey(null);
 		getModelObject().setPublicKey(null);
+		getModelObject().setCertificate(null);
+	}
+
+	/**
+	 * Callback method that can be overwritten to provide specific action for the on cancel of a
+	 * running key pair generation.
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onCancel(final ActionEvent actionEvent)
+	{
+		cancelGeneration();
+	}
+
+	/**
+	 * Cancels the running key pair generation if there is one. The generation thread may still
+	 * finish the key pair, but its result is discarded
+	 *
+	 * @return true if a running key pair generation was cancelled otherwise false
+	 */
+	protected boolean cancelGeneration()
+	{
+		SwingWorker<KeyPair, Void> worker = generationWorker;
+		return worker != null && !worker.isDone() && worker.cancel(true);
 	}
 
 	// callbacks
 	/**
-	 * Callback method that can be overwritten to provide specific action for the on generate.
+	 * Callback method that can be overwritten to provide specific action for the on generate. The
+	 * key pair is generated in a background thread, so the event dispatch thread is not blocked
+	 * while large keys are generated
 	 *
 	 * @param actionEvent
 	 *            the action event
 	 */
 	protected void onGenerate(final ActionEvent actionEvent)
 	{
-		final String selectedAlgorithm = getCryptographyPanel().getCmbAlgorithm().getPropertyModel()
-			.getObject();
-		Integer selectedKeySize = (Integer)getCryptographyPanel().getCmbKeySize().getSelectedItem();
+		final KeyPairSpec keyPairSpec = newKeyPairSpec();
+		if (keyPairSpec == null)
+		{
+			return;
+		}
+		final String selectedAlgorithm = keyPairSpec.getAlgorithm();
+		final Integer selectedKeySize = keyPairSpec.getKeySize();
+		final boolean reuseDomainParameters = getCryptographyPanel()
+			.getChbReuseDomainParameters().isSelected();
+		// no speculation is scheduled for the reused domain parameters and the pooled key pairs,
+		// so these requests are not counted as misses of the speculative generation
+		final boolean speculated = !reuseDomainParameters && !isPooled(keyPairSpec);
+		cancelGeneration();
 		getCryptographyPanel().getTxtPrivateKey().setText("Generating private key...");
 		getCryptographyPanel().getTxtPublicKey().setText("Generating public key...");
-		Map<String, String> algorithmToKeySize = new HashMap<>();
-		algorithmToKeySize.put("ECGOST3410", "GostR3410-2001-CryptoPro-A");
-		algorithmToKeySize.put("ECGOST3410-2012", "GostR3410-2001-CryptoPro-A");
-		try
+		getCryptographyPanel().getBtnSaveCertificate().setEnabled(false);
+		getCryptographyPanel().getBtnExport().setEnabled(false);
+		getCryptographyPanel().getBtnSaveCsr().setEnabled(false);
+		getCryptographyPanel().setGenerating(true);
+		final long start = System.nanoTime();
+		generationWorker = new SwingWorker<>()
 		{
-			final KeyPair keyPair;
-			Security.addProvider(new BouncyCastleProvider());
-			if (selectedKeySize != null)
+			@Override
+			protected KeyPair doInBackground() throws Exception
 			{
-				keyPair = KeyPairFactory.newKeyPair(selectedAlgorithm, selectedKeySize);
+				if (speculativeKeyPairGenerator != null)
+				{
+					if (!speculated)
+					{
+						speculativeKeyPairGenerator.cancel();
+					}
+					else
+					{
+						Optional<KeyPair> speculativeKeyPair = speculativeKeyPairGenerator
+							.take(keyPairSpec);
+						if (speculativeKeyPair.isPresent())
+						{
+							return speculativeKeyPair.get();
+						}
+					}
+				}
+				return newKeyPair(keyPairSpec, reuseDomainParameters);
 			}
-			else
+
+			@Override
+			protected void done()
 			{
-				KeyPairGenerator keyPairGenerator = KeyPairGeneratorFactory
-					.newKeyPairGenerator(selectedAlgorithm);
-				if (algorithmToKeySize.containsKey(selectedAlgorithm))
+				if (generationWorker != this)
+				{
+					return;
+				}
+				getCryptographyPanel().setGenerating(false);
+				if (isCancelled())
+				{
+					getCryptographyPanel().getTxtPrivateKey().setText("");
+					getCryptographyPanel().getTxtPublicKey().setText("");
+					getCryptographyPanel().getLblGenerationTime().setText("Generation cancelled");
+					return;
+				}
+				try
+				{
+					onGenerated(get(), selectedAlgorithm, selectedKeySize,
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				}
+				catch (final InterruptedException exception)
+				{
+					Thread.currentThread().interrupt();
+				}
+				catch (final ExecutionException | IOException executionException)
 				{
-					String stdName = algorithmToKeySize.get(selectedAlgorithm);
-					keyPairGenerator.initialize(new ECGenParameterSpec(stdName));
+					Throwable exception = executionException instanceof ExecutionException
+						? executionException.getCause()
+						: executionException;
+					getCryptographyPanel().getTxtPrivateKey().setText("");
+					getCryptographyPanel().getTxtPublicKey().setText("");
+					log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+					String title = "Creation of key pair failed";
+					String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
+						+ "<p> The creation of key pair failed" + "<p>" + exception.getMessage();
+
+					DialogExtensions.showExceptionDialog(exception,
+						WizardApplicationFrame.getInstance());
+					throw new RuntimeException(title + "::" + htmlMessage, exception);
 				}
-				keyPair = keyPairGenerator.generateKeyPair();
 			}
-			PrivateKey privateKey = keyPair.getPrivate();
-			PublicKey publicKey = keyPair.getPublic();
-			getModelObject().setPrivateKey(privateKey);
-			getModelObject().setPublicKey(publicKey);
-
-			final String privateKeyFormat = PrivateKeyExtensions
-				.toPemFormat(getModelObject().getPrivateKey());
-
-			final String publicKeyFormat = PublicKeyExtensions
-				.toPemFormat(getModelObject().getPublicKey());
-
-			getCryptographyPanel().getTxtPrivateKey().setText("");
-			getCryptographyPanel().getTxtPublicKey().setText("");
-			getCryptographyPanel().getTxtPrivateKey().setText(privateKeyFormat);
-			getCryptographyPanel().getTxtPublicKey().setText(publicKeyFormat);
-			getCryptographyPanel().getBtnSaveCertificate().setEnabled(true);
-		}
-		catch (final NoSuchAlgorithmException | NoSuchProviderException
-			| InvalidAlgorithmParameterException | IOException exception)
-		{
-			log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
-			String title = "Creation of key pair failed";
-			String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
-				+ "<p> The creation of key pair failed" + "<p>" + exception.getMessage();
+		};
+		GENERATION_EXECUTOR.execute(generationWorker);
+	}
 
-			DialogExtensions.showExceptionDialog(exception, WizardApplicationFrame.getInstance());
-			throw new RuntimeException(title + "::" + htmlMessage, exception);
+	/**
+	 * Callback method that is called on the event dispatch thread when a key pair was generated
+	 *
+	 * @param keyPair
+	 *            the generated key pair
+	 * @param algorithm
+	 *            the algorithm of the generated key pair
+	 * @param keySize
+	 *            the key size of the generated key pair, can be null
+	 * @param elapsedMillis
+	 *            the elapsed time of the generation in milliseconds
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	protected void onGenerated(final KeyPair keyPair, final String algorithm,
+		final Integer keySize, final long elapsedMillis) throws IOException
+	{
+		PrivateKey privateKey = keyPair.getPrivate();
+		PublicKey publicKey = keyPair.getPublic();
+		getModelObject().setPrivateKey(privateKey);
+		getModelObject().setPublicKey(publicKey);
+		getModelObject().setCertificate(null);
 
+		getCryptographyPanel().getTxtPrivateKey().setPemDocument(PemDocument.of(privateKey));
+		getCryptographyPanel().getTxtPublicKey().setPemDocument(PemDocument.of(publicKey));
+		getCryptographyPanel().getBtnSaveCertificate().setEnabled(true);
+		getCryptographyPanel().getBtnExport().setEnabled(true);
+		getCryptographyPanel().getBtnSaveCsr().setEnabled(true);
+
+		String generationTime = "Generated " + algorithm + (keySize != null ? " " + keySize : "")
+			+ " key pair in " + elapsedMillis + " ms";
+		getCryptographyPanel().getLblGenerationTime().setText(generationTime);
+		log.info(generationTime);
+		log.info(RandomnessDiagnostics.toSummary());
+		WizardApplicationFrame frame = WizardApplicationFrame.getInstance();
+		if (frame != null && frame.getKeyPairPool() != null)
+		{
+			KeyPairPool keyPairPool = frame.getKeyPairPool();
+			log.info("key pair pool: " + keyPairPool.getHitCount() + " hits, "
+				+ keyPairPool.getMissCount() + " misses");
+		}
+		if (speculativeKeyPairGenerator != null)
+		{
+			log.info(speculativeKeyPairGenerator.toSummary());
 		}
+	}
 
+	/**
+	 * Factory method for create a new {@link KeyPair} from the given specification. This
+	 * method is called from the background thread of the key pair generation. If the key pair pool
+	 * is enabled and holds a pre-generated key pair it is taken from the pool. If the reuse of
+	 * domain parameters is selected, DSA and Diffie-Hellman key pairs are generated with the
+	 * domain parameters of the {@link DomainParameterStore}
+	 *
+	 * @param keyPairSpec
+	 *            the specification of the key pair
+	 * @param reuseDomainParameters
+	 *            the flag if stored domain parameters are used
+	 * @return the new {@link KeyPair}
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the cypher object fails
+	 * @throws NoSuchProviderException
+	 *             is thrown if the specified provider is not available in the environment
+	 * @throws InvalidAlgorithmParameterException
+	 *             is thrown if initialization of the key pair generator fails
+	 */
+	protected KeyPair newKeyPair(final KeyPairSpec keyPairSpec, final boolean reuseDomainParameters)
+		throws NoSuchAlgorithmException, NoSuchProviderException, InvalidAlgorithmParameterException
+	{
+		String algorithm = keyPairSpec.getAlgorithm();
+		Integer keySize = keyPairSpec.getKeySize();
+		WizardApplicationFrame frame = WizardApplicationFrame.getInstance();
+		KeyPairPool keyPairPool = frame != null ? frame.getKeyPairPool() : null;
+		if (keyPairPool != null)
+		{
+			Optional<KeyPair> pooledKeyPair = keyPairPool.poll(algorithm, keySize);
+			if (pooledKeyPair.isPresent())
+			{
+				return pooledKeyPair.get();
+			}
+		}
+		if (reuseDomainParameters && keySize != null
+			&& DomainParameterStore.isSupported(algorithm))
+		{
+			return DomainParameterStore.getInstance().newKeyPair(algorithm, keySize);
+		}
+		return KeyPairEngine.generate(keyPairSpec);
 	}
 
 	public boolean isNumeric(String s)
@@ -207,6 +458,19 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 				GenerateKeysPanel.this.onChangeKeySize(actionEvent);
 			}
 
+			@Override
+			protected void onAlgorithmChange(final ActionEvent actionEvent)
+			{
+				super.onAlgorithmChange(actionEvent);
+				GenerateKeysPanel.this.onSelectionChanged();
+			}
+
+			@Override
+			protected void onCancel(final ActionEvent actionEvent)
+			{
+				GenerateKeysPanel.this.onCancel(actionEvent);
+			}
+
 			@Override
 			protected void onClear(final ActionEvent actionEvent)
 			{
@@ -236,6 +500,24 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 			{
 				GenerateKeysPanel.this.onSavePublicKey(actionEvent);
 			}
+
+			@Override
+			protected void onExport(final ActionEvent actionEvent)
+			{
+				GenerateKeysPanel.this.onExport(actionEvent);
+			}
+
+			@Override
+			protected void onSaveCertificateSigningRequest(final ActionEvent actionEvent)
+			{
+				GenerateKeysPanel.this.onSaveCertificateSigningRequest(actionEvent);
+			}
+
+			@Override
+			protected void onLocalCertificateAuthority(final ActionEvent actionEvent)
+			{
+				GenerateKeysPanel.this.onLocalCertificateAuthority(actionEvent);
+			}
 		};
 
 	}
@@ -318,11 +600,26 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 		gbc.anchor = GridBagConstraints.CENTER;
 		add(getCryptographyPanel().getBtnClear(), gbc);
 
-		// Save buttons (all on one row)
+		// Generation options, progress bar, cancel button and generation time
 		gbc.gridx = 0; // First column
 		gbc.gridy = 5; // Sixth row
 		gbc.gridwidth = 2;
 		gbc.fill = GridBagConstraints.HORIZONTAL;
+		gbc.anchor = GridBagConstraints.WEST;
+
+		JPanel generationPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		generationPanel.add(getCryptographyPanel().getChbReuseDomainParameters());
+		generationPanel.add(getCryptographyPanel().getChbParallelPrimeSearch());
+		generationPanel.add(getCryptographyPanel().getProgressBar());
+		generationPanel.add(getCryptographyPanel().getBtnCancel());
+		generationPanel.add(getCryptographyPanel().getLblGenerationTime());
+		add(generationPanel, gbc);
+
+		// Save buttons (all on one row)
+		gbc.gridx = 0; // First column
+		gbc.gridy = 6; // Seventh row
+		gbc.gridwidth = 2;
+		gbc.fill = GridBagConstraints.HORIZONTAL;
 		gbc.anchor = GridBagConstraints.CENTER;
 
 		JPanel saveButtonPanel = new JPanel(new GridBagLayout());
@@ -341,6 +638,15 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 		saveGbc.gridx = 3;
 		saveButtonPanel.add(getCryptographyPanel().getBtnSavePublicKey(), saveGbc);
 
+		saveGbc.gridx = 4;
+		saveButtonPanel.add(getCryptographyPanel().getBtnExport(), saveGbc);
+
+		saveGbc.gridx = 5;
+		saveButtonPanel.add(getCryptographyPanel().getBtnSaveCsr(), saveGbc);
+
+		saveGbc.gridx = 6;
+		saveButtonPanel.add(getCryptographyPanel().getBtnLocalCa(), saveGbc);
+
 		add(saveButtonPanel, gbc);
 	}
 
@@ -411,25 +717,54 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 				final int state = fileChooser.showSaveDialog(this);
 				if (state == JFileChooser.APPROVE_OPTION)
 				{
-					PrivateKey privateKey;
-					try
+					final File selectedFile = fileChooser.getSelectedFile();
+					final PrivateKey privateKey = getModelObject().getPrivateKey();
+					getCryptographyPanel().getBtnSavePrivKeyWithPw().setEnabled(false);
+					// the key derivation takes the calibrated time of the PbeCalibration, so the
+					// encryption runs in the background and not on the event dispatch thread
+					new SwingWorker<Void, Void>()
 					{
-						privateKey = getModelObject().getPrivateKey();
-						File selectedFile = fileChooser.getSelectedFile();
-						EncryptedPrivateKeyWriter.encryptPrivateKeyWithPassword(privateKey,
-							selectedFile, password);
-					}
-					catch (final Exception exception)
-					{
-						log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
-						String title = "Save of encrypted private key failed";
-						String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
-							+ "<p> Save of encrypted key private key failed" + "<p>"
-							+ exception.getMessage();
-						DialogExtensions.showExceptionDialog(exception,
-							WizardApplicationFrame.getInstance());
-						throw new RuntimeException(title + "::" + htmlMessage, exception);
-					}
+						@Override
+						protected Void doInBackground() throws Exception
+						{
+							try (PrivateKeyEncryptor privateKeyEncryptor = new PrivateKeyEncryptor(
+								password.toCharArray()))
+							{
+								Files.write(selectedFile.toPath(),
+									privateKeyEncryptor.encrypt(privateKey));
+								log.info("Private key encrypted with "
+									+ privateKeyEncryptor.getIterationCount() + " iterations in "
+									+ privateKeyEncryptor.getDerivationMillis() + " ms");
+							}
+							return null;
+						}
+
+						@Override
+						protected void done()
+						{
+							getCryptographyPanel().getBtnSavePrivKeyWithPw().setEnabled(true);
+							try
+							{
+								get();
+							}
+							catch (final InterruptedException exception)
+							{
+								Thread.currentThread().interrupt();
+							}
+							catch (final ExecutionException executionException)
+							{
+								Throwable exception = executionException.getCause();
+								log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+								String title = "Save of encrypted private key failed";
+								String htmlMessage = "<html><body width='350'>" + "<h2>" + title
+									+ "</h2>" + "<p> Save of encrypted key private key failed"
+									+ "<p>" + exception.getMessage();
+								DialogExtensions.showExceptionDialog(exception,
+									WizardApplicationFrame.getInstance());
+								throw new RuntimeException(title + "::" + htmlMessage, exception);
+							}
+						}
+					}.execute();
 				}
 			}
 			else
@@ -470,4 +805,235 @@ public class GenerateKeysPanel extends BasePanel<GenerateKeysModelBean>
 			}
 		}
 	}
+
+	/**
+	 * Callback method that can be overwritten to provide specific action for the on export of the
+	 * keys and the certificate. All selected formats are written in one go into the selected
+	 * directory, the encodings of the keys are computed only once for all formats
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onExport(final ActionEvent actionEvent)
+	{
+		final GenerateKeysModelBean modelObject = getModelObject();
+		final KeyExportPanel panel = new KeyExportPanel(modelObject.getCertificate() != null);
+		final int result = JOptionPane.showConfirmDialog(this, panel, "Export keys",
+			JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+		final Set<KeyExportFormat> formats = panel.getSelectedFormats();
+		if (result != JOptionPane.OK_OPTION || formats.isEmpty())
+		{
+			return;
+		}
+		final char[] password;
+		if (formats.stream().anyMatch(KeyExportFormat::isPasswordRequired))
+		{
+			password = panel.getPasswordPanel().getTxtPassword().getPassword();
+			char[] repeatPassword = panel.getPasswordPanel().getTxtRepeatPassword().getPassword();
+			boolean confirmed = 0 < password.length && Arrays.equals(password, repeatPassword);
+			Arrays.fill(repeatPassword, '\0');
+			if (!confirmed)
+			{
+				Arrays.fill(password, '\0');
+				JOptionPane.showMessageDialog(null, "Entered passwords are not the same.");
+				return;
+			}
+		}
+		else
+		{
+			password = null;
+		}
+		final JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+		if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+		{
+			if (password != null)
+			{
+				Arrays.fill(password, '\0');
+			}
+			return;
+		}
+		final KeyExportRequest keyExportRequest = KeyExportRequest.builder()
+			.keyPair(new KeyPair(modelObject.getPublicKey(), modelObject.getPrivateKey()))
+			.certificate(modelObject.getCertificate()).formats(formats)
+			.directory(fileChooser.getSelectedFile().toPath())
+			.baseName(modelObject.getAlgorithm()
+				+ (modelObject.getKeySize() != null ? "-" + modelObject.getKeySize() : ""))
+			.password(password).build();
+		getCryptographyPanel().getBtnExport().setEnabled(false);
+		new SwingWorker<Void, Void>()
+		{
+			@Override
+			protected Void doInBackground() throws Exception
+			{
+				new KeyPairExporter().export(keyExportRequest);
+				return null;
+			}
+
+			@Override
+			protected void done()
+			{
+				getCryptographyPanel().getBtnExport().setEnabled(true);
+				if (password != null)
+				{
+					Arrays.fill(password, '\0');
+				}
+				try
+				{
+					get();
+				}
+				catch (final InterruptedException exception)
+				{
+					Thread.currentThread().interrupt();
+				}
+				catch (final ExecutionException executionException)
+				{
+					Throwable exception = executionException.getCause();
+					log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+					String title = "Export of keys failed";
+					String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
+						+ "<p> Export of keys failed" + "<p>" + exception.getMessage();
+					DialogExtensions.showExceptionDialog(exception,
+						WizardApplicationFrame.getInstance());
+					throw new RuntimeException(title + "::" + htmlMessage, exception);
+				}
+			}
+		}.execute();
+	}
+
+	/**
+	 * Saves a PKCS#10 certificate signing request of the generated key pair in the PEM format, so
+	 * the certificate can be issued by an external certificate authority. The subject of the
+	 * request is entered in a dialog and the request is signed with the default signature
+	 * algorithm of the key pair
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onSaveCertificateSigningRequest(final ActionEvent actionEvent)
+	{
+		final GenerateKeysModelBean modelObject = getModelObject();
+		if (modelObject.getSubject() == null)
+		{
+			modelObject.setSubject(DistinguishedNameInfoModel.builder().build());
+		}
+		final NewCertificateAttributesPanel panel = new NewCertificateAttributesPanel(
+			BaseModel.of(modelObject.getSubject()));
+		final int result = JOptionPane.showConfirmDialog(this, panel,
+			"Subject of the certificate signing request", JOptionPane.OK_CANCEL_OPTION,
+			JOptionPane.PLAIN_MESSAGE);
+		if (result != JOptionPane.OK_OPTION)
+		{
+			return;
+		}
+		final JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setSelectedFile(new File(modelObject.getAlgorithm() + ".csr"));
+		if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+		{
+			return;
+		}
+		try
+		{
+			PublicKey publicKey = modelObject.getPublicKey();
+			PKCS10CertificationRequest certificateSigningRequest = CertificateSigningRequests
+				.newCertificateSigningRequest(new KeyPair(publicKey, modelObject.getPrivateKey()),
+					modelObject.getSubject(),
+					CertificateSigningRequests.getDefaultSignatureAlgorithm(publicKey));
+			Files.writeString(fileChooser.getSelectedFile().toPath(),
+				CertificateSigningRequests.toPemFormat(certificateSigningRequest),
+				StandardCharsets.US_ASCII);
+		}
+		catch (final Exception exception)
+		{
+			log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+			String title = "Save of certificate signing request failed";
+			String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
+				+ "<p> Save of certificate signing request failed" + "<p>"
+				+ exception.getMessage();
+			DialogExtensions.showExceptionDialog(exception, WizardApplicationFrame.getInstance());
+			throw new RuntimeException(title + "::" + htmlMessage, exception);
+		}
+	}
+
+	/**
+	 * Opens the local certificate authority of a chosen directory or creates a new one if the
+	 * directory contains none. The certificates of the certificate wizard are issued by the
+	 * intermediate of the certificate authority from now on
+	 *
+	 * @param actionEvent
+	 *            the action event
+	 */
+	protected void onLocalCertificateAuthority(final ActionEvent actionEvent)
+	{
+		final JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+		fileChooser.setDialogTitle("Directory of the local certificate authority");
+		if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION)
+		{
+			return;
+		}
+		final Path directory = fileChooser.getSelectedFile().toPath();
+		final boolean exists = LocalCertificateAuthority.exists(directory);
+		final PasswordPanel passwordPanel = new PasswordPanel();
+		final int result = JOptionPane.showConfirmDialog(this, passwordPanel,
+			exists
+				? "Password of the local certificate authority"
+				: "New local certificate authority, leave the password empty for unencrypted keys",
+			JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+		if (result != JOptionPane.OK_OPTION)
+		{
+			return;
+		}
+		final char[] password = passwordPanel.getTxtPassword().getPassword();
+		if (!exists && !Arrays.equals(password,
+			passwordPanel.getTxtRepeatPassword().getPassword()))
+		{
+			JOptionPane.showMessageDialog(null, "Entered passwords are not the same.");
+			return;
+		}
+		getCryptographyPanel().getBtnLocalCa().setEnabled(false);
+		new SwingWorker<LocalCertificateAuthority, Void>()
+		{
+			@Override
+			protected LocalCertificateAuthority doInBackground() throws Exception
+			{
+				return LocalCertificateAuthority.openOrCreate(directory,
+					LocalCertificateAuthority.DEFAULT_NAME,
+					password.length == 0 ? null : password);
+			}
+
+			@Override
+			protected void done()
+			{
+				getCryptographyPanel().getBtnLocalCa().setEnabled(true);
+				Arrays.fill(password, '\0');
+				try
+				{
+					LocalCertificateAuthority certificateAuthority = get();
+					getModelObject().setCertificateAuthority(certificateAuthority);
+					getCryptographyPanel().getBtnLocalCa().setText("Local CA: "
+						+ certificateAuthority.getIntermediate().getCertificate()
+							.getSubjectX500Principal().getName());
+					getCryptographyPanel().getBtnLocalCa()
+						.setToolTipText(certificateAuthority.toSummary());
+				}
+				catch (final InterruptedException exception)
+				{
+					Thread.currentThread().interrupt();
+				}
+				catch (final ExecutionException executionException)
+				{
+					Throwable exception = executionException.getCause();
+					log.log(Level.SEVERE, exception.getLocalizedMessage(), exception);
+					String title = "Opening of local certificate authority failed";
+					String htmlMessage = "<html><body width='350'>" + "<h2>" + title + "</h2>"
+						+ "<p> Password or directory or both are not valid" + "<p>"
+						+ exception.getMessage();
+					DialogExtensions.showExceptionDialog(exception,
+						WizardApplicationFrame.getInstance());
+					throw new RuntimeException(title + "::" + htmlMessage, exception);
+				}
+			}
+		}.execute();
+	}
 }
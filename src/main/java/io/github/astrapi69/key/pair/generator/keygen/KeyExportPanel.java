@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.BorderFactory;
+import javax.swing.JCheckBox;
+import javax.swing.JPanel;
+
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import lombok.Getter;
+
+/**
+ * The {@code KeyExportPanel} class provides the selection of the formats the keys and the
+ * certificate are exported to in one go. The certificate formats can only be selected if a
+ * certificate was created and the password is only needed for the password protected formats
+ */
+@Getter
+public class KeyExportPanel extends JPanel
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The check boxes of the export formats
+	 */
+	private final Map<KeyExportFormat, JCheckBox> formatCheckBoxes = new EnumMap<>(
+		KeyExportFormat.class);
+
+	/**
+	 * The panel for the password of the password protected formats
+	 */
+	private final PasswordPanel passwordPanel = new PasswordPanel();
+
+	/**
+	 * Instantiates a new {@link KeyExportPanel}
+	 *
+	 * @param certificateAvailable
+	 *            the flag if a certificate is available for the certificate formats
+	 */
+	public KeyExportPanel(final boolean certificateAvailable)
+	{
+		super(new GridBagLayout());
+		GridBagConstraints gbc = new GridBagConstraints();
+		gbc.insets = new Insets(2, 5, 2, 5);
+		gbc.anchor = GridBagConstraints.WEST;
+		gbc.gridx = 0;
+		gbc.gridy = 0;
+		for (KeyExportFormat format : KeyExportFormat.values())
+		{
+			JCheckBox checkBox = new JCheckBox(format.getOptionName());
+			checkBox.setToolTipText("Writes the file <name>" + format.getFileSuffix());
+			checkBox.setEnabled(certificateAvailable || !format.isCertificateRequired());
+			checkBox.setSelected(format == KeyExportFormat.PRIVATE_KEY_PEM
+				|| format == KeyExportFormat.PUBLIC_KEY_PEM);
+			checkBox.addActionListener(actionEvent -> onFormatChange());
+			formatCheckBoxes.put(format, checkBox);
+			add(checkBox, gbc);
+			gbc.gridy++;
+		}
+		passwordPanel.setBorder(BorderFactory.createTitledBorder("Password"));
+		add(passwordPanel, gbc);
+		onFormatChange();
+	}
+
+	/**
+	 * Enables the password fields only if a password protected format is selected
+	 */
+	protected void onFormatChange()
+	{
+		boolean passwordRequired = getSelectedFormats().stream()
+			.anyMatch(KeyExportFormat::isPasswordRequired);
+		passwordPanel.getTxtPassword().setEnabled(passwordRequired);
+		passwordPanel.getTxtRepeatPassword().setEnabled(passwordRequired);
+	}
+
+	/**
+	 * Gets the selected export formats
+	 *
+	 * @return the selected export formats
+	 */
+	public Set<KeyExportFormat> getSelectedFormats()
+	{
+		Set<KeyExportFormat> selectedFormats = EnumSet.noneOf(KeyExportFormat.class);
+		formatCheckBoxes.forEach((format, checkBox) -> {
+			if (checkBox.isEnabled() && checkBox.isSelected())
+			{
+				selectedFormats.add(format);
+			}
+		});
+		return selectedFormats;
+	}
+
+}
@@ -0,0 +1,86 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import javax.accessibility.Accessible;
+import javax.swing.JComboBox;
+import javax.swing.plaf.basic.ComboPopup;
+
+/**
+ * The class {@link KeySizeComboBox} is a combobox for the selection of a key size out of a
+ * {@link KeySizeComboBoxModel}. The combobox and the list of its popup are measured with a
+ * prototype key size, so neither the layout nor a change of the key sizes renders the key sizes
+ * one by one. The popup renders only the visible key sizes
+ */
+public class KeySizeComboBox extends JComboBox<Integer>
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The prototype key size for the measurement of the combobox and the cells of its popup, it
+	 * has as many digits as the largest supported key sizes
+	 */
+	public static final Integer PROTOTYPE_KEY_SIZE = 99999;
+
+	/**
+	 * Instantiates a new {@link KeySizeComboBox}
+	 *
+	 * @param model
+	 *            the model of the key sizes
+	 */
+	public KeySizeComboBox(final KeySizeComboBoxModel model)
+	{
+		super(model);
+		setPrototypeDisplayValue(PROTOTYPE_KEY_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public KeySizeComboBoxModel getModel()
+	{
+		return (KeySizeComboBoxModel)super.getModel();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The popup is created by the look and feel, so the fixed cell size of the popup list is set
+	 * again after every change of the look and feel
+	 */
+	@Override
+	public void updateUI()
+	{
+		super.updateUI();
+		Accessible popup = getUI().getAccessibleChild(this, 0);
+		if (popup instanceof ComboPopup)
+		{
+			((ComboPopup)popup).getList().setPrototypeCellValue(PROTOTYPE_KEY_SIZE);
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+import lombok.Getter;
+
+/**
+ * The class {@link KeySizeComboBoxModel} is a combobox model that is backed directly by the runs
+ * of a {@link KeySizeSet}. The key sizes are never copied into a list, an element is only boxed
+ * when the combobox renders or selects it, so switching to an algorithm with thousands of key
+ * sizes like RSA takes constant time and memory. The key sizes are exchanged in place, so the
+ * combobox keeps its model, listeners and renderer on an algorithm switch
+ */
+public class KeySizeComboBoxModel extends AbstractListModel<Integer>
+	implements
+		ComboBoxModel<Integer>
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The key sizes of this model
+	 */
+	@Getter
+	private KeySizeSet keySizes;
+
+	private Integer selectedItem;
+
+	/**
+	 * Instantiates a new {@link KeySizeComboBoxModel}
+	 *
+	 * @param keySizes
+	 *            the key sizes
+	 * @param selectedItem
+	 *            the initial selected key size, if it is not contained in the key sizes the first
+	 *            key size is selected
+	 */
+	public KeySizeComboBoxModel(final KeySizeSet keySizes, final Integer selectedItem)
+	{
+		this.keySizes = keySizes;
+		this.selectedItem = resolveSelectedItem(keySizes, selectedItem);
+	}
+
+	/**
+	 * Exchanges the key sizes of this model. The selected key size is kept if it is contained in
+	 * the new key sizes, otherwise the first key size is selected
+	 *
+	 * @param keySizes
+	 *            the new key sizes
+	 */
+	public void setKeySizes(final KeySizeSet keySizes)
+	{
+		int previousSize = this.keySizes.size();
+		Integer previousSelectedItem = selectedItem;
+		this.keySizes = keySizes;
+		this.selectedItem = resolveSelectedItem(keySizes, previousSelectedItem);
+		// one contents change instead of interval events, the list selection models of the
+		// listeners shift their selection bits element by element on interval events
+		int maxSize = Math.max(previousSize, keySizes.size());
+		if (0 < maxSize)
+		{
+			fireContentsChanged(this, 0, maxSize - 1);
+		}
+		if (previousSelectedItem == null ? selectedItem != null
+			: !previousSelectedItem.equals(selectedItem))
+		{
+			fireContentsChanged(this, -1, -1);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getSize()
+	{
+		return keySizes.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer getElementAt(final int index)
+	{
+		return keySizes.get(index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getSelectedItem()
+	{
+		return selectedItem;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setSelectedItem(final Object item)
+	{
+		if (item instanceof Integer && keySizes.contains(item) && !item.equals(selectedItem))
+		{
+			selectedItem = (Integer)item;
+			fireContentsChanged(this, -1, -1);
+		}
+	}
+
+	private static Integer resolveSelectedItem(final KeySizeSet keySizes, final Integer keySize)
+	{
+		if (keySize != null && keySizes.contains(keySize.intValue()))
+		{
+			return keySize;
+		}
+		return keySizes.isEmpty() ? null : keySizes.get(0);
+	}
+
+}
@@ -24,6 +24,13 @@
  */
 package io.github.astrapi69.key.pair.generator.keygen;
 
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.SwingWorker;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import io.github.astrapi69.key.pair.generator.cache.PbeCalibration;
 import io.github.astrapi69.model.BaseModel;
 import io.github.astrapi69.model.api.IModel;
 import io.github.astrapi69.swing.base.BasePanel;
@@ -38,6 +45,10 @@ public class PasswordPanel extends BasePanel<PasswordBean>
 	private javax.swing.JLabel lblRepeatPassword;
 	private javax.swing.JPasswordField txtPassword;
 	private javax.swing.JPasswordField txtRepeatPassword;
+	/**
+	 * The label with the strength of the password and the time of the key derivation
+	 */
+	private javax.swing.JLabel lblStrength;
 
 	public PasswordPanel()
 	{
@@ -57,10 +68,80 @@ public class PasswordPanel extends BasePanel<PasswordBean>
 		txtPassword = new javax.swing.JPasswordField();
 		lblRepeatPassword = new javax.swing.JLabel();
 		txtRepeatPassword = new javax.swing.JPasswordField();
+		lblStrength = new javax.swing.JLabel();
 
 		lblPassword.setText("Password");
 
 		lblRepeatPassword.setText("Repeat password");
+
+		txtPassword.getDocument().addDocumentListener(new DocumentListener()
+		{
+			@Override
+			public void insertUpdate(final DocumentEvent documentEvent)
+			{
+				onPasswordChange();
+			}
+
+			@Override
+			public void removeUpdate(final DocumentEvent documentEvent)
+			{
+				onPasswordChange();
+			}
+
+			@Override
+			public void changedUpdate(final DocumentEvent documentEvent)
+			{
+				onPasswordChange();
+			}
+		});
+		if (PbeCalibration.getInstance().isCalibrated())
+		{
+			onPasswordChange();
+		}
+		else
+		{
+			// the throughput of the key derivation is measured once per host
+			lblStrength.setText("Calibrating key derivation...");
+			new SwingWorker<Long, Void>()
+			{
+				@Override
+				protected Long doInBackground()
+				{
+					return PbeCalibration.getInstance().getIterationsPerSecond();
+				}
+
+				@Override
+				protected void done()
+				{
+					try
+					{
+						get();
+						onPasswordChange();
+					}
+					catch (InterruptedException exception)
+					{
+						Thread.currentThread().interrupt();
+					}
+					catch (ExecutionException exception)
+					{
+						lblStrength.setText("Calibration of key derivation failed");
+					}
+				}
+			}.execute();
+		}
+	}
+
+	/**
+	 * Updates the strength of the entered password and the time of the calibrated key derivation
+	 */
+	protected void onPasswordChange()
+	{
+		PbeCalibration pbeCalibration = PbeCalibration.getInstance();
+		if (pbeCalibration.isCalibrated())
+		{
+			lblStrength.setText(
+				PasswordStrength.of(txtPassword.getPassword(), pbeCalibration).toText());
+		}
 	}
 
 	@Override
@@ -85,7 +166,8 @@ public class PasswordPanel extends BasePanel<PasswordBean>
 								200, javax.swing.GroupLayout.PREFERRED_SIZE)
 							.addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
 							.addComponent(txtRepeatPassword, javax.swing.GroupLayout.PREFERRED_SIZE,
-								260, javax.swing.GroupLayout.PREFERRED_SIZE)))
+								260, javax.swing.GroupLayout.PREFERRED_SIZE))
+						.addComponent(lblStrength))
 					.addContainerGap(18, Short.MAX_VALUE)));
 		layout
 			.setVerticalGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -101,6 +183,7 @@ public class PasswordPanel extends BasePanel<PasswordBean>
 							javax.swing.GroupLayout.PREFERRED_SIZE,
 							javax.swing.GroupLayout.DEFAULT_SIZE,
 							javax.swing.GroupLayout.PREFERRED_SIZE))
+					.addGap(18, 18, 18).addComponent(lblStrength)
 					.addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)));
 	}
 
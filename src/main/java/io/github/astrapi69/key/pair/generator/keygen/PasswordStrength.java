@@ -0,0 +1,146 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import io.github.astrapi69.key.pair.generator.cache.PbeCalibration;
+import lombok.Value;
+
+/**
+ * The class {@link PasswordStrength} estimates the strength of a password that protects a private
+ * key together with the calibrated key derivation. The entropy of the password is estimated from
+ * its length and the character classes it uses, the key derivation adds the binary logarithm of
+ * its iteration count, as every guess of an attacker costs that many iterations
+ */
+@Value
+public class PasswordStrength
+{
+
+	/**
+	 * The estimated entropy of the password in bits
+	 */
+	int passwordBits;
+
+	/**
+	 * The iteration count of the key derivation
+	 */
+	int iterationCount;
+
+	/**
+	 * The estimated time of one key derivation on this host in milliseconds
+	 */
+	long derivationMillis;
+
+	/**
+	 * Estimates the strength of the given password with the calibrated key derivation of the given
+	 * {@link PbeCalibration}
+	 *
+	 * @param password
+	 *            the password
+	 * @param pbeCalibration
+	 *            the calibration of the key derivation
+	 * @return the new {@link PasswordStrength}
+	 */
+	public static PasswordStrength of(final char[] password, final PbeCalibration pbeCalibration)
+	{
+		int iterationCount = pbeCalibration.getIterationCount();
+		return new PasswordStrength(estimatePasswordBits(password), iterationCount,
+			pbeCalibration.estimateMillis(iterationCount));
+	}
+
+	/**
+	 * Estimates the entropy of the given password from its length and the size of the alphabet of
+	 * the character classes it uses
+	 *
+	 * @param password
+	 *            the password
+	 * @return the estimated entropy in bits
+	 */
+	public static int estimatePasswordBits(final char[] password)
+	{
+		boolean lowerCase = false;
+		boolean upperCase = false;
+		boolean digit = false;
+		boolean other = false;
+		for (char character : password)
+		{
+			if ('a' <= character && character <= 'z')
+			{
+				lowerCase = true;
+			}
+			else if ('A' <= character && character <= 'Z')
+			{
+				upperCase = true;
+			}
+			else if ('0' <= character && character <= '9')
+			{
+				digit = true;
+			}
+			else
+			{
+				other = true;
+			}
+		}
+		int alphabetSize = (lowerCase ? 26 : 0) + (upperCase ? 26 : 0) + (digit ? 10 : 0)
+			+ (other ? 33 : 0);
+		if (alphabetSize == 0)
+		{
+			return 0;
+		}
+		return (int)Math.floor(password.length * Math.log(alphabetSize) / Math.log(2));
+	}
+
+	/**
+	 * Gets the bits that the key derivation adds to the strength of the password
+	 *
+	 * @return the bits of the key derivation
+	 */
+	public int getDerivationBits()
+	{
+		return 31 - Integer.numberOfLeadingZeros(iterationCount);
+	}
+
+	/**
+	 * Gets the effective strength of the password and the key derivation in bits
+	 *
+	 * @return the effective strength in bits
+	 */
+	public int getEffectiveBits()
+	{
+		return passwordBits + getDerivationBits();
+	}
+
+	/**
+	 * Gets the text of the strength for the password panel
+	 *
+	 * @return the text of the strength
+	 */
+	public String toText()
+	{
+		return String.format("Strength: %d bits (password %d + key derivation %d), %,d iterations, "
+			+ "about %d ms", getEffectiveBits(), passwordBits, getDerivationBits(), iterationCount,
+			derivationMillis);
+	}
+
+}
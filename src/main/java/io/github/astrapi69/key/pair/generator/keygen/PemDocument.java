@@ -0,0 +1,315 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.openssl.MiscPEMGenerator;
+import org.bouncycastle.util.io.pem.PemObject;
+
+import io.github.astrapi69.crypt.api.key.PemType;
+import io.github.astrapi69.crypt.data.key.PrivateKeyExtensions;
+import lombok.Getter;
+
+/**
+ * The class {@link PemDocument} is a read only text document of a key in the PEM format that is
+ * rendered lazily from the encoded key. Only the encoded bytes are held in memory, the base64
+ * lines are encoded on demand when a view renders or reads them, so even the PEM of a RSA 16384
+ * key is never built as one string. The text of a private key is identical to the exported PEM
+ * of the {@link io.github.astrapi69.key.pair.generator.export.KeyPairExporter}, that is
+ * {@link PrivateKeyExtensions#toPemFormat(PrivateKey)} for RSA and EC keys, and the text of a
+ * public key is identical to
+ * {@link io.github.astrapi69.crypt.data.key.PublicKeyExtensions#toPemFormat(PublicKey)}, both
+ * with the line separator of swing text documents
+ */
+public class PemDocument extends PlainDocument
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The number of base64 characters of a PEM line
+	 */
+	public static final int LINE_LENGTH = 64;
+
+	/**
+	 * The number of encoded bytes of a PEM line
+	 */
+	private static final int BYTES_PER_LINE = LINE_LENGTH / 4 * 3;
+
+	/**
+	 * The PEM type of this document, for instance {@code RSA PRIVATE KEY}
+	 */
+	@Getter
+	private final String type;
+
+	private final PemContent pemContent;
+
+	/**
+	 * Instantiates a new {@link PemDocument}
+	 *
+	 * @param type
+	 *            the PEM type, for instance {@code PUBLIC KEY}
+	 * @param encoded
+	 *            the encoded bytes
+	 */
+	public PemDocument(final String type, final byte[] encoded)
+	{
+		this(new PemContent(type, encoded));
+	}
+
+	private PemDocument(final PemContent pemContent)
+	{
+		super(pemContent);
+		this.type = pemContent.type;
+		this.pemContent = pemContent;
+		initializeLines();
+	}
+
+	/**
+	 * Factory method for create a new {@link PemDocument} of the given private key. RSA, EC and
+	 * DSA keys are rendered in their traditional OpenSSL structure and all other keys like
+	 * Ed25519, X25519 or Diffie-Hellman keys in the PKCS#8 structure
+	 *
+	 * @param privateKey
+	 *            the private key
+	 * @return the new {@link PemDocument}
+	 * @throws IOException
+	 *             if the private key can not be converted to its PEM structure
+	 */
+	public static PemDocument of(final PrivateKey privateKey) throws IOException
+	{
+		PemObject pemObject = new MiscPEMGenerator(
+			PrivateKeyInfo.getInstance(privateKey.getEncoded())).generate();
+		return new PemDocument(pemObject.getType(), pemObject.getContent());
+	}
+
+	/**
+	 * Factory method for create a new {@link PemDocument} of the given public key
+	 *
+	 * @param publicKey
+	 *            the public key
+	 * @return the new {@link PemDocument}
+	 */
+	public static PemDocument of(final PublicKey publicKey)
+	{
+		return new PemDocument(PemType.PUBLIC_KEY.getName(), publicKey.getEncoded());
+	}
+
+	/**
+	 * Writes the PEM text of this document line by line to the given writer without building the
+	 * whole text
+	 *
+	 * @param writer
+	 *            the writer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void writeTo(final Writer writer) throws IOException
+	{
+		writer.write(pemContent.header);
+		for (int line = 0; line < pemContent.lineCount; line++)
+		{
+			writer.write(pemContent.encodeLine(line));
+		}
+		writer.write(pemContent.footer);
+		writer.flush();
+	}
+
+	private void initializeLines()
+	{
+		writeLock();
+		try
+		{
+			BranchElement root = (BranchElement)getDefaultRootElement();
+			Element[] lines = new Element[pemContent.lineCount + 3];
+			int start = 0;
+			lines[0] = createLeafElement(root, null, start, start += pemContent.header.length());
+			for (int line = 0; line < pemContent.lineCount; line++)
+			{
+				lines[line + 1] = createLeafElement(root, null, start,
+					start += pemContent.getLineLength(line));
+			}
+			lines[lines.length - 2] = createLeafElement(root, null, start,
+				start += pemContent.footer.length());
+			lines[lines.length - 1] = createLeafElement(root, null, start, start + 1);
+			root.replace(0, root.getElementCount(), lines);
+		}
+		finally
+		{
+			writeUnlock();
+		}
+	}
+
+	/**
+	 * The read only content of a {@link PemDocument}, a character is taken from the header, the
+	 * footer or from the base64 encoding of its line of the encoded bytes
+	 */
+	private static final class PemContent implements AbstractDocument.Content
+	{
+
+		private final String type;
+
+		private final String header;
+
+		private final String footer;
+
+		private final byte[] encoded;
+
+		private final int lineCount;
+
+		private final int bodyLength;
+
+		private final int length;
+
+		private PemContent(final String type, final byte[] encoded)
+		{
+			this.type = type;
+			this.header = "-----BEGIN " + type + "-----\n";
+			this.footer = "-----END " + type + "-----\n";
+			this.encoded = encoded.clone();
+			this.lineCount = (encoded.length + BYTES_PER_LINE - 1) / BYTES_PER_LINE;
+			this.bodyLength = lineCount == 0
+				? 0
+				: (lineCount - 1) * (LINE_LENGTH + 1) + getLineLength(lineCount - 1);
+			// the content of a swing document ends with an implied line separator
+			this.length = header.length() + bodyLength + footer.length() + 1;
+		}
+
+		private int getLineLength(final int line)
+		{
+			int bytes = Math.min(BYTES_PER_LINE, encoded.length - line * BYTES_PER_LINE);
+			return (bytes + 2) / 3 * 4 + 1;
+		}
+
+		private String encodeLine(final int line)
+		{
+			int offset = line * BYTES_PER_LINE;
+			ByteBuffer base64 = Base64.getEncoder().encode(ByteBuffer.wrap(encoded, offset,
+				Math.min(BYTES_PER_LINE, encoded.length - offset)));
+			return StandardCharsets.US_ASCII.decode(base64) + "\n";
+		}
+
+		private int read(final int where, final char[] target, final int targetIndex,
+			final int count)
+		{
+			int bodyStart = header.length();
+			int footerStart = bodyStart + bodyLength;
+			if (where < bodyStart)
+			{
+				int read = Math.min(count, bodyStart - where);
+				header.getChars(where, where + read, target, targetIndex);
+				return read;
+			}
+			if (where < footerStart)
+			{
+				int line = (where - bodyStart) / (LINE_LENGTH + 1);
+				int column = (where - bodyStart) % (LINE_LENGTH + 1);
+				String lineText = encodeLine(line);
+				int read = Math.min(count, lineText.length() - column);
+				lineText.getChars(column, column + read, target, targetIndex);
+				return read;
+			}
+			if (where < footerStart + footer.length())
+			{
+				int column = where - footerStart;
+				int read = Math.min(count, footer.length() - column);
+				footer.getChars(column, column + read, target, targetIndex);
+				return read;
+			}
+			target[targetIndex] = '\n';
+			return 1;
+		}
+
+		@Override
+		public Position createPosition(final int offset)
+		{
+			return () -> offset;
+		}
+
+		@Override
+		public int length()
+		{
+			return length;
+		}
+
+		@Override
+		public UndoableEdit insertString(final int where, final String str)
+			throws BadLocationException
+		{
+			throw new BadLocationException("The PEM document is read only", where);
+		}
+
+		@Override
+		public UndoableEdit remove(final int where, final int nitems) throws BadLocationException
+		{
+			throw new BadLocationException("The PEM document is read only", where);
+		}
+
+		@Override
+		public String getString(final int where, final int len) throws BadLocationException
+		{
+			Segment segment = new Segment();
+			getChars(where, len, segment);
+			return segment.toString();
+		}
+
+		@Override
+		public void getChars(final int where, final int len, final Segment txt)
+			throws BadLocationException
+		{
+			if (where < 0 || len < 0 || length < where + len)
+			{
+				throw new BadLocationException("Invalid range of the PEM document", where + len);
+			}
+			char[] chars = new char[len];
+			int index = 0;
+			while (index < len)
+			{
+				index += read(where + index, chars, index, len - index);
+			}
+			txt.array = chars;
+			txt.offset = 0;
+			txt.count = len;
+		}
+
+	}
+
+}
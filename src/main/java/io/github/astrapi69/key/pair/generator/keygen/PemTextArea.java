@@ -0,0 +1,64 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import javax.swing.JTextArea;
+
+/**
+ * The class {@link PemTextArea} is a text area that shows a key as a lazily rendered
+ * {@link PemDocument}. Setting a plain text, for instance a status message, replaces the read only
+ * {@link PemDocument} with a new default document
+ */
+public class PemTextArea extends JTextArea
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Shows the given {@link PemDocument} in this text area
+	 *
+	 * @param pemDocument
+	 *            the PEM document to show
+	 */
+	public void setPemDocument(final PemDocument pemDocument)
+	{
+		setDocument(pemDocument);
+		setCaretPosition(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setText(final String text)
+	{
+		if (getDocument() instanceof PemDocument)
+		{
+			setDocument(createDefaultModel());
+		}
+		super.setText(text);
+	}
+
+}
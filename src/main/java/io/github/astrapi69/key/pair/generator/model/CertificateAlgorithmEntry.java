@@ -27,6 +27,7 @@ package io.github.astrapi69.key.pair.generator.model;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import io.github.astrapi69.collection.list.SortedUniqueList;
 import lombok.AccessLevel;
@@ -66,16 +67,26 @@ public class CertificateAlgorithmEntry
 	public static Map<String, SortedUniqueList<String>> newSignatureAlgorithmMap(
 		List<CertificateAlgorithmEntry> entries)
 	{
-		Map<String, SortedUniqueList<String>> algorithmMap = new LinkedHashMap<>();
+		return newSignatureAlgorithmMap(entries.stream());
+	}
 
-		for (CertificateAlgorithmEntry entry : entries)
-		{
-			String keyPairAlgorithm = entry.getKeyPairAlgorithm();
-			String signatureAlgorithm = entry.getSignatureAlgorithm();
+	/**
+	 * Creates a map of key-pair algorithms to sorted unique lists of corresponding signature
+	 * algorithms from the given stream, so the entries have not to be collected before
+	 *
+	 * @param entries
+	 *            the stream of {@link CertificateAlgorithmEntry} entries
+	 * @return a map where the key is the key-pair algorithm and the value is a
+	 *         {@link SortedUniqueList} of corresponding signature algorithms
+	 */
+	public static Map<String, SortedUniqueList<String>> newSignatureAlgorithmMap(
+		Stream<CertificateAlgorithmEntry> entries)
+	{
+		Map<String, SortedUniqueList<String>> algorithmMap = new LinkedHashMap<>();
 
-			algorithmMap.computeIfAbsent(keyPairAlgorithm, k -> new SortedUniqueList<>())
-				.add(signatureAlgorithm);
-		}
+		entries.forEachOrdered(entry -> algorithmMap
+			.computeIfAbsent(entry.getKeyPairAlgorithm(), k -> new SortedUniqueList<>())
+			.add(entry.getSignatureAlgorithm()));
 		return algorithmMap;
 	}
 }
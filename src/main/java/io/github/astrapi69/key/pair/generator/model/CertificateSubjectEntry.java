@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.model;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * The class {@link CertificateSubjectEntry} represents one row of a csv file for the bulk
+ * issuance of certificates. The values are kept as they are in the csv file, so an invalid value
+ * fails only the issuance of its row. Empty values are replaced with the defaults of the batch run
+ */
+@Data
+@SuperBuilder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CertificateSubjectEntry
+{
+
+	/**
+	 * The number of the row in the csv file
+	 */
+	long rowNumber;
+
+	/**
+	 * The common name of the subject
+	 */
+	@Builder.Default
+	String commonName = "";
+
+	/**
+	 * The country code of the subject
+	 */
+	@Builder.Default
+	String countryCode = "";
+
+	/**
+	 * The location of the subject
+	 */
+	@Builder.Default
+	String location = "";
+
+	/**
+	 * The organisation of the subject
+	 */
+	@Builder.Default
+	String organisation = "";
+
+	/**
+	 * The organisation unit of the subject
+	 */
+	@Builder.Default
+	String organisationUnit = "";
+
+	/**
+	 * The state of the subject
+	 */
+	@Builder.Default
+	String state = "";
+
+	/**
+	 * The subject alternative names separated with a semicolon, for instance
+	 * {@code DNS:example.com;DNS:www.example.com}
+	 */
+	@Builder.Default
+	String subjectAlternativeNames = "";
+
+	/**
+	 * The validity of the certificate in days
+	 */
+	@Builder.Default
+	String validityDays = "";
+
+	/**
+	 * The key pair algorithm
+	 */
+	@Builder.Default
+	String keyPairAlgorithm = "";
+
+	/**
+	 * The key size
+	 */
+	@Builder.Default
+	String keySize = "";
+
+	/**
+	 * The signature algorithm
+	 */
+	@Builder.Default
+	String signatureAlgorithm = "";
+
+	/**
+	 * The additional extensions separated with a semicolon in the format
+	 * {@code oid|critical|value}
+	 */
+	@Builder.Default
+	String extensions = "";
+
+}
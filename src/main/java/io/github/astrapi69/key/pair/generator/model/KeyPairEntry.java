@@ -3,8 +3,10 @@ package io.github.astrapi69.key.pair.generator.model;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
-import io.github.astrapi69.collection.list.SortedUniqueList;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NonNull;
@@ -30,27 +32,43 @@ public class KeyPairEntry
 
 
 	/**
-	 * Creates a map of key-pair algorithms to sorted unique lists of corresponding signature
-	 * algorithms
+	 * Creates a map of key-pair algorithms to the range compressed sets of their key sizes
 	 *
 	 * @param entries
-	 *            the list of {@link CertificateAlgorithmEntry} entries
-	 * @return a map where the key is the key-pair algorithm and the value is a
-	 *         {@link SortedUniqueList} of corresponding signature algorithms
+	 *            the list of {@link KeyPairEntry} entries
+	 * @return a map where the key is the key-pair algorithm and the value is a {@link KeySizeSet}
+	 *         of the corresponding key sizes
 	 */
-	public static Map<String, SortedUniqueList<Integer>> newAlgorithmToKeySizeMap(
-		List<KeyPairEntry> entries)
+	public static Map<String, KeySizeSet> newAlgorithmToKeySizeMap(List<KeyPairEntry> entries)
 	{
-		Map<String, SortedUniqueList<Integer>> algorithmMap = new LinkedHashMap<>();
+		return newAlgorithmToKeySizeMap(entries.stream());
+	}
 
-		for (KeyPairEntry entry : entries)
-		{
-			String keyPairAlgorithm = entry.getAlgorithm();
-			Integer entryKeySize = entry.getKeySize();
+	/**
+	 * Creates a map of key-pair algorithms to the range compressed sets of their key sizes from
+	 * the given stream, so the entries have not to be collected before
+	 *
+	 * @param entries
+	 *            the stream of {@link KeyPairEntry} entries
+	 * @return a map where the key is the key-pair algorithm and the value is a {@link KeySizeSet}
+	 *         of the corresponding key sizes
+	 */
+	public static Map<String, KeySizeSet> newAlgorithmToKeySizeMap(Stream<KeyPairEntry> entries)
+	{
+		// only the distinct key sizes are held while the entries are consumed
+		Map<String, Set<Integer>> algorithmToKeySizes = new LinkedHashMap<>();
 
-			algorithmMap.computeIfAbsent(keyPairAlgorithm, k -> new SortedUniqueList<>())
-				.add(entryKeySize);
-		}
+		entries.forEachOrdered(entry -> {
+			Set<Integer> keySizes = algorithmToKeySizes
+				.computeIfAbsent(entry.getAlgorithm(), k -> new TreeSet<>());
+			if (entry.getKeySize() != null)
+			{
+				keySizes.add(entry.getKeySize());
+			}
+		});
+		Map<String, KeySizeSet> algorithmMap = new LinkedHashMap<>();
+		algorithmToKeySizes
+			.forEach((algorithm, keySizes) -> algorithmMap.put(algorithm, KeySizeSet.of(keySizes)));
 		return algorithmMap;
 	}
 }
@@ -0,0 +1,497 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.model;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * The class {@link KeySizeSet} is an immutable, sorted and unique collection of key sizes that
+ * stores contiguous key sizes as runs of start, step and count instead of boxed integers. For
+ * instance all RSA key sizes from 512 to 16384 are stored as one single run. Index access and
+ * membership checks are done with a binary search over the runs and the elements are only boxed
+ * on demand while iterating
+ */
+public final class KeySizeSet extends AbstractList<Integer> implements RandomAccess, Serializable
+{
+
+	/**
+	 * The empty {@link KeySizeSet}
+	 */
+	public static final KeySizeSet EMPTY = new KeySizeSet(new int[0], new int[0], new int[1]);
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The first key size of each run
+	 */
+	private final int[] starts;
+
+	/**
+	 * The distance between two key sizes of each run
+	 */
+	private final int[] steps;
+
+	/**
+	 * The index of the first key size of each run, the last entry is the size of this set
+	 */
+	private final int[] offsets;
+
+	private KeySizeSet(final int[] starts, final int[] steps, final int[] offsets)
+	{
+		this.starts = starts;
+		this.steps = steps;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * Factory method for create a new {@link KeySizeSet} from the given key sizes in any order
+	 *
+	 * @param keySizes
+	 *            the key sizes
+	 * @return the new {@link KeySizeSet}
+	 */
+	public static KeySizeSet of(final int... keySizes)
+	{
+		int[] sorted = keySizes.clone();
+		Arrays.sort(sorted);
+		Builder builder = builder();
+		for (int keySize : sorted)
+		{
+			builder.add(keySize);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Factory method for create a new {@link KeySizeSet} from the given collection of key sizes in
+	 * any order, null values are ignored
+	 *
+	 * @param keySizes
+	 *            the key sizes
+	 * @return the new {@link KeySizeSet}
+	 */
+	public static KeySizeSet of(final Collection<Integer> keySizes)
+	{
+		if (keySizes instanceof KeySizeSet)
+		{
+			return (KeySizeSet)keySizes;
+		}
+		return of(keySizes.stream().filter(keySize -> keySize != null)
+			.mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * Factory method for create a new {@link Builder} for a {@link KeySizeSet}
+	 *
+	 * @return the new {@link Builder}
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer get(final int index)
+	{
+		return getKeySize(index);
+	}
+
+	/**
+	 * Gets the key size at the given index without boxing
+	 *
+	 * @param index
+	 *            the index
+	 * @return the key size at the given index
+	 */
+	public int getKeySize(final int index)
+	{
+		if (index < 0 || index >= size())
+		{
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		}
+		int run = findRunOfIndex(index);
+		return starts[run] + (index - offsets[run]) * steps[run];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size()
+	{
+		return offsets[offsets.length - 1];
+	}
+
+	/**
+	 * Gets the number of runs this set is stored with
+	 *
+	 * @return the number of runs
+	 */
+	public int getRunCount()
+	{
+		return starts.length;
+	}
+
+	/**
+	 * Checks if the given key size is contained in this set
+	 *
+	 * @param keySize
+	 *            the key size
+	 * @return true if the given key size is contained otherwise false
+	 */
+	public boolean contains(final int keySize)
+	{
+		return indexOf(keySize) >= 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(final Object object)
+	{
+		return indexOf(object) >= 0;
+	}
+
+	/**
+	 * Gets the index of the given key size
+	 *
+	 * @param keySize
+	 *            the key size
+	 * @return the index of the given key size or -1 if it is not contained
+	 */
+	public int indexOf(final int keySize)
+	{
+		int low = 0;
+		int high = starts.length - 1;
+		int run = -1;
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+			if (starts[middle] <= keySize)
+			{
+				run = middle;
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+		if (run < 0)
+		{
+			return -1;
+		}
+		int distance = keySize - starts[run];
+		int count = offsets[run + 1] - offsets[run];
+		if (distance % steps[run] != 0 || count <= distance / steps[run])
+		{
+			return -1;
+		}
+		return offsets[run] + distance / steps[run];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int indexOf(final Object object)
+	{
+		return object instanceof Integer ? indexOf(((Integer)object).intValue()) : -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int lastIndexOf(final Object object)
+	{
+		return indexOf(object);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<Integer> iterator()
+	{
+		return new Iterator<>()
+		{
+			int run = 0;
+			int index = 0;
+
+			@Override
+			public boolean hasNext()
+			{
+				return index < size();
+			}
+
+			@Override
+			public Integer next()
+			{
+				if (!hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+				while (offsets[run + 1] <= index)
+				{
+					run++;
+				}
+				return starts[run] + (index++ - offsets[run]) * steps[run];
+			}
+		};
+	}
+
+	/**
+	 * Factory method for create a new {@link KeySizeSet} from the given runs in the format of
+	 * {@link #toRunString()}
+	 *
+	 * @param runs
+	 *            the runs in the format {@code start:step:count;...}
+	 * @return the new {@link KeySizeSet}
+	 * @throws IllegalArgumentException
+	 *             if the given runs are not valid
+	 */
+	public static KeySizeSet parseRuns(final String runs)
+	{
+		Builder builder = builder();
+		for (String run : runs.split(";"))
+		{
+			if (run.isEmpty())
+			{
+				continue;
+			}
+			String[] values = run.split(":");
+			if (values.length != 3)
+			{
+				throw new IllegalArgumentException("Invalid run: " + run);
+			}
+			builder.addRun(Integer.parseInt(values[0]), Integer.parseInt(values[1]),
+				Integer.parseInt(values[2]));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Gets the runs of this set in the format {@code start:step:count;...} that can be parsed with
+	 * {@link #parseRuns(String)}
+	 *
+	 * @return the runs of this set
+	 */
+	public String toRunString()
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int run = 0; run < starts.length; run++)
+		{
+			if (0 < run)
+			{
+				sb.append(';');
+			}
+			sb.append(starts[run]).append(':').append(steps[run]).append(':')
+				.append(offsets[run + 1] - offsets[run]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder("[");
+		for (int run = 0; run < starts.length; run++)
+		{
+			if (0 < run)
+			{
+				sb.append(", ");
+			}
+			int count = offsets[run + 1] - offsets[run];
+			sb.append(starts[run]);
+			if (1 < count)
+			{
+				sb.append("..").append(starts[run] + (count - 1) * steps[run]);
+				if (steps[run] != 1)
+				{
+					sb.append(" step ").append(steps[run]);
+				}
+			}
+		}
+		return sb.append("]").toString();
+	}
+
+	private int findRunOfIndex(final int index)
+	{
+		int low = 0;
+		int high = starts.length - 1;
+		while (low < high)
+		{
+			int middle = (low + high + 1) >>> 1;
+			if (offsets[middle] <= index)
+			{
+				low = middle;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * The class {@link Builder} builds a {@link KeySizeSet} from key sizes or runs of key sizes
+	 * that have to be added in ascending order
+	 */
+	public static final class Builder
+	{
+		private int[] starts = new int[4];
+		private int[] steps = new int[4];
+		private int[] counts = new int[4];
+		private int runCount;
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Adds the given key size, that have to be greater or equal than the last added key size.
+		 * Equal key sizes are ignored
+		 *
+		 * @param keySize
+		 *            the key size
+		 * @return this {@link Builder}
+		 */
+		public Builder add(final int keySize)
+		{
+			if (runCount == 0)
+			{
+				return newRun(keySize, 1, 1);
+			}
+			int last = runCount - 1;
+			int lastKeySize = starts[last] + (counts[last] - 1) * steps[last];
+			if (keySize == lastKeySize)
+			{
+				return this;
+			}
+			if (keySize < lastKeySize)
+			{
+				throw new IllegalArgumentException("Key sizes have to be added in ascending order: "
+					+ keySize + " after " + lastKeySize);
+			}
+			if (counts[last] == 1)
+			{
+				steps[last] = keySize - lastKeySize;
+				counts[last] = 2;
+				return this;
+			}
+			if (keySize - lastKeySize == steps[last])
+			{
+				counts[last]++;
+				return this;
+			}
+			return newRun(keySize, 1, 1);
+		}
+
+		/**
+		 * Adds a run of key sizes, the start of the run have to be greater than the last added key
+		 * size
+		 *
+		 * @param start
+		 *            the first key size of the run
+		 * @param step
+		 *            the distance between two key sizes of the run
+		 * @param count
+		 *            the number of key sizes of the run
+		 * @return this {@link Builder}
+		 */
+		public Builder addRun(final int start, final int step, final int count)
+		{
+			if (count < 1 || step < 1)
+			{
+				throw new IllegalArgumentException(
+					"Invalid run with step " + step + " and count " + count);
+			}
+			if (0 < runCount)
+			{
+				int last = runCount - 1;
+				int lastKeySize = starts[last] + (counts[last] - 1) * steps[last];
+				if (start <= lastKeySize)
+				{
+					throw new IllegalArgumentException(
+						"Runs have to be added in ascending order: " + start + " after "
+							+ lastKeySize);
+				}
+			}
+			return newRun(start, step, count);
+		}
+
+		private Builder newRun(final int start, final int step, final int count)
+		{
+			if (runCount == starts.length)
+			{
+				starts = Arrays.copyOf(starts, runCount * 2);
+				steps = Arrays.copyOf(steps, runCount * 2);
+				counts = Arrays.copyOf(counts, runCount * 2);
+			}
+			starts[runCount] = start;
+			steps[runCount] = step;
+			counts[runCount] = count;
+			runCount++;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link KeySizeSet}
+		 *
+		 * @return the new {@link KeySizeSet}
+		 */
+		public KeySizeSet build()
+		{
+			if (runCount == 0)
+			{
+				return EMPTY;
+			}
+			int[] offsets = new int[runCount + 1];
+			for (int run = 0; run < runCount; run++)
+			{
+				offsets[run + 1] = offsets[run] + counts[run];
+			}
+			return new KeySizeSet(Arrays.copyOf(starts, runCount), Arrays.copyOf(steps, runCount),
+				offsets);
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.astrapi69.key.pair.generator.batch.LatencyStatistics;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * The class {@link StageMetrics} records the metrics of one stage of a {@link StagedPipeline} in a
+ * thread safe way. The latencies are the processing times of the items in the stage, the queue
+ * depth is sampled every time an item is put into the input queue of the stage and the blocked
+ * time is the time the stage waited for free space in the queue of the next stage
+ */
+@Getter
+public class StageMetrics
+{
+
+	/**
+	 * The name of the stage
+	 */
+	private final String name;
+
+	/**
+	 * The number of the worker threads of the stage
+	 */
+	private final int threads;
+
+	/**
+	 * The capacity of the input queue of the stage
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * The processing times of the items in the stage
+	 */
+	private final LatencyStatistics latencies = new LatencyStatistics();
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder processed = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder failed = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder queueDepthSum = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder queueDepthSamples = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder blockedNanos = new LongAdder();
+
+	StageMetrics(final String name, final int threads, final int queueCapacity)
+	{
+		this.name = name;
+		this.threads = threads;
+		this.queueCapacity = queueCapacity;
+	}
+
+	void recordProcessed(final long latencyNanos)
+	{
+		processed.increment();
+		latencies.record(latencyNanos);
+	}
+
+	void recordFailed()
+	{
+		failed.increment();
+	}
+
+	void recordQueueDepth(final int queueDepth)
+	{
+		queueDepthSum.add(queueDepth);
+		queueDepthSamples.increment();
+		maxQueueDepth.accumulate(queueDepth);
+	}
+
+	void recordBlocked(final long nanos)
+	{
+		blockedNanos.add(nanos);
+	}
+
+	/**
+	 * Gets the number of the items that are processed successfully by the stage
+	 *
+	 * @return the number of the processed items
+	 */
+	public long getProcessed()
+	{
+		return processed.sum();
+	}
+
+	/**
+	 * Gets the number of the items whose processing failed in the stage
+	 *
+	 * @return the number of the failed items
+	 */
+	public long getFailed()
+	{
+		return failed.sum();
+	}
+
+	/**
+	 * Gets the mean depth of the input queue of the stage
+	 *
+	 * @return the mean queue depth
+	 */
+	public double getMeanQueueDepth()
+	{
+		long samples = queueDepthSamples.sum();
+		return samples == 0 ? 0 : queueDepthSum.sum() / (double)samples;
+	}
+
+	/**
+	 * Gets the maximum depth of the input queue of the stage
+	 *
+	 * @return the maximum queue depth
+	 */
+	public long getMaxQueueDepth()
+	{
+		return maxQueueDepth.get();
+	}
+
+	/**
+	 * Gets the time the stage waited for free space in the queue of the next stage
+	 *
+	 * @return the blocked time in nanoseconds
+	 */
+	public long getBlockedNanos()
+	{
+		return blockedNanos.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return String.format(
+			"%s: %d threads, %d processed, %d failed, latency %s, "
+				+ "queue depth mean %.1f max %d of %d, blocked %d ms",
+			name, threads, getProcessed(), getFailed(), latencies.toPercentileSummary(),
+			getMeanQueueDepth(), getMaxQueueDepth(), queueCapacity,
+			TimeUnit.NANOSECONDS.toMillis(getBlockedNanos()));
+	}
+
+}
@@ -0,0 +1,453 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link StagedPipeline} processes items in a sequence of stages. Every stage runs on its
+ * own number of worker threads and takes the items from its own bounded input queue, so a slow
+ * stage fills the queue in front of it and the stages before it block until there is free space
+ * again. This backpressure reaches up to {@link #submit(Object)}, which blocks the producer as
+ * long as the queue of the first stage is full. An item whose processing fails in a stage is
+ * dropped and passed to the failure handler, an item that passed all stages is passed to the
+ * completion handler. The metrics of every stage are available during and after the run
+ *
+ * @param <T>
+ *            the type of the items
+ */
+@Log
+public class StagedPipeline<T> implements AutoCloseable
+{
+
+	/**
+	 * The end of the items that is passed through the queues, one per worker thread
+	 */
+	private static final Object END = new Object();
+
+	private final String name;
+
+	private final List<Stage<T>> stages;
+
+	private final Consumer<T> completionHandler;
+
+	private final BiConsumer<T, Exception> failureHandler;
+
+	private final List<Thread> workers = new ArrayList<>();
+
+	private final CountDownLatch terminated;
+
+	private final LongAdder submitBlockedNanos = new LongAdder();
+
+	private volatile boolean closed;
+
+	private StagedPipeline(final Builder<T> builder)
+	{
+		this.name = builder.name;
+		this.stages = Collections.unmodifiableList(new ArrayList<>(builder.stages));
+		this.completionHandler = builder.completionHandler;
+		this.failureHandler = builder.failureHandler;
+		this.terminated = new CountDownLatch(stages.get(stages.size() - 1).metrics.getThreads());
+		for (int index = 0; index < stages.size(); index++)
+		{
+			Stage<T> stage = stages.get(index);
+			Stage<T> next = index + 1 < stages.size() ? stages.get(index + 1) : null;
+			for (int number = 1; number <= stage.metrics.getThreads(); number++)
+			{
+				Thread worker = new Thread(() -> work(stage, next),
+					name + "-" + stage.metrics.getName() + "-" + number);
+				worker.setDaemon(true);
+				workers.add(worker);
+			}
+		}
+		workers.forEach(Thread::start);
+	}
+
+	/**
+	 * Creates a new {@link Builder} of a {@link StagedPipeline}
+	 *
+	 * @param <T>
+	 *            the type of the items
+	 * @param name
+	 *            the name of the pipeline that prefixes the names of the worker threads
+	 * @return the new {@link Builder}
+	 */
+	public static <T> Builder<T> builder(final String name)
+	{
+		return new Builder<>(name);
+	}
+
+	/**
+	 * Submits the given item to the first stage, blocks as long as the input queue of the first
+	 * stage is full
+	 *
+	 * @param item
+	 *            the item
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for free space
+	 * @throws IllegalStateException
+	 *             if the pipeline is already closed
+	 */
+	public void submit(final T item) throws InterruptedException
+	{
+		if (closed)
+		{
+			throw new IllegalStateException("Pipeline " + name + " is closed");
+		}
+		Stage<T> first = stages.get(0);
+		submitBlockedNanos.add(first.put(item));
+	}
+
+	/**
+	 * Closes the pipeline and waits until all submitted items have passed all stages
+	 *
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	@Override
+	public void close() throws InterruptedException
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		end(stages.get(0));
+		terminated.await();
+	}
+
+	/**
+	 * Gets the metrics of the stages in the order of the stages
+	 *
+	 * @return the metrics of the stages
+	 */
+	public List<StageMetrics> getStageMetrics()
+	{
+		return stages.stream().map(stage -> stage.metrics).collect(Collectors.toList());
+	}
+
+	/**
+	 * Gets the time the producer waited in {@link #submit(Object)} for free space in the queue of
+	 * the first stage
+	 *
+	 * @return the blocked time in nanoseconds
+	 */
+	public long getSubmitBlockedNanos()
+	{
+		return submitBlockedNanos.sum();
+	}
+
+	/**
+	 * Gets a summary of the metrics of all stages with one line per stage
+	 *
+	 * @return the summary of the metrics
+	 */
+	public String toSummary()
+	{
+		StringBuilder summary = new StringBuilder("pipeline ").append(name)
+			.append(": submit blocked ").append(getSubmitBlockedNanos() / 1_000_000).append(" ms");
+		for (Stage<T> stage : stages)
+		{
+			summary.append(System.lineSeparator()).append("  ").append(stage.metrics);
+		}
+		return summary.toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void work(final Stage<T> stage, final Stage<T> next)
+	{
+		try
+		{
+			while (true)
+			{
+				Object element = stage.queue.take();
+				if (element == END)
+				{
+					break;
+				}
+				T item = (T)element;
+				long start = System.nanoTime();
+				try
+				{
+					stage.processor.process(item);
+				}
+				catch (Exception exception)
+				{
+					stage.metrics.recordFailed();
+					onFailed(item, exception);
+					continue;
+				}
+				stage.metrics.recordProcessed(System.nanoTime() - start);
+				if (next != null)
+				{
+					stage.metrics.recordBlocked(next.put(item));
+				}
+				else
+				{
+					onCompleted(item);
+				}
+			}
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+			log.log(Level.WARNING, "Worker " + Thread.currentThread().getName() + " interrupted",
+				exception);
+		}
+		finally
+		{
+			// the last worker of a stage passes the end to all workers of the next stage
+			if (stage.running.decrementAndGet() == 0 && next != null)
+			{
+				end(next);
+			}
+			if (next == null)
+			{
+				terminated.countDown();
+			}
+		}
+	}
+
+	private void end(final Stage<T> stage)
+	{
+		boolean interrupted = false;
+		for (int i = 0; i < stage.metrics.getThreads(); i++)
+		{
+			while (true)
+			{
+				try
+				{
+					// blocks until the workers of the stage took enough items from the queue
+					stage.queue.put(END);
+					break;
+				}
+				catch (InterruptedException exception)
+				{
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void onCompleted(final T item)
+	{
+		if (completionHandler == null)
+		{
+			return;
+		}
+		try
+		{
+			completionHandler.accept(item);
+		}
+		catch (RuntimeException exception)
+		{
+			onFailed(item, exception);
+		}
+	}
+
+	private void onFailed(final T item, final Exception exception)
+	{
+		if (failureHandler != null)
+		{
+			failureHandler.accept(item, exception);
+		}
+		else
+		{
+			log.log(Level.WARNING, "Processing in pipeline " + name + " failed", exception);
+		}
+	}
+
+	/**
+	 * One stage of the pipeline with its processor, input queue and metrics
+	 */
+	private static final class Stage<T>
+	{
+
+		private final PipelineStage<T> processor;
+
+		private final BlockingQueue<Object> queue;
+
+		private final StageMetrics metrics;
+
+		private final AtomicInteger running;
+
+		private Stage(final String name, final int threads, final int queueCapacity,
+			final PipelineStage<T> processor)
+		{
+			this.processor = processor;
+			this.queue = new ArrayBlockingQueue<>(queueCapacity);
+			this.metrics = new StageMetrics(name, threads, queueCapacity);
+			this.running = new AtomicInteger(threads);
+		}
+
+		/**
+		 * Puts the given item into the input queue of this stage
+		 *
+		 * @return the time in nanoseconds the caller was blocked because the queue was full
+		 */
+		private long put(final T item) throws InterruptedException
+		{
+			long blockedNanos = 0;
+			if (!queue.offer(item))
+			{
+				long start = System.nanoTime();
+				queue.put(item);
+				blockedNanos = System.nanoTime() - start;
+			}
+			metrics.recordQueueDepth(queue.size());
+			return blockedNanos;
+		}
+
+	}
+
+	/**
+	 * The class {@link Builder} builds a {@link StagedPipeline} from its stages in the order the
+	 * items pass them
+	 *
+	 * @param <T>
+	 *            the type of the items
+	 */
+	public static final class Builder<T>
+	{
+
+		private final String name;
+
+		private final List<Stage<T>> stages = new ArrayList<>();
+
+		private int queueCapacity = 16;
+
+		private Consumer<T> completionHandler;
+
+		private BiConsumer<T, Exception> failureHandler;
+
+		private Builder(final String name)
+		{
+			this.name = name;
+		}
+
+		/**
+		 * Sets the capacity of the input queues of the stages that are added afterwards
+		 *
+		 * @param queueCapacity
+		 *            the capacity of the input queues
+		 * @return this {@link Builder}
+		 */
+		public Builder<T> queueCapacity(final int queueCapacity)
+		{
+			if (queueCapacity < 1)
+			{
+				throw new IllegalArgumentException("Invalid queue capacity " + queueCapacity);
+			}
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Adds a stage that runs on the given number of worker threads
+		 *
+		 * @param stageName
+		 *            the name of the stage
+		 * @param threads
+		 *            the number of the worker threads of the stage
+		 * @param processor
+		 *            the processor of the items in the stage
+		 * @return this {@link Builder}
+		 */
+		public Builder<T> stage(final String stageName, final int threads,
+			final PipelineStage<T> processor)
+		{
+			if (threads < 1)
+			{
+				throw new IllegalArgumentException(
+					"Invalid number of threads " + threads + " of stage " + stageName);
+			}
+			stages.add(new Stage<>(stageName, threads, queueCapacity, processor));
+			return this;
+		}
+
+		/**
+		 * Sets the handler of the items that passed all stages, it runs on the worker threads of
+		 * the last stage
+		 *
+		 * @param completionHandler
+		 *            the completion handler
+		 * @return this {@link Builder}
+		 */
+		public Builder<T> onCompleted(final Consumer<T> completionHandler)
+		{
+			this.completionHandler = completionHandler;
+			return this;
+		}
+
+		/**
+		 * Sets the handler of the items whose processing failed, it runs on the worker thread of
+		 * the stage that failed
+		 *
+		 * @param failureHandler
+		 *            the failure handler
+		 * @return this {@link Builder}
+		 */
+		public Builder<T> onFailed(final BiConsumer<T, Exception> failureHandler)
+		{
+			this.failureHandler = failureHandler;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link StagedPipeline} and starts the worker threads of all stages
+		 *
+		 * @return the started {@link StagedPipeline}
+		 * @throws IllegalStateException
+		 *             if no stage is added
+		 */
+		public StagedPipeline<T> start()
+		{
+			if (stages.isEmpty())
+			{
+				throw new IllegalStateException("Pipeline " + name + " has no stages");
+			}
+			return new StagedPipeline<>(this);
+		}
+
+	}
+
+}
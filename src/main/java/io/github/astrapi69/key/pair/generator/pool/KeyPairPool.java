@@ -0,0 +1,350 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.pool;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link KeyPairPool} keeps a configurable number of pre-generated key pairs per key
+ * pair algorithm and key size in memory. Every time a key pair is taken from a pool the pool is
+ * refilled on low priority background threads, so the most used key pairs are available without
+ * waiting for the generation. The pool is opt-in and is enabled with the system property
+ * {@code key.pair.generator.pool.enabled=true}
+ */
+@Log
+public class KeyPairPool implements AutoCloseable
+{
+
+	/**
+	 * The system property that enables the key pair pool
+	 */
+	public static final String ENABLED_PROPERTY = "key.pair.generator.pool.enabled";
+
+	/**
+	 * The system property with the pool sizes in the format
+	 * {@code algorithm[:keySize]=size,...}, for instance {@code RSA:2048=4,EC:256=4}
+	 */
+	public static final String SIZES_PROPERTY = "key.pair.generator.pool.sizes";
+
+	/**
+	 * The system property with the number of the refill threads
+	 */
+	public static final String THREADS_PROPERTY = "key.pair.generator.pool.threads";
+
+	/**
+	 * The default pool sizes of the most used key pair algorithms and key sizes
+	 */
+	public static final String DEFAULT_SIZES = "RSA:2048=4,RSA:3072=2,RSA:4096=2,EC:256=4";
+
+	/**
+	 * The function that generates the key pairs of the pool
+	 */
+	@FunctionalInterface
+	public interface Generator
+	{
+		/**
+		 * Generates a new key pair
+		 *
+		 * @param algorithm
+		 *            the key pair algorithm
+		 * @param keySize
+		 *            the key size, can be null
+		 * @return the new key pair
+		 * @throws GeneralSecurityException
+		 *             if the generation of the key pair fails
+		 */
+		KeyPair generate(String algorithm, Integer keySize) throws GeneralSecurityException;
+	}
+
+	private final Map<KeyPairPoolKey, BlockingQueue<KeyPair>> pools;
+
+	private final Set<KeyPairPoolKey> refilling = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final Generator generator;
+
+	private final ExecutorService refillExecutor;
+
+	private volatile boolean closed;
+
+	/**
+	 * Instantiates a new {@link KeyPairPool} and starts to fill all pools in the background
+	 *
+	 * @param poolSizes
+	 *            the number of the pre-generated key pairs for each pool key
+	 * @param refillThreads
+	 *            the number of the refill threads
+	 * @param generator
+	 *            the generator of the key pairs
+	 */
+	public KeyPairPool(final Map<KeyPairPoolKey, Integer> poolSizes, final int refillThreads,
+		final Generator generator)
+	{
+		this.generator = generator;
+		Map<KeyPairPoolKey, BlockingQueue<KeyPair>> queues = new LinkedHashMap<>();
+		poolSizes.forEach((key, size) -> {
+			if (0 < size)
+			{
+				queues.put(key, new ArrayBlockingQueue<>(size));
+			}
+		});
+		this.pools = Map.copyOf(queues);
+		this.refillExecutor = Executors.newFixedThreadPool(Math.max(1, refillThreads),
+			runnable -> {
+				Thread thread = new Thread(runnable, "key-pair-pool-refill");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+		queues.keySet().forEach(this::refill);
+	}
+
+	/**
+	 * Factory method for create a new {@link KeyPairPool} that is configured with the system
+	 * properties {@code key.pair.generator.pool.sizes} and {@code key.pair.generator.pool.threads}
+	 *
+	 * @return the new {@link KeyPairPool}
+	 */
+	public static KeyPairPool newKeyPairPool()
+	{
+		int defaultThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		return new KeyPairPool(parsePoolSizes(System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES)),
+			Integer.getInteger(THREADS_PROPERTY, defaultThreads), (algorithm, keySize) -> KeyPairEngine
+				.generate(KeyPairSpec.of(algorithm, keySize)));
+	}
+
+	/**
+	 * Parses the given pool sizes in the format {@code algorithm[:keySize]=size,...}
+	 *
+	 * @param value
+	 *            the pool sizes
+	 * @return the map of the pool keys to the pool sizes
+	 */
+	public static Map<KeyPairPoolKey, Integer> parsePoolSizes(final String value)
+	{
+		Map<KeyPairPoolKey, Integer> poolSizes = new LinkedHashMap<>();
+		for (String entry : value.split(","))
+		{
+			if (entry.isBlank())
+			{
+				continue;
+			}
+			String[] parts = entry.split("=", 2);
+			if (parts.length != 2)
+			{
+				throw new IllegalArgumentException(
+					"Invalid pool size '" + entry + "', expected algorithm[:keySize]=size");
+			}
+			poolSizes.put(KeyPairPoolKey.parse(parts[0]), Integer.valueOf(parts[1].trim()));
+		}
+		return poolSizes;
+	}
+
+	/**
+	 * Takes a pre-generated key pair of the given algorithm and key size from the pool and
+	 * triggers the refill of the pool
+	 *
+	 * @param algorithm
+	 *            the key pair algorithm
+	 * @param keySize
+	 *            the key size, can be null
+	 * @return an {@link Optional} with the pre-generated key pair or an empty {@link Optional} if
+	 *         the pool is empty or there is no pool for the given algorithm and key size
+	 */
+	public Optional<KeyPair> poll(final String algorithm, final Integer keySize)
+	{
+		KeyPairPoolKey key = KeyPairPoolKey.of(algorithm, keySize);
+		BlockingQueue<KeyPair> queue = pools.get(key);
+		KeyPair keyPair = queue != null && !closed ? queue.poll() : null;
+		if (keyPair == null)
+		{
+			misses.increment();
+		}
+		else
+		{
+			hits.increment();
+		}
+		if (queue != null)
+		{
+			refill(key);
+		}
+		return Optional.ofNullable(keyPair);
+	}
+
+	/**
+	 * Gets the number of the available key pairs of the given pool key
+	 *
+	 * @param key
+	 *            the pool key
+	 * @return the number of the available key pairs
+	 */
+	public int getAvailable(final KeyPairPoolKey key)
+	{
+		BlockingQueue<KeyPair> queue = pools.get(key);
+		return queue != null ? queue.size() : 0;
+	}
+
+	/**
+	 * Gets the number of the requests that were served from the pool
+	 *
+	 * @return the number of the hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of the requests that could not be served from the pool
+	 *
+	 * @return the number of the misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the ratio of the hits to all requests
+	 *
+	 * @return the hit rate between 0 and 1
+	 */
+	public double getHitRate()
+	{
+		long hitCount = getHitCount();
+		long requests = hitCount + getMissCount();
+		return requests == 0 ? 0 : (double)hitCount / requests;
+	}
+
+	/**
+	 * Stops the refill threads and wipes all pooled key pairs. The private keys are destroyed if
+	 * they support it and all references to the pooled key material are dropped
+	 */
+	@Override
+	public void close()
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		refillExecutor.shutdownNow();
+		try
+		{
+			refillExecutor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+		pools.values().forEach(queue -> {
+			KeyPair keyPair;
+			while ((keyPair = queue.poll()) != null)
+			{
+				KeyPairEngine.destroy(keyPair);
+			}
+		});
+		log.info("key pair pool closed: " + getHitCount() + " hits, " + getMissCount()
+			+ " misses");
+	}
+
+	private void refill(final KeyPairPoolKey key)
+	{
+		if (closed || !refilling.add(key))
+		{
+			return;
+		}
+		try
+		{
+			refillExecutor.execute(() -> {
+				boolean filled = false;
+				try
+				{
+					filled = fill(key);
+				}
+				finally
+				{
+					refilling.remove(key);
+				}
+				// a key pair could be taken between the end of the fill and the remove
+				if (filled && 0 < pools.get(key).remainingCapacity())
+				{
+					refill(key);
+				}
+			});
+		}
+		catch (RejectedExecutionException exception)
+		{
+			refilling.remove(key);
+		}
+	}
+
+	private boolean fill(final KeyPairPoolKey key)
+	{
+		BlockingQueue<KeyPair> queue = pools.get(key);
+		while (!closed && 0 < queue.remainingCapacity())
+		{
+			KeyPair keyPair;
+			try
+			{
+				keyPair = generator.generate(key.getAlgorithm(), key.getKeySize());
+			}
+			catch (GeneralSecurityException | RuntimeException exception)
+			{
+				log.log(Level.WARNING, "Refill of the key pair pool " + key + " failed",
+					exception);
+				return false;
+			}
+			if (closed || !queue.offer(keyPair))
+			{
+				KeyPairEngine.destroy(keyPair);
+				return false;
+			}
+		}
+		return !closed;
+	}
+
+}
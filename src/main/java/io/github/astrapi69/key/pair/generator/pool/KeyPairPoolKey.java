@@ -0,0 +1,76 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.pool;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The class {@link KeyPairPoolKey} identifies a pool of pre-generated key pairs by the key pair
+ * algorithm and the key size. Algorithms that are initialized with a named curve have no key size
+ */
+@Value(staticConstructor = "of")
+public class KeyPairPoolKey
+{
+
+	/**
+	 * The key pair algorithm
+	 */
+	@NonNull
+	String algorithm;
+
+	/**
+	 * The key size, can be null for algorithms that are initialized with a named curve
+	 */
+	Integer keySize;
+
+	/**
+	 * Factory method for create a new {@link KeyPairPoolKey} from the given string in the format
+	 * {@code algorithm[:keySize]}, for instance {@code RSA:2048}
+	 *
+	 * @param value
+	 *            the string value
+	 * @return the new {@link KeyPairPoolKey}
+	 */
+	public static KeyPairPoolKey parse(final String value)
+	{
+		String[] parts = value.trim().split(":", 2);
+		if (parts[0].isEmpty())
+		{
+			throw new IllegalArgumentException("Missing key pair algorithm in '" + value + "'");
+		}
+		return of(parts[0].trim(), parts.length == 2 ? Integer.valueOf(parts[1].trim()) : null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return keySize != null ? algorithm + ":" + keySize : algorithm;
+	}
+
+}
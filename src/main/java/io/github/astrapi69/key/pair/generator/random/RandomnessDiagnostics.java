@@ -0,0 +1,158 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.random;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link RandomnessDiagnostics} collects the time that is spent waiting for randomness
+ * of the {@link java.security.SecureRandom} instances of the {@link SecureRandomStrategy}. A single
+ * request that takes longer than the threshold of the system property
+ * {@link #SLOW_THRESHOLD_PROPERTY} is logged as a warning, because it indicates a blocking entropy
+ * source
+ */
+@Log
+public final class RandomnessDiagnostics
+{
+
+	/**
+	 * The system property for the threshold in milliseconds of a slow request, defaults to 100
+	 */
+	public static final String SLOW_THRESHOLD_PROPERTY = "key.pair.generator.secure.random"
+		+ ".slow.millis";
+
+	private static final long SLOW_THRESHOLD_NANOS = TimeUnit.MILLISECONDS
+		.toNanos(Long.getLong(SLOW_THRESHOLD_PROPERTY, 100));
+
+	private static final LongAdder REQUESTS = new LongAdder();
+
+	private static final LongAdder WAIT_NANOS = new LongAdder();
+
+	private static final LongAdder SLOW_REQUESTS = new LongAdder();
+
+	private static final AtomicLong MAX_WAIT_NANOS = new AtomicLong();
+
+	private RandomnessDiagnostics()
+	{
+	}
+
+	/**
+	 * Records the time of one request for randomness
+	 *
+	 * @param operation
+	 *            the name of the operation
+	 * @param nanos
+	 *            the time of the request in nanoseconds
+	 */
+	static void record(final String operation, final long nanos)
+	{
+		REQUESTS.increment();
+		WAIT_NANOS.add(nanos);
+		// the maximum rarely changes, so the shared value is only written by a new maximum
+		long max = MAX_WAIT_NANOS.get();
+		while (max < nanos && !MAX_WAIT_NANOS.compareAndSet(max, nanos))
+		{
+			max = MAX_WAIT_NANOS.get();
+		}
+		if (SLOW_THRESHOLD_NANOS <= nanos)
+		{
+			SLOW_REQUESTS.increment();
+			log.warning("SecureRandom " + operation + " took "
+				+ TimeUnit.NANOSECONDS.toMillis(nanos)
+				+ " ms, the entropy source may be starving, consider the strategy "
+				+ SecureRandomStrategy.NATIVE_PRNG_NON_BLOCKING + " or "
+				+ SecureRandomStrategy.DRBG);
+		}
+	}
+
+	/**
+	 * Gets the number of the recorded requests
+	 *
+	 * @return the number of the recorded requests
+	 */
+	public static long getRequestCount()
+	{
+		return REQUESTS.sum();
+	}
+
+	/**
+	 * Gets the total time of all recorded requests
+	 *
+	 * @return the total time in nanoseconds
+	 */
+	public static long getWaitNanos()
+	{
+		return WAIT_NANOS.sum();
+	}
+
+	/**
+	 * Gets the time of the slowest recorded request
+	 *
+	 * @return the time of the slowest request in nanoseconds
+	 */
+	public static long getMaxWaitNanos()
+	{
+		return MAX_WAIT_NANOS.get();
+	}
+
+	/**
+	 * Gets the number of the requests that took longer than the threshold
+	 *
+	 * @return the number of the slow requests
+	 */
+	public static long getSlowRequestCount()
+	{
+		return SLOW_REQUESTS.sum();
+	}
+
+	/**
+	 * Resets all recorded values
+	 */
+	public static void reset()
+	{
+		REQUESTS.reset();
+		WAIT_NANOS.reset();
+		SLOW_REQUESTS.reset();
+		MAX_WAIT_NANOS.set(0);
+	}
+
+	/**
+	 * Gets a summary of the recorded values
+	 *
+	 * @return the summary
+	 */
+	public static String toSummary()
+	{
+		return String.format("randomness (%s): %d requests, %d ms waited, max %.3f ms, %d slow",
+			SecureRandomStrategy.getConfigured(), getRequestCount(),
+			TimeUnit.NANOSECONDS.toMillis(getWaitNanos()), getMaxWaitNanos() / 1_000_000.0,
+			getSlowRequestCount());
+	}
+
+}
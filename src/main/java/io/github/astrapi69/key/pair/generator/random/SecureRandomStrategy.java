@@ -0,0 +1,204 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.random;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.SecureRandom;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * The enum {@link SecureRandomStrategy} defines the {@link SecureRandom} algorithms that can be
+ * used for the key pair generation and the generation of serial numbers. Every thread gets its own
+ * instance of the configured strategy, so the worker threads do not contend on one shared
+ * instance. All instances measure the time that is spent waiting for randomness in the
+ * {@link RandomnessDiagnostics}
+ */
+@Log
+public enum SecureRandomStrategy
+{
+
+	/**
+	 * The default {@link SecureRandom} of the java runtime
+	 */
+	DEFAULT(null, null),
+
+	/**
+	 * The DRBG of the java runtime in its default configuration
+	 */
+	DRBG("DRBG", null),
+
+	/**
+	 * The DRBG of the java runtime with prediction resistance, that reseeds from the entropy
+	 * source on every request
+	 */
+	DRBG_PREDICTION_RESISTANCE("DRBG", null),
+
+	/**
+	 * The native pseudo random number generator that never blocks on the entropy source, not
+	 * available on windows
+	 */
+	NATIVE_PRNG_NON_BLOCKING("NativePRNGNonBlocking", null),
+
+	/**
+	 * The DRBG of the BouncyCastle provider
+	 */
+	BC_DRBG("DEFAULT", "BC");
+
+	/**
+	 * The system property for the configured strategy, defaults to {@link #DEFAULT}
+	 */
+	public static final String PROPERTY = "key.pair.generator.secure.random";
+
+	private static final ThreadLocal<Map<SecureRandomStrategy, SecureRandom>> INSTANCES = ThreadLocal
+		.withInitial(() -> new EnumMap<>(SecureRandomStrategy.class));
+
+	private static volatile SecureRandomStrategy configured;
+
+	/**
+	 * The algorithm of the {@link SecureRandom}, null for the default of the java runtime
+	 */
+	@Getter
+	private final String algorithm;
+
+	/**
+	 * The provider of the {@link SecureRandom}, null for the preferred provider
+	 */
+	@Getter
+	private final String provider;
+
+	SecureRandomStrategy(final String algorithm, final String provider)
+	{
+		this.algorithm = algorithm;
+		this.provider = provider;
+	}
+
+	/**
+	 * Gets the configured strategy, that is the strategy that was set with
+	 * {@link #setConfigured(SecureRandomStrategy)} or otherwise the strategy of the system property
+	 * {@link #PROPERTY}
+	 *
+	 * @return the configured strategy
+	 */
+	public static SecureRandomStrategy getConfigured()
+	{
+		SecureRandomStrategy strategy = configured;
+		if (strategy == null)
+		{
+			strategy = parse(System.getProperty(PROPERTY, DEFAULT.name()));
+			configured = strategy;
+		}
+		return strategy;
+	}
+
+	/**
+	 * Sets the configured strategy
+	 *
+	 * @param strategy
+	 *            the strategy, if null the strategy of the system property is used
+	 */
+	public static void setConfigured(final SecureRandomStrategy strategy)
+	{
+		configured = strategy;
+	}
+
+	/**
+	 * Parses the given name of a strategy, the case and dashes instead of underscores are ignored
+	 *
+	 * @param name
+	 *            the name of the strategy
+	 * @return the strategy
+	 * @throws IllegalArgumentException
+	 *             if no strategy with the given name exists
+	 */
+	public static SecureRandomStrategy parse(final String name)
+	{
+		return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+	}
+
+	/**
+	 * Gets the {@link SecureRandom} of this strategy for the current thread. If the algorithm of
+	 * this strategy is not available the default {@link SecureRandom} is used
+	 *
+	 * @return the {@link SecureRandom} of the current thread
+	 */
+	public SecureRandom getSecureRandom()
+	{
+		return INSTANCES.get().computeIfAbsent(this, strategy -> {
+			try
+			{
+				return strategy.newSecureRandom();
+			}
+			catch (NoSuchAlgorithmException | NoSuchProviderException exception)
+			{
+				log.log(Level.WARNING, "SecureRandom strategy " + strategy
+					+ " is not available, the default SecureRandom is used", exception);
+				return new TimedSecureRandom(new SecureRandom());
+			}
+		});
+	}
+
+	/**
+	 * Factory method for create a new {@link SecureRandom} of this strategy
+	 *
+	 * @return the new {@link SecureRandom}
+	 * @throws NoSuchAlgorithmException
+	 *             if the algorithm of this strategy is not available
+	 * @throws NoSuchProviderException
+	 *             if the provider of this strategy is not available
+	 */
+	public SecureRandom newSecureRandom() throws NoSuchAlgorithmException, NoSuchProviderException
+	{
+		long start = System.nanoTime();
+		SecureRandom secureRandom;
+		if (this == DRBG_PREDICTION_RESISTANCE)
+		{
+			secureRandom = SecureRandom.getInstance(algorithm, DrbgParameters.instantiation(-1,
+				DrbgParameters.Capability.PR_AND_RESEED, null));
+		}
+		else if (algorithm == null)
+		{
+			secureRandom = new SecureRandom();
+		}
+		else if (provider == null)
+		{
+			secureRandom = SecureRandom.getInstance(algorithm);
+		}
+		else
+		{
+			secureRandom = SecureRandom.getInstance(algorithm, provider);
+		}
+		RandomnessDiagnostics.record("instantiation of " + this, System.nanoTime() - start);
+		return new TimedSecureRandom(secureRandom);
+	}
+
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.random;
+
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+
+/**
+ * The class {@link TimedSecureRandom} decorates a {@link SecureRandom} and records the time of
+ * every request for random bytes and seeds in the {@link RandomnessDiagnostics}
+ */
+final class TimedSecureRandom extends SecureRandom
+{
+
+	private static final long serialVersionUID = 1L;
+
+	private final SecureRandom secureRandom;
+
+	TimedSecureRandom(final SecureRandom secureRandom)
+	{
+		super(new TimedSecureRandomSpi(secureRandom), secureRandom.getProvider());
+		this.secureRandom = secureRandom;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getAlgorithm()
+	{
+		return secureRandom.getAlgorithm();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return secureRandom.toString();
+	}
+
+	private static final class TimedSecureRandomSpi extends SecureRandomSpi
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private final SecureRandom secureRandom;
+
+		private TimedSecureRandomSpi(final SecureRandom secureRandom)
+		{
+			this.secureRandom = secureRandom;
+		}
+
+		@Override
+		protected void engineSetSeed(final byte[] seed)
+		{
+			secureRandom.setSeed(seed);
+		}
+
+		@Override
+		protected void engineNextBytes(final byte[] bytes)
+		{
+			long start = System.nanoTime();
+			secureRandom.nextBytes(bytes);
+			RandomnessDiagnostics.record("nextBytes", System.nanoTime() - start);
+		}
+
+		@Override
+		protected byte[] engineGenerateSeed(final int numBytes)
+		{
+			long start = System.nanoTime();
+			byte[] seed = secureRandom.generateSeed(numBytes);
+			RandomnessDiagnostics.record("generateSeed", System.nanoTime() - start);
+			return seed;
+		}
+
+	}
+
+}
@@ -27,6 +27,7 @@ package io.github.astrapi69.key.pair.generator.wizard;
 import java.awt.event.ActionEvent;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -35,6 +36,7 @@ import com.github.lgooddatepicker.components.CalendarPanel;
 import com.github.lgooddatepicker.components.DatePicker;
 
 import io.github.astrapi69.key.pair.generator.WizardApplicationFrame;
+import io.github.astrapi69.key.pair.generator.cache.SerialNumberAllocator;
 import io.github.astrapi69.collection.array.ArrayFactory;
 import io.github.astrapi69.collection.list.SortedUniqueList;
 import io.github.astrapi69.collection.pair.ValueBox;
@@ -42,7 +44,6 @@ import io.github.astrapi69.design.pattern.state.wizard.model.BaseWizardStateMach
 import io.github.astrapi69.design.pattern.state.wizard.model.NavigationEventState;
 import io.github.astrapi69.model.LambdaModel;
 import io.github.astrapi69.model.api.IModel;
-import io.github.astrapi69.random.number.RandomBigIntegerFactory;
 import io.github.astrapi69.swing.base.BasePanel;
 import io.github.astrapi69.swing.model.combobox.GenericComboBoxModel;
 import io.github.astrapi69.swing.model.component.JMBigIntegerTextField;
@@ -95,6 +96,12 @@ public class DatesPanel extends BasePanel<BaseWizardStateMachineModel<Certificat
 
 		cmbSignatureAlgorithm = newSignatureAlgorithmCombobox();
 		cmbSignatureAlgorithm.addActionListener(this::onChangeSignatureAlgorithm);
+		if (!WizardApplicationFrame.getInstance().isCatalogsLoaded())
+		{
+			cmbSignatureAlgorithm.setEnabled(false);
+			WizardApplicationFrame.getInstance().whenCatalogsLoaded(this::onCatalogsLoaded,
+				exception -> cmbSignatureAlgorithm.setEnabled(true));
+		}
 
 		GenericComboBoxModel<Integer> comboBoxModel;
 		ValueBox<Integer> valueBox;
@@ -123,14 +130,12 @@ public class DatesPanel extends BasePanel<BaseWizardStateMachineModel<Certificat
 		GenericComboBoxModel<String> comboBoxModel;
 		ValueBox<String> signatureAlgorithmValueBox;
 		IModel<String> selectedSignatureAlgorithmModel;
-		CertificateInfoModel modelObject = getModelObject().getModelObject();
 		String selectedSignatureAlgorithm;
-		String keyPairAlgorithm = modelObject.getKeyPairAlgorithm();
 
-		SortedUniqueList<String> stringSortedUniqueList = WizardApplicationFrame.getInstance()
-			.getModelObject().getKeypairSignatureAlgorithms().get(keyPairAlgorithm);
-		selectedSignatureAlgorithm = stringSortedUniqueList.getFirst();
-		List<String> signatureAlgorithms = stringSortedUniqueList;
+		List<String> signatureAlgorithms = newSignatureAlgorithms();
+		selectedSignatureAlgorithm = signatureAlgorithms.isEmpty()
+			? null
+			: signatureAlgorithms.get(0);
 
 		signatureAlgorithmValueBox = ValueBox.<String> builder().value(selectedSignatureAlgorithm)
 			.build();
@@ -142,6 +147,40 @@ public class DatesPanel extends BasePanel<BaseWizardStateMachineModel<Certificat
 		return new JMComboBox<>(comboBoxModel, selectedSignatureAlgorithmModel);
 	}
 
+	/**
+	 * Factory method for create the signature algorithms of the key pair algorithm from the
+	 * signature algorithm catalog. As long as the catalog is loading an empty list is returned
+	 *
+	 * @return the signature algorithms
+	 */
+	protected List<String> newSignatureAlgorithms()
+	{
+		Map<String, SortedUniqueList<String>> keypairSignatureAlgorithms = WizardApplicationFrame
+			.getInstance().getModelObject().getKeypairSignatureAlgorithms();
+		String keyPairAlgorithm = getModelObject().getModelObject().getKeyPairAlgorithm();
+		if (keypairSignatureAlgorithms == null
+			|| !keypairSignatureAlgorithms.containsKey(keyPairAlgorithm))
+		{
+			return new SortedUniqueList<>();
+		}
+		return keypairSignatureAlgorithms.get(keyPairAlgorithm);
+	}
+
+	/**
+	 * Callback method that is called on the event dispatch thread as soon as the catalogs are
+	 * loaded. Binds the signature algorithm combobox to the signature algorithm catalog
+	 */
+	protected void onCatalogsLoaded()
+	{
+		List<String> signatureAlgorithms = newSignatureAlgorithms();
+		cmbSignatureAlgorithm.setModel(new GenericComboBoxModel<>(signatureAlgorithms));
+		if (!signatureAlgorithms.isEmpty())
+		{
+			cmbSignatureAlgorithm.setSelectedItem(signatureAlgorithms.get(0));
+		}
+		cmbSignatureAlgorithm.setEnabled(true);
+	}
+
 	protected void onChangeSignatureAlgorithm(ActionEvent actionEvent)
 	{
 		Object item = cmbSignatureAlgorithm.getSelectedItem();
@@ -183,7 +222,7 @@ public class DatesPanel extends BasePanel<BaseWizardStateMachineModel<Certificat
 
 	protected void onGenerateSerialNumber(java.awt.event.ActionEvent evt)
 	{
-		BigInteger serialNumber = RandomBigIntegerFactory.randomSerialNumber();
+		BigInteger serialNumber = SerialNumberAllocator.getDefault().nextSerialNumber();
 		CertificateInfoModel modelObject = getModelObject().getModelObject();
 		modelObject.setSerial(serialNumber);
 		getTxtSerialNumber().setText(serialNumber.toString());
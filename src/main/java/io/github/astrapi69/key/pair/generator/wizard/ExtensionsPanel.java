@@ -24,22 +24,38 @@
  */
 package io.github.astrapi69.key.pair.generator.wizard;
 
+import java.awt.CardLayout;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JTable;
 import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.table.DefaultTableModel;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
-import org.bouncycastle.asn1.DEROctetString;
 
 import io.github.astrapi69.design.pattern.state.wizard.model.BaseWizardStateMachineModel;
 import io.github.astrapi69.model.api.IModel;
 import io.github.astrapi69.swing.base.BasePanel;
 import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ExtensionInfoModel;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionType;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
@@ -48,7 +64,9 @@ import net.miginfocom.swing.MigLayout;
 /**
  * The class {@link ExtensionsPanel} provides a user interface for managing extensions in a
  * certificate wizard. Users can add, edit, and delete extensions, as well as mark them as critical.
- * The inputs for extension ID and value are validated to ensure they conform to ASN.1 standards
+ * The common extensions are edited with typed editors, the values of all other extensions are
+ * validated to ensure they conform to ASN.1 standards. The extensions are written to the
+ * {@link CertificateInfoModel} on every change
  */
 @Getter
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -58,6 +76,7 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 	JLabel lblHeader;
 	JTable tblExtensions;
 	DefaultTableModel tableModel;
+	JComboBox<X509ExtensionType> cmbExtensionType;
 	JTextField txtExtensionId;
 	JTextField txtExtensionValue;
 	JCheckBox chkCritical;
@@ -66,6 +85,19 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 	JButton btnDeleteExtension;
 	JScrollPane scrExtensions;
 
+	/**
+	 * The panel with one value editor for every extension type
+	 */
+	JPanel pnlValueEditors;
+	JTextField txtSubjectAlternativeNames;
+	Map<String, JCheckBox> keyUsageCheckBoxes;
+	Map<String, JCheckBox> extendedKeyUsageCheckBoxes;
+	JTextField txtOtherExtendedKeyUsages;
+	JCheckBox chkCertificateAuthority;
+	JSpinner spnPathLength;
+	JCheckBox chkDerivedKeyIdentifier;
+	JTextField txtKeyIdentifier;
+
 	/**
 	 * Instantiates a new ExtensionsPanel
 	 *
@@ -87,23 +119,86 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 
 		lblHeader = new JLabel("Extensions");
 
-		tableModel = new DefaultTableModel(new Object[] { "Extension ID", "Critical", "Value" }, 0);
+		tableModel = new DefaultTableModel(new Object[] { "Extension ID", "Critical", "Value" }, 0)
+		{
+			@Override
+			public boolean isCellEditable(final int row, final int column)
+			{
+				// the values are only changed with the validating editors
+				return false;
+			}
+		};
 		tblExtensions = new JTable(tableModel);
+		tblExtensions.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		tblExtensions.getSelectionModel().addListSelectionListener(e -> {
+			if (!e.getValueIsAdjusting())
+			{
+				onSelectExtension();
+			}
+		});
 		scrExtensions = new JScrollPane(tblExtensions);
 
 		scrExtensions.setViewportView(tblExtensions);
 
+		cmbExtensionType = new JComboBox<>(X509ExtensionType.values());
+		cmbExtensionType.setRenderer(new DefaultListCellRenderer()
+		{
+			@Override
+			public Component getListCellRendererComponent(final JList<?> list,
+				final Object value, final int index, final boolean isSelected,
+				final boolean cellHasFocus)
+			{
+				return super.getListCellRendererComponent(list,
+					value instanceof X509ExtensionType
+						? ((X509ExtensionType)value).getDisplayName()
+						: value,
+					index, isSelected, cellHasFocus);
+			}
+		});
 		txtExtensionId = new JTextField(20);
 		txtExtensionValue = new JTextField(20);
+		txtExtensionValue
+			.setToolTipText("A text or DER: followed by the hexadecimal DER encoding of the value");
 		chkCritical = new JCheckBox("Critical");
 
+		txtSubjectAlternativeNames = new JTextField(20);
+		txtSubjectAlternativeNames
+			.setToolTipText("For instance DNS:example.org,IP:10.0.0.1,email:info@example.org");
+		keyUsageCheckBoxes = newCheckBoxes(X509ExtensionType.KEY_USAGES.keySet());
+		extendedKeyUsageCheckBoxes = newCheckBoxes(
+			X509ExtensionType.EXTENDED_KEY_USAGES.keySet());
+		txtOtherExtendedKeyUsages = new JTextField(20);
+		txtOtherExtendedKeyUsages.setToolTipText("Further object identifiers separated by commas");
+		chkCertificateAuthority = new JCheckBox("Certificate authority");
+		spnPathLength = new JSpinner(new SpinnerNumberModel(-1, -1, Integer.MAX_VALUE, 1));
+		spnPathLength.setToolTipText("The path length constraint, -1 for no constraint");
+		chkDerivedKeyIdentifier = new JCheckBox("Derived from the public key", true);
+		txtKeyIdentifier = new JTextField(20);
+		txtKeyIdentifier.setToolTipText("The hexadecimal key identifier");
+		txtKeyIdentifier.setEnabled(false);
+		chkDerivedKeyIdentifier.addActionListener(
+			e -> txtKeyIdentifier.setEnabled(!chkDerivedKeyIdentifier.isSelected()));
+		pnlValueEditors = newValueEditors();
+
 		btnAddExtension = new JButton("Add");
 		btnEditExtension = new JButton("Edit");
 		btnDeleteExtension = new JButton("Delete");
 
+		cmbExtensionType.addActionListener(e -> onChangeExtensionType());
 		btnAddExtension.addActionListener(e -> onAddExtension());
 		btnEditExtension.addActionListener(e -> onEditExtension());
 		btnDeleteExtension.addActionListener(e -> onDeleteExtension());
+
+		ExtensionInfoModel[] extensions = getModelObject().getModelObject().getExtensions();
+		if (extensions != null)
+		{
+			for (ExtensionInfoModel extension : extensions)
+			{
+				tableModel.addRow(new Object[] { extension.getExtensionId(),
+						extension.isCritical(), extension.getValue() });
+			}
+		}
+		onChangeExtensionType();
 	}
 
 	/**
@@ -113,24 +208,102 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 	protected void onInitializeLayout()
 	{
 		super.onInitializeLayout();
-		setLayout(new MigLayout("wrap 2", "[grow,fill][grow,fill]", "[][][grow][][]"));
+		setLayout(new MigLayout("wrap 2", "[grow,fill][grow,fill]", "[][][][][grow][][]"));
 
 		add(lblHeader, "span, align center, wrap 10");
 
+		add(new JLabel("Extension:"));
+		add(cmbExtensionType, "wrap");
+
 		add(new JLabel("Extension ID:"));
 		add(txtExtensionId, "wrap");
 
 		add(new JLabel("Critical:"));
 		add(chkCritical, "wrap");
 
-		add(new JLabel("Value:"));
-		add(txtExtensionValue, "wrap");
+		add(new JLabel("Value:"), "top");
+		add(pnlValueEditors, "wrap");
 
 		add(btnAddExtension, "split 3, align center");
 		add(btnEditExtension);
 		add(btnDeleteExtension, "wrap");
 
-		add(new JScrollPane(tblExtensions), "span, grow");
+		add(scrExtensions, "span, grow");
+	}
+
+	/**
+	 * Factory method for create the panel with the value editors of the extension types, the
+	 * editors are shown with a {@link CardLayout} by the name of the extension type
+	 *
+	 * @return the panel with the value editors
+	 */
+	protected JPanel newValueEditors()
+	{
+		JPanel valueEditors = new JPanel(new CardLayout());
+
+		valueEditors.add(txtSubjectAlternativeNames,
+			X509ExtensionType.SUBJECT_ALTERNATIVE_NAME.name());
+
+		JPanel keyUsagePanel = new JPanel(new MigLayout("insets 0, wrap 3"));
+		keyUsageCheckBoxes.values().forEach(keyUsagePanel::add);
+		valueEditors.add(keyUsagePanel, X509ExtensionType.KEY_USAGE.name());
+
+		JPanel extendedKeyUsagePanel = new JPanel(new MigLayout("insets 0, wrap 3"));
+		extendedKeyUsageCheckBoxes.values().forEach(extendedKeyUsagePanel::add);
+		extendedKeyUsagePanel.add(txtOtherExtendedKeyUsages, "span, growx");
+		valueEditors.add(extendedKeyUsagePanel, X509ExtensionType.EXTENDED_KEY_USAGE.name());
+
+		JPanel basicConstraintsPanel = new JPanel(new MigLayout("insets 0"));
+		basicConstraintsPanel.add(chkCertificateAuthority);
+		basicConstraintsPanel.add(new JLabel("Path length:"));
+		basicConstraintsPanel.add(spnPathLength);
+		valueEditors.add(basicConstraintsPanel, X509ExtensionType.BASIC_CONSTRAINTS.name());
+
+		// the subject and the authority key identifier share their editor
+		JPanel keyIdentifierPanel = new JPanel(new MigLayout("insets 0"));
+		keyIdentifierPanel.add(chkDerivedKeyIdentifier);
+		keyIdentifierPanel.add(txtKeyIdentifier, "growx");
+		valueEditors.add(keyIdentifierPanel, X509ExtensionType.SUBJECT_KEY_IDENTIFIER.name());
+
+		valueEditors.add(txtExtensionValue, X509ExtensionType.CUSTOM.name());
+		return valueEditors;
+	}
+
+	/**
+	 * Shows the value editor of the selected extension type and sets the identifier and the
+	 * recommended criticality of the extension type
+	 */
+	protected void onChangeExtensionType()
+	{
+		X509ExtensionType type = (X509ExtensionType)cmbExtensionType.getSelectedItem();
+		boolean custom = type == X509ExtensionType.CUSTOM;
+		txtExtensionId.setEditable(custom);
+		txtExtensionId.setText(custom ? "" : type.getExtensionId().getId());
+		// RFC 5280 recommends critical key usages and basic constraints
+		chkCritical.setSelected(
+			type == X509ExtensionType.KEY_USAGE || type == X509ExtensionType.BASIC_CONSTRAINTS);
+		((CardLayout)pnlValueEditors.getLayout()).show(pnlValueEditors,
+			type == X509ExtensionType.AUTHORITY_KEY_IDENTIFIER
+				? X509ExtensionType.SUBJECT_KEY_IDENTIFIER.name()
+				: type.name());
+	}
+
+	/**
+	 * Loads the selected extension of the table into the editors
+	 */
+	protected void onSelectExtension()
+	{
+		int selectedRow = tblExtensions.getSelectedRow();
+		if (selectedRow == -1)
+		{
+			return;
+		}
+		String extensionId = (String)tableModel.getValueAt(selectedRow, 0);
+		X509ExtensionType type = X509ExtensionType.of(new ASN1ObjectIdentifier(extensionId));
+		cmbExtensionType.setSelectedItem(type);
+		txtExtensionId.setText(extensionId);
+		chkCritical.setSelected((Boolean)tableModel.getValueAt(selectedRow, 1));
+		setEditorValue(type, (String)tableModel.getValueAt(selectedRow, 2));
 	}
 
 	/**
@@ -140,11 +313,21 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 	{
 		if (validateInputs())
 		{
-			String extensionId = txtExtensionId.getText();
+			String extensionId = txtExtensionId.getText().trim();
+			for (int row = 0; row < tableModel.getRowCount(); row++)
+			{
+				if (extensionId.equals(tableModel.getValueAt(row, 0)))
+				{
+					showErrorDialog("Duplicate Extension",
+						"The extension " + extensionId + " is already contained, edit it instead");
+					return;
+				}
+			}
 			boolean critical = chkCritical.isSelected();
-			String value = txtExtensionValue.getText();
+			String value = getEditorValue();
 
 			tableModel.addRow(new Object[] { extensionId, critical, value });
+			onExtensionsChanged();
 			clearForm();
 		}
 	}
@@ -157,9 +340,10 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 		int selectedRow = tblExtensions.getSelectedRow();
 		if (selectedRow != -1 && validateInputs())
 		{
-			tableModel.setValueAt(txtExtensionId.getText(), selectedRow, 0);
+			tableModel.setValueAt(txtExtensionId.getText().trim(), selectedRow, 0);
 			tableModel.setValueAt(chkCritical.isSelected(), selectedRow, 1);
-			tableModel.setValueAt(txtExtensionValue.getText(), selectedRow, 2);
+			tableModel.setValueAt(getEditorValue(), selectedRow, 2);
+			onExtensionsChanged();
 			clearForm();
 		}
 	}
@@ -173,10 +357,105 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 		if (selectedRow != -1)
 		{
 			tableModel.removeRow(selectedRow);
+			onExtensionsChanged();
 			clearForm();
 		}
 	}
 
+	/**
+	 * Writes the extensions of the table to the {@link CertificateInfoModel}
+	 */
+	protected void onExtensionsChanged()
+	{
+		List<ExtensionInfoModel> extensions = new ArrayList<>();
+		for (int row = 0; row < tableModel.getRowCount(); row++)
+		{
+			extensions.add(ExtensionInfoModel.builder()
+				.extensionId((String)tableModel.getValueAt(row, 0))
+				.critical((Boolean)tableModel.getValueAt(row, 1))
+				.value((String)tableModel.getValueAt(row, 2)).build());
+		}
+		getModelObject().getModelObject()
+			.setExtensions(extensions.toArray(new ExtensionInfoModel[0]));
+	}
+
+	/**
+	 * Gets the textual value of the editor of the selected extension type
+	 *
+	 * @return the textual value in the syntax of the {@link X509ExtensionType}
+	 */
+	protected String getEditorValue()
+	{
+		X509ExtensionType type = (X509ExtensionType)cmbExtensionType.getSelectedItem();
+		switch (type)
+		{
+			case SUBJECT_ALTERNATIVE_NAME :
+				return txtSubjectAlternativeNames.getText().trim();
+			case KEY_USAGE :
+				return getSelectedNames(keyUsageCheckBoxes, "");
+			case EXTENDED_KEY_USAGE :
+				return getSelectedNames(extendedKeyUsageCheckBoxes,
+					txtOtherExtendedKeyUsages.getText().trim());
+			case BASIC_CONSTRAINTS :
+				int pathLength = (Integer)spnPathLength.getValue();
+				return chkCertificateAuthority.isSelected()
+					? "CA:TRUE" + (0 <= pathLength ? ",pathlen:" + pathLength : "")
+					: "CA:FALSE";
+			case SUBJECT_KEY_IDENTIFIER :
+				return chkDerivedKeyIdentifier.isSelected()
+					? "hash"
+					: txtKeyIdentifier.getText().trim();
+			case AUTHORITY_KEY_IDENTIFIER :
+				return chkDerivedKeyIdentifier.isSelected()
+					? "keyid"
+					: txtKeyIdentifier.getText().trim();
+			default :
+				return txtExtensionValue.getText();
+		}
+	}
+
+	/**
+	 * Sets the given textual value to the editor of the given extension type
+	 *
+	 * @param type
+	 *            the extension type
+	 * @param value
+	 *            the textual value in the syntax of the {@link X509ExtensionType}
+	 */
+	protected void setEditorValue(final X509ExtensionType type, final String value)
+	{
+		switch (type)
+		{
+			case SUBJECT_ALTERNATIVE_NAME :
+				txtSubjectAlternativeNames.setText(value);
+				break;
+			case KEY_USAGE :
+				setSelectedNames(keyUsageCheckBoxes, value);
+				break;
+			case EXTENDED_KEY_USAGE :
+				txtOtherExtendedKeyUsages
+					.setText(setSelectedNames(extendedKeyUsageCheckBoxes, value));
+				break;
+			case BASIC_CONSTRAINTS :
+				String constraints = value.replace(" ", "").toUpperCase();
+				chkCertificateAuthority.setSelected(constraints.contains("CA:TRUE"));
+				int pathLength = constraints.indexOf("PATHLEN:");
+				spnPathLength.setValue(pathLength < 0
+					? -1
+					: Integer.valueOf(constraints.substring(pathLength + 8).split(",")[0]));
+				break;
+			case SUBJECT_KEY_IDENTIFIER :
+			case AUTHORITY_KEY_IDENTIFIER :
+				boolean derived = type.isDerivedFromKey(value);
+				chkDerivedKeyIdentifier.setSelected(derived);
+				txtKeyIdentifier.setEnabled(!derived);
+				txtKeyIdentifier.setText(derived ? "" : value);
+				break;
+			default :
+				txtExtensionValue.setText(value);
+		}
+	}
+
 	/**
 	 * Validates the inputs for Extension ID and Value
 	 *
@@ -184,12 +463,13 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 	 */
 	protected boolean validateInputs()
 	{
-		String extensionId = txtExtensionId.getText();
-		String value = txtExtensionValue.getText();
+		String extensionId = txtExtensionId.getText().trim();
+		String value = getEditorValue();
 
+		ASN1ObjectIdentifier oid;
 		try
 		{
-			new ASN1ObjectIdentifier(extensionId);
+			oid = new ASN1ObjectIdentifier(extensionId);
 		}
 		catch (IllegalArgumentException e)
 		{
@@ -200,16 +480,18 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 			return false;
 		}
 
+		X509ExtensionType type = X509ExtensionType.of(oid);
 		try
 		{
-			new DEROctetString(value.getBytes());
+			if (!type.isDerivedFromKey(value))
+			{
+				type.toExtension(oid, chkCritical.isSelected(), value);
+			}
 		}
 		catch (IllegalArgumentException e)
 		{
-			showErrorDialog("Invalid Value",
-				"<html>The provided Value is invalid. Please ensure it is a valid ASN.1 Octet String.<br>"
-					+ "Refer to the following resource for more details: <a href='https://en.wikipedia.org/wiki/ASN.1'>ASN.1</a></html>"
-					+ " <br>https://en.wikipedia.org/wiki/ASN.1</html>");
+			showErrorDialog("Invalid Value", "<html>The provided value of the extension "
+				+ type.getDisplayName() + " is invalid.<br>" + e.getMessage() + "</html>");
 			return false;
 		}
 
@@ -234,8 +516,68 @@ public class ExtensionsPanel extends BasePanel<BaseWizardStateMachineModel<Certi
 	 */
 	protected void clearForm()
 	{
-		txtExtensionId.setText("");
-		chkCritical.setSelected(false);
+		onChangeExtensionType();
 		txtExtensionValue.setText("");
+		txtSubjectAlternativeNames.setText("");
+		keyUsageCheckBoxes.values().forEach(checkBox -> checkBox.setSelected(false));
+		extendedKeyUsageCheckBoxes.values().forEach(checkBox -> checkBox.setSelected(false));
+		txtOtherExtendedKeyUsages.setText("");
+		chkCertificateAuthority.setSelected(false);
+		spnPathLength.setValue(-1);
+		chkDerivedKeyIdentifier.setSelected(true);
+		txtKeyIdentifier.setText("");
+		txtKeyIdentifier.setEnabled(false);
+	}
+
+	private static Map<String, JCheckBox> newCheckBoxes(final Iterable<String> names)
+	{
+		Map<String, JCheckBox> checkBoxes = new LinkedHashMap<>();
+		for (String name : names)
+		{
+			checkBoxes.put(name, new JCheckBox(name));
+		}
+		return checkBoxes;
+	}
+
+	private static String getSelectedNames(final Map<String, JCheckBox> checkBoxes,
+		final String others)
+	{
+		StringJoiner joiner = new StringJoiner(",");
+		checkBoxes.forEach((name, checkBox) -> {
+			if (checkBox.isSelected())
+			{
+				joiner.add(name);
+			}
+		});
+		if (!others.isEmpty())
+		{
+			joiner.add(others);
+		}
+		return joiner.toString();
+	}
+
+	/**
+	 * Selects the check boxes of the names of the given value
+	 *
+	 * @return the names of the value without check box separated by commas
+	 */
+	private static String setSelectedNames(final Map<String, JCheckBox> checkBoxes,
+		final String value)
+	{
+		checkBoxes.values().forEach(checkBox -> checkBox.setSelected(false));
+		StringJoiner others = new StringJoiner(",");
+		for (String name : value.split("[,;]"))
+		{
+			JCheckBox checkBox = checkBoxes.get(name.trim());
+			if (checkBox != null)
+			{
+				checkBox.setSelected(true);
+			}
+			else if (!name.isBlank())
+			{
+				others.add(name.trim());
+			}
+		}
+		return others.toString();
 	}
 }
@@ -24,6 +24,11 @@
  */
 package io.github.astrapi69.key.pair.generator.wizard.model;
 
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+
 import io.github.astrapi69.crypt.data.model.DistinguishedNameInfo;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -64,4 +69,33 @@ public class DistinguishedNameInfoModel
 			.organisationUnit(distinguishedNameInfoModel.getOrganisationUnit())
 			.state(distinguishedNameInfoModel.getState()).build();
 	}
+
+	/**
+	 * Converts the given {@link DistinguishedNameInfoModel} object to a {@link X500Name} object,
+	 * the empty attributes are omitted
+	 *
+	 * @param distinguishedNameInfoModel
+	 *            the {@link DistinguishedNameInfoModel} object to convert
+	 * @return the corresponding {@link X500Name} object
+	 */
+	public static X500Name toX500Name(final DistinguishedNameInfoModel distinguishedNameInfoModel)
+	{
+		X500NameBuilder builder = new X500NameBuilder(BCStyle.INSTANCE);
+		addAttribute(builder, BCStyle.C, distinguishedNameInfoModel.getCountryCode());
+		addAttribute(builder, BCStyle.ST, distinguishedNameInfoModel.getState());
+		addAttribute(builder, BCStyle.L, distinguishedNameInfoModel.getLocation());
+		addAttribute(builder, BCStyle.O, distinguishedNameInfoModel.getOrganisation());
+		addAttribute(builder, BCStyle.OU, distinguishedNameInfoModel.getOrganisationUnit());
+		addAttribute(builder, BCStyle.CN, distinguishedNameInfoModel.getCommonName());
+		return builder.build();
+	}
+
+	private static void addAttribute(final X500NameBuilder builder,
+		final ASN1ObjectIdentifier attributeType, final String value)
+	{
+		if (value != null && !value.isBlank())
+		{
+			builder.addRDN(attributeType, value);
+		}
+	}
 }
@@ -31,10 +31,11 @@ import java.util.Set;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.ASN1OctetString;
-import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.x509.Extension;
 
 import io.github.astrapi69.crypt.data.model.ExtensionInfo;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionTemplate;
+import io.github.astrapi69.key.pair.generator.x509.X509ExtensionType;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -60,7 +61,8 @@ public class ExtensionInfoModel
 	boolean critical;
 
 	/**
-	 * The value of the extension
+	 * The textual value of the extension in the syntax of the {@link X509ExtensionType} of the
+	 * extension
 	 */
 	String value;
 
@@ -102,18 +104,19 @@ public class ExtensionInfoModel
 	}
 
 	/**
-	 * Converts an {@link ExtensionInfoModel} object to a {@link Extension} object
+	 * Converts an {@link ExtensionInfoModel} object to a {@link Extension} object. The value is
+	 * encoded to the typed ASN.1 structure of the {@link X509ExtensionType} of the extension
 	 *
 	 * @param extensionInfoModel
 	 *            the {@link ExtensionInfoModel} object to convert
 	 * @return the corresponding {@link Extension} object
+	 * @throws IllegalArgumentException
+	 *             if the value is not valid or is derived from the public key of the certificate,
+	 *             derived key identifiers are created by the {@link X509ExtensionTemplate}
 	 */
 	public static Extension toExtension(final ExtensionInfoModel extensionInfoModel)
 	{
-		ASN1ObjectIdentifier oid = new ASN1ObjectIdentifier(extensionInfoModel.getExtensionId());
-		byte[] extensionValue = extensionInfoModel.getValue().getBytes();
-		ASN1OctetString value = new DEROctetString(extensionValue);
-		return new Extension(oid, extensionInfoModel.isCritical(), value);
+		return X509ExtensionTemplate.encode(extensionInfoModel);
 	}
 
 	/**
@@ -146,7 +149,8 @@ public class ExtensionInfoModel
 	{
 		String extensionId = extension.getExtnId().getId();
 		boolean critical = extension.isCritical();
-		String value = new String(extension.getExtnValue().getOctets());
+		String value = X509ExtensionType.of(extension.getExtnId())
+			.format(extension.getExtnValue());
 
 		return ExtensionInfoModel.builder().extensionId(extensionId).critical(critical).value(value)
 			.build();
@@ -171,7 +175,7 @@ public class ExtensionInfoModel
 			{
 				byte[] extensionValue = certificate.getExtensionValue(oid);
 				Extension extension = new Extension(new ASN1ObjectIdentifier(oid), true,
-					new DEROctetString(extensionValue));
+					ASN1OctetString.getInstance(extensionValue));
 				extensions.add(ExtensionInfoModel.fromExtension(extension));
 			}
 		}
@@ -183,7 +187,7 @@ public class ExtensionInfoModel
 			{
 				byte[] extensionValue = certificate.getExtensionValue(oid);
 				Extension extension = new Extension(new ASN1ObjectIdentifier(oid), false,
-					new DEROctetString(extensionValue));
+					ASN1OctetString.getInstance(extensionValue));
 				extensions.add(ExtensionInfoModel.fromExtension(extension));
 			}
 		}
@@ -0,0 +1,155 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.x509;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ValidityModel;
+import lombok.NonNull;
+
+/**
+ * The class {@link SelfSignedCertificates} creates certificates that are signed with the private
+ * key of their own key pair. The extensions are encoded with the {@link X509ExtensionTemplate}
+ */
+public final class SelfSignedCertificates
+{
+
+	private SelfSignedCertificates()
+	{
+	}
+
+	/**
+	 * Builds the unsigned self signed certificate of the given {@link CertificateInfoModel}
+	 *
+	 * @param certificateInfoModel
+	 *            the certificate info model
+	 * @param extensionTemplate
+	 *            the template of the extensions
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @return the certificate builder
+	 * @throws GeneralSecurityException
+	 *             if an extension can not be created or added
+	 */
+	public static X509v3CertificateBuilder newCertificateBuilder(
+		final @NonNull CertificateInfoModel certificateInfoModel,
+		final @NonNull X509ExtensionTemplate extensionTemplate,
+		final @NonNull PublicKey publicKey) throws GeneralSecurityException
+	{
+		ValidityModel validityModel = certificateInfoModel.getValidityModel();
+		X509v3CertificateBuilder builder = new X509v3CertificateBuilder(
+			DistinguishedNameInfoModel.toX500Name(certificateInfoModel.getIssuer()),
+			certificateInfoModel.getSerial(), Date.from(validityModel.getNotBefore().toInstant()),
+			Date.from(validityModel.getNotAfter().toInstant()),
+			DistinguishedNameInfoModel.toX500Name(certificateInfoModel.getSubject()),
+			SubjectPublicKeyInfo.getInstance(publicKey.getEncoded()));
+		try
+		{
+			for (Extension extension : extensionTemplate.toExtensions(publicKey, null))
+			{
+				builder.addExtension(extension);
+			}
+		}
+		catch (IOException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		return builder;
+	}
+
+	/**
+	 * Factory method for create a new self signed certificate of the given
+	 * {@link CertificateInfoModel} that is signed with the signature algorithm of the model
+	 *
+	 * @param certificateInfoModel
+	 *            the certificate info model
+	 * @param keyPair
+	 *            the key pair of the certificate
+	 * @return the new certificate
+	 * @throws GeneralSecurityException
+	 *             if an extension is not valid or the certificate can not be signed
+	 */
+	public static X509Certificate newCertificate(
+		final @NonNull CertificateInfoModel certificateInfoModel, final @NonNull KeyPair keyPair)
+		throws GeneralSecurityException
+	{
+		X509ExtensionTemplate extensionTemplate;
+		try
+		{
+			extensionTemplate = X509ExtensionTemplate.of(certificateInfoModel.getExtensions());
+		}
+		catch (IllegalArgumentException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+		return sign(newCertificateBuilder(certificateInfoModel, extensionTemplate,
+			keyPair.getPublic()), certificateInfoModel.getSignatureAlgorithm(), keyPair);
+	}
+
+	/**
+	 * Signs the given certificate builder with the private key of the given key pair
+	 *
+	 * @param builder
+	 *            the certificate builder
+	 * @param signatureAlgorithm
+	 *            the signature algorithm
+	 * @param keyPair
+	 *            the key pair of the certificate
+	 * @return the signed certificate
+	 * @throws GeneralSecurityException
+	 *             if the certificate can not be signed
+	 */
+	public static X509Certificate sign(final @NonNull X509v3CertificateBuilder builder,
+		final @NonNull String signatureAlgorithm, final @NonNull KeyPair keyPair)
+		throws GeneralSecurityException
+	{
+		try
+		{
+			ContentSigner contentSigner = new JcaContentSignerBuilder(signatureAlgorithm)
+				.build(keyPair.getPrivate());
+			return new JcaX509CertificateConverter().getCertificate(builder.build(contentSigner));
+		}
+		catch (OperatorCreationException exception)
+		{
+			throw new GeneralSecurityException(exception.getMessage(), exception);
+		}
+	}
+
+}
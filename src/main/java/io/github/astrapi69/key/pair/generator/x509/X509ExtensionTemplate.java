@@ -0,0 +1,219 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.x509;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+
+import io.github.astrapi69.key.pair.generator.ca.IssuerSigner;
+import io.github.astrapi69.key.pair.generator.wizard.model.ExtensionInfoModel;
+
+/**
+ * The class {@link X509ExtensionTemplate} holds the DER encoded extensions of a certificate
+ * template, so the textual values of the {@link ExtensionInfoModel} objects are parsed and encoded
+ * once and the encoded extensions are reused for every certificate of the template. The encoded
+ * extensions are additionally cached by their identifier, criticality and value, so the templates
+ * of a batch whose rows share extensions share their encodings too. Only the key identifiers that
+ * are derived from the public key are created for every certificate
+ */
+public final class X509ExtensionTemplate
+{
+
+	/**
+	 * The empty template without extensions
+	 */
+	public static final X509ExtensionTemplate EMPTY = new X509ExtensionTemplate(new Extension[0],
+		false, false, Set.of());
+
+	/**
+	 * The maximum number of the cached encoded extensions. The extensions that are unique per
+	 * certificate like the subject alternative names are never cached, so the cache only holds the
+	 * shared extensions of the templates and this bound is a safeguard
+	 */
+	static final int MAX_CACHED_EXTENSIONS = 4096;
+
+	private static final Map<String, Extension> ENCODED_EXTENSIONS = new ConcurrentHashMap<>();
+
+	private final Extension[] extensions;
+
+	private final boolean subjectKeyIdentifierDerived;
+
+	private final boolean authorityKeyIdentifierDerived;
+
+	private final Set<ASN1ObjectIdentifier> extensionIds;
+
+	private X509ExtensionTemplate(final Extension[] extensions,
+		final boolean subjectKeyIdentifierDerived, final boolean authorityKeyIdentifierDerived,
+		final Set<ASN1ObjectIdentifier> extensionIds)
+	{
+		this.extensions = extensions;
+		this.subjectKeyIdentifierDerived = subjectKeyIdentifierDerived;
+		this.authorityKeyIdentifierDerived = authorityKeyIdentifierDerived;
+		this.extensionIds = extensionIds;
+	}
+
+	/**
+	 * Factory method for create the template of the given {@link ExtensionInfoModel} objects
+	 *
+	 * @param extensionInfoModels
+	 *            the extension info models, may be null
+	 * @return the template
+	 * @throws IllegalArgumentException
+	 *             if an extension identifier or value is not valid or an extension is contained
+	 *             twice
+	 */
+	public static X509ExtensionTemplate of(final ExtensionInfoModel... extensionInfoModels)
+	{
+		if (extensionInfoModels == null || extensionInfoModels.length == 0)
+		{
+			return EMPTY;
+		}
+		List<Extension> extensions = new ArrayList<>(extensionInfoModels.length);
+		Set<ASN1ObjectIdentifier> extensionIds = new HashSet<>();
+		boolean subjectKeyIdentifierDerived = false;
+		boolean authorityKeyIdentifierDerived = false;
+		for (ExtensionInfoModel extensionInfoModel : extensionInfoModels)
+		{
+			ASN1ObjectIdentifier extensionId = new ASN1ObjectIdentifier(
+				extensionInfoModel.getExtensionId().trim());
+			if (!extensionIds.add(extensionId))
+			{
+				throw new IllegalArgumentException(
+					"Extension " + extensionId + " is contained more than once");
+			}
+			X509ExtensionType type = X509ExtensionType.of(extensionId);
+			if (type.isDerivedFromKey(extensionInfoModel.getValue()))
+			{
+				subjectKeyIdentifierDerived |= type == X509ExtensionType.SUBJECT_KEY_IDENTIFIER;
+				authorityKeyIdentifierDerived |= type == X509ExtensionType.AUTHORITY_KEY_IDENTIFIER;
+			}
+			else
+			{
+				extensions.add(encode(extensionInfoModel));
+			}
+		}
+		return new X509ExtensionTemplate(extensions.toArray(new Extension[0]),
+			subjectKeyIdentifierDerived, authorityKeyIdentifierDerived, Set.copyOf(extensionIds));
+	}
+
+	/**
+	 * Encodes the given {@link ExtensionInfoModel} object to its DER encoded extension, the
+	 * encoded extensions are cached unless they are unique per certificate
+	 *
+	 * @param extensionInfoModel
+	 *            the extension info model
+	 * @return the encoded extension
+	 * @throws IllegalArgumentException
+	 *             if the extension identifier or value is not valid or the value is derived from
+	 *             the public key
+	 */
+	public static Extension encode(final ExtensionInfoModel extensionInfoModel)
+	{
+		ASN1ObjectIdentifier extensionId = new ASN1ObjectIdentifier(
+			extensionInfoModel.getExtensionId().trim());
+		X509ExtensionType type = X509ExtensionType.of(extensionId);
+		if (type.isUniquePerCertificate())
+		{
+			return type.toExtension(extensionId, extensionInfoModel.isCritical(),
+				extensionInfoModel.getValue());
+		}
+		String key = extensionId.getId() + '|' + extensionInfoModel.isCritical() + '|'
+			+ extensionInfoModel.getValue();
+		Extension extension = ENCODED_EXTENSIONS.get(key);
+		if (extension == null)
+		{
+			extension = type.toExtension(extensionId, extensionInfoModel.isCritical(),
+				extensionInfoModel.getValue());
+			if (ENCODED_EXTENSIONS.size() < MAX_CACHED_EXTENSIONS)
+			{
+				ENCODED_EXTENSIONS.putIfAbsent(key, extension);
+			}
+		}
+		return extension;
+	}
+
+	/**
+	 * Checks if this template contains the extension with the given identifier
+	 *
+	 * @param extensionId
+	 *            the object identifier of the extension
+	 * @return true if this template contains the extension
+	 */
+	public boolean contains(final ASN1ObjectIdentifier extensionId)
+	{
+		return extensionIds.contains(extensionId);
+	}
+
+	/**
+	 * Gets the extensions of a certificate with the given public key. The encoded extensions of the
+	 * template are reused, the key identifiers that are derived from the public key are created
+	 * non critical as required by RFC 5280
+	 *
+	 * @param publicKey
+	 *            the public key of the certificate
+	 * @param authorityKeyIdentifier
+	 *            the encoded authority key identifier of the issuer or null if the certificate is
+	 *            self signed and the authority key identifier is derived from the given public key
+	 * @return the extensions of the certificate
+	 * @throws GeneralSecurityException
+	 *             if a key identifier can not be created
+	 */
+	public Extension[] toExtensions(final PublicKey publicKey,
+		final Extension authorityKeyIdentifier) throws GeneralSecurityException
+	{
+		if (!subjectKeyIdentifierDerived && !authorityKeyIdentifierDerived)
+		{
+			return extensions.clone();
+		}
+		List<Extension> result = new ArrayList<>(extensions.length + 2);
+		for (Extension extension : extensions)
+		{
+			result.add(extension);
+		}
+		if (subjectKeyIdentifierDerived)
+		{
+			result.add(IssuerSigner.newSubjectKeyIdentifier(publicKey));
+		}
+		if (authorityKeyIdentifierDerived)
+		{
+			result.add(authorityKeyIdentifier != null
+				? authorityKeyIdentifier
+				: IssuerSigner.newExtension(Extension.authorityKeyIdentifier, false,
+					new AuthorityKeyIdentifier(IssuerSigner.newKeyIdentifier(publicKey))));
+		}
+		return result.toArray(new Extension[0]);
+	}
+
+}
@@ -0,0 +1,614 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.x509;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1String;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERUTF8String;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.util.encoders.Hex;
+
+import lombok.Getter;
+
+/**
+ * The enum {@link X509ExtensionType} parses the textual values of the common X.509 extensions to
+ * their typed ASN.1 structures and formats them back. The textual values follow the syntax of the
+ * openssl configuration files, list values are separated with a comma or a semicolon:
+ * <ul>
+ * <li>subject alternative name: {@code DNS:example.org,IP:10.0.0.1,email:a@example.org,URI:...},
+ * names without prefix are DNS names</li>
+ * <li>key usage: {@code digitalSignature,keyEncipherment}</li>
+ * <li>extended key usage: {@code serverAuth,clientAuth} or object identifiers</li>
+ * <li>basic constraints: {@code CA:TRUE,pathlen:0} or {@code CA:FALSE}</li>
+ * <li>subject and authority key identifier: the hexadecimal key identifier, or {@code hash}
+ * respectively {@code keyid} if it is derived from the public key of the certificate</li>
+ * <li>all other extensions: a text that is encoded as UTF8String or {@code DER:} followed by the
+ * hexadecimal DER encoding of the value</li>
+ * </ul>
+ */
+@Getter
+public enum X509ExtensionType
+{
+
+	/**
+	 * The subject alternative name extension
+	 */
+	SUBJECT_ALTERNATIVE_NAME(Extension.subjectAlternativeName, "Subject alternative name")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			List<GeneralName> names = new ArrayList<>();
+			for (String name : split(value))
+			{
+				int separator = name.indexOf(':');
+				String prefix = separator < 0 ? "DNS" : name.substring(0, separator).trim();
+				String content = separator < 0 ? name : name.substring(separator + 1).trim();
+				names.add(new GeneralName(getGeneralNameTag(prefix, name), content));
+			}
+			if (names.isEmpty())
+			{
+				throw new IllegalArgumentException("No subject alternative name given");
+			}
+			return new GeneralNames(names.toArray(new GeneralName[0]));
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			StringJoiner joiner = new StringJoiner(",");
+			for (GeneralName name : GeneralNames.getInstance(value).getNames())
+			{
+				joiner.add(formatGeneralName(name));
+			}
+			return joiner.toString();
+		}
+	},
+
+	/**
+	 * The key usage extension
+	 */
+	KEY_USAGE(Extension.keyUsage, "Key usage")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			int usages = 0;
+			for (String name : split(value))
+			{
+				usages |= KEY_USAGES.get(getCanonicalName(KEY_USAGES, name, "key usage"));
+			}
+			if (usages == 0)
+			{
+				throw new IllegalArgumentException("No key usage given");
+			}
+			return new KeyUsage(usages);
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			KeyUsage keyUsage = KeyUsage.getInstance(value);
+			StringJoiner joiner = new StringJoiner(",");
+			KEY_USAGES.forEach((name, usage) -> {
+				if (keyUsage.hasUsages(usage))
+				{
+					joiner.add(name);
+				}
+			});
+			return joiner.toString();
+		}
+	},
+
+	/**
+	 * The extended key usage extension
+	 */
+	EXTENDED_KEY_USAGE(Extension.extendedKeyUsage, "Extended key usage")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			List<KeyPurposeId> usages = new ArrayList<>();
+			for (String name : split(value))
+			{
+				usages.add(Character.isDigit(name.charAt(0))
+					? KeyPurposeId.getInstance(new ASN1ObjectIdentifier(name))
+					: EXTENDED_KEY_USAGES.get(
+						getCanonicalName(EXTENDED_KEY_USAGES, name, "extended key usage")));
+			}
+			if (usages.isEmpty())
+			{
+				throw new IllegalArgumentException("No extended key usage given");
+			}
+			return new ExtendedKeyUsage(usages.toArray(new KeyPurposeId[0]));
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			StringJoiner joiner = new StringJoiner(",");
+			for (KeyPurposeId usage : ExtendedKeyUsage.getInstance(value).getUsages())
+			{
+				joiner.add(EXTENDED_KEY_USAGES.entrySet().stream()
+					.filter(entry -> entry.getValue().equals(usage)).map(Map.Entry::getKey)
+					.findFirst().orElse(usage.getId()));
+			}
+			return joiner.toString();
+		}
+	},
+
+	/**
+	 * The basic constraints extension
+	 */
+	BASIC_CONSTRAINTS(Extension.basicConstraints, "Basic constraints")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			Boolean certificateAuthority = null;
+			Integer pathLength = null;
+			for (String entry : split(value))
+			{
+				String[] parts = entry.split(":", 2);
+				String content = parts.length == 2 ? parts[1].trim() : "";
+				if ("CA".equalsIgnoreCase(parts[0].trim())
+					&& ("TRUE".equalsIgnoreCase(content) || "FALSE".equalsIgnoreCase(content)))
+				{
+					certificateAuthority = "TRUE".equalsIgnoreCase(content);
+				}
+				else if ("pathlen".equalsIgnoreCase(parts[0].trim()))
+				{
+					pathLength = parseNonNegative(content, entry);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Invalid basic constraint '" + entry
+						+ "', expected CA:TRUE, CA:FALSE or pathlen:<length>");
+				}
+			}
+			if (certificateAuthority == null)
+			{
+				throw new IllegalArgumentException("Basic constraints need CA:TRUE or CA:FALSE");
+			}
+			if (pathLength != null && !certificateAuthority)
+			{
+				throw new IllegalArgumentException("A path length needs CA:TRUE");
+			}
+			return pathLength != null
+				? new BasicConstraints(pathLength)
+				: new BasicConstraints(certificateAuthority);
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			BasicConstraints basicConstraints = BasicConstraints.getInstance(value);
+			BigInteger pathLength = basicConstraints.getPathLenConstraint();
+			return basicConstraints.isCA()
+				? "CA:TRUE" + (pathLength != null ? ",pathlen:" + pathLength : "")
+				: "CA:FALSE";
+		}
+	},
+
+	/**
+	 * The subject key identifier extension
+	 */
+	SUBJECT_KEY_IDENTIFIER(Extension.subjectKeyIdentifier, "Subject key identifier")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			return new SubjectKeyIdentifier(parseKeyIdentifier(value));
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			return Hex.toHexString(SubjectKeyIdentifier.getInstance(value).getKeyIdentifier());
+		}
+
+		@Override
+		public boolean isDerivedFromKey(final String value)
+		{
+			return value == null || value.isBlank() || "hash".equalsIgnoreCase(value.trim());
+		}
+	},
+
+	/**
+	 * The authority key identifier extension
+	 */
+	AUTHORITY_KEY_IDENTIFIER(Extension.authorityKeyIdentifier, "Authority key identifier")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			return new AuthorityKeyIdentifier(parseKeyIdentifier(value));
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			byte[] keyIdentifier = AuthorityKeyIdentifier.getInstance(value).getKeyIdentifier();
+			return keyIdentifier != null ? Hex.toHexString(keyIdentifier) : "";
+		}
+
+		@Override
+		public boolean isDerivedFromKey(final String value)
+		{
+			return value == null || value.isBlank() || "keyid".equalsIgnoreCase(value.trim());
+		}
+	},
+
+	/**
+	 * All other extensions, the value is a text or {@code DER:} followed by the hexadecimal DER
+	 * encoding
+	 */
+	CUSTOM(null, "Custom")
+	{
+		@Override
+		public ASN1Encodable parse(final String value)
+		{
+			if (value.regionMatches(true, 0, DER_PREFIX, 0, DER_PREFIX.length()))
+			{
+				try
+				{
+					return ASN1Primitive.fromByteArray(
+						Hex.decodeStrict(value.substring(DER_PREFIX.length()).trim()));
+				}
+				catch (IOException | RuntimeException exception)
+				{
+					throw new IllegalArgumentException(
+						"Invalid DER encoding '" + value + "': " + exception.getMessage(),
+						exception);
+				}
+			}
+			return new DERUTF8String(value);
+		}
+
+		@Override
+		public String format(final ASN1Primitive value)
+		{
+			if (value instanceof ASN1String)
+			{
+				return ((ASN1String)value).getString();
+			}
+			try
+			{
+				return DER_PREFIX + Hex.toHexString(value.getEncoded(ASN1Encoding.DER));
+			}
+			catch (IOException exception)
+			{
+				throw new IllegalArgumentException(exception.getMessage(), exception);
+			}
+		}
+	};
+
+	/**
+	 * The prefix of the values of custom extensions that are given as hexadecimal DER encoding
+	 */
+	public static final String DER_PREFIX = "DER:";
+
+	/**
+	 * The key usages by their names in the order of their bits
+	 */
+	public static final Map<String, Integer> KEY_USAGES = newKeyUsages();
+
+	/**
+	 * The common extended key usages by their names
+	 */
+	public static final Map<String, KeyPurposeId> EXTENDED_KEY_USAGES = newExtendedKeyUsages();
+
+	/**
+	 * The object identifier of the extension or null for the custom extensions
+	 */
+	private final ASN1ObjectIdentifier extensionId;
+
+	/**
+	 * The name of the extension that is displayed
+	 */
+	private final String displayName;
+
+	X509ExtensionType(final ASN1ObjectIdentifier extensionId, final String displayName)
+	{
+		this.extensionId = extensionId;
+		this.displayName = displayName;
+	}
+
+	/**
+	 * Gets the type of the extension with the given object identifier
+	 *
+	 * @param extensionId
+	 *            the object identifier of the extension
+	 * @return the type of the extension, {@link #CUSTOM} if the extension is none of the typed ones
+	 */
+	public static X509ExtensionType of(final ASN1ObjectIdentifier extensionId)
+	{
+		for (X509ExtensionType type : values())
+		{
+			if (extensionId.equals(type.extensionId))
+			{
+				return type;
+			}
+		}
+		return CUSTOM;
+	}
+
+	/**
+	 * Parses the given textual value to the ASN.1 structure of this extension type
+	 *
+	 * @param value
+	 *            the textual value
+	 * @return the ASN.1 structure of the value
+	 * @throws IllegalArgumentException
+	 *             if the value is not valid
+	 */
+	public abstract ASN1Encodable parse(String value);
+
+	/**
+	 * Formats the given ASN.1 value of this extension type to its textual value
+	 *
+	 * @param value
+	 *            the ASN.1 value
+	 * @return the textual value
+	 */
+	public abstract String format(ASN1Primitive value);
+
+	/**
+	 * Checks if the given value means that the extension is derived from the public key of the
+	 * certificate, that is only possible for the key identifiers
+	 *
+	 * @param value
+	 *            the textual value
+	 * @return true if the extension is derived from the public key of the certificate
+	 */
+	public boolean isDerivedFromKey(final String value)
+	{
+		return false;
+	}
+
+	/**
+	 * Checks if the values of this extension type are usually unique per certificate like the
+	 * subject alternative names, the encoded extensions of these types are not worth caching
+	 *
+	 * @return true if the values of this extension type are usually unique per certificate
+	 */
+	public boolean isUniquePerCertificate()
+	{
+		return this == SUBJECT_ALTERNATIVE_NAME || this == SUBJECT_KEY_IDENTIFIER;
+	}
+
+	/**
+	 * Encodes the given textual value to a new DER encoded extension. The value is parsed and
+	 * encoded on every call, the {@link X509ExtensionTemplate} reuses the encoded extensions
+	 *
+	 * @param extensionId
+	 *            the object identifier of the extension
+	 * @param critical
+	 *            the flag if the extension is critical
+	 * @param value
+	 *            the textual value
+	 * @return the encoded extension
+	 * @throws IllegalArgumentException
+	 *             if the value is not valid or is derived from the public key
+	 */
+	public Extension toExtension(final ASN1ObjectIdentifier extensionId, final boolean critical,
+		final String value)
+	{
+		if (isDerivedFromKey(value))
+		{
+			throw new IllegalArgumentException(
+				displayName + " '" + value + "' is derived from the public key of the certificate");
+		}
+		try
+		{
+			return new Extension(extensionId, critical,
+				new DEROctetString(parse(value).toASN1Primitive().getEncoded(ASN1Encoding.DER)));
+		}
+		catch (IOException exception)
+		{
+			throw new IllegalArgumentException(exception.getMessage(), exception);
+		}
+	}
+
+	/**
+	 * Formats the value of the given extension to its textual value. Values that are no valid DER
+	 * encoding are returned as text
+	 *
+	 * @param value
+	 *            the encoded value of the extension
+	 * @return the textual value
+	 */
+	public String format(final ASN1OctetString value)
+	{
+		try
+		{
+			return format(ASN1Primitive.fromByteArray(value.getOctets()));
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			return new String(value.getOctets());
+		}
+	}
+
+	private static List<String> split(final String value)
+	{
+		List<String> entries = new ArrayList<>();
+		for (String entry : value.split("[,;]"))
+		{
+			if (!entry.isBlank())
+			{
+				entries.add(entry.trim());
+			}
+		}
+		return entries;
+	}
+
+	private static String getCanonicalName(final Map<String, ?> names, final String name,
+		final String kind)
+	{
+		for (String canonicalName : names.keySet())
+		{
+			if (canonicalName.equalsIgnoreCase(name))
+			{
+				return canonicalName;
+			}
+		}
+		throw new IllegalArgumentException(
+			"Unknown " + kind + " '" + name + "', expected one of " + names.keySet());
+	}
+
+	private static int getGeneralNameTag(final String prefix, final String name)
+	{
+		switch (prefix.toUpperCase(Locale.ROOT))
+		{
+			case "DNS" :
+				return GeneralName.dNSName;
+			case "IP" :
+				return GeneralName.iPAddress;
+			case "EMAIL" :
+				return GeneralName.rfc822Name;
+			case "URI" :
+				return GeneralName.uniformResourceIdentifier;
+			case "RID" :
+				return GeneralName.registeredID;
+			default :
+				throw new IllegalArgumentException("Invalid subject alternative name '" + name
+					+ "', expected one of the prefixes DNS, IP, email, URI or RID");
+		}
+	}
+
+	private static String formatGeneralName(final GeneralName name)
+	{
+		switch (name.getTagNo())
+		{
+			case GeneralName.dNSName :
+				return "DNS:" + name.getName();
+			case GeneralName.rfc822Name :
+				return "email:" + name.getName();
+			case GeneralName.uniformResourceIdentifier :
+				return "URI:" + name.getName();
+			case GeneralName.registeredID :
+				return "RID:" + name.getName();
+			case GeneralName.iPAddress :
+				try
+				{
+					return "IP:" + InetAddress
+						.getByAddress(ASN1OctetString.getInstance(name.getName()).getOctets())
+						.getHostAddress();
+				}
+				catch (UnknownHostException exception)
+				{
+					return "IP:" + Hex.toHexString(
+						ASN1OctetString.getInstance(name.getName()).getOctets());
+				}
+			default :
+				return name.toString();
+		}
+	}
+
+	private static int parseNonNegative(final String value, final String entry)
+	{
+		try
+		{
+			int number = Integer.parseInt(value);
+			if (0 <= number)
+			{
+				return number;
+			}
+		}
+		catch (NumberFormatException exception)
+		{
+			// rejected below
+		}
+		throw new IllegalArgumentException("Invalid path length '" + entry + "'");
+	}
+
+	private static byte[] parseKeyIdentifier(final String value)
+	{
+		try
+		{
+			return Hex.decodeStrict(value.replaceAll("[:\\s]", ""));
+		}
+		catch (RuntimeException exception)
+		{
+			throw new IllegalArgumentException(
+				"Invalid key identifier '" + value + "', expected hexadecimal digits", exception);
+		}
+	}
+
+	private static Map<String, Integer> newKeyUsages()
+	{
+		Map<String, Integer> keyUsages = new LinkedHashMap<>();
+		keyUsages.put("digitalSignature", KeyUsage.digitalSignature);
+		keyUsages.put("nonRepudiation", KeyUsage.nonRepudiation);
+		keyUsages.put("keyEncipherment", KeyUsage.keyEncipherment);
+		keyUsages.put("dataEncipherment", KeyUsage.dataEncipherment);
+		keyUsages.put("keyAgreement", KeyUsage.keyAgreement);
+		keyUsages.put("keyCertSign", KeyUsage.keyCertSign);
+		keyUsages.put("cRLSign", KeyUsage.cRLSign);
+		keyUsages.put("encipherOnly", KeyUsage.encipherOnly);
+		keyUsages.put("decipherOnly", KeyUsage.decipherOnly);
+		return Collections.unmodifiableMap(keyUsages);
+	}
+
+	private static Map<String, KeyPurposeId> newExtendedKeyUsages()
+	{
+		Map<String, KeyPurposeId> extendedKeyUsages = new LinkedHashMap<>();
+		extendedKeyUsages.put("serverAuth", KeyPurposeId.id_kp_serverAuth);
+		extendedKeyUsages.put("clientAuth", KeyPurposeId.id_kp_clientAuth);
+		extendedKeyUsages.put("codeSigning", KeyPurposeId.id_kp_codeSigning);
+		extendedKeyUsages.put("emailProtection", KeyPurposeId.id_kp_emailProtection);
+		extendedKeyUsages.put("timeStamping", KeyPurposeId.id_kp_timeStamping);
+		extendedKeyUsages.put("OCSPSigning", KeyPurposeId.id_kp_OCSPSigning);
+		extendedKeyUsages.put("anyExtendedKeyUsage", KeyPurposeId.anyExtendedKeyUsage);
+		return Collections.unmodifiableMap(extendedKeyUsages);
+	}
+
+}
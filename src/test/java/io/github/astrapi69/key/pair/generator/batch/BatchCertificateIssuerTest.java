@@ -0,0 +1,122 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import org.bouncycastle.asn1.x509.Extension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link BatchCertificateIssuer}
+ */
+class BatchCertificateIssuerTest
+{
+
+	private static final int ROW_COUNT = 12;
+
+	private static X509Certificate readCertificate(final Path file) throws Exception
+	{
+		try (InputStream inputStream = Files.newInputStream(file))
+		{
+			return (X509Certificate)CertificateFactory.getInstance("X.509")
+				.generateCertificate(inputStream);
+		}
+	}
+
+	/**
+	 * Test the batch issuance of self signed certificates from a csv file with two invalid rows,
+	 * the rows are streamed through a small queue and the failed rows are written in the order of
+	 * their row numbers
+	 */
+	@Test
+	public void testRun(@TempDir Path directory) throws Exception
+	{
+		Path inputFile = directory.resolve("subjects.csv");
+		Path outputDirectory = directory.resolve("certificates");
+		StringBuilder csv = new StringBuilder(
+			"common-name,organisation,subject-alternative-names,keypair-algorithm,extensions\n");
+		for (int row = 1; row <= ROW_COUNT; row++)
+		{
+			String keyPairAlgorithm = row == 11 ? "UNKNOWN" : "";
+			String extensions = row == 2
+				? "2.5.29.15|true"
+				: "2.5.29.15|true|digitalSignature;2.5.29.19|true|CA:FALSE";
+			csv.append("leaf-").append(row).append(".example.org,Example,DNS:leaf-").append(row)
+				.append(".example.org,").append(keyPairAlgorithm).append(',').append(extensions)
+				.append('\n');
+		}
+		Files.writeString(inputFile, csv, StandardCharsets.UTF_8);
+		BatchCertificateIssuanceOptions options = BatchCertificateIssuanceOptions.parse("--input",
+			inputFile.toString(), "--output", outputDirectory.toString(), "--algorithm", "EC",
+			"--key-size", "256", "--signature-algorithm", "SHA256withECDSA", "--threads", "2",
+			"--queue-capacity", "2");
+
+		BatchCertificateIssuer issuer = new BatchCertificateIssuer(options);
+		BatchReport report = issuer.run();
+
+		assertEquals(ROW_COUNT - 2, report.getSucceeded());
+		assertEquals(2, report.getFailed());
+		assertEquals(BatchCertificateIssuer.STAGES.size(), issuer.getStageMetrics().size());
+		assertFalse(
+			Files.exists(outputDirectory.resolve("2-leaf-2.example.org-certificate.pem")));
+		assertTrue(
+			Files.isRegularFile(outputDirectory.resolve("12-leaf-12.example.org-private.pem")));
+
+		X509Certificate certificate = readCertificate(
+			outputDirectory.resolve("1-leaf-1.example.org-certificate.pem"));
+		certificate.verify(certificate.getPublicKey());
+		assertEquals("EC", certificate.getPublicKey().getAlgorithm());
+		assertTrue(certificate.getSubjectX500Principal().getName()
+			.contains("CN=leaf-1.example.org"));
+		assertEquals(List.of(List.of(2, "leaf-1.example.org")),
+			List.copyOf(certificate.getSubjectAlternativeNames()));
+		assertTrue(certificate.getCriticalExtensionOIDs().contains(Extension.keyUsage.getId()));
+		assertArrayEquals(new boolean[] { true, false, false, false, false, false, false, false,
+				false }, certificate.getKeyUsage());
+		assertEquals(-1, certificate.getBasicConstraints());
+
+		List<String> failedRows = Files.readAllLines(
+			outputDirectory.resolve(BatchCertificateIssuer.FAILED_ROWS_FILE_NAME));
+		assertEquals(3, failedRows.size());
+		assertEquals("row,common-name,error", failedRows.get(0));
+		assertTrue(failedRows.get(1).startsWith("2,\"leaf-2.example.org\""));
+		assertTrue(failedRows.get(1).contains("expected oid|critical|value"));
+		assertTrue(failedRows.get(2).startsWith("11,\"leaf-11.example.org\""));
+	}
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.List;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.astrapi69.key.pair.generator.csr.CertificateSigningRequests;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+
+/**
+ * The unit test class for the class {@link BatchCsrSigner}
+ */
+class BatchCsrSignerTest
+{
+
+	/**
+	 * Test the batch signing of a directory of certificate signing requests in the PEM and in the
+	 * DER format with one invalid request
+	 */
+	@Test
+	public void testRun(@TempDir Path directory) throws Exception
+	{
+		Path inputDirectory = Files.createDirectory(directory.resolve("requests"));
+		Path outputDirectory = directory.resolve("certificates");
+		KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.of("EC", 256));
+		for (int i = 0; i < 10; i++)
+		{
+			byte[] encoded = CertificateSigningRequests
+				.newCertificateSigningRequest(keyPair, new X500Name("CN=leaf-" + i),
+					"SHA256withECDSA")
+				.getEncoded();
+			if (i % 2 == 0)
+			{
+				Files.write(inputDirectory.resolve("leaf-" + i + ".der"), encoded);
+			}
+			else
+			{
+				Files.writeString(inputDirectory.resolve("leaf-" + i + ".csr"),
+					CertificateSigningRequests
+						.toPemFormat(CertificateSigningRequests.read(encoded)),
+					StandardCharsets.US_ASCII);
+			}
+		}
+		Files.writeString(inputDirectory.resolve("invalid.csr"), "no request");
+		BatchCsrSigningOptions options = BatchCsrSigningOptions.parse("--input",
+			inputDirectory.toString(), "--output", outputDirectory.toString(), "--ca",
+			directory.resolve("ca").toString(), "--threads", "2", "--queue-capacity", "2");
+
+		BatchCsrSigner signer = new BatchCsrSigner(options);
+		BatchReport report = signer.run();
+
+		assertEquals(10, report.getSucceeded());
+		assertEquals(1, report.getFailed());
+		assertEquals(BatchCsrSigner.STAGES.size(), signer.getStageMetrics().size());
+		assertTrue(Files.isRegularFile(outputDirectory.resolve("leaf-0-certificate.pem")));
+		assertTrue(Files.isRegularFile(outputDirectory.resolve("leaf-9-certificate.pem")));
+		List<String> rejected = Files.readAllLines(
+			outputDirectory.resolve(BatchCsrSigner.REJECTED_REQUESTS_FILE_NAME));
+		assertEquals(2, rejected.size());
+		assertTrue(rejected.get(1).startsWith("\"invalid.csr\""));
+	}
+
+	/**
+	 * Test that invalid options are rejected
+	 */
+	@Test
+	public void testInvalidOptions()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchCsrSigningOptions.parse("--input", "requests"));
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchCsrSigningOptions.parse("--input", "requests", "--output", "certificates",
+				"--ca", "ca", "--stage-threads", "unknown=2"));
+	}
+
+}
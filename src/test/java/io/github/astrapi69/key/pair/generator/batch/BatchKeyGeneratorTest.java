@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The unit test class for the class {@link BatchKeyGenerator}
+ */
+class BatchKeyGeneratorTest
+{
+
+	private static final Map<String, KeySizeSet> CATALOG = Map.of("RSA",
+		KeySizeSet.builder().addRun(512, 1, 15873).build());
+
+	/**
+	 * Test the parallel generation of key pairs with the written pem files and the report
+	 */
+	@Test
+	public void testRun() throws Exception
+	{
+		File outputDirectory = Files.createTempDirectory("batch-keys").toFile();
+		BatchKeyGenerationOptions options = BatchKeyGenerationOptions.parse("--algorithm", "RSA",
+			"--key-size", "1024", "--count", "8", "--threads", "4", "--output",
+			outputDirectory.getAbsolutePath());
+
+		BatchReport report = new BatchKeyGenerator(options, CATALOG).run();
+
+		assertEquals(8, report.getSucceeded());
+		assertEquals(0, report.getFailed());
+		assertEquals(8, report.getLatencies().getCount());
+		assertTrue(0 < report.getThroughput());
+		assertEquals(16, outputDirectory.listFiles().length);
+		assertTrue(new File(outputDirectory, "RSA-1024-7-private.pem").exists());
+		for (File file : outputDirectory.listFiles())
+		{
+			file.delete();
+		}
+		outputDirectory.delete();
+	}
+
+	/**
+	 * Test that invalid options and values that are not in the catalog are rejected
+	 */
+	@Test
+	public void testInvalidOptions()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchKeyGenerationOptions.parse("--count"));
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchKeyGenerationOptions.parse("--unknown", "1"));
+		assertThrows(IllegalArgumentException.class, () -> new BatchKeyGenerator(
+			BatchKeyGenerationOptions.parse("--algorithm", "FOO"), CATALOG));
+		assertThrows(IllegalArgumentException.class, () -> new BatchKeyGenerator(
+			BatchKeyGenerationOptions.parse("--key-size", "100"), CATALOG));
+	}
+
+	/**
+	 * Test the percentiles of the latency statistics
+	 */
+	@Test
+	public void testLatencyStatistics()
+	{
+		LatencyStatistics latencies = new LatencyStatistics(1);
+		for (int i = 1; i <= 100; i++)
+		{
+			latencies.record(i * 1_000_000L);
+		}
+		assertEquals(50.0, latencies.getPercentileMillis(50));
+		assertEquals(99.0, latencies.getPercentileMillis(99));
+		assertEquals(100.0, latencies.getPercentileMillis(100));
+		assertEquals(1.0, latencies.getPercentileMillis(0));
+	}
+
+}
@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.export.KeyExportFormat;
+import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ValidityModel;
+
+/**
+ * The unit test class for the class {@link LocalCertificateAuthority}
+ */
+class LocalCertificateAuthorityTest
+{
+
+	private static final char[] PASSWORD = "local-ca".toCharArray();
+
+	private static void assertValidChain(final LocalCertificateAuthority certificateAuthority,
+		final X509Certificate certificate) throws GeneralSecurityException
+	{
+		PKIXParameters parameters = new PKIXParameters(
+			Set.of(new TrustAnchor(certificateAuthority.getRoot().getCertificate(), null)));
+		parameters.setRevocationEnabled(false);
+		CertPathValidator.getInstance("PKIX").validate(CertificateFactory.getInstance("X.509")
+			.generateCertPath(Arrays.asList(certificateAuthority.getCertificateChain(certificate))
+				.subList(0, 2)),
+			parameters);
+	}
+
+	/**
+	 * Test the creation of a certificate authority, the issuance of leaf certificates and the
+	 * loading of the stored certificate authority
+	 */
+	@Test
+	public void testCreateIssueAndLoad(@TempDir Path directory) throws Exception
+	{
+		LocalCertificateAuthority certificateAuthority = LocalCertificateAuthority.create(
+			directory, "Test", LocalCertificateAuthority.DEFAULT_KEY_PAIR_SPEC,
+			LocalCertificateAuthority.DEFAULT_SIGNATURE_ALGORITHM, PASSWORD);
+		assertTrue(LocalCertificateAuthority.exists(directory));
+		assertTrue(Files.isRegularFile(directory.resolve(LocalCertificateAuthority.ROOT_BASE_NAME
+			+ KeyExportFormat.ENCRYPTED_PKCS8_PEM.getFileSuffix())));
+		assertEquals(1, certificateAuthority.getRoot().getCertificate().getBasicConstraints());
+		assertEquals(0,
+			certificateAuthority.getIntermediate().getCertificate().getBasicConstraints());
+
+		KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.of("RSA", 2048));
+		Date notBefore = new Date();
+		X509Certificate certificate = certificateAuthority.issue(
+			new X500Name("CN=leaf.example.org"), keyPair.getPublic(), notBefore,
+			new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365 * 100)));
+		assertValidChain(certificateAuthority, certificate);
+		assertEquals(-1, certificate.getBasicConstraints());
+		assertEquals(certificateAuthority.getIntermediate().getCertificate().getNotAfter(),
+			certificate.getNotAfter());
+		byte[] authorityKeyIdentifier = AuthorityKeyIdentifier
+			.getInstance(ASN1OctetString
+				.getInstance(certificate.getExtensionValue(Extension.authorityKeyIdentifier.getId()))
+				.getOctets())
+			.getKeyIdentifier();
+		assertArrayEquals(IssuerSigner.newKeyIdentifier(
+			certificateAuthority.getIntermediate().getCertificate().getPublicKey()),
+			authorityKeyIdentifier);
+		assertEquals(1, certificateAuthority.getIssuedCount());
+
+		LocalCertificateAuthority loaded = LocalCertificateAuthority.openOrCreate(directory,
+			"Other", PASSWORD);
+		assertEquals(certificateAuthority.getIntermediate().getCertificate(),
+			loaded.getIntermediate().getCertificate());
+		ZonedDateTime now = ZonedDateTime.now();
+		X509Certificate second = loaded.issue(CertificateInfoModel.builder()
+			.subject(DistinguishedNameInfoModel.builder().commonName("second.example.org")
+				.countryCode("GR").build())
+			.validityModel(
+				ValidityModel.builder().notBefore(now).notAfter(now.plusDays(30)).build())
+			.build(), keyPair.getPublic());
+		assertValidChain(loaded, second);
+		assertEquals("CN=second.example.org, C=GR",
+			second.getSubjectX500Principal().getName(X500Principal.RFC1779));
+
+		assertThrows(GeneralSecurityException.class,
+			() -> LocalCertificateAuthority.load(directory, "wrong".toCharArray()));
+		assertThrows(GeneralSecurityException.class,
+			() -> LocalCertificateAuthority.load(directory, null));
+		assertThrows(IOException.class,
+			() -> LocalCertificateAuthority.create(directory, "Test",
+				LocalCertificateAuthority.DEFAULT_KEY_PAIR_SPEC,
+				LocalCertificateAuthority.DEFAULT_SIGNATURE_ALGORITHM, PASSWORD));
+	}
+
+	/**
+	 * Test that a certificate authority with RSA issuer keys issues valid leaf certificates with
+	 * its cached signer
+	 */
+	@Test
+	public void testRsaIssuer(@TempDir Path directory) throws Exception
+	{
+		KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.of("EC", 256));
+		LocalCertificateAuthority rsa = LocalCertificateAuthority.create(directory, "RSA",
+			KeyPairSpec.of("RSA", 2048), "SHA256withRSA", null);
+		Date notBefore = new Date();
+		Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365));
+		for (int i = 0; i < 3; i++)
+		{
+			X509Certificate certificate = rsa.issue(new X500Name("CN=leaf-" + i),
+				keyPair.getPublic(), notBefore, notAfter);
+			assertValidChain(rsa, certificate);
+			assertEquals("SHA256withRSA", certificate.getSigAlgName());
+		}
+		assertEquals(3, rsa.getIssuedCount());
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.DSAPublicKey;
+
+import javax.crypto.interfaces.DHPublicKey;
+import javax.crypto.spec.DHParameterSpec;
+
+import org.bouncycastle.crypto.agreement.DHStandardGroups;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link DomainParameterStore}
+ */
+class DomainParameterStoreTest
+{
+
+	@TempDir
+	Path cacheDirectory;
+
+	/**
+	 * Test that the standardized groups are used for the well known key sizes without generating
+	 * or caching any domain parameters
+	 */
+	@Test
+	public void testStandardGroups() throws Exception
+	{
+		Path cacheFile = cacheDirectory.resolve(DomainParameterStore.CACHE_FILE_NAME);
+		DomainParameterStore store = new DomainParameterStore(cacheFile);
+
+		KeyPair keyPair = store.newKeyPair("DIFFIEHELLMAN", 2048);
+		assertEquals(DHStandardGroups.rfc7919_ffdhe2048.getP(),
+			((DHPublicKey)keyPair.getPublic()).getParams().getP());
+		keyPair = store.newKeyPair("DSA", 2048);
+		assertEquals(2048, ((DSAPublicKey)keyPair.getPublic()).getParams().getP().bitLength());
+		assertEquals(store.getParameterSpec("DSA", 2048), store.getParameterSpec("DSA", 2048));
+		assertFalse(Files.exists(cacheFile));
+
+		assertTrue(DomainParameterStore.isSupported("DH"));
+		assertFalse(DomainParameterStore.isSupported("RSA"));
+		assertThrows(NoSuchAlgorithmException.class, () -> store.newKeyPair("RSA", 2048));
+	}
+
+	/**
+	 * Test that the generated domain parameters are stored in the cache file and are reused by a
+	 * new store
+	 */
+	@Test
+	public void testGeneratedParametersAreCached() throws Exception
+	{
+		Path cacheFile = cacheDirectory.resolve(DomainParameterStore.CACHE_FILE_NAME);
+		assertFalse(DomainParameterStore.isStandardGroup("DIFFIEHELLMAN", 512));
+
+		DHParameterSpec generated = (DHParameterSpec)new DomainParameterStore(cacheFile)
+			.getParameterSpec("DIFFIEHELLMAN", 512);
+		assertTrue(Files.isRegularFile(cacheFile));
+
+		DHParameterSpec cached = (DHParameterSpec)new DomainParameterStore(cacheFile)
+			.getParameterSpec("DH", 512);
+		assertEquals(generated.getP(), cached.getP());
+		assertEquals(generated.getG(), cached.getG());
+	}
+
+}
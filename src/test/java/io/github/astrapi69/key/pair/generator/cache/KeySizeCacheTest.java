@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The unit test class for the class {@link KeySizeCache}
+ */
+class KeySizeCacheTest
+{
+
+	@TempDir
+	Path cacheDirectory;
+
+	/**
+	 * Test that the resolved key sizes are stored in the cache file and are reused by a new cache
+	 * of the same runtime without resolving them again
+	 */
+	@Test
+	public void testGetKeySizes() throws Exception
+	{
+		Path cacheFile = cacheDirectory.resolve(KeySizeCache.CACHE_FILE_NAME);
+		KeySizeSet expected = KeySizeSet.of(512, 576, 640, 1024, 2048);
+		AtomicInteger resolveCount = new AtomicInteger();
+		KeySizeCache.KeySizeResolver resolver = algorithm -> {
+			resolveCount.incrementAndGet();
+			return expected;
+		};
+
+		KeySizeCache cache = new KeySizeCache(cacheFile, "runtime-1");
+		assertFalse(cache.contains("DSA"));
+		assertEquals(expected, cache.getKeySizes("DSA", resolver));
+		assertEquals(expected, cache.getKeySizes("DSA", resolver));
+		assertEquals(1, resolveCount.get());
+		assertTrue(Files.isRegularFile(cacheFile));
+
+		KeySizeCache reloaded = new KeySizeCache(cacheFile, "runtime-1");
+		assertTrue(reloaded.contains("DSA"));
+		assertEquals(expected, reloaded.getKeySizes("DSA", resolver));
+		assertEquals(1, resolveCount.get());
+	}
+
+	/**
+	 * Test that the cache file is discarded if it was created with another runtime and that failed
+	 * resolutions are not cached
+	 */
+	@Test
+	public void testInvalidate() throws Exception
+	{
+		Path cacheFile = cacheDirectory.resolve(KeySizeCache.CACHE_FILE_NAME);
+		new KeySizeCache(cacheFile, "runtime-1").getKeySizes("DSA", algorithm -> KeySizeSet.of(1024));
+
+		KeySizeCache cache = new KeySizeCache(cacheFile, "runtime-2");
+		assertFalse(cache.contains("DSA"));
+		assertThrows(NoSuchMethodException.class, () -> cache.getKeySizes("DSA", algorithm -> {
+			throw new NoSuchMethodException(algorithm);
+		}));
+		assertFalse(cache.contains("DSA"));
+		assertEquals(KeySizeSet.of(2048), cache.getKeySizes("DSA", algorithm -> KeySizeSet.of(2048)));
+		assertFalse(new KeySizeCache(cacheFile, "runtime-1").contains("DSA"));
+	}
+
+}
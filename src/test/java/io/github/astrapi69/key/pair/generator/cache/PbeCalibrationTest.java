@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link PbeCalibration}
+ */
+class PbeCalibrationTest
+{
+
+	@TempDir
+	Path cacheDirectory;
+
+	/**
+	 * Test that the measured throughput is stored in the cache file, is reused on the same host and
+	 * is discarded on another host
+	 */
+	@Test
+	public void testCalibration()
+	{
+		Path cacheFile = cacheDirectory.resolve(PbeCalibration.CACHE_FILE_NAME);
+		PbeCalibration calibration = new PbeCalibration(cacheFile, "host-1");
+		assertFalse(calibration.isCalibrated());
+		long iterationsPerSecond = calibration.getIterationsPerSecond();
+		assertTrue(0 < iterationsPerSecond);
+		assertTrue(calibration.isCalibrated());
+		assertTrue(Files.isRegularFile(cacheFile));
+
+		PbeCalibration reloaded = new PbeCalibration(cacheFile, "host-1");
+		assertTrue(reloaded.isCalibrated());
+		assertEquals(iterationsPerSecond, reloaded.getIterationsPerSecond());
+		assertFalse(new PbeCalibration(cacheFile, "host-2").isCalibrated());
+	}
+
+	/**
+	 * Test that the iteration count is bound, rounded and grows with the target latency
+	 */
+	@Test
+	public void testIterationCount()
+	{
+		PbeCalibration calibration = new PbeCalibration(
+			cacheDirectory.resolve(PbeCalibration.CACHE_FILE_NAME), "host-1");
+		assertEquals(PbeCalibration.MIN_ITERATION_COUNT, calibration.getIterationCount(0));
+		assertEquals(PbeCalibration.MAX_ITERATION_COUNT,
+			calibration.getIterationCount(TimeUnit.HOURS.toMillis(1)));
+
+		int iterationCount = calibration.getIterationCount(PbeCalibration.DEFAULT_TARGET_MILLIS);
+		assertEquals(0, iterationCount % 1000);
+		assertTrue(PbeCalibration.MIN_ITERATION_COUNT <= iterationCount);
+		assertTrue(iterationCount <= calibration
+			.getIterationCount(PbeCalibration.DEFAULT_TARGET_MILLIS * 2));
+	}
+
+}
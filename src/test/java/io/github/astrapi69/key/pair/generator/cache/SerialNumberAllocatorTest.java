@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link SerialNumberAllocator}
+ */
+class SerialNumberAllocatorTest
+{
+
+	@TempDir
+	Path cacheDirectory;
+
+	/**
+	 * Test that the serial numbers that are allocated concurrently are unique, also after several
+	 * reservations
+	 */
+	@Test
+	public void testConcurrentAllocation() throws Exception
+	{
+		int threads = 8;
+		int serialNumbersPerThread = 20_000;
+		SerialNumberAllocator allocator = new SerialNumberAllocator(
+			cacheDirectory.resolve(SerialNumberAllocator.CACHE_FILE_NAME), "CN=Test CA", 10_000);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long[] serialNumbers = new long[threads * serialNumbersPerThread];
+		Future<?>[] futures = new Future<?>[threads];
+		for (int thread = 0; thread < threads; thread++)
+		{
+			int offset = thread * serialNumbersPerThread;
+			futures[thread] = executor.submit(() -> {
+				for (int i = 0; i < serialNumbersPerThread; i++)
+				{
+					serialNumbers[offset + i] = allocator
+						.nextSerialNumber(SerialNumberScheme.MONOTONIC).longValueExact();
+				}
+			});
+		}
+		for (Future<?> future : futures)
+		{
+			future.get();
+		}
+		executor.shutdown();
+
+		Arrays.sort(serialNumbers);
+		assertTrue(0 < serialNumbers[0]);
+		for (int i = 1; i < serialNumbers.length; i++)
+		{
+			assertNotEquals(serialNumbers[i - 1], serialNumbers[i]);
+		}
+	}
+
+	/**
+	 * Test that a new allocator of the same cache file continues after the reserved ranges of the
+	 * previous one and that the issuers have their own counters
+	 */
+	@Test
+	public void testReservationsAcrossRuns()
+	{
+		Path cacheFile = cacheDirectory.resolve(SerialNumberAllocator.CACHE_FILE_NAME);
+		SerialNumberAllocator first = new SerialNumberAllocator(cacheFile, "CN=Test CA", 1_000);
+		Set<BigInteger> serialNumbers = new HashSet<>();
+		for (int i = 0; i < 1_500; i++)
+		{
+			serialNumbers.add(first.nextSerialNumber(SerialNumberScheme.MONOTONIC));
+		}
+		BigInteger firstMaximum = serialNumbers.stream().max(BigInteger::compareTo).get();
+
+		SerialNumberAllocator second = new SerialNumberAllocator(cacheFile, "CN=Test CA", 1_000);
+		BigInteger next = second.nextSerialNumber(SerialNumberScheme.MONOTONIC);
+		assertTrue(firstMaximum.compareTo(next) < 0);
+		assertEquals(BigInteger.valueOf(2_001), next);
+
+		SerialNumberAllocator other = new SerialNumberAllocator(cacheFile, "CN=Other CA", 1_000);
+		assertEquals(BigInteger.ONE, other.nextSerialNumber(SerialNumberScheme.MONOTONIC));
+
+		BigInteger random = second.nextSerialNumber();
+		assertEquals(BigInteger.valueOf(2_002), random.shiftRight(Long.SIZE));
+		assertTrue(random.bitLength() <= 159);
+		assertEquals(1_500, serialNumbers.size());
+		assertThrows(IllegalArgumentException.class,
+			() -> new SerialNumberAllocator(cacheFile, "CN=Test CA", 1));
+	}
+
+	/**
+	 * Test that the allocation fails instead of reissuing the serial numbers of earlier runs if
+	 * the reservation can not be recorded
+	 */
+	@Test
+	public void testReservationFailure() throws Exception
+	{
+		Path notADirectory = Files.createFile(cacheDirectory.resolve("not-a-directory"));
+		SerialNumberAllocator allocator = new SerialNumberAllocator(
+			notADirectory.resolve(SerialNumberAllocator.CACHE_FILE_NAME), "CN=Test CA", 1_000);
+		assertThrows(UncheckedIOException.class,
+			() -> allocator.nextSerialNumber(SerialNumberScheme.MONOTONIC));
+		assertThrows(UncheckedIOException.class, () -> allocator.nextSerialNumber());
+	}
+
+}
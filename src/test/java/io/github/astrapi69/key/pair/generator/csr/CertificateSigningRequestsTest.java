@@ -0,0 +1,135 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.csr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.astrapi69.key.pair.generator.ca.LocalCertificateAuthority;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+
+/**
+ * The unit test class for the class {@link CertificateSigningRequests}
+ */
+class CertificateSigningRequestsTest
+{
+
+	/**
+	 * Test the creation, the encoding, the parsing and the verification of certificate signing
+	 * requests
+	 */
+	@Test
+	public void testCreateReadAndVerify() throws Exception
+	{
+		KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.of("EC", 256));
+		String signatureAlgorithm = CertificateSigningRequests
+			.getDefaultSignatureAlgorithm(keyPair.getPublic());
+		assertEquals("SHA256withECDSA", signatureAlgorithm);
+		PKCS10CertificationRequest request = CertificateSigningRequests
+			.newCertificateSigningRequest(keyPair,
+				DistinguishedNameInfoModel.builder().commonName("csr.example.org")
+					.countryCode("GR").build(),
+				signatureAlgorithm);
+		assertNull(CertificateSigningRequests.getRequestedExtensions(request));
+
+		String pem = CertificateSigningRequests.toPemFormat(request);
+		assertTrue(pem.startsWith("-----BEGIN CERTIFICATE REQUEST-----"));
+		PKCS10CertificationRequest fromPem = CertificateSigningRequests
+			.read(pem.getBytes(StandardCharsets.US_ASCII));
+		PKCS10CertificationRequest fromDer = CertificateSigningRequests
+			.read(request.getEncoded());
+		assertEquals(request, fromPem);
+		assertEquals(request, fromDer);
+		assertEquals(keyPair.getPublic(), CertificateSigningRequests.verify(fromPem));
+
+		// the last byte of the encoding belongs to the signature
+		byte[] tampered = request.getEncoded();
+		tampered[tampered.length - 1] ^= 1;
+		assertThrows(GeneralSecurityException.class, () -> CertificateSigningRequests
+			.verify(CertificateSigningRequests.read(tampered)));
+		assertThrows(IOException.class, () -> CertificateSigningRequests
+			.read("no request".getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	/**
+	 * Test the issuance of a certificate for a certificate signing request by a local certificate
+	 * authority, only the requestable extensions are taken over
+	 */
+	@Test
+	public void testIssueFromCertificateSigningRequest(@TempDir Path directory) throws Exception
+	{
+		LocalCertificateAuthority certificateAuthority = LocalCertificateAuthority.create(
+			directory, "Test", LocalCertificateAuthority.DEFAULT_KEY_PAIR_SPEC,
+			LocalCertificateAuthority.DEFAULT_SIGNATURE_ALGORITHM, null);
+		KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.of("RSA", 2048));
+		PKCS10CertificationRequest request = CertificateSigningRequests
+			.newCertificateSigningRequest(keyPair, new X500Name("CN=leaf.example.org"),
+				"SHA256withRSA",
+				new Extension(Extension.subjectAlternativeName, false,
+					new GeneralNames(new GeneralName(GeneralName.dNSName, "leaf.example.org"))
+						.getEncoded()),
+				new Extension(Extension.basicConstraints, true,
+					new BasicConstraints(true).getEncoded()));
+		assertNotNull(CertificateSigningRequests.getRequestedExtensions(request));
+
+		Date notBefore = new Date();
+		X509Certificate certificate = certificateAuthority
+			.sign(certificateAuthority.newCertificateBuilder(request, notBefore,
+				new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(30))));
+		certificate.verify(certificateAuthority.getIntermediate().getCertificate().getPublicKey());
+		assertEquals(keyPair.getPublic(), certificate.getPublicKey());
+		assertEquals("CN=leaf.example.org",
+			certificate.getSubjectX500Principal().getName(X500Principal.RFC1779));
+		assertEquals(1, certificate.getSubjectAlternativeNames().size());
+		// the requested CA flag is not taken over
+		assertEquals(-1, certificate.getBasicConstraints());
+	}
+
+}
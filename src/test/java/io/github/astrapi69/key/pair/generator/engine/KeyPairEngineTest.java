@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link KeyPairEngine}
+ */
+class KeyPairEngineTest
+{
+
+	@AfterEach
+	public void tearDown()
+	{
+		KeyPairEngine.clear();
+	}
+
+	/**
+	 * Test that the key pair generators are reused per specification and thread and still
+	 * generate new key pairs on every call
+	 */
+	@Test
+	public void testGenerate() throws Exception
+	{
+		KeyPairSpec spec = KeyPairSpec.of("RSA", 1024);
+		KeyPairGenerator keyPairGenerator = KeyPairEngine.getKeyPairGenerator(spec);
+		assertSame(keyPairGenerator,
+			KeyPairEngine.getKeyPairGenerator(KeyPairSpec.of("RSA", 1024)));
+		assertNotSame(keyPairGenerator,
+			KeyPairEngine.getKeyPairGenerator(KeyPairSpec.of("RSA", 2048)));
+		assertNotSame(keyPairGenerator, CompletableFuture.supplyAsync(() -> {
+			try
+			{
+				return KeyPairEngine.getKeyPairGenerator(spec);
+			}
+			catch (Exception exception)
+			{
+				throw new IllegalStateException(exception);
+			}
+		}).get());
+
+		KeyPair first = KeyPairEngine.generate(spec);
+		KeyPair second = KeyPairEngine.generate(spec);
+		assertEquals(1024, ((RSAPublicKey)first.getPublic()).getModulus().bitLength());
+		assertNotEquals(first.getPublic(), second.getPublic());
+
+		KeyPairEngine.clear();
+		assertNotSame(keyPairGenerator, KeyPairEngine.getKeyPairGenerator(spec));
+	}
+
+	/**
+	 * Test the generation with a named curve and an explicit provider
+	 */
+	@Test
+	public void testGenerateWithCurveName() throws Exception
+	{
+		KeyPair keyPair = KeyPairEngine.generate(KeyPairSpec.builder().algorithm("EC")
+			.curveName("secp384r1").provider("BC").build());
+		assertEquals(384,
+			((ECPublicKey)keyPair.getPublic()).getParams().getCurve().getField().getFieldSize());
+	}
+
+}
@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAKeyGenParameterSpec;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ParallelRsaKeyPairGenerator}
+ */
+class ParallelRsaKeyPairGeneratorTest
+{
+
+	/**
+	 * Test that the generated key pairs are valid RSA key pairs of the requested size with
+	 * different primes that can sign and verify
+	 */
+	@Test
+	public void testGenerateKeyPair() throws Exception
+	{
+		ParallelRsaKeyPairGenerator keyPairGenerator = new ParallelRsaKeyPairGenerator(4);
+		keyPairGenerator.initialize(2048);
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+		RSAPublicKey publicKey = (RSAPublicKey)keyPair.getPublic();
+		RSAPrivateCrtKey privateKey = (RSAPrivateCrtKey)keyPair.getPrivate();
+		assertEquals(2048, publicKey.getModulus().bitLength());
+		assertEquals(RSAKeyGenParameterSpec.F4, publicKey.getPublicExponent());
+		assertEquals(publicKey.getModulus(),
+			privateKey.getPrimeP().multiply(privateKey.getPrimeQ()));
+		assertNotEquals(privateKey.getPrimeP(), privateKey.getPrimeQ());
+		assertTrue(privateKey.getPrimeP().isProbablePrime(100));
+		assertTrue(privateKey.getPrimeQ().isProbablePrime(100));
+		assertTrue(privateKey.getPrivateExponent().compareTo(BigInteger.TWO.pow(1024)) > 0);
+
+		byte[] data = "key-pair-cert-generator".getBytes();
+		Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initSign(keyPair.getPrivate());
+		signature.update(data);
+		byte[] signed = signature.sign();
+		signature.initVerify(keyPair.getPublic());
+		signature.update(data);
+		assertTrue(signature.verify(signed));
+		assertNotEquals(publicKey.getModulus(),
+			((RSAPublicKey)keyPairGenerator.generateKeyPair().getPublic()).getModulus());
+	}
+
+	/**
+	 * Test that the {@link KeyPairEngine} uses the parallel prime search for RSA key pairs with a
+	 * parallelism
+	 */
+	@Test
+	public void testKeyPairEngine() throws Exception
+	{
+		KeyPairSpec spec = KeyPairSpec.of("RSA", 1024).toBuilder().parallelism(2).build();
+		assertInstanceOf(ParallelRsaKeyPairGenerator.class,
+			KeyPairEngine.getKeyPairGenerator(spec));
+		assertEquals(1024,
+			((RSAPublicKey)KeyPairEngine.generate(spec).getPublic()).getModulus().bitLength());
+		KeyPairEngine.clear();
+	}
+
+}
@@ -0,0 +1,236 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link SpeculativeKeyPairGenerator}
+ */
+class SpeculativeKeyPairGeneratorTest
+{
+
+	private final List<KeyPairSpec> generated = new CopyOnWriteArrayList<>();
+
+	private SpeculativeKeyPairGenerator newSpeculativeKeyPairGenerator()
+	{
+		return new SpeculativeKeyPairGenerator(spec -> {
+			generated.add(spec);
+			return KeyPairEngine.generate(spec);
+		}, 200);
+	}
+
+	/**
+	 * Test that the key pair of a settled selection is generated in the background and is handed
+	 * out only once
+	 */
+	@Test
+	public void testTakeHit() throws Exception
+	{
+		try (SpeculativeKeyPairGenerator speculator = newSpeculativeKeyPairGenerator())
+		{
+			KeyPairSpec spec = KeyPairSpec.of("RSA", 1024);
+			speculator.speculate(spec);
+			while (generated.isEmpty())
+			{
+				Thread.sleep(10);
+			}
+			Optional<KeyPair> keyPair = speculator.take(spec);
+			assertTrue(keyPair.isPresent());
+			assertEquals(1024, ((RSAPublicKey)keyPair.get().getPublic()).getModulus().bitLength());
+			assertEquals(1, speculator.getHitCount());
+			assertTrue(speculator.getSavedNanos() > 0);
+
+			assertFalse(speculator.take(spec).isPresent());
+			assertEquals(1, speculator.getMissCount());
+		}
+	}
+
+	/**
+	 * Test that a change of the selection cancels the pending speculation and that a key pair of
+	 * another specification is never handed out
+	 */
+	@Test
+	public void testSelectionChange() throws Exception
+	{
+		try (SpeculativeKeyPairGenerator speculator = newSpeculativeKeyPairGenerator())
+		{
+			KeyPairSpec first = KeyPairSpec.of("RSA", 1024);
+			KeyPairSpec second = KeyPairSpec.of("EC", 256);
+			speculator.speculate(first);
+			speculator.speculate(second);
+			assertFalse(speculator.take(first).isPresent());
+			assertEquals(1, speculator.getMissCount());
+
+			speculator.speculate(second);
+			Thread.sleep(500);
+			assertTrue(speculator.take(second).isPresent());
+			assertEquals(List.of(second), generated);
+			assertEquals(1, speculator.getHitCount());
+		}
+	}
+
+	/**
+	 * Test that a cancelled speculation that ignores the interrupt does not delay the next
+	 * speculation
+	 */
+	@Test
+	public void testCancelledSpeculationDoesNotBlock() throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		KeyPairSpec slow = KeyPairSpec.of("RSA", 4096);
+		KeyPairSpec fast = KeyPairSpec.of("EC", 256);
+		try (SpeculativeKeyPairGenerator speculator = new SpeculativeKeyPairGenerator(spec -> {
+			generated.add(spec);
+			while (spec.equals(slow) && release.getCount() > 0)
+			{
+				try
+				{
+					release.await();
+				}
+				catch (InterruptedException exception)
+				{
+					// like the provider key generation the interrupt is ignored
+				}
+			}
+			return KeyPairEngine.generate(fast);
+		}, 0))
+		{
+			speculator.speculate(slow);
+			while (generated.isEmpty())
+			{
+				Thread.sleep(10);
+			}
+			speculator.speculate(fast);
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (generated.size() < 2 && System.nanoTime() < deadline)
+			{
+				Thread.sleep(10);
+			}
+			assertEquals(List.of(slow, fast), generated);
+			assertTrue(speculator.take(fast).isPresent());
+		}
+		finally
+		{
+			release.countDown();
+		}
+	}
+
+	/**
+	 * Test that the key pair of a speculation that is cancelled while it is generated is destroyed
+	 * as soon as the generation has finished
+	 */
+	@Test
+	public void testCancelledRunningSpeculationIsDestroyed() throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		DestroyablePrivateKey privateKey = new DestroyablePrivateKey();
+		try (SpeculativeKeyPairGenerator speculator = new SpeculativeKeyPairGenerator(spec -> {
+			generated.add(spec);
+			try
+			{
+				release.await();
+			}
+			catch (InterruptedException exception)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return new KeyPair(KeyPairEngine.generate(spec).getPublic(), privateKey);
+		}, 0))
+		{
+			speculator.speculate(KeyPairSpec.of("EC", 256));
+			while (generated.isEmpty())
+			{
+				Thread.sleep(10);
+			}
+			speculator.cancel();
+			release.countDown();
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (!privateKey.isDestroyed() && System.nanoTime() < deadline)
+			{
+				Thread.sleep(10);
+			}
+			assertTrue(privateKey.isDestroyed());
+			assertEquals(0, speculator.getHitCount());
+		}
+		finally
+		{
+			release.countDown();
+		}
+	}
+
+	private static final class DestroyablePrivateKey implements PrivateKey
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private volatile boolean destroyed;
+
+		@Override
+		public String getAlgorithm()
+		{
+			return "EC";
+		}
+
+		@Override
+		public String getFormat()
+		{
+			return null;
+		}
+
+		@Override
+		public byte[] getEncoded()
+		{
+			return null;
+		}
+
+		@Override
+		public void destroy()
+		{
+			destroyed = true;
+		}
+
+		@Override
+		public boolean isDestroyed()
+		{
+			return destroyed;
+		}
+
+	}
+
+}
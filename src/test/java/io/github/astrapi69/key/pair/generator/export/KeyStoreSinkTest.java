@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link KeyStoreSink}
+ */
+class KeyStoreSinkTest
+{
+
+	private static final char[] PASSWORD = "secret".toCharArray();
+
+	private static final int ENTRY_COUNT = 1000;
+
+	private static KeyPair keyPair;
+
+	private static X509Certificate certificate;
+
+	@TempDir
+	Path directory;
+
+	@BeforeAll
+	static void setUp() throws Exception
+	{
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		keyPair = keyPairGenerator.generateKeyPair();
+		X500Principal subject = new X500Principal("CN=key-store-sink");
+		long now = System.currentTimeMillis();
+		certificate = new JcaX509CertificateConverter().getCertificate(
+			new JcaX509v3CertificateBuilder(subject, BigInteger.ONE, new Date(now),
+				new Date(now + 86_400_000L), subject, keyPair.getPublic()).build(
+					new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+	}
+
+	/**
+	 * Adds the entries concurrently, every entry or every even entry with the certificate
+	 */
+	private static KeyStoreSink write(final Path path, final boolean allCertificates)
+		throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try (KeyStoreSink keyStoreSink = KeyStoreSink.open(path, PASSWORD))
+		{
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < ENTRY_COUNT; i++)
+			{
+				final int index = i;
+				futures.add(executor.submit(() -> {
+					keyStoreSink.add("entry-" + index, keyPair,
+						allCertificates || index % 2 == 0 ? certificate : null);
+					return null;
+				}));
+			}
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+			keyStoreSink.close();
+			assertEquals(ENTRY_COUNT, keyStoreSink.getEntryCount());
+			assertEquals(Files.size(path), keyStoreSink.getSize());
+			assertTrue(keyStoreSink.toSummary().contains(ENTRY_COUNT + " entries written"));
+			assertThrows(IllegalStateException.class,
+				() -> keyStoreSink.add("closed", keyPair, certificate));
+			return keyStoreSink;
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	private static KeyStore load(final KeyStore keyStore, final Path path) throws Exception
+	{
+		try (InputStream inputStream = Files.newInputStream(path))
+		{
+			keyStore.load(inputStream, PASSWORD);
+		}
+		return keyStore;
+	}
+
+	private static void assertEntries(final KeyStore keyStore, final boolean allCertificates)
+		throws Exception
+	{
+		assertEquals(ENTRY_COUNT, keyStore.size());
+		for (int i = 0; i < ENTRY_COUNT; i += 97)
+		{
+			Key key = keyStore.getKey("entry-" + i, PASSWORD);
+			assertArrayEquals(keyPair.getPrivate().getEncoded(), key.getEncoded());
+			if (allCertificates || i % 2 == 0)
+			{
+				assertEquals(certificate, keyStore.getCertificate("entry-" + i));
+			}
+		}
+	}
+
+	/**
+	 * Test that the streamed PKCS#12 key store can be read by the bouncy castle provider
+	 */
+	@Test
+	public void testPkcs12() throws Exception
+	{
+		Path path = directory.resolve("keys.p12");
+		write(path, false);
+
+		assertEntries(load(KeyStore.getInstance("PKCS12", BouncyCastleProvider.PROVIDER_NAME),
+			path), false);
+		assertEntries(load(KeyStore.getInstance("PKCS12"), path), false);
+		assertThrows(Exception.class, () -> {
+			try (InputStream inputStream = Files.newInputStream(path))
+			{
+				KeyStore.getInstance("PKCS12", BouncyCastleProvider.PROVIDER_NAME)
+					.load(inputStream, "wrong".toCharArray());
+			}
+		});
+	}
+
+	/**
+	 * Test that the java key store can be read by the JKS key store of the JDK
+	 */
+	@Test
+	public void testJks() throws Exception
+	{
+		Path path = directory.resolve("keys.jks");
+		write(path, true);
+
+		KeyStore keyStore = load(KeyStore.getInstance("JKS"), path);
+		assertEntries(keyStore, true);
+		assertThrows(Exception.class, () -> keyStore.getKey("entry-0", "wrong".toCharArray()));
+		assertThrows(Exception.class, () -> {
+			try (InputStream inputStream = Files.newInputStream(path))
+			{
+				KeyStore.getInstance("JKS").load(inputStream, "wrong".toCharArray());
+			}
+		});
+		try (KeyStoreSink keyStoreSink = KeyStoreSink.open(directory.resolve("no-certificate.jks"),
+			PASSWORD))
+		{
+			assertThrows(KeyStoreException.class,
+				() -> keyStoreSink.add("no-certificate", keyPair, null));
+		}
+	}
+
+}
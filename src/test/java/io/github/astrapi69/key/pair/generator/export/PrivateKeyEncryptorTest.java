@@ -0,0 +1,95 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.util.Arrays;
+
+import org.bouncycastle.asn1.pkcs.EncryptedPrivateKeyInfo;
+import org.bouncycastle.asn1.pkcs.PBES2Parameters;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.jcajce.JceOpenSSLPKCS8DecryptorProviderBuilder;
+import org.bouncycastle.pkcs.PKCS8EncryptedPrivateKeyInfo;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link PrivateKeyEncryptor}
+ */
+class PrivateKeyEncryptorTest
+{
+
+	private static final char[] PASSWORD = "secret".toCharArray();
+
+	private static byte[] decrypt(final byte[] encrypted, final char[] password) throws Exception
+	{
+		return new PKCS8EncryptedPrivateKeyInfo(encrypted)
+			.decryptPrivateKeyInfo(new JceOpenSSLPKCS8DecryptorProviderBuilder()
+				.setProvider(new BouncyCastleProvider()).build(password))
+			.getEncoded();
+	}
+
+	/**
+	 * Test that one encryptor derives the key once and encrypts several private keys with the same
+	 * salt but a fresh initialization vector, that can be decrypted with the password
+	 */
+	@Test
+	public void testEncrypt() throws Exception
+	{
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		PrivateKey first = keyPairGenerator.generateKeyPair().getPrivate();
+		PrivateKey second = keyPairGenerator.generateKeyPair().getPrivate();
+		byte[] encryptedFirst;
+		byte[] encryptedSecond;
+		try (PrivateKeyEncryptor privateKeyEncryptor = new PrivateKeyEncryptor(PASSWORD, 20000))
+		{
+			assertEquals(20000, privateKeyEncryptor.getIterationCount());
+			encryptedFirst = privateKeyEncryptor.encrypt(first);
+			encryptedSecond = privateKeyEncryptor.encrypt(second);
+			privateKeyEncryptor.close();
+			assertThrows(IllegalStateException.class, () -> privateKeyEncryptor.encrypt(first));
+		}
+		assertArrayEquals(first.getEncoded(), decrypt(encryptedFirst, PASSWORD));
+		assertArrayEquals(second.getEncoded(), decrypt(encryptedSecond, PASSWORD));
+		assertThrows(Exception.class, () -> decrypt(encryptedFirst, "wrong".toCharArray()));
+
+		PBES2Parameters firstParameters = PBES2Parameters.getInstance(EncryptedPrivateKeyInfo
+			.getInstance(encryptedFirst).getEncryptionAlgorithm().getParameters());
+		PBES2Parameters secondParameters = PBES2Parameters.getInstance(EncryptedPrivateKeyInfo
+			.getInstance(encryptedSecond).getEncryptionAlgorithm().getParameters());
+		assertEquals(firstParameters.getKeyDerivationFunc(),
+			secondParameters.getKeyDerivationFunc());
+		assertFalse(Arrays.equals(
+			firstParameters.getEncryptionScheme().getParameters().toASN1Primitive().getEncoded(),
+			secondParameters.getEncryptionScheme().getParameters().toASN1Primitive().getEncoded()));
+		assertThrows(IllegalArgumentException.class, () -> new PrivateKeyEncryptor(new char[0]));
+	}
+
+}
@@ -0,0 +1,173 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.key.pair.generator.model.CertificateSubjectEntry;
+import io.github.astrapi69.key.pair.generator.model.KeyPairEntry;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The unit test class for the class {@link CsvExtensions}
+ */
+class CsvExtensionsTest
+{
+
+	/**
+	 * Test that the certificate subjects are passed one by one to the consumer and that missing
+	 * columns and values are empty
+	 */
+	@Test
+	public void testReadCertificateSubjectEntriesFromCsv() throws IOException
+	{
+		String csv = "common-name,organisation,subject-alternative-names,key-size\n"
+			+ "service-1.example.com,Example,DNS:service-1.example.com,4096\n"
+			+ "service-2.example.com,Example,,\n";
+		List<CertificateSubjectEntry> entries = new ArrayList<>();
+
+		long count = CsvExtensions.readCertificateSubjectEntriesFromCsv(
+			new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), entries::add);
+
+		assertEquals(2, count);
+		assertEquals(2, entries.size());
+		CertificateSubjectEntry first = entries.get(0);
+		assertEquals(1, first.getRowNumber());
+		assertEquals("service-1.example.com", first.getCommonName());
+		assertEquals("Example", first.getOrganisation());
+		assertEquals("DNS:service-1.example.com", first.getSubjectAlternativeNames());
+		assertEquals("4096", first.getKeySize());
+		assertEquals("", first.getCountryCode());
+		CertificateSubjectEntry second = entries.get(1);
+		assertEquals(2, second.getRowNumber());
+		assertEquals("", second.getSubjectAlternativeNames());
+		assertEquals("", second.getKeySize());
+	}
+
+	/**
+	 * Test that the stream is evaluated lazily and that the parser is closed when the stream is
+	 * consumed or closed
+	 */
+	@Test
+	public void testStreamEntriesFromCsv() throws IOException
+	{
+		AtomicBoolean closed = new AtomicBoolean();
+		InputStream csv = new ByteArrayInputStream(
+			"algorithm,keysize\nRSA,1024\nRSA,2048\nEC,\n".getBytes(StandardCharsets.UTF_8))
+		{
+			@Override
+			public void close() throws IOException
+			{
+				closed.set(true);
+				super.close();
+			}
+		};
+		try (Stream<KeyPairEntry> entries = CsvExtensions.streamKeyPairEntriesFromCsv(csv))
+		{
+			Iterator<KeyPairEntry> iterator = entries.iterator();
+			assertEquals(1024, iterator.next().getKeySize());
+			assertFalse(closed.get());
+			assertEquals(2048, iterator.next().getKeySize());
+			assertEquals("EC", iterator.next().getAlgorithm());
+			assertFalse(iterator.hasNext());
+			assertTrue(closed.get());
+		}
+
+		closed.set(false);
+		csv.reset();
+		Stream<KeyPairEntry> entries = CsvExtensions.streamKeyPairEntriesFromCsv(csv);
+		entries.close();
+		assertTrue(closed.get());
+		assertThrows(IllegalStateException.class, () -> entries.findFirst());
+	}
+
+	/**
+	 * Test that the list, the stream and the consumer variant read the same rows of a generated
+	 * csv input
+	 */
+	@Test
+	public void testReadGeneratedInput() throws IOException
+	{
+		int rows = 20_000;
+		Map<String, KeySizeSet> fromList = KeyPairEntry
+			.newAlgorithmToKeySizeMap(CsvExtensions.readKeyPairEntriesFromCsv(newCsv(rows)));
+		Map<String, KeySizeSet> fromStream;
+		try (Stream<KeyPairEntry> entries = CsvExtensions.streamKeyPairEntriesFromCsv(newCsv(rows)))
+		{
+			fromStream = KeyPairEntry.newAlgorithmToKeySizeMap(entries);
+		}
+		long pushCount = CsvExtensions.readEntriesFromCsv(newCsv(rows),
+			csvRecord -> csvRecord.get("algorithm"), algorithm -> {
+			});
+
+		assertEquals(rows, pushCount);
+		assertEquals(fromList, fromStream);
+		assertEquals(KeySizeSet.builder().addRun(512, 1, 15873).build(), fromStream.get("RSA"));
+	}
+
+	private static InputStream newCsv(int rows)
+	{
+		return new InputStream()
+		{
+			private int row = -1;
+			private byte[] line = new byte[0];
+			private int position;
+
+			@Override
+			public int read()
+			{
+				if (position == line.length)
+				{
+					if (rows <= row)
+					{
+						return -1;
+					}
+					line = (row < 0 ? "algorithm,keysize\n" : "RSA," + (512 + row % 15873) + "\n")
+						.getBytes(StandardCharsets.US_ASCII);
+					position = 0;
+					row++;
+				}
+				return line[position++];
+			}
+		};
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.key.pair.generator.model.KeyPairEntry;
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The unit test class for the class {@link KeyPairCatalogExtensions}
+ */
+class KeyPairCatalogExtensionsTest
+{
+
+	private static final String CSV_FILE_PATH = "key_pair_algorithm_with_key_size.csv";
+
+	private static InputStream getResourceAsStream(String path)
+	{
+		return KeyPairCatalogExtensionsTest.class.getClassLoader().getResourceAsStream(path);
+	}
+
+	private static Map<String, KeySizeSet> readFromCsv() throws IOException
+	{
+		List<KeyPairEntry> keyPairEntries = CsvExtensions
+			.readKeyPairEntriesFromCsv(getResourceAsStream(CSV_FILE_PATH));
+		return KeyPairEntry.newAlgorithmToKeySizeMap(keyPairEntries);
+	}
+
+	private static Map<String, KeySizeSet> readFromCatalog() throws IOException
+	{
+		return KeyPairCatalogExtensions.readAlgorithmToKeySizeMap(
+			getResourceAsStream(KeyPairCatalogExtensions.CATALOG_RESOURCE_PATH));
+	}
+
+	/**
+	 * Test that the binary catalog generated at build time contains the same data as the csv
+	 * catalog
+	 */
+	@Test
+	public void testReadAlgorithmToKeySizeMap() throws IOException
+	{
+		assumeTrue(getResourceAsStream(KeyPairCatalogExtensions.CATALOG_RESOURCE_PATH) != null,
+			"binary catalog is generated by the gradle task generateKeyPairCatalog");
+
+		Map<String, KeySizeSet> fromCsv = readFromCsv();
+		Map<String, KeySizeSet> fromCatalog = readFromCatalog();
+
+		assertEquals(fromCsv, fromCatalog);
+		assertEquals(fromCsv.keySet().stream().toList(), fromCatalog.keySet().stream().toList());
+	}
+
+	/**
+	 * Test that invalid binary data is rejected with an {@link IOException}
+	 */
+	@Test
+	public void testReadAlgorithmToKeySizeMapInvalid()
+	{
+		assertThrows(IOException.class, () -> KeyPairCatalogExtensions
+			.readAlgorithmToKeySizeMap(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 })));
+		assertThrows(IOException.class,
+			() -> KeyPairCatalogExtensions.readAlgorithmToKeySizeMap(null));
+	}
+
+}
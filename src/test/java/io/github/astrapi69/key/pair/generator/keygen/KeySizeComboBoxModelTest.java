@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.plaf.basic.ComboPopup;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.key.pair.generator.model.KeySizeSet;
+
+/**
+ * The unit test class for the class {@link KeySizeComboBoxModel}
+ */
+class KeySizeComboBoxModelTest
+{
+
+	private final KeySizeSet rsaKeySizes = KeySizeSet.builder().addRun(512, 1, 15873).build();
+
+	private final KeySizeSet ecKeySizes = KeySizeSet.of(192, 224, 239, 256, 384, 521);
+
+	/**
+	 * Test that the key sizes are exchanged in place with one contents change and that the
+	 * selected key size is kept if it is contained in the new key sizes
+	 */
+	@Test
+	public void testSetKeySizes()
+	{
+		KeySizeComboBoxModel model = new KeySizeComboBoxModel(rsaKeySizes, 2048);
+		List<ListDataEvent> events = new ArrayList<>();
+		model.addListDataListener(new ListDataListener()
+		{
+			@Override
+			public void intervalAdded(final ListDataEvent event)
+			{
+				events.add(event);
+			}
+
+			@Override
+			public void intervalRemoved(final ListDataEvent event)
+			{
+				events.add(event);
+			}
+
+			@Override
+			public void contentsChanged(final ListDataEvent event)
+			{
+				events.add(event);
+			}
+		});
+		assertEquals(15873, model.getSize());
+		assertEquals(2048, model.getSelectedItem());
+		assertEquals(4096, model.getElementAt(4096 - 512));
+
+		model.setKeySizes(ecKeySizes);
+		assertEquals(6, model.getSize());
+		assertEquals(192, model.getSelectedItem());
+		assertEquals(2, events.size());
+		assertEquals(ListDataEvent.CONTENTS_CHANGED, events.get(0).getType());
+		assertEquals(15872, events.get(0).getIndex1());
+		assertEquals(-1, events.get(1).getIndex0());
+
+		model.setSelectedItem(521);
+		model.setSelectedItem(4096);
+		model.setKeySizes(rsaKeySizes);
+		assertEquals(521, model.getSelectedItem());
+		assertSame(rsaKeySizes, model.getKeySizes());
+	}
+
+	/**
+	 * Test that the popup list of the {@link KeySizeComboBox} has a fixed cell size, so it does not
+	 * measure the key sizes one by one
+	 */
+	@Test
+	public void testKeySizeComboBox()
+	{
+		KeySizeComboBox comboBox = new KeySizeComboBox(new KeySizeComboBoxModel(ecKeySizes, 521));
+		ComboPopup popup = (ComboPopup)comboBox.getUI().getAccessibleChild(comboBox, 0);
+		assertNotEquals(-1, popup.getList().getFixedCellHeight());
+		assertNotEquals(-1, popup.getList().getFixedCellWidth());
+		comboBox.getModel().setKeySizes(rsaKeySizes);
+		assertEquals(521, comboBox.getSelectedItem());
+		assertEquals(15873, comboBox.getItemCount());
+	}
+
+}
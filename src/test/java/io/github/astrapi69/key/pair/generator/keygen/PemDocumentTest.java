@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.keygen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+
+import javax.swing.text.BadLocationException;
+
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.openssl.MiscPEMGenerator;
+import org.bouncycastle.util.io.pem.PemObject;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.crypt.data.key.PrivateKeyExtensions;
+import io.github.astrapi69.crypt.data.key.reader.PemObjectReader;
+
+/**
+ * The unit test class for the class {@link PemDocument}
+ */
+class PemDocumentTest
+{
+
+	private static String normalize(final String pem)
+	{
+		return pem.replace(System.lineSeparator(), "\n");
+	}
+
+	private static String getText(final PemDocument pemDocument) throws BadLocationException
+	{
+		return pemDocument.getText(0, pemDocument.getLength());
+	}
+
+	private static String toPrivateKeyPem(final KeyPair keyPair) throws Exception
+	{
+		return normalize(PemObjectReader.toPemFormat(new MiscPEMGenerator(
+			PrivateKeyInfo.getInstance(keyPair.getPrivate().getEncoded())).generate()));
+	}
+
+	/**
+	 * Test that the lazily rendered text of the private and public keys is identical to the PEM
+	 * format of the key extensions and the private key text to the exported PEM
+	 */
+	@Test
+	public void testText() throws Exception
+	{
+		for (String algorithm : new String[] { "RSA", "EC", "DSA" })
+		{
+			KeyPair keyPair = KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+			PemDocument privateKeyDocument = PemDocument.of(keyPair.getPrivate());
+			assertEquals(toPrivateKeyPem(keyPair), getText(privateKeyDocument));
+			if (!"DSA".equals(algorithm))
+			{
+				// the PKCS#1 format of the key extensions holds only the private value of DSA keys
+				assertEquals(normalize(PrivateKeyExtensions.toPemFormat(keyPair.getPrivate())),
+					getText(privateKeyDocument));
+			}
+
+			PemDocument publicKeyDocument = PemDocument.of(keyPair.getPublic());
+			String publicKeyPem = normalize(PemObjectReader
+				.toPemFormat(new PemObject("PUBLIC KEY", keyPair.getPublic().getEncoded())));
+			assertEquals(publicKeyPem, getText(publicKeyDocument));
+			assertEquals(publicKeyPem.split("\n").length + 1,
+				publicKeyDocument.getDefaultRootElement().getElementCount());
+
+			StringWriter writer = new StringWriter();
+			publicKeyDocument.writeTo(writer);
+			assertEquals(publicKeyPem, writer.toString());
+			assertEquals(publicKeyPem.substring(30, 130), publicKeyDocument.getText(30, 100));
+		}
+	}
+
+	/**
+	 * Test that the private keys without a traditional OpenSSL structure like Ed25519 and X25519
+	 * keys are rendered in the PKCS#8 structure
+	 */
+	@Test
+	public void testPkcs8PrivateKey() throws Exception
+	{
+		for (String algorithm : new String[] { "Ed25519", "X25519" })
+		{
+			KeyPair keyPair = KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+			PemDocument privateKeyDocument = PemDocument.of(keyPair.getPrivate());
+			assertEquals("PRIVATE KEY", privateKeyDocument.getType());
+			assertEquals(toPrivateKeyPem(keyPair), getText(privateKeyDocument));
+			assertEquals(
+				normalize(PemObjectReader.toPemFormat(
+					new PemObject("PRIVATE KEY", keyPair.getPrivate().getEncoded()))),
+				getText(privateKeyDocument));
+		}
+	}
+
+	/**
+	 * Test that the {@link PemDocument} is read only and that the {@link PemTextArea} replaces it
+	 * on a new plain text
+	 */
+	@Test
+	public void testPemTextArea() throws Exception
+	{
+		KeyPair keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+		PemDocument pemDocument = PemDocument.of(keyPair.getPublic());
+		assertThrows(BadLocationException.class, () -> pemDocument.insertString(0, "x", null));
+
+		PemTextArea textArea = new PemTextArea();
+		textArea.setPemDocument(pemDocument);
+		assertEquals(getText(pemDocument), textArea.getText());
+		assertTrue(textArea.getText().startsWith("-----BEGIN PUBLIC KEY-----"));
+		textArea.setText("Generating public key...");
+		assertFalse(textArea.getDocument() instanceof PemDocument);
+		assertEquals("Generating public key...", textArea.getText());
+	}
+
+}
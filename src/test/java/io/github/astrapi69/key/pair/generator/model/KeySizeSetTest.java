@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.SortedUniqueList;
+
+/**
+ * The unit test class for the class {@link KeySizeSet}
+ */
+class KeySizeSetTest
+{
+
+	private static SortedUniqueList<Integer> newRsaKeySizeList()
+	{
+		List<Integer> keySizes = new ArrayList<>();
+		for (int keySize = 512; keySize <= 16384; keySize++)
+		{
+			keySizes.add(keySize);
+		}
+		return new SortedUniqueList<>(keySizes);
+	}
+
+	/**
+	 * Test that the {@link KeySizeSet} behaves like the sorted unique list it replaces
+	 */
+	@Test
+	public void testSameElementsAsSortedUniqueList()
+	{
+		SortedUniqueList<Integer> expected = new SortedUniqueList<>(
+			List.of(512, 576, 640, 704, 768, 832, 896, 960, 1024, 2048, 3072));
+		KeySizeSet actual = KeySizeSet.of(3072, 512, 576, 640, 704, 768, 832, 896, 960, 1024, 2048,
+			2048);
+
+		assertEquals(expected, actual);
+		assertEquals(expected.size(), actual.size());
+		assertEquals(2, actual.getRunCount());
+		for (int i = 0; i < expected.size(); i++)
+		{
+			assertEquals(expected.get(i), actual.get(i));
+			assertEquals(i, actual.indexOf(expected.get(i)));
+		}
+		assertTrue(actual.contains(960));
+		assertFalse(actual.contains(961));
+		assertFalse(actual.contains(1088));
+		assertFalse(actual.contains(4096));
+		assertFalse(actual.contains(256));
+		assertFalse(actual.contains("960"));
+		assertEquals("[512..1024 step 64, 2048..3072 step 1024]", actual.toString());
+		assertEquals("512:64:9;2048:1024:2", actual.toRunString());
+		assertEquals(actual, KeySizeSet.parseRuns(actual.toRunString()));
+	}
+
+	/**
+	 * Test the range compression of the contiguous RSA key sizes
+	 */
+	@Test
+	public void testRsaKeySizes()
+	{
+		SortedUniqueList<Integer> expected = newRsaKeySizeList();
+		KeySizeSet actual = KeySizeSet.builder().addRun(512, 1, 15873).build();
+
+		assertEquals(1, actual.getRunCount());
+		assertEquals(expected, actual);
+		assertEquals(actual, KeySizeSet.of(expected));
+		assertEquals(16384, actual.getKeySize(actual.size() - 1));
+		assertEquals(4096 - 512, actual.indexOf(4096));
+		assertThrows(IndexOutOfBoundsException.class, () -> actual.get(15873));
+		assertThrows(IllegalArgumentException.class,
+			() -> KeySizeSet.builder().addRun(512, 1, 10).addRun(512, 1, 10));
+		assertTrue(KeySizeSet.of().isEmpty());
+		assertTrue(KeySizeSet.parseRuns("").isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> KeySizeSet.parseRuns("512:1"));
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link StagedPipeline}
+ */
+class StagedPipelineTest
+{
+
+	/**
+	 * Test that all items pass all stages and that failed items are counted in the failing stage
+	 */
+	@Test
+	public void testProcess() throws Exception
+	{
+		Set<Integer> completed = ConcurrentHashMap.newKeySet();
+		AtomicInteger failed = new AtomicInteger();
+		StagedPipeline<int[]> pipeline = StagedPipeline.<int[]> builder("test").queueCapacity(4)
+			.stage("double", 2, item -> item[0] *= 2).stage("check", 3, item -> {
+				if (item[0] % 20 == 0)
+				{
+					throw new IllegalStateException("divisible by twenty: " + item[0]);
+				}
+			}).stage("increment", 1, item -> item[0]++).onCompleted(item -> completed.add(item[0]))
+			.onFailed((item, exception) -> failed.incrementAndGet()).start();
+		for (int i = 1; i <= 100; i++)
+		{
+			pipeline.submit(new int[] { i });
+		}
+		pipeline.close();
+
+		List<StageMetrics> metrics = pipeline.getStageMetrics();
+		assertEquals(90, completed.size());
+		assertTrue(completed.contains(3));
+		assertEquals(10, failed.get());
+		assertEquals(100, metrics.get(0).getProcessed());
+		assertEquals(90, metrics.get(1).getProcessed());
+		assertEquals(10, metrics.get(1).getFailed());
+		assertEquals(90, metrics.get(2).getProcessed());
+		assertEquals(90, metrics.get(2).getLatencies().getCount());
+		assertThrows(IllegalStateException.class, () -> pipeline.submit(new int[] { 1 }));
+	}
+
+	/**
+	 * Test that a slow stage fills its bounded input queue and blocks the stages before it
+	 */
+	@Test
+	public void testBackpressure() throws Exception
+	{
+		StagedPipeline<Integer> pipeline = StagedPipeline.<Integer> builder("backpressure")
+			.queueCapacity(2).stage("fast", 1, item -> {
+			}).stage("slow", 1, item -> Thread.sleep(5)).start();
+		for (int i = 0; i < 40; i++)
+		{
+			pipeline.submit(i);
+		}
+		pipeline.close();
+
+		StageMetrics fast = pipeline.getStageMetrics().get(0);
+		StageMetrics slow = pipeline.getStageMetrics().get(1);
+		assertEquals(40, slow.getProcessed());
+		assertTrue(slow.getMaxQueueDepth() <= 2);
+		assertTrue(0 < fast.getBlockedNanos());
+		assertTrue(0 < pipeline.getSubmitBlockedNanos());
+	}
+
+	/**
+	 * Test that invalid stages are rejected
+	 */
+	@Test
+	public void testInvalidStages()
+	{
+		assertThrows(IllegalStateException.class,
+			() -> StagedPipeline.<Integer> builder("empty").start());
+		assertThrows(IllegalArgumentException.class,
+			() -> StagedPipeline.<Integer> builder("invalid").stage("none", 0, item -> {
+			}));
+		assertThrows(IllegalArgumentException.class,
+			() -> StagedPipeline.<Integer> builder("invalid").queueCapacity(0));
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link KeyPairPool}
+ */
+class KeyPairPoolTest
+{
+
+	private static final KeyPairPoolKey RSA_1024 = KeyPairPoolKey.of("RSA", 1024);
+
+	private static void awaitAvailable(KeyPairPool keyPairPool, KeyPairPoolKey key, int expected)
+		throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (keyPairPool.getAvailable(key) < expected && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(expected, keyPairPool.getAvailable(key));
+	}
+
+	/**
+	 * Test that the pool is filled in the background, serves hits, counts misses and is refilled
+	 */
+	@Test
+	public void testPollAndRefill() throws Exception
+	{
+		AtomicInteger generated = new AtomicInteger();
+		try (KeyPairPool keyPairPool = new KeyPairPool(Map.of(RSA_1024, 2), 1,
+			(algorithm, keySize) -> {
+				generated.incrementAndGet();
+				KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+				keyPairGenerator.initialize(keySize);
+				return keyPairGenerator.generateKeyPair();
+			}))
+		{
+			awaitAvailable(keyPairPool, RSA_1024, 2);
+
+			Optional<KeyPair> keyPair = keyPairPool.poll("RSA", 1024);
+			assertTrue(keyPair.isPresent());
+			assertEquals("RSA", keyPair.get().getPrivate().getAlgorithm());
+			assertFalse(keyPairPool.poll("RSA", 2048).isPresent());
+			assertEquals(1, keyPairPool.getHitCount());
+			assertEquals(1, keyPairPool.getMissCount());
+			assertEquals(0.5, keyPairPool.getHitRate());
+
+			awaitAvailable(keyPairPool, RSA_1024, 2);
+			assertEquals(3, generated.get());
+
+			keyPairPool.close();
+			assertEquals(0, keyPairPool.getAvailable(RSA_1024));
+			assertFalse(keyPairPool.poll("RSA", 1024).isPresent());
+		}
+	}
+
+	/**
+	 * Test the parsing of the pool sizes
+	 */
+	@Test
+	public void testParsePoolSizes()
+	{
+		Map<KeyPairPoolKey, Integer> poolSizes = KeyPairPool
+			.parsePoolSizes(KeyPairPool.DEFAULT_SIZES + ",ECGOST3410=1");
+		assertEquals(5, poolSizes.size());
+		assertEquals(4, poolSizes.get(KeyPairPoolKey.of("RSA", 2048)));
+		assertEquals(4, poolSizes.get(KeyPairPoolKey.of("EC", 256)));
+		assertEquals(1, poolSizes.get(KeyPairPoolKey.of("ECGOST3410", null)));
+		assertEquals("RSA:2048", KeyPairPoolKey.of("RSA", 2048).toString());
+		assertThrows(IllegalArgumentException.class, () -> KeyPairPool.parsePoolSizes("RSA:2048"));
+	}
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.concurrent.CompletableFuture;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link SecureRandomStrategy}
+ */
+class SecureRandomStrategyTest
+{
+
+	@AfterEach
+	public void tearDown()
+	{
+		SecureRandomStrategy.setConfigured(null);
+	}
+
+	/**
+	 * Test that every thread gets its own instance of a strategy and that the requests for
+	 * randomness are recorded in the {@link RandomnessDiagnostics}
+	 */
+	@Test
+	public void testGetSecureRandom() throws Exception
+	{
+		if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
+		{
+			Security.addProvider(new BouncyCastleProvider());
+		}
+		for (SecureRandomStrategy strategy : SecureRandomStrategy.values())
+		{
+			SecureRandom secureRandom = strategy.getSecureRandom();
+			assertSame(secureRandom, strategy.getSecureRandom());
+			assertNotSame(secureRandom,
+				CompletableFuture.supplyAsync(strategy::getSecureRandom).get());
+
+			long requests = RandomnessDiagnostics.getRequestCount();
+			secureRandom.nextBytes(new byte[32]);
+			assertTrue(requests < RandomnessDiagnostics.getRequestCount());
+		}
+		assertTrue(RandomnessDiagnostics.toSummary().startsWith("randomness (DEFAULT)"));
+	}
+
+	/**
+	 * Test the configuration of the strategy
+	 */
+	@Test
+	public void testConfigured()
+	{
+		assertEquals(SecureRandomStrategy.NATIVE_PRNG_NON_BLOCKING,
+			SecureRandomStrategy.parse("native-prng-non-blocking"));
+		assertThrows(IllegalArgumentException.class, () -> SecureRandomStrategy.parse("SHA0"));
+
+		SecureRandomStrategy.setConfigured(SecureRandomStrategy.DRBG);
+		assertEquals(SecureRandomStrategy.DRBG, SecureRandomStrategy.getConfigured());
+		assertEquals("DRBG", SecureRandomStrategy.getConfigured().getSecureRandom().getAlgorithm());
+	}
+
+}
@@ -0,0 +1,190 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.key.pair.generator.x509;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.key.pair.generator.ca.IssuerSigner;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairEngine;
+import io.github.astrapi69.key.pair.generator.engine.KeyPairSpec;
+import io.github.astrapi69.key.pair.generator.wizard.model.CertificateInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.DistinguishedNameInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ExtensionInfoModel;
+import io.github.astrapi69.key.pair.generator.wizard.model.ValidityModel;
+
+/**
+ * The unit test class for the class {@link X509ExtensionTemplate}
+ */
+class X509ExtensionTemplateTest
+{
+
+	private static ExtensionInfoModel newExtensionInfoModel(final ASN1ObjectIdentifier extensionId,
+		final boolean critical, final String value)
+	{
+		return ExtensionInfoModel.builder().extensionId(extensionId.getId()).critical(critical)
+			.value(value).build();
+	}
+
+	/**
+	 * Test the parsing and the formatting of the textual values of the extension types
+	 */
+	@Test
+	public void testParseAndFormat()
+	{
+		Map<X509ExtensionType, String> values = Map.of(
+			X509ExtensionType.SUBJECT_ALTERNATIVE_NAME,
+			"DNS:example.org,IP:10.0.0.1,email:info@example.org,URI:https://example.org",
+			X509ExtensionType.KEY_USAGE, "digitalSignature,keyEncipherment",
+			X509ExtensionType.EXTENDED_KEY_USAGE, "serverAuth,clientAuth,1.2.3.4",
+			X509ExtensionType.BASIC_CONSTRAINTS, "CA:TRUE,pathlen:0",
+			X509ExtensionType.SUBJECT_KEY_IDENTIFIER, "0102a0ff",
+			X509ExtensionType.AUTHORITY_KEY_IDENTIFIER, "0102a0ff",
+			X509ExtensionType.CUSTOM, "any text");
+		values.forEach((type, value) -> {
+			ASN1ObjectIdentifier extensionId = type == X509ExtensionType.CUSTOM
+				? new ASN1ObjectIdentifier("1.2.3.4.5")
+				: type.getExtensionId();
+			Extension extension = type.toExtension(extensionId, false, value);
+			assertEquals(type, X509ExtensionType.of(extensionId));
+			assertEquals(value, type.format(extension.getExtnValue()));
+		});
+		// separators, case and names without prefix are normalized
+		X509ExtensionType subjectAlternativeName = X509ExtensionType.SUBJECT_ALTERNATIVE_NAME;
+		assertEquals("DNS:example.org,DNS:www.example.org", subjectAlternativeName.format(
+			subjectAlternativeName.parse("example.org; DNS:www.example.org").toASN1Primitive()));
+		assertEquals("CA:FALSE", X509ExtensionType.BASIC_CONSTRAINTS
+			.format(X509ExtensionType.BASIC_CONSTRAINTS.parse("ca:false").toASN1Primitive()));
+		assertEquals("DER:0500", X509ExtensionType.CUSTOM
+			.format(X509ExtensionType.CUSTOM.parse("DER:0500").toASN1Primitive()));
+
+		assertThrows(IllegalArgumentException.class,
+			() -> X509ExtensionType.KEY_USAGE.parse("unknownUsage"));
+		assertThrows(IllegalArgumentException.class,
+			() -> X509ExtensionType.SUBJECT_ALTERNATIVE_NAME.parse("FOO:bar"));
+		assertThrows(IllegalArgumentException.class,
+			() -> X509ExtensionType.BASIC_CONSTRAINTS.parse("CA:FALSE,pathlen:1"));
+		assertThrows(IllegalArgumentException.class,
+			() -> X509ExtensionType.SUBJECT_KEY_IDENTIFIER.parse("xyz"));
+		assertThrows(IllegalArgumentException.class,
+			() -> X509ExtensionType.CUSTOM.parse("DER:05"));
+		assertTrue(X509ExtensionType.SUBJECT_KEY_IDENTIFIER.isDerivedFromKey("hash"));
+		assertTrue(X509ExtensionType.AUTHORITY_KEY_IDENTIFIER.isDerivedFromKey("keyid"));
+		assertFalse(X509ExtensionType.KEY_USAGE.isDerivedFromKey("hash"));
+	}
+
+	/**
+	 * Test that the encoded extensions of a template are reused for all certificates and that the
+	 * extensions of a self signed certificate are typed and can be read back
+	 */
+	@Test
+	public void testSelfSignedCertificate() throws Exception
+	{
+		ExtensionInfoModel[] extensions = {
+				newExtensionInfoModel(Extension.subjectAlternativeName, false,
+					"DNS:leaf.example.org,IP:127.0.0.1"),
+				newExtensionInfoModel(Extension.keyUsage, true, "digitalSignature"),
+				newExtensionInfoModel(Extension.extendedKeyUsage, false, "serverAuth"),
+				newExtensionInfoModel(Extension.basicConstraints, true, "CA:FALSE"),
+				newExtensionInfoModel(Extension.subjectKeyIdentifier, false, "hash"),
+				newExtensionInfoModel(Extension.authorityKeyIdentifier, false, "keyid") };
+		X509ExtensionTemplate template = X509ExtensionTemplate.of(extensions);
+		assertTrue(template.contains(Extension.subjectKeyIdentifier));
+		assertFalse(template.contains(Extension.certificatePolicies));
+
+		KeyPair first = KeyPairEngine.generate(KeyPairSpec.of("EC", 256));
+		KeyPair second = KeyPairEngine.generate(KeyPairSpec.of("EC", 256));
+		Extension[] firstExtensions = template.toExtensions(first.getPublic(), null);
+		Extension[] secondExtensions = template.toExtensions(second.getPublic(), null);
+		assertEquals(6, firstExtensions.length);
+		// the subject alternative names are shared within the template but are not cached
+		assertSame(firstExtensions[0], secondExtensions[0]);
+		assertNotSame(firstExtensions[0], X509ExtensionTemplate.encode(extensions[0]));
+		assertEquals(firstExtensions[0], X509ExtensionTemplate.encode(extensions[0]));
+		for (int i = 1; i < 4; i++)
+		{
+			// the encoded extensions are shared, even with a new template of equal extensions
+			assertSame(firstExtensions[i], secondExtensions[i]);
+			assertSame(firstExtensions[i], X509ExtensionTemplate.of(extensions)
+				.toExtensions(first.getPublic(), null)[i]);
+		}
+		assertNotEquals(firstExtensions[4], secondExtensions[4]);
+
+		ZonedDateTime now = ZonedDateTime.now();
+		DistinguishedNameInfoModel subject = DistinguishedNameInfoModel.builder()
+			.commonName("leaf.example.org").build();
+		X509Certificate certificate = SelfSignedCertificates.newCertificate(CertificateInfoModel
+			.builder().issuer(subject).subject(subject).serial(BigInteger.TEN)
+			.validityModel(
+				ValidityModel.builder().notBefore(now).notAfter(now.plusDays(30)).build())
+			.signatureAlgorithm("SHA256withECDSA").extensions(extensions).build(), first);
+		certificate.verify(first.getPublic());
+		assertEquals(-1, certificate.getBasicConstraints());
+		assertTrue(certificate.getKeyUsage()[0]);
+		assertFalse(certificate.getKeyUsage()[2]);
+		assertEquals(List.of(KeyPurposeId.id_kp_serverAuth.getId()),
+			certificate.getExtendedKeyUsage());
+		assertEquals(2, certificate.getSubjectAlternativeNames().size());
+		assertTrue(certificate.getCriticalExtensionOIDs().contains(Extension.keyUsage.getId()));
+
+		Map<String, String> values = ExtensionInfoModel.extractExtensionInfos(certificate)
+			.stream().collect(Collectors.toMap(ExtensionInfoModel::getExtensionId,
+				ExtensionInfoModel::getValue));
+		assertEquals("DNS:leaf.example.org,IP:127.0.0.1",
+			values.get(Extension.subjectAlternativeName.getId()));
+		assertEquals("digitalSignature", values.get(Extension.keyUsage.getId()));
+		assertEquals(values.get(Extension.subjectKeyIdentifier.getId()),
+			values.get(Extension.authorityKeyIdentifier.getId()));
+		assertArrayEquals(IssuerSigner.newKeyIdentifier(first.getPublic()),
+			Hex.decode(values.get(Extension.subjectKeyIdentifier.getId())));
+
+		assertThrows(IllegalArgumentException.class, () -> X509ExtensionTemplate.of(
+			newExtensionInfoModel(Extension.keyUsage, true, "digitalSignature"),
+			newExtensionInfoModel(Extension.keyUsage, true, "keyCertSign")));
+		assertThrows(IllegalArgumentException.class, () -> ExtensionInfoModel
+			.toExtension(newExtensionInfoModel(Extension.subjectKeyIdentifier, false, "hash")));
+	}
+
+}